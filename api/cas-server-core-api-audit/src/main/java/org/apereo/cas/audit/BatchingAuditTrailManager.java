@@ -0,0 +1,26 @@
+package org.apereo.cas.audit;
+
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+
+import java.util.Collection;
+
+/**
+ * This is {@link BatchingAuditTrailManager}, an audit trail manager
+ * that is able to record a number of audit records at once, such as
+ * using a single round-trip to its storage.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public interface BatchingAuditTrailManager extends AuditTrailManager {
+
+    /**
+     * Record all audit records at once.
+     *
+     * @param audits the audit records
+     */
+    default void recordAll(final Collection<AuditActionContext> audits) {
+        audits.forEach(this::record);
+    }
+}
@@ -0,0 +1,54 @@
+package org.apereo.cas.configuration.model.core.audit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link AuditDispatchProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@RequiresModule(name = "cas-server-core-audit", automated = true)
+@Getter
+@Setter
+public class AuditDispatchProperties implements Serializable {
+
+    private static final long serialVersionUID = 6216538466357961743L;
+
+    /**
+     * Hand audit records over to a bounded queue that is shared by all audit destinations,
+     * and record them in the background in batches rather than one at a time on the request thread.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of audit records that may wait in the queue to be recorded.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Maximum number of audit records handed to audit destinations at once.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Decide what happens to an audit record when the queue is full. Accepted values are:
+     *
+     * <ul>
+     *     <li>{@code BLOCK}: The request thread waits until there is room in the queue.</li>
+     *     <li>{@code DROP_OLDEST}: The oldest audit record in the queue is discarded to make room.</li>
+     *     <li>{@code SPILL}: The audit record is appended to the overflow file instead.</li>
+     * </ul>
+     */
+    private String overflowPolicy = "BLOCK";
+
+    /**
+     * File to which audit records are appended when the queue is full
+     * and the overflow policy is {@code SPILL}.
+     */
+    private String overflowFile = "/etc/cas/logs/cas-audit-overflow.log";
+}
@@ -89,6 +89,12 @@ public class AuditProperties implements Serializable {
     @NestedConfigurationProperty
     private AuditSlf4jLogProperties slf4j = new AuditSlf4jLogProperties();
 
+    /**
+     * Family of sub-properties pertaining to recording audit records in the background and in batches.
+     */
+    @NestedConfigurationProperty
+    private AuditDispatchProperties dispatch = new AuditDispatchProperties();
+
     /**
      * Indicates whether catastrophic audit failures should simply be logged
      * or whether errors should bubble up and thrown back.
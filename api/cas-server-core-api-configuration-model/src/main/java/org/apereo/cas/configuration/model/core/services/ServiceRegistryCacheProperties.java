@@ -0,0 +1,41 @@
+package org.apereo.cas.configuration.model.core.services;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import java.io.Serializable;
+
+/**
+ * Configuration properties for caching the resolution of
+ * service identifiers to registered services.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@RequiresModule(name = "cas-server-core-services", automated = true)
+
+@Getter
+@Setter
+public class ServiceRegistryCacheProperties implements Serializable {
+
+    private static final long serialVersionUID = 4470519396214446519L;
+
+    /**
+     * Whether the outcome of matching a service identifier against registered services
+     * should be cached. Cached entries, including those for identifiers that match no service,
+     * are discarded whenever service definitions are saved, deleted or reloaded.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of service identifiers to keep in the cache.
+     */
+    private long cacheSize = 10_000;
+
+    /**
+     * Duration after which a cached entry is discarded. Entries that resolve to a service
+     * with an expiration policy are discarded no later than the service's expiration date.
+     */
+    private String duration = "PT5M";
+}
@@ -122,6 +122,12 @@ public class ServiceRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private StreamingServiceRegistryProperties stream = new StreamingServiceRegistryProperties();
 
+    /**
+     * Settings that control caching of service resolutions by the services manager.
+     */
+    @NestedConfigurationProperty
+    private ServiceRegistryCacheProperties cache = new ServiceRegistryCacheProperties();
+
     /**
      * Scheduler settings to indicate how often is metadata reloaded.
      */
@@ -152,6 +158,22 @@ public class ServiceRegistryProperties implements Serializable {
      */
     private boolean watcherEnabled = true;
 
+    /**
+     * Flag indicating whether scheduled reloads of the service registry should only apply
+     * services that have been added, updated or removed since the last load, rather than
+     * replacing all services. Service registries that are able to report changes allow
+     * the reload to be skipped altogether when nothing has changed.
+     */
+    private boolean incrementalReload;
+
+    /**
+     * Path to a local snapshot of the loaded services. When defined, the snapshot is written
+     * after every successful load of the service registry and read on startup so that services
+     * are available right away, while the service registry itself is loaded in the background.
+     * The snapshot is ignored if it was produced by a different CAS version or fails verification.
+     */
+    private String snapshotLocation;
+
     /**
      * Determine how services are internally managed, queried, cached and reloaded by CAS.
      * Accepted values are the following:
@@ -29,4 +29,35 @@ public class SloProperties implements Serializable {
      * Whether SLO should be entirely disabled globally for the CAS deployment.
      */
     private boolean disabled;
+
+    /**
+     * Number of threads used to send logout requests to the services of a single sign-on session concurrently.
+     * A value of zero sends logout requests in the calling thread, one service at a time.
+     */
+    private int poolSize;
+
+    /**
+     * Number of services that may be queued while all logout threads are busy.
+     * Once the queue is full, the calling thread sends logout requests itself.
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Maximum duration to wait for logout requests to be sent to all services of a single sign-on session,
+     * when sent concurrently. Requests that are still pending by then continue in the background.
+     * Each individual request is bounded by the timeouts of the HTTP client.
+     */
+    private String timeout = "PT10S";
+
+    /**
+     * Number of consecutive logout requests to a host that may fail before logout requests
+     * to that host are skipped for {@link #circuitBreakerResetTimeout}.
+     * A value of zero sends logout requests to all hosts regardless.
+     */
+    private int circuitBreakerFailureThreshold;
+
+    /**
+     * Duration for which logout requests to a host are skipped once too many have failed in a row.
+     */
+    private String circuitBreakerResetTimeout = "PT1M";
 }
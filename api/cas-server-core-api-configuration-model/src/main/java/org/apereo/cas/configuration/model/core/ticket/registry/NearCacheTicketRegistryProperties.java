@@ -0,0 +1,45 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link NearCacheTicketRegistryProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+public class NearCacheTicketRegistryProperties implements Serializable {
+
+    private static final long serialVersionUID = 3587314985321871473L;
+
+    /**
+     * Keep a local copy of ticket-granting tickets read from a distributed ticket registry,
+     * so that repeated lookups do not need a round-trip to the registry.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of ticket-granting tickets kept in the local copy.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Amount of time a ticket is kept in the local copy once it is read or written.
+     * Registries that do not support an invalidation channel may serve changes made
+     * by other nodes late by up to this amount of time.
+     */
+    private String timeToLive = "PT5S";
+
+    /**
+     * Name of the channel used to tell other nodes to drop their local copy of a ticket
+     * once it changes, where supported by the ticket registry (i.e. Redis).
+     */
+    private String invalidationChannel = "cas-ticket-invalidations";
+}
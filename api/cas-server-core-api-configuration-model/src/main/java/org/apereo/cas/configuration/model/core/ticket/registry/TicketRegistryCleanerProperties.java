@@ -0,0 +1,52 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+/**
+ * This is {@link TicketRegistryCleanerProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@NoArgsConstructor
+public class TicketRegistryCleanerProperties extends ScheduledJobProperties {
+
+    private static final long serialVersionUID = -1417862743921648129L;
+
+    /**
+     * Number of expired tickets that are requested from the registry at once
+     * and removed together in a single bulk operation.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Number of threads used to send logout notifications for expired ticket-granting tickets.
+     * A value of zero sends notifications in the cleaner thread itself, one ticket at a time.
+     */
+    private int logoutPoolSize;
+
+    /**
+     * Number of logout notifications that may be queued while all logout threads are busy.
+     * Once the queue is full, the cleaner thread sends notifications itself, which slows down
+     * the collection of further tickets until the pool catches up.
+     */
+    private int logoutQueueCapacity = 1000;
+
+    /**
+     * Maximum amount of time a single cleaner run may spend on logout notifications and ticket removals.
+     * Once the budget is exhausted, the run stops collecting expired tickets; those that are left
+     * are collected by the next run, and the batch at hand is reported as the minimum backlog. A blank value allows runs to take as long as needed.
+     */
+    private String timeBudget;
+
+    public TicketRegistryCleanerProperties(final String startDelay, final String repeatInterval) {
+        super(startDelay, repeatInterval);
+    }
+}
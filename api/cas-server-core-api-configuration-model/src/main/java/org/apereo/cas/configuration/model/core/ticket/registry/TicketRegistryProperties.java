@@ -12,7 +12,6 @@ import org.apereo.cas.configuration.model.support.jms.JmsTicketRegistryPropertie
 import org.apereo.cas.configuration.model.support.jpa.ticketregistry.JpaTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.memcached.MemcachedTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.mongo.ticketregistry.MongoTicketRegistryProperties;
-import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
 import org.apereo.cas.configuration.model.support.redis.RedisTicketRegistryProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
@@ -117,7 +116,26 @@ public class TicketRegistryProperties implements Serializable {
      * Ticket registry cleaner settings.
      */
     @NestedConfigurationProperty
-    private ScheduledJobProperties cleaner = new ScheduledJobProperties("PT10S", "PT1M");
+    private TicketRegistryCleanerProperties cleaner = new TicketRegistryCleanerProperties("PT10S", "PT1M");
+
+    /**
+     * Hold back tickets that are added and updated while a ticket is granted,
+     * and write them to the registry together once the operation completes.
+     * Registries that support it write such tickets using a single round-trip.
+     */
+    private boolean combineWrites;
+
+    /**
+     * Near cache settings for distributed ticket registries.
+     */
+    @NestedConfigurationProperty
+    private NearCacheTicketRegistryProperties nearCache = new NearCacheTicketRegistryProperties();
+
+    /**
+     * Ticket serialization settings.
+     */
+    @NestedConfigurationProperty
+    private TicketSerializationProperties serialization = new TicketSerializationProperties();
 
     @RequiresModule(name = "cas-server-core-tickets", automated = true)
     @Getter
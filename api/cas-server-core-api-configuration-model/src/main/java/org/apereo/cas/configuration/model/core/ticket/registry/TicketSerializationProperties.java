@@ -0,0 +1,34 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link TicketSerializationProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+public class TicketSerializationProperties implements Serializable {
+
+    private static final long serialVersionUID = -4183264519385721849L;
+
+    /**
+     * The form in which tickets are serialized when they are encrypted, or stored by registries that
+     * hand tickets over as bytes. Accepted values are {@code JAVA} and {@code COMPACT}.
+     * The compact form refers to known classes by index and writes equal strings once,
+     * and requires all nodes to run with the same versions of ticket classes.
+     */
+    private String type = "JAVA";
+
+    /**
+     * Whether tickets serialized in the compact form should also be compressed.
+     */
+    private boolean compress;
+}
@@ -2,6 +2,8 @@ package org.apereo.cas.configuration.model.core.util;
 
 import org.apereo.cas.CipherExecutor;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -41,4 +43,16 @@ public class EncryptionJwtSigningJwtCryptographyProperties implements Serializab
      * The signing/encryption algorithm to use.
      */
     private String alg = CipherExecutor.DEFAULT_CONTENT_ENCRYPTION_ALGORITHM;
+
+    /**
+     * Encrypt and authenticate values with AES-GCM, using a compact binary envelope,
+     * rather than encrypting values and signing them separately. The signing key is not used.
+     */
+    private boolean authenticatedEncryption;
+
+    /**
+     * Encryption keys previously used with authenticated encryption that are still accepted
+     * for decryption, so that the encryption key can be rotated.
+     */
+    private List<String> previousEncryptionKeys = new ArrayList<>();
 }
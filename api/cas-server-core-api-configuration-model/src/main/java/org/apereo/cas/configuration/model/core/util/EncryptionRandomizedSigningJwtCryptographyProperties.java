@@ -1,6 +1,8 @@
 package org.apereo.cas.configuration.model.core.util;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -40,4 +42,16 @@ public class EncryptionRandomizedSigningJwtCryptographyProperties implements Ser
      * The signing/encryption algorithm to use.
      */
     private String alg = "AES";
+
+    /**
+     * Encrypt and authenticate values with AES-GCM, using a compact binary envelope,
+     * rather than encrypting values and signing them separately. The signing key is not used.
+     */
+    private boolean authenticatedEncryption;
+
+    /**
+     * Encryption keys previously used with authenticated encryption that are still accepted
+     * for decryption, so that the encryption key can be rotated.
+     */
+    private List<String> previousEncryptionKeys = new ArrayList<>();
 }
@@ -1,9 +1,11 @@
 package org.apereo.cas.configuration.model.support.oauth;
 
+import org.apereo.cas.configuration.model.core.util.EncryptionOptionalSigningOptionalJwtCryptographyProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 import java.io.Serializable;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
 /**
  * This is {@link OAuthAccessTokenProperties}.
@@ -35,4 +37,12 @@ public class OAuthAccessTokenProperties implements Serializable {
      * should be released as part of this access token's validation.
      */
     private boolean releaseProtocolAttributes = true;
+
+    /**
+     * Crypto settings that sign and optionally encrypt access tokens
+     * that are issued as JWTs to services that ask for them.
+     * Access tokens issued as JWTs are always signed.
+     */
+    @NestedConfigurationProperty
+    private EncryptionOptionalSigningOptionalJwtCryptographyProperties crypto = new EncryptionOptionalSigningOptionalJwtCryptographyProperties();
 }
@@ -33,6 +33,18 @@ public class OidcProperties implements Serializable {
      */
     private int jwksCacheInMinutes = 60;
 
+    /**
+     * Timeout that indicates how long after a JWKS file is cached it should be reloaded in the background
+     * the next time it is used, so that it does not expire while in use. Should be less than {@link #jwksCacheInMinutes}.
+     */
+    private int jwksCacheRefreshInMinutes = 45;
+
+    /**
+     * Maximum number of JWKS files of relying parties to keep in cache.
+     * Should be at least the number of relying parties that have their id tokens encrypted.
+     */
+    private long jwksCacheMaximumSize = 1000;
+
     /**
      * OIDC issuer.
      */
@@ -26,6 +26,12 @@ public class RedisTicketRegistryProperties extends BaseRedisProperties {
     @NestedConfigurationProperty
     private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
 
+    /**
+     * Number of keys requested from redis per {@code SCAN} iteration when tickets are
+     * enumerated, which is also the number of tickets fetched or removed per round trip.
+     */
+    private int scanBatchSize = 500;
+
     public RedisTicketRegistryProperties() {
         this.crypto.setEnabled(false);
     }
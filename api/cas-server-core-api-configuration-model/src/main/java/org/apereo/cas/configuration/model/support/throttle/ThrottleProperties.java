@@ -52,6 +52,13 @@ public class ThrottleProperties implements Serializable {
      */
     private String appcode = DEFAULT_APPLICATION_CODE;
 
+    /**
+     * Maximum number of IP addresses and/or usernames for which failures are kept track of
+     * by in-memory throttling. Once exceeded, keys that are least likely to be used again are evicted,
+     * so that a flood of requests from spoofed addresses cannot exhaust memory.
+     */
+    private long maximumInMemoryKeys = 100_000;
+
     /**
      * Scheduler settings to clean up throttled attempts.
      */
@@ -91,6 +98,14 @@ public class ThrottleProperties implements Serializable {
          * Period of time in seconds during which the threshold applies.
          */
         private int rangeSeconds = -1;
+
+        /**
+         * Keep track of recent failures in memory as they happen, rather than looking them up
+         * in the audit log on every authentication attempt. Applies to throttling components that
+         * are backed by the audit log, such as JDBC and MongoDb. The audit log is then only consulted
+         * during the first failure range after a node starts.
+         */
+        private boolean trackInMemory;
     }
 
     @RequiresModule(name = "cas-server-support-throttle-jdbc")
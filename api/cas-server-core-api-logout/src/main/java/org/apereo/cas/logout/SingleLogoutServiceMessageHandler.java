@@ -3,6 +3,7 @@ package org.apereo.cas.logout;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 
 import java.util.Collection;
+import java.util.Set;
 
 /**
  * This is {@link SingleLogoutServiceMessageHandler} which defines how a logout message
@@ -22,4 +23,18 @@ public interface SingleLogoutServiceMessageHandler {
      * @return the logout request
      */
     Collection<LogoutRequest> handle(WebApplicationService singleLogoutService, String ticketId);
+
+    /**
+     * Handle logout for slo service, as part of logging out of a single sign-on session
+     * whose services may share logout urls.
+     *
+     * @param singleLogoutService the service
+     * @param ticketId            the ticket id
+     * @param notifiedLogoutUrls  logout urls already notified during this logout, to which the urls notified now are added
+     * @return the logout request
+     */
+    default Collection<LogoutRequest> handle(final WebApplicationService singleLogoutService, final String ticketId,
+                                             final Set<String> notifiedLogoutUrls) {
+        return handle(singleLogoutService, ticketId);
+    }
 }
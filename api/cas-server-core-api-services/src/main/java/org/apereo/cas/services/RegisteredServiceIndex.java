@@ -0,0 +1,39 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.function.Function;
+
+/**
+ * This is {@link RegisteredServiceIndex} that describes a key by which registered services
+ * of a given type are looked up, such as the client id of an OAuth service.
+ * Services managers may keep services indexed by this key, so that lookups need not
+ * evaluate all services. Indexes are told apart by their name, which must therefore be unique.
+ *
+ * @param <T> the type of registered services that are indexed
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString(of = {"name", "type"})
+public class RegisteredServiceIndex<T extends RegisteredService> {
+
+    private final String name;
+
+    private final Class<T> type;
+
+    private final Function<T, String> keyExtractor;
+
+    /**
+     * Gets the key by which the given service is indexed.
+     *
+     * @param service the service
+     * @return the key, or null if the service is not indexed
+     */
+    public String getKey(final RegisteredService service) {
+        return this.type.isInstance(service) ? this.keyExtractor.apply(this.type.cast(service)) : null;
+    }
+}
@@ -81,6 +81,18 @@ public interface ServiceRegistry {
         return load().size();
     }
 
+    /**
+     * Returns a token that changes whenever the collection of services held by this registry changes.
+     * Callers may compare tokens obtained at different times to skip reloading an unchanged registry.
+     * Implementations that cannot cheaply tell whether their contents have changed return {@code null}.
+     *
+     * @return the change token, or null
+     * @since 5.3.0
+     */
+    default String getChangeToken() {
+        return null;
+    }
+
     /**
      * Returns the friendly name of this registry.
      *
@@ -3,6 +3,8 @@ package org.apereo.cas.services;
 import org.apereo.cas.authentication.principal.Service;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -93,6 +95,45 @@ public interface ServicesManager {
      */
     <T extends RegisteredService> T findServiceBy(String serviceId, Class<T> clazz);
 
+    /**
+     * Find the first service of the given type that is indexed by the given key.
+     *
+     * @param <T>   the type parameter
+     * @param index the index
+     * @param key   the key
+     * @return the registered service, or null if none is found
+     */
+    default <T extends RegisteredService> T findServiceByIndex(RegisteredServiceIndex<T> index, String key) {
+        if (key == null) {
+            return null;
+        }
+        return getAllServices()
+            .stream()
+            .filter(r -> key.equals(index.getKey(r)))
+            .map(index.getType()::cast)
+            .findFirst()
+            .orElse(null);
+    }
+
+    /**
+     * Find the first service of the given type that matches the service id.
+     * Unlike {@link #findServiceBy(String, Class)}, services of other types are not considered.
+     *
+     * @param <T>       the type parameter
+     * @param serviceId the service id
+     * @param clazz     the clazz
+     * @return the registered service, or null if none is found
+     */
+    default <T extends RegisteredService> T findServiceOfType(String serviceId, Class<T> clazz) {
+        return getAllServices()
+            .stream()
+            .filter(clazz::isInstance)
+            .filter(r -> r.matches(serviceId))
+            .map(clazz::cast)
+            .findFirst()
+            .orElse(null);
+    }
+
     /**
      * Find a RegisteredService by matching with the supplied id.
      *
@@ -143,6 +184,16 @@ public interface ServicesManager {
         return 0;
     }
 
+    /**
+     * Return statistics about the cache of service resolutions
+     * kept by this manager, such as its size and hit/miss counts.
+     *
+     * @return the statistics, or an empty map if no such cache is used.
+     */
+    default Map<String, Object> getResolutionCacheStatistics() {
+        return new HashMap<>(0);
+    }
+
     /**
      * Return a list of services for the passed domain.
      *
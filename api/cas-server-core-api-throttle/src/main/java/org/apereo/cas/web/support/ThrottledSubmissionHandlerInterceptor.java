@@ -5,6 +5,8 @@ import org.springframework.web.servlet.ModelAndView;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * This is {@link ThrottledSubmissionHandlerInterceptor}.
@@ -47,6 +49,15 @@ public interface ThrottledSubmissionHandlerInterceptor extends AsyncHandlerInter
     default void decrement() {
     }
 
+    /**
+     * Gets statistics of the throttle, such as the number of throttled requests.
+     *
+     * @return the statistics
+     */
+    default Map<String, Object> getStatistics() {
+        return new HashMap<>(0);
+    }
+
     @Override
     default boolean preHandle(final HttpServletRequest request,
                               final HttpServletResponse response,
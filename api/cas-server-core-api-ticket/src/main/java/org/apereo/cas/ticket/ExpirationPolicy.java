@@ -3,6 +3,7 @@ package org.apereo.cas.ticket;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 
 import java.io.Serializable;
+import java.time.ZonedDateTime;
 
 /**
  * Strategy that determines if the ticket is expired. Implementations of the
@@ -39,6 +40,32 @@ public interface ExpirationPolicy extends Serializable {
      */
     Long getTimeToIdle();
 
+    /**
+     * Calculate the time at which the ticket is expected to expire because of its age or idleness,
+     * based on the time to live counted from the creation time and the time to idle counted from
+     * the last time the ticket was used. Tickets may still expire earlier for other reasons,
+     * such as being used too many times. This is only a hint that allows ticket registries
+     * to locate expired tickets without examining every ticket.
+     *
+     * @param ticketState the ticket state
+     * @return the expiration time, or null if it cannot be determined.
+     */
+    default ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        ZonedDateTime expirationTime = null;
+        final Long timeToLive = getTimeToLive();
+        if (timeToLive != null && timeToLive > 0 && timeToLive <= Integer.MAX_VALUE && ticketState.getCreationTime() != null) {
+            expirationTime = ticketState.getCreationTime().plusSeconds(timeToLive);
+        }
+        final Long timeToIdle = getTimeToIdle();
+        if (timeToIdle != null && timeToIdle > 0 && timeToIdle <= Integer.MAX_VALUE && ticketState.getLastTimeUsed() != null) {
+            final ZonedDateTime idleTime = ticketState.getLastTimeUsed().plusSeconds(timeToIdle);
+            if (expirationTime == null || idleTime.isBefore(expirationTime)) {
+                expirationTime = idleTime;
+            }
+        }
+        return expirationTime;
+    }
+
     /**
      * Gets name of this expiration policy.
      *
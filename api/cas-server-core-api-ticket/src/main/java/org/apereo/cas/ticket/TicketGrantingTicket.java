@@ -110,4 +110,26 @@ public interface TicketGrantingTicket extends Ticket {
     default Collection<String> getDescendantTickets() {
         return new HashSet<>(0);
     }
+
+    /**
+     * Take the changes made to the services and usage of this ticket since they were last taken,
+     * and start recording changes anew. Registries use these changes to update the stored ticket
+     * without having to write the whole ticket again.
+     *
+     * @return the changes, or null if this ticket does not record its changes
+     * @since 5.3
+     */
+    default TicketGrantingTicketDelta takeDelta() {
+        return null;
+    }
+
+    /**
+     * Apply the changes that were recorded by another copy of this ticket.
+     * Tickets that do not record their changes never produce any, so there is nothing to apply by default.
+     *
+     * @param delta the changes
+     * @since 5.3
+     */
+    default void applyDelta(final TicketGrantingTicketDelta delta) {
+    }
 }
@@ -0,0 +1,86 @@
+package org.apereo.cas.ticket;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.apereo.cas.authentication.principal.Service;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is {@link TicketGrantingTicketDelta} that records the changes made to the mutable state
+ * of a {@link TicketGrantingTicket}, such as the services it granted tickets for and its usage,
+ * so that registries may apply them to the stored ticket rather than write the whole ticket again.
+ * Applying the same changes more than once has no further effect on services, though usage
+ * counts are added up.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class TicketGrantingTicketDelta implements Serializable {
+
+    private static final long serialVersionUID = -2904617442531547281L;
+
+    private final String ticketId;
+
+    private final Map<String, Service> addedServices = new LinkedHashMap<>();
+
+    private final Set<String> removedServices = new LinkedHashSet<>();
+
+    private int countOfUses;
+
+    private ZonedDateTime lastTimeUsed;
+
+    private ZonedDateTime previousTimeUsed;
+
+    /**
+     * Record that a service ticket was granted for the service.
+     *
+     * @param serviceTicketId the service ticket id
+     * @param service         the service
+     */
+    public void serviceAdded(final String serviceTicketId, final Service service) {
+        this.removedServices.remove(serviceTicketId);
+        this.addedServices.put(serviceTicketId, service);
+    }
+
+    /**
+     * Record that the service is no longer tracked by the ticket.
+     *
+     * @param serviceTicketId the service ticket id
+     */
+    public void serviceRemoved(final String serviceTicketId) {
+        if (this.addedServices.remove(serviceTicketId) == null) {
+            this.removedServices.add(serviceTicketId);
+        }
+    }
+
+    /**
+     * Record that the ticket was used.
+     *
+     * @param previousTimeUsed the previous time the ticket was used
+     * @param lastTimeUsed     the last time the ticket was used
+     */
+    public void used(final ZonedDateTime previousTimeUsed, final ZonedDateTime lastTimeUsed) {
+        this.countOfUses++;
+        this.previousTimeUsed = previousTimeUsed;
+        this.lastTimeUsed = lastTimeUsed;
+    }
+
+    /**
+     * Whether any changes are recorded.
+     *
+     * @return true if there is nothing to apply
+     */
+    public boolean isEmpty() {
+        return this.addedServices.isEmpty() && this.removedServices.isEmpty() && this.countOfUses == 0;
+    }
+}
@@ -0,0 +1,46 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link TicketCountTracker} that keeps track of the number of tickets
+ * held by a ticket registry, so that tickets need not be loaded only to be counted.
+ * Trackers that are able to ask the underlying storage for counts directly
+ * may ignore the notifications.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@FunctionalInterface
+public interface TicketCountTracker {
+
+    /**
+     * Record that a new ticket was added to the registry.
+     *
+     * @param ticket the ticket
+     */
+    default void ticketAdded(final Ticket ticket) {
+    }
+
+    /**
+     * Record that a ticket was removed from the registry.
+     *
+     * @param ticketId the ticket id
+     */
+    default void ticketRemoved(final String ticketId) {
+    }
+
+    /**
+     * Record that all tickets were removed from the registry.
+     */
+    default void reset() {
+    }
+
+    /**
+     * Count the tickets in the registry that are of the given type.
+     *
+     * @param ticketType the ticket type
+     * @return the number of tickets
+     */
+    long count(Class<? extends Ticket> ticketType);
+}
@@ -1,10 +1,14 @@
 package org.apereo.cas.ticket.registry;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
 
 /**
  * Interface for a registry that stores tickets. The underlying registry can be
@@ -44,6 +48,83 @@ public interface TicketRegistry {
      */
     Ticket getTicket(String ticketId);
 
+    /**
+     * Consume a ticket, typically a service ticket that is being validated. The ticket is fetched
+     * and marked as used; it is then removed from the registry if the use exhausts it, or stored again otherwise.
+     * Tickets that have already expired are removed and not returned. Registries should override this operation
+     * when they are able to carry it out atomically, so that concurrent attempts cannot consume the same ticket twice.
+     * This operation is not meant for tickets that have descendants, such as ticket-granting tickets.
+     *
+     * @param <T>      the generic ticket type to return that extends {@link Ticket}
+     * @param ticketId the id of the ticket to consume
+     * @param clazz    the expected class of the ticket
+     * @return the ticket as it was once marked as used, or null if it does not exist or has expired.
+     */
+    default <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz) {
+        final T ticket = getTicket(ticketId, clazz);
+        if (ticket == null) {
+            return null;
+        }
+        if (ticket.isExpired()) {
+            deleteTicket(ticketId);
+            return null;
+        }
+        if (ticket instanceof TicketState) {
+            TicketState.class.cast(ticket).update();
+        }
+        if (ticket.isExpired()) {
+            deleteTicket(ticketId);
+        } else {
+            updateTicket(ticket);
+        }
+        return ticket;
+    }
+
+    /**
+     * Store the changes made to a ticket-granting ticket since it was fetched, typically once it has granted
+     * a service or proxy ticket. Registries that are able to apply such changes to the stored ticket
+     * should override this operation, so that the whole ticket need not be written again.
+     *
+     * @param ticket the ticket-granting ticket
+     * @return the updated ticket
+     */
+    default Ticket updateTicketGrantingTicket(final TicketGrantingTicket ticket) {
+        return updateTicket(ticket);
+    }
+
+    /**
+     * Write the tickets that were added and updated during a single operation, such as a service ticket
+     * and the ticket-granting ticket that granted it. Added tickets are written before updated ones.
+     * Registries that are able to send several writes to their backend at once should override this operation;
+     * by default, each ticket is written on its own.
+     *
+     * @param addedTickets   the tickets to add
+     * @param updatedTickets the tickets to update
+     */
+    default void writeTickets(final Collection<? extends Ticket> addedTickets, final Collection<? extends Ticket> updatedTickets) {
+        addedTickets.forEach(this::addTicket);
+        updatedTickets.forEach(ticket -> {
+            if (ticket instanceof TicketGrantingTicket) {
+                updateTicketGrantingTicket((TicketGrantingTicket) ticket);
+            } else {
+                updateTicket(ticket);
+            }
+        });
+    }
+
+    /**
+     * Run an operation whose ticket writes may be combined, so that the tickets it adds or updates
+     * through this registry are written together once it completes. By default, writes are carried out
+     * as they are made.
+     *
+     * @param <T>       the result type
+     * @param operation the operation
+     * @return the result of the operation
+     */
+    default <T> T combineWrites(final Supplier<T> operation) {
+        return operation.get();
+    }
+
     /**
      * Remove a specific ticket from the registry.
      * If ticket to delete is TGT then related service tickets are removed as well.
@@ -53,6 +134,18 @@ public interface TicketRegistry {
      */
     int deleteTicket(String ticketId);
 
+    /**
+     * Remove the given tickets from the registry, along with their related tickets
+     * as {@link #deleteTicket(String)} would. Registries should override this operation
+     * when they are able to remove many tickets at once.
+     *
+     * @param ticketIds the ids of the tickets to delete
+     * @return the number of tickets deleted including children.
+     */
+    default int deleteTickets(final Collection<String> ticketIds) {
+        return ticketIds.stream().mapToInt(this::deleteTicket).sum();
+    }
+
     /**
      * Delete all tickets from the registry.
      *
@@ -107,5 +200,17 @@ public interface TicketRegistry {
     default Stream<Ticket> getTicketsStream() {
         return getTickets().stream();
     }
-    
+
+    /**
+     * Gets tickets that have expired by the given time. Registries that keep track of
+     * the expiration time of their tickets should only examine tickets that may have expired,
+     * rather than going through every ticket. The returned stream should be closed once consumed.
+     *
+     * @param expirationTime the time by which tickets must have expired
+     * @param limit          the maximum number of tickets to return
+     * @return the expired tickets
+     */
+    default Stream<Ticket> getExpiredTickets(final Instant expirationTime, final int limit) {
+        return getTicketsStream().filter(Ticket::isExpired).limit(limit);
+    }
 }
@@ -2,6 +2,9 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * This is {@link TicketRegistryCleaner}.
  *
@@ -27,4 +30,14 @@ public interface TicketRegistryCleaner {
     default int cleanTicket(final Ticket ticket) {
         return 0;
     }
+
+    /**
+     * Return statistics about the most recent cleaner run, such as the number of
+     * tickets that were scanned, found expired and removed, and how long the run took.
+     *
+     * @return the statistics, or an empty map if no run has completed yet.
+     */
+    default Map<String, Object> getStatistics() {
+        return new HashMap<>(0);
+    }
 }
@@ -0,0 +1,29 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.Ticket;
+
+/**
+ * This is {@link TicketSerializer} that turns tickets into bytes and back,
+ * whenever tickets are encrypted or handed over to a distributed ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public interface TicketSerializer {
+
+    /**
+     * Serialize the ticket.
+     *
+     * @param ticket the ticket
+     * @return the bytes
+     */
+    byte[] serialize(Ticket ticket);
+
+    /**
+     * Deserialize the ticket.
+     *
+     * @param bytes the bytes
+     * @return the ticket
+     */
+    Ticket deserialize(byte[] bytes);
+}
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.DisposableBean;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -20,7 +21,7 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Getter
-public class DefaultAuditTrailExecutionPlan implements AuditTrailExecutionPlan {
+public class DefaultAuditTrailExecutionPlan implements AuditTrailExecutionPlan, DisposableBean {
     private List<AuditTrailManager> auditTrailManagers = new ArrayList<>();
 
     @Override
@@ -41,4 +42,17 @@ public class DefaultAuditTrailExecutionPlan implements AuditTrailExecutionPlan {
             .flatMap(Set::stream)
             .collect(Collectors.toSet());
     }
+
+    /**
+     * Stop audit trail managers that record audit records in the background,
+     * so that records that remain in their queue are recorded.
+     */
+    @Override
+    public void destroy() {
+        this.auditTrailManagers
+            .stream()
+            .filter(DispatchingAuditTrailManager.class::isInstance)
+            .map(DispatchingAuditTrailManager.class::cast)
+            .forEach(DispatchingAuditTrailManager::destroy);
+    }
 }
@@ -0,0 +1,239 @@
+package org.apereo.cas.audit.spi;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.audit.BatchingAuditTrailManager;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link DispatchingAuditTrailManager} that hands audit records over to a bounded queue,
+ * shared by all audit trail managers it dispatches to, and records them on a background thread.
+ * Audit records that have piled up in the queue are handed to each manager together, so that managers
+ * that are able to record a number of records at once (i.e. {@link BatchingAuditTrailManager})
+ * can do so using a single round-trip to their storage. Once the queue is full, the request thread
+ * waits, the oldest audit record is dropped or the audit record is appended to a local overflow file,
+ * as dictated by the {@link OverflowPolicy}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class DispatchingAuditTrailManager implements AuditTrailManager, DisposableBean {
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5_000;
+
+    /**
+     * What happens to an audit record when the queue is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait until there is room in the queue.
+         */
+        BLOCK,
+        /**
+         * Discard the oldest audit record in the queue.
+         */
+        DROP_OLDEST,
+        /**
+         * Append the audit record to the overflow file.
+         */
+        SPILL
+    }
+
+    @Getter
+    private final List<AuditTrailManager> auditTrailManagers;
+
+    private final int batchSize;
+
+    @Getter
+    private final OverflowPolicy overflowPolicy;
+
+    private final File overflowFile;
+
+    private final BlockingQueue<AuditActionContext> queue;
+
+    private final Thread dispatcher;
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong spilled = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    private final AtomicLong flushes = new AtomicLong();
+
+    private final AtomicLong recorded = new AtomicLong();
+
+    private final AtomicLong lastFlushLatency = new AtomicLong();
+
+    private final AtomicLong maxFlushLatency = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public DispatchingAuditTrailManager(final List<AuditTrailManager> auditTrailManagers, final int queueCapacity,
+                                        final int batchSize, final OverflowPolicy overflowPolicy, final File overflowFile) {
+        this.auditTrailManagers = new ArrayList<>(auditTrailManagers);
+        this.batchSize = Math.max(1, batchSize);
+        this.overflowPolicy = overflowPolicy;
+        this.overflowFile = overflowFile;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.dispatcher = new Thread(this::dispatch, "cas-audit-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    @Override
+    public void record(final AuditActionContext audit) {
+        if (this.queue.offer(audit)) {
+            return;
+        }
+        switch (this.overflowPolicy) {
+            case DROP_OLDEST:
+                while (!this.queue.offer(audit)) {
+                    if (this.queue.poll() != null) {
+                        this.dropped.incrementAndGet();
+                    }
+                }
+                break;
+            case SPILL:
+                spill(audit);
+                break;
+            case BLOCK:
+            default:
+                try {
+                    this.queue.put(audit);
+                } catch (final InterruptedException e) {
+                    LOGGER.warn("Interrupted while waiting to queue audit record; the record is dropped");
+                    this.dropped.incrementAndGet();
+                    Thread.currentThread().interrupt();
+                }
+                break;
+        }
+    }
+
+    @Override
+    public Set<AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+        return this.auditTrailManagers
+            .stream()
+            .map(manager -> manager.getAuditRecordsSince(localDate))
+            .flatMap(Set::stream)
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Gets statistics of the queue, such as its depth and the number of dropped records, and of the latency
+     * of handing batches of audit records to the audit trail managers.
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("queueDepth", this.queue.size());
+        stats.put("queueRemainingCapacity", this.queue.remainingCapacity());
+        stats.put("overflowPolicy", this.overflowPolicy.name());
+        stats.put("dropped", this.dropped.get());
+        stats.put("spilled", this.spilled.get());
+        stats.put("failures", this.failures.get());
+        stats.put("flushes", this.flushes.get());
+        stats.put("recorded", this.recorded.get());
+        stats.put("lastFlushLatency", TimeUnit.NANOSECONDS.toMillis(this.lastFlushLatency.get()));
+        stats.put("maxFlushLatency", TimeUnit.NANOSECONDS.toMillis(this.maxFlushLatency.get()));
+        return stats;
+    }
+
+    /**
+     * Stop the background thread and record the audit records that remain in the queue.
+     */
+    @Override
+    public void destroy() {
+        this.running = false;
+        try {
+            this.dispatcher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final List<AuditActionContext> batch = new ArrayList<>(this.queue.size());
+        this.queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void dispatch() {
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                final AuditActionContext audit = this.queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (audit != null) {
+                    final List<AuditActionContext> batch = new ArrayList<>(this.batchSize);
+                    batch.add(audit);
+                    this.queue.drainTo(batch, this.batchSize - 1);
+                    flush(batch);
+                }
+            } catch (final InterruptedException e) {
+                LOGGER.debug("Audit dispatcher is interrupted");
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flush(final List<AuditActionContext> batch) {
+        final long start = System.nanoTime();
+        this.auditTrailManagers.forEach(manager -> {
+            try {
+                if (manager instanceof BatchingAuditTrailManager) {
+                    BatchingAuditTrailManager.class.cast(manager).recordAll(batch);
+                } else {
+                    batch.forEach(manager::record);
+                }
+            } catch (final Exception e) {
+                this.failures.incrementAndGet();
+                LOGGER.error("Unable to record [{}] audit record(s) via [{}]: [{}]", batch.size(), manager.getClass().getSimpleName(), e.getMessage());
+                LOGGER.debug(e.getMessage(), e);
+            }
+        });
+        final long latency = System.nanoTime() - start;
+        this.lastFlushLatency.set(latency);
+        this.maxFlushLatency.accumulateAndGet(latency, Math::max);
+        this.flushes.incrementAndGet();
+        this.recorded.addAndGet(batch.size());
+    }
+
+    private synchronized void spill(final AuditActionContext audit) {
+        final String line = String.join("\t",
+            String.valueOf(audit.getWhenActionWasPerformed() != null ? audit.getWhenActionWasPerformed().toInstant() : null),
+            audit.getPrincipal(), audit.getActionPerformed(), audit.getResourceOperatedUpon(),
+            audit.getApplicationCode(), audit.getClientIpAddress(), audit.getServerIpAddress());
+        try (Writer writer = Files.newBufferedWriter(this.overflowFile.toPath(), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(line);
+            writer.write(System.lineSeparator());
+            this.spilled.incrementAndGet();
+        } catch (final IOException e) {
+            this.dropped.incrementAndGet();
+            LOGGER.error("Unable to append audit record to [{}]; the record is dropped: [{}]", this.overflowFile, e.getMessage());
+        }
+    }
+}
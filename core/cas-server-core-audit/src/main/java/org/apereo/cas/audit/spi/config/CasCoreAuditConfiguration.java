@@ -11,6 +11,7 @@ import org.apereo.cas.audit.spi.ChainingAuditPrincipalIdProvider;
 import org.apereo.cas.audit.spi.CredentialsAsFirstParameterResourceResolver;
 import org.apereo.cas.audit.spi.DefaultAuditTrailExecutionPlan;
 import org.apereo.cas.audit.spi.DefaultAuditTrailRecordResolutionPlan;
+import org.apereo.cas.audit.spi.DispatchingAuditTrailManager;
 import org.apereo.cas.audit.spi.MessageBundleAwareResourceResolver;
 import org.apereo.cas.audit.spi.NullableReturnValueAuditResourceResolver;
 import org.apereo.cas.audit.spi.ServiceAccessEnforcementAuditResourceResolver;
@@ -20,6 +21,7 @@ import org.apereo.cas.audit.spi.ThreadLocalPrincipalResolver;
 import org.apereo.cas.audit.spi.TicketAsFirstParameterResourceResolver;
 import org.apereo.cas.audit.spi.TicketValidationResourceResolver;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.audit.AuditDispatchProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditSlf4jLogProperties;
 import org.apereo.cas.util.CollectionUtils;
@@ -41,6 +43,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.core.Ordered;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -100,6 +103,17 @@ public class CasCoreAuditConfiguration implements AuditTrailExecutionPlanConfigu
             LOGGER.debug("Registering audit trail manager [{}]", name);
             c.configureAuditTrailExecutionPlan(plan);
         });
+        final AuditDispatchProperties dispatch = casProperties.getAudit().getDispatch();
+        if (dispatch.isEnabled()) {
+            LOGGER.debug("Audit records are recorded in the background and in batches of up to [{}] records", dispatch.getBatchSize());
+            final DispatchingAuditTrailManager manager = new DispatchingAuditTrailManager(plan.getAuditTrailManagers(),
+                dispatch.getQueueCapacity(), dispatch.getBatchSize(),
+                DispatchingAuditTrailManager.OverflowPolicy.valueOf(dispatch.getOverflowPolicy().toUpperCase()),
+                new File(dispatch.getOverflowFile()));
+            final DefaultAuditTrailExecutionPlan dispatchingPlan = new DefaultAuditTrailExecutionPlan();
+            dispatchingPlan.registerAuditTrailManager(manager);
+            return dispatchingPlan;
+        }
         return plan;
     }
 
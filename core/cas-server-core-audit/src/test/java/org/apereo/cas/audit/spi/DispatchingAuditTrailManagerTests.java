@@ -0,0 +1,132 @@
+package org.apereo.cas.audit.spi;
+
+import org.apache.commons.io.FileUtils;
+import org.apereo.cas.audit.BatchingAuditTrailManager;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link DispatchingAuditTrailManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class DispatchingAuditTrailManagerTests {
+
+    private static AuditActionContext newAuditActionContext(final String principal) {
+        return new AuditActionContext(principal, "resource", "action", "CAS", new Date(), "1.2.3.4", "1.2.3.4");
+    }
+
+    @Test
+    public void verifyRecordsAreDispatchedInBatches() {
+        final List<Integer> batches = new ArrayList<>();
+        final List<AuditActionContext> recorded = new ArrayList<>();
+        final BatchingAuditTrailManager batching = new BatchingAuditTrailManager() {
+            @Override
+            public void recordAll(final Collection<AuditActionContext> audits) {
+                batches.add(audits.size());
+                recorded.addAll(audits);
+            }
+
+            @Override
+            public void record(final AuditActionContext audit) {
+                throw new AssertionError("Audit records should be recorded in batches");
+            }
+
+            @Override
+            public Set<AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+                return new HashSet<>(recorded);
+            }
+        };
+        final DispatchingAuditTrailManager manager = new DispatchingAuditTrailManager(
+            Collections.singletonList(batching), 100, 10, DispatchingAuditTrailManager.OverflowPolicy.BLOCK, null);
+        for (int i = 0; i < 25; i++) {
+            manager.record(newAuditActionContext("casuser" + i));
+        }
+        manager.destroy();
+        assertEquals(25, recorded.size());
+        assertTrue(batches.stream().allMatch(size -> size <= 10));
+        assertEquals(25L, manager.getStatistics().get("recorded"));
+        assertEquals(25, manager.getAuditRecordsSince(LocalDate.now()).size());
+    }
+
+    @Test
+    public void verifyOldestRecordsAreDropped() throws Exception {
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AuditTrailManager slow = new BlockingAuditTrailManager(blocked, release);
+        final DispatchingAuditTrailManager manager = new DispatchingAuditTrailManager(
+            Collections.singletonList(slow), 2, 1, DispatchingAuditTrailManager.OverflowPolicy.DROP_OLDEST, null);
+        manager.record(newAuditActionContext("first"));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            manager.record(newAuditActionContext("casuser" + i));
+        }
+        assertEquals(3L, manager.getStatistics().get("dropped"));
+        release.countDown();
+        manager.destroy();
+    }
+
+    @Test
+    public void verifyRecordsAreSpilledToFile() throws Exception {
+        final File file = File.createTempFile("cas-audit", ".log");
+        file.deleteOnExit();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AuditTrailManager slow = new BlockingAuditTrailManager(blocked, release);
+        final DispatchingAuditTrailManager manager = new DispatchingAuditTrailManager(
+            Collections.singletonList(slow), 1, 1, DispatchingAuditTrailManager.OverflowPolicy.SPILL, file);
+        manager.record(newAuditActionContext("first"));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        manager.record(newAuditActionContext("second"));
+        manager.record(newAuditActionContext("spilled"));
+        assertEquals(1L, manager.getStatistics().get("spilled"));
+        assertTrue(FileUtils.readFileToString(file, StandardCharsets.UTF_8).contains("spilled"));
+        release.countDown();
+        manager.destroy();
+    }
+
+    /**
+     * Audit trail manager that blocks on the first record until released.
+     */
+    private static class BlockingAuditTrailManager implements AuditTrailManager {
+        private final CountDownLatch blocked;
+        private final CountDownLatch release;
+
+        BlockingAuditTrailManager(final CountDownLatch blocked, final CountDownLatch release) {
+            this.blocked = blocked;
+            this.release = release;
+        }
+
+        @Override
+        public void record(final AuditActionContext audit) {
+            blocked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public Set<AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+            return new HashSet<>(0);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.apereo.cas.configuration.model.core.util.EncryptionJwtSigningJwtCrypt
 import org.apereo.cas.configuration.model.support.cookie.TicketGrantingCookieProperties;
 import org.apereo.cas.configuration.model.support.cookie.WarningCookieProperties;
 import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.cipher.AesGcmStringCipherExecutor;
 import org.apereo.cas.util.cipher.TicketGrantingCookieCipherExecutor;
 import org.apereo.cas.web.WarningCookieRetrievingCookieGenerator;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
@@ -66,6 +67,10 @@ public class CasCookieConfiguration {
             enabled = true;
         }
 
+        if (enabled && crypto.isAuthenticatedEncryption()) {
+            return new AesGcmStringCipherExecutor(crypto.getEncryption().getKey(), crypto.getPreviousEncryptionKeys(),
+                "cas.tgc.crypto.encryption.key", "Ticket-granting Cookie");
+        }
         if (enabled) {
             return new TicketGrantingCookieCipherExecutor(crypto.getEncryption().getKey(),
                 crypto.getSigning().getKey(), crypto.getAlg());
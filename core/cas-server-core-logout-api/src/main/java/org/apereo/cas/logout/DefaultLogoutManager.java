@@ -1,20 +1,28 @@
 package org.apereo.cas.logout;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.CompressionUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * This logout manager handles the Single Log Out process.
@@ -23,13 +31,27 @@ import java.util.stream.Stream;
  * @since 4.0.0
  */
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class DefaultLogoutManager implements LogoutManager {
     private final LogoutMessageCreator logoutMessageBuilder;
     private final SingleLogoutServiceMessageHandler singleLogoutServiceMessageHandler;
     private final boolean singleLogoutCallbacksDisabled;
     private final LogoutExecutionPlan logoutExecutionPlan;
 
+    /**
+     * Executor that handles services concurrently. Services are handled
+     * one at a time in the calling thread if undefined.
+     */
+    @Setter
+    private AsyncTaskExecutor logoutExecutor;
+
+    /**
+     * Maximum duration to wait for services to be handled by the executor.
+     * Services are awaited for as long as they take if undefined.
+     */
+    @Setter
+    private Duration timeout;
+
     /**
      * Perform a back channel logout for a given ticket granting ticket and returns all the logout requests.
      *
@@ -53,20 +75,68 @@ public class DefaultLogoutManager implements LogoutManager {
     }
 
     private List<LogoutRequest> performLogoutForTicket(final TicketGrantingTicket ticketToBeLoggedOut) {
-        final Stream<Map<String, Service>> streamServices = Stream.concat(Stream.of(ticketToBeLoggedOut.getServices()),
-            Stream.of(ticketToBeLoggedOut.getProxyGrantingTickets()));
-        return streamServices
-            .map(Map::entrySet)
-            .flatMap(Set::stream)
-            .filter(entry -> entry.getValue() instanceof WebApplicationService)
-            .map(entry -> {
-                final WebApplicationService service = (WebApplicationService) entry.getValue();
-                LOGGER.debug("Handling single logout callback for [{}]", service);
-                return this.singleLogoutServiceMessageHandler.handle(service, entry.getKey());
-            })
-            .flatMap(Collection::stream)
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        final Map<String, WebApplicationService> services = new LinkedHashMap<>();
+        collectServices(ticketToBeLoggedOut.getServices(), services);
+        collectServices(ticketToBeLoggedOut.getProxyGrantingTickets(), services);
+        final Set<String> notifiedLogoutUrls = ConcurrentHashMap.newKeySet();
+        if (this.logoutExecutor == null || services.size() < 2) {
+            return services.entrySet()
+                .stream()
+                .map(entry -> handleService(entry.getValue(), entry.getKey(), notifiedLogoutUrls))
+                .flatMap(Collection::stream)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        }
+        return handleServicesConcurrently(services, notifiedLogoutUrls);
+    }
+
+    /**
+     * Submit all services to the executor and await the results until the timeout.
+     * Services that are still pending by then continue in the background, and are left out of the result.
+     *
+     * @param services           the services keyed by ticket id
+     * @param notifiedLogoutUrls the logout urls already notified during this logout
+     * @return the logout requests
+     */
+    private List<LogoutRequest> handleServicesConcurrently(final Map<String, WebApplicationService> services,
+                                                           final Set<String> notifiedLogoutUrls) {
+        final Map<String, Future<Collection<LogoutRequest>>> results = new LinkedHashMap<>(services.size());
+        services.forEach((ticketId, service) ->
+            results.put(ticketId, this.logoutExecutor.submit(() -> handleService(service, ticketId, notifiedLogoutUrls))));
+        final long deadline = this.timeout == null ? Long.MAX_VALUE : System.currentTimeMillis() + this.timeout.toMillis();
+        final List<LogoutRequest> logoutRequests = new ArrayList<>(services.size());
+        for (final Map.Entry<String, Future<Collection<LogoutRequest>>> entry : results.entrySet()) {
+            final WebApplicationService service = services.get(entry.getKey());
+            try {
+                entry.getValue()
+                    .get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .forEach(logoutRequests::add);
+            } catch (final TimeoutException e) {
+                LOGGER.warn("Single logout callback for [{}] did not complete within [{}] and continues in the background", service, this.timeout);
+            } catch (final ExecutionException e) {
+                LOGGER.error("Unable to handle single logout callback for [{}]: [{}]", service, e.getCause().getMessage(), e.getCause());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return logoutRequests;
+    }
+
+    private Collection<LogoutRequest> handleService(final WebApplicationService service, final String ticketId,
+                                                    final Set<String> notifiedLogoutUrls) {
+        LOGGER.debug("Handling single logout callback for [{}]", service);
+        return this.singleLogoutServiceMessageHandler.handle(service, ticketId, notifiedLogoutUrls);
+    }
+
+    private static void collectServices(final Map<String, Service> services, final Map<String, WebApplicationService> results) {
+        services.forEach((ticketId, service) -> {
+            if (service instanceof WebApplicationService) {
+                results.putIfAbsent(ticketId, (WebApplicationService) service);
+            }
+        });
     }
 
     /**
@@ -12,7 +12,9 @@ import org.apereo.cas.util.http.HttpClient;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -42,6 +44,12 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
      */
     @Override
     public Collection<LogoutRequest> handle(final WebApplicationService singleLogoutService, final String ticketId) {
+        return handle(singleLogoutService, ticketId, new HashSet<>());
+    }
+
+    @Override
+    public Collection<LogoutRequest> handle(final WebApplicationService singleLogoutService, final String ticketId,
+                                            final Set<String> notifiedLogoutUrls) {
         if (singleLogoutService.isLoggedOutAlready()) {
             LOGGER.debug("Service [{}] is already logged out.", singleLogoutService);
             return new ArrayList<>(0);
@@ -67,15 +75,23 @@ public class DefaultSingleLogoutServiceMessageHandler implements SingleLogoutSer
         }
 
         LOGGER.debug("Creating logout request for [{}] and ticket id [{}]", selectedService, ticketId);
-        return createLogoutRequests(ticketId, selectedService, registeredService, logoutUrls);
+        return createLogoutRequests(ticketId, selectedService, registeredService, logoutUrls, notifiedLogoutUrls);
     }
 
     private Collection<LogoutRequest> createLogoutRequests(final String ticketId,
                                                            final WebApplicationService selectedService,
                                                            final RegisteredService registeredService,
-                                                           final Collection<URL> logoutUrls) {
+                                                           final Collection<URL> logoutUrls,
+                                                           final Set<String> notifiedLogoutUrls) {
         return logoutUrls
             .stream()
+            .filter(url -> {
+                if (notifiedLogoutUrls.add(url.toExternalForm())) {
+                    return true;
+                }
+                LOGGER.debug("Logout url [{}] is already notified for this single sign-on session", url);
+                return false;
+            })
             .map(url -> createLogoutRequest(ticketId, selectedService, registeredService, url))
             .filter(Objects::nonNull)
             .collect(Collectors.toList());
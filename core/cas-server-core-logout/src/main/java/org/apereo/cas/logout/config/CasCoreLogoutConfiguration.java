@@ -4,6 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.AuthenticationServiceSelectionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.slo.SloProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.logout.DefaultLogoutExecutionPlan;
 import org.apereo.cas.logout.DefaultLogoutManager;
 import org.apereo.cas.logout.DefaultSingleLogoutServiceLogoutUrlBuilder;
@@ -17,6 +19,7 @@ import org.apereo.cas.logout.SingleLogoutServiceLogoutUrlBuilder;
 import org.apereo.cas.logout.SingleLogoutServiceMessageHandler;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.http.CircuitBreakingHttpClient;
 import org.apereo.cas.util.http.HttpClient;
 import org.apereo.cas.web.UrlValidator;
 import org.springframework.beans.factory.ObjectProvider;
@@ -27,8 +30,11 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * This is {@link CasCoreLogoutConfiguration}.
@@ -73,7 +79,18 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @ConditionalOnMissingBean(name = "defaultSingleLogoutServiceMessageHandler")
     @Bean
     public SingleLogoutServiceMessageHandler defaultSingleLogoutServiceMessageHandler() {
-        return new DefaultSingleLogoutServiceMessageHandler(httpClient,
+        final SloProperties slo = casProperties.getSlo();
+        HttpClient client = httpClient;
+        if (slo.getCircuitBreakerFailureThreshold() > 0) {
+            if (slo.isAsynchronous()) {
+                LOGGER.warn("Logout messages are sent asynchronously and their failures are not known; "
+                    + "the circuit breaker defined for single logout is ignored. Turn off [cas.slo.asynchronous] to use it.");
+            } else {
+                client = new CircuitBreakingHttpClient(httpClient, slo.getCircuitBreakerFailureThreshold(),
+                    Beans.newDuration(slo.getCircuitBreakerResetTimeout()).toMillis());
+            }
+        }
+        return new DefaultSingleLogoutServiceMessageHandler(client,
             logoutBuilder(),
             servicesManager,
             singleLogoutServiceLogoutUrlBuilder(),
@@ -86,8 +103,27 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     @Autowired
     @Bean
     public LogoutManager logoutManager(@Qualifier("logoutExecutionPlan") final LogoutExecutionPlan logoutExecutionPlan) {
-        return new DefaultLogoutManager(logoutBuilder(), defaultSingleLogoutServiceMessageHandler(),
-            casProperties.getSlo().isDisabled(), logoutExecutionPlan);
+        final SloProperties slo = casProperties.getSlo();
+        final DefaultLogoutManager manager = new DefaultLogoutManager(logoutBuilder(), defaultSingleLogoutServiceMessageHandler(),
+            slo.isDisabled(), logoutExecutionPlan);
+        if (slo.getPoolSize() > 0) {
+            manager.setLogoutExecutor(singleLogoutExecutor());
+            manager.setTimeout(Beans.newDuration(slo.getTimeout()));
+        }
+        return manager;
+    }
+
+    @ConditionalOnMissingBean(name = "singleLogoutExecutor")
+    @Bean
+    public AsyncTaskExecutor singleLogoutExecutor() {
+        final SloProperties slo = casProperties.getSlo();
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, slo.getPoolSize()));
+        executor.setMaxPoolSize(Math.max(1, slo.getPoolSize()));
+        executor.setQueueCapacity(slo.getQueueCapacity());
+        executor.setThreadNamePrefix("singleLogout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
     }
 
     @ConditionalOnMissingBean(name = "logoutBuilder")
@@ -113,12 +149,11 @@ public class CasCoreLogoutConfiguration implements LogoutExecutionPlanConfigurer
     public void configureLogoutExecutionPlan(final LogoutExecutionPlan plan) {
         if (casProperties.getLogout().isRemoveDescendantTickets()) {
             LOGGER.debug("CAS is configured to remove descendant tickets of the ticket-granting tickets");
-            plan.registerLogoutHandler(ticketGrantingTicket -> ticketGrantingTicket.getDescendantTickets()
-                .stream()
-                .forEach(t -> {
-                    LOGGER.debug("Deleting ticket [{}] from the registry as a descendant of [{}]", t, ticketGrantingTicket.getId());
-                    ticketRegistry.deleteTicket(t);
-                }));
+            plan.registerLogoutHandler(ticketGrantingTicket -> {
+                LOGGER.debug("Deleting tickets [{}] from the registry as descendants of [{}]",
+                    ticketGrantingTicket.getDescendantTickets(), ticketGrantingTicket.getId());
+                ticketRegistry.deleteTickets(ticketGrantingTicket.getDescendantTickets());
+            });
         }
     }
 }
@@ -13,6 +13,7 @@ import org.apereo.cas.services.RegexRegisteredService;
 import org.apereo.cas.services.RegisteredService.LogoutType;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.RandomUtils;
 import org.apereo.cas.util.http.HttpClient;
 import org.apereo.cas.util.http.HttpMessage;
@@ -24,13 +25,19 @@ import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.mock.web.MockHttpServletRequest;
 
 
 import java.net.URL;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -44,6 +51,7 @@ import static org.mockito.Mockito.*;
 public class DefaultLogoutManagerTests {
     private static final String ID = "id";
     private static final String URL = "http://www.github.com";
+    private static final long AWAIT_SECONDS = 10;
 
     private DefaultLogoutManager logoutManager;
 
@@ -169,6 +177,76 @@ public class DefaultLogoutManagerTests {
         assertEquals(1, logoutRequests.size());
     }
 
+    @Test
+    public void verifyServicesAreLoggedOutConcurrently() {
+        final int count = 4;
+        final CountDownLatch sending = new CountDownLatch(count);
+        final Map<String, Service> services = prepareServices(count, invocation -> {
+            sending.countDown();
+            return sending.await(AWAIT_SECONDS, TimeUnit.SECONDS);
+        });
+        this.logoutManager.setLogoutExecutor(new SimpleAsyncTaskExecutor());
+        this.logoutManager.setTimeout(Duration.ofSeconds(AWAIT_SECONDS * 2));
+
+        final Collection<LogoutRequest> logoutRequests = this.logoutManager.performLogout(tgt);
+        assertEquals(services.size(), logoutRequests.size());
+        assertTrue(logoutRequests.stream().allMatch(r -> r.getStatus() == LogoutRequestStatus.SUCCESS));
+    }
+
+    @Test
+    public void verifyLogoutIsBoundedByTimeout() {
+        final CountDownLatch release = new CountDownLatch(1);
+        prepareServices(2, invocation -> release.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        this.logoutManager.setLogoutExecutor(new SimpleAsyncTaskExecutor());
+        this.logoutManager.setTimeout(Duration.ofMillis(200));
+        try {
+            assertTrue(this.logoutManager.performLogout(tgt).isEmpty());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void verifyServiceSharedWithProxyGrantingTicketIsNotifiedOnce() {
+        final Map<String, Service> proxyGrantingTickets = new HashMap<>();
+        proxyGrantingTickets.put("PGT-1", getService(URL));
+        when(this.tgt.getProxyGrantingTickets()).thenReturn(proxyGrantingTickets);
+        this.logoutManager.setLogoutExecutor(new SimpleAsyncTaskExecutor());
+
+        final Collection<LogoutRequest> logoutRequests = this.logoutManager.performLogout(tgt);
+        assertEquals(1, logoutRequests.size());
+        verify(client, times(1)).sendMessageToEndPoint(any(HttpMessage.class));
+    }
+
+    @Test
+    public void verifyEqualServicesOfDifferentTicketsAreHandledConcurrently() throws Exception {
+        final URL logoutUrl = new URL(URL);
+        final Map<String, Service> services = new HashMap<>();
+        services.put("ST-1", getService(URL));
+        services.put("ST-2", getService(URL));
+        when(this.tgt.getServices()).thenReturn(services);
+        this.logoutManager = new DefaultLogoutManager(new SamlCompliantLogoutMessageCreator(),
+            (service, ticketId) -> CollectionUtils.wrapList(new DefaultLogoutRequest(ticketId, service, logoutUrl)),
+            false, mock(LogoutExecutionPlan.class));
+        this.logoutManager.setLogoutExecutor(new SimpleAsyncTaskExecutor());
+
+        final Collection<LogoutRequest> logoutRequests = this.logoutManager.performLogout(tgt);
+        assertEquals(services.keySet(), logoutRequests.stream().map(LogoutRequest::getTicketId).collect(Collectors.toSet()));
+    }
+
+    private Map<String, Service> prepareServices(final int count, final Answer<Boolean> send) {
+        when(client.sendMessageToEndPoint(any(HttpMessage.class))).thenAnswer(send);
+        final Map<String, Service> services = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            final String url = URL + "/app" + i;
+            final AbstractWebApplicationService service = getService(url);
+            services.put(ID + i, service);
+            when(servicesManager.findServiceBy(service)).thenReturn(getRegisteredService(url));
+        }
+        when(this.tgt.getServices()).thenReturn(services);
+        return services;
+    }
+
     @SneakyThrows
     public static AbstractRegisteredService getRegisteredService(final String id) {
         final RegexRegisteredService s = new RegexRegisteredService();
@@ -0,0 +1,54 @@
+package org.apereo.cas.services.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.services.RegisteredService;
+
+import java.io.File;
+
+/**
+ * This is {@link RegisteredServiceSmileSerializer} that encodes registered services
+ * in the binary Smile format, using the same mapping as their JSON representation.
+ * It is meant for copies of services that CAS produces and reads back itself, rather than service definitions.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class RegisteredServiceSmileSerializer extends DefaultRegisteredServiceJsonSerializer {
+    private static final long serialVersionUID = 2863409471232581553L;
+
+    @Override
+    protected JsonFactory getJsonFactory() {
+        return new SmileFactory();
+    }
+
+    /**
+     * Encode the service.
+     *
+     * @param service the service
+     * @return the encoded service
+     */
+    @SneakyThrows
+    public byte[] toBytes(final RegisteredService service) {
+        return getObjectMapper().writeValueAsBytes(service);
+    }
+
+    /**
+     * Decode the service.
+     *
+     * @param bytes the encoded service
+     * @return the service
+     */
+    @SneakyThrows
+    public RegisteredService fromBytes(final byte[] bytes) {
+        return getObjectMapper().readValue(bytes, RegisteredService.class);
+    }
+
+    @Override
+    public boolean supports(final File file) {
+        return false;
+    }
+}
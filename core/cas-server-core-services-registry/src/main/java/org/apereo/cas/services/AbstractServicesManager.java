@@ -1,10 +1,12 @@
 package org.apereo.cas.services;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceExpiredEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicePreDeleteEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicePreSaveEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
@@ -13,15 +15,18 @@ import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.inspektr.audit.annotation.Audit;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 
 import javax.annotation.PostConstruct;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -43,12 +48,41 @@ public abstract class AbstractServicesManager implements ServicesManager {
 
     private final transient ApplicationEventPublisher eventPublisher;
 
-    private Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
+    private final transient RegisteredServiceResolutionCache resolutionCache;
+
+    private volatile Map<Long, RegisteredService> services = new ConcurrentHashMap<>();
+
+    private transient volatile RegisteredServiceTypeIndex typeIndex = new RegisteredServiceTypeIndex(new ArrayList<>(0));
+
+    /**
+     * Whether scheduled reloads should only apply the differences
+     * between the service registry and the services already loaded.
+     */
+    @Setter
+    private boolean incrementalReload;
+
+    /**
+     * Local snapshot of the loaded services, used to serve
+     * requests on startup before the service registry is loaded.
+     */
+    @Setter
+    private transient ServiceRegistrySnapshot snapshot;
+
+    private transient String lastChangeToken;
+
+    private transient boolean loaded;
 
     public AbstractServicesManager(final ServiceRegistry serviceRegistry,
                                    final ApplicationEventPublisher eventPublisher) {
+        this(serviceRegistry, eventPublisher, null);
+    }
+
+    public AbstractServicesManager(final ServiceRegistry serviceRegistry,
+                                   final ApplicationEventPublisher eventPublisher,
+                                   final RegisteredServiceResolutionCache resolutionCache) {
         this.serviceRegistry = serviceRegistry;
         this.eventPublisher = eventPublisher;
+        this.resolutionCache = resolutionCache;
     }
 
     @Override
@@ -78,14 +112,10 @@ public abstract class AbstractServicesManager implements ServicesManager {
         if (StringUtils.isBlank(serviceId)) {
             return null;
         }
-
-        final RegisteredService service = getCandidateServicesToMatch(serviceId)
-            .stream()
-            .filter(r -> r.matches(serviceId))
-            .findFirst()
-            .orElse(null);
-        final RegisteredService result = validateRegisteredService(service);
-        return result;
+        if (this.resolutionCache != null) {
+            return this.resolutionCache.get(serviceId, this::resolveRegisteredService);
+        }
+        return resolveRegisteredService(serviceId);
     }
 
     @Override
@@ -110,6 +140,30 @@ public abstract class AbstractServicesManager implements ServicesManager {
         return findServiceBy(serviceId.getId(), clazz);
     }
 
+    @Override
+    public <T extends RegisteredService> T findServiceByIndex(final RegisteredServiceIndex<T> index, final String key) {
+        return this.typeIndex.getServicesByKey(index, key)
+            .stream()
+            .filter(getRegisteredServiceExpirationPolicyPredicate())
+            .map(index.getType()::cast)
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Override
+    public <T extends RegisteredService> T findServiceOfType(final String serviceId, final Class<T> clazz) {
+        if (StringUtils.isBlank(serviceId)) {
+            return null;
+        }
+        return this.typeIndex.getCandidateServices(serviceId, clazz)
+            .stream()
+            .filter(getRegisteredServiceExpirationPolicyPredicate())
+            .filter(r -> r.matches(serviceId))
+            .map(clazz::cast)
+            .findFirst()
+            .orElse(null);
+    }
+
     @Override
     public RegisteredService findServiceBy(final long id) {
         return this.services.get(id);
@@ -120,6 +174,51 @@ public abstract class AbstractServicesManager implements ServicesManager {
         return services.size();
     }
 
+    @Override
+    public Map<String, Object> getResolutionCacheStatistics() {
+        return this.resolutionCache != null ? this.resolutionCache.getStatistics() : new HashMap<>(0);
+    }
+
+    /**
+     * Handle registered service saved event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasRegisteredServiceSavedEvent(final CasRegisteredServiceSavedEvent event) {
+        invalidateResolutionCache();
+    }
+
+    /**
+     * Handle registered service deleted event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasRegisteredServiceDeletedEvent(final CasRegisteredServiceDeletedEvent event) {
+        invalidateResolutionCache();
+    }
+
+    /**
+     * Handle registered service loaded event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasRegisteredServiceLoadedEvent(final CasRegisteredServiceLoadedEvent event) {
+        invalidateResolutionCache();
+    }
+
+    /**
+     * Handle registered services loaded event.
+     *
+     * @param event the event
+     */
+    @EventListener
+    public void handleCasRegisteredServicesLoadedEvent(final CasRegisteredServicesLoadedEvent event) {
+        invalidateResolutionCache();
+    }
+
     @Override
     public boolean matchesExistingService(final Service service) {
         return matchesExistingService(service.getId());
@@ -149,6 +248,8 @@ public abstract class AbstractServicesManager implements ServicesManager {
             this.serviceRegistry.delete(service);
             this.services.remove(service.getId());
             deleteInternal(service);
+            rebuildTypeIndex();
+            invalidateResolutionCache();
             publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         }
         return service;
@@ -171,6 +272,8 @@ public abstract class AbstractServicesManager implements ServicesManager {
         final RegisteredService r = this.serviceRegistry.save(registeredService);
         this.services.put(r.getId(), r);
         saveInternal(registeredService);
+        rebuildTypeIndex();
+        invalidateResolutionCache();
 
         if (publishEvent) {
             publishEvent(new CasRegisteredServiceSavedEvent(this, r));
@@ -186,20 +289,120 @@ public abstract class AbstractServicesManager implements ServicesManager {
     @Override
     @PostConstruct
     public Collection<RegisteredService> load() {
+        if (this.incrementalReload && this.loaded) {
+            return reload();
+        }
+        if (!this.loaded && restoreSnapshot()) {
+            CompletableFuture.runAsync(this::loadFromServiceRegistry)
+                .exceptionally(e -> {
+                    LOGGER.error("Unable to reconcile services restored from snapshot with [{}]: [{}]",
+                        this.serviceRegistry.getName(), e.getMessage());
+                    return null;
+                });
+            return this.services.values();
+        }
+        return loadFromServiceRegistry();
+    }
+
+    private synchronized Collection<RegisteredService> loadFromServiceRegistry() {
         LOGGER.debug("Loading services from [{}]", this.serviceRegistry);
+        final String changeToken = this.serviceRegistry.getChangeToken();
         this.services = this.serviceRegistry.load()
             .stream()
             .collect(Collectors.toConcurrentMap(r -> {
                 LOGGER.debug("Adding registered service [{}]", r.getServiceId());
                 return r.getId();
             }, Function.identity(), (r, s) -> s == null ? r : s));
+        this.lastChangeToken = changeToken;
+        this.loaded = true;
         loadInternal();
+        rebuildTypeIndex();
+        invalidateResolutionCache();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
         evaluateExpiredServiceDefinitions();
+        writeSnapshot();
         LOGGER.info("Loaded [{}] service(s) from [{}].", this.services.size(), this.serviceRegistry.getName());
         return services.values();
     }
 
+    /**
+     * Restore services from the snapshot, if any, so they can be served
+     * until the service registry itself is loaded.
+     *
+     * @return true if services were restored
+     */
+    private synchronized boolean restoreSnapshot() {
+        if (this.snapshot == null) {
+            return false;
+        }
+        final List<RegisteredService> restored = this.snapshot.read();
+        if (restored.isEmpty()) {
+            return false;
+        }
+        this.services = restored
+            .stream()
+            .collect(Collectors.toConcurrentMap(RegisteredService::getId, Function.identity(), (r, s) -> s == null ? r : s));
+        this.loaded = true;
+        loadInternal();
+        rebuildTypeIndex();
+        invalidateResolutionCache();
+        publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
+        LOGGER.info("Restored [{}] service(s) from snapshot [{}]; reconciling with [{}] in the background",
+            this.services.size(), this.snapshot.getLocation(), this.serviceRegistry.getName());
+        return true;
+    }
+
+    /**
+     * Reload services from the DAO, applying only what has been added, updated or removed
+     * since the last load. The service registry is not consulted at all if its change token
+     * is the same as the one observed during the last load. Changes are applied to a copy of the
+     * loaded services which then replaces the current set, so lookups never observe a partial state.
+     *
+     * @return the loaded services
+     */
+    private synchronized Collection<RegisteredService> reload() {
+        final String changeToken = this.serviceRegistry.getChangeToken();
+        if (changeToken != null && changeToken.equals(this.lastChangeToken)) {
+            LOGGER.debug("Service registry [{}] reports no changes since the last load", this.serviceRegistry.getName());
+            evaluateExpiredServiceDefinitions();
+            return this.services.values();
+        }
+        final Map<Long, RegisteredService> current = this.services;
+        final Map<Long, RegisteredService> reloaded = this.serviceRegistry.load()
+            .stream()
+            .collect(Collectors.toMap(RegisteredService::getId, Function.identity(), (r, s) -> s == null ? r : s));
+
+        final Map<Long, RegisteredService> changed = reloaded.values()
+            .stream()
+            .filter(r -> !r.equals(current.get(r.getId())))
+            .collect(Collectors.toMap(RegisteredService::getId, Function.identity()));
+        final List<Long> removed = current.keySet()
+            .stream()
+            .filter(id -> !reloaded.containsKey(id))
+            .collect(Collectors.toList());
+        this.lastChangeToken = changeToken;
+
+        if (changed.isEmpty() && removed.isEmpty()) {
+            LOGGER.debug("No changes found in service registry [{}] since the last load", this.serviceRegistry.getName());
+            evaluateExpiredServiceDefinitions();
+            return current.values();
+        }
+        LOGGER.debug("Applying [{}] added or updated and [{}] removed service(s) from [{}]",
+            changed.size(), removed.size(), this.serviceRegistry.getName());
+        final Map<Long, RegisteredService> updated = new ConcurrentHashMap<>(current);
+        updated.putAll(changed);
+        removed.forEach(updated::remove);
+        this.services = updated;
+        loadInternal();
+        rebuildTypeIndex();
+        invalidateResolutionCache();
+        publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
+        evaluateExpiredServiceDefinitions();
+        writeSnapshot();
+        LOGGER.info("Reloaded [{}] service(s) from [{}].", this.services.size(), this.serviceRegistry.getName());
+        return this.services.values();
+    }
+
     private void evaluateExpiredServiceDefinitions() {
         this.services.values()
             .stream()
@@ -253,6 +456,16 @@ public abstract class AbstractServicesManager implements ServicesManager {
         return LocalDateTime.now();
     }
 
+    private RegisteredService resolveRegisteredService(final String serviceId) {
+        final RegisteredService service = getCandidateServicesToMatch(serviceId)
+            .stream()
+            .filter(r -> r.matches(serviceId))
+            .findFirst()
+            .orElse(null);
+        final RegisteredService result = validateRegisteredService(service);
+        return result;
+    }
+
     private RegisteredService validateRegisteredService(final RegisteredService registeredService) {
         final RegisteredService result = checkServiceExpirationPolicyIfAny(registeredService);
         return result;
@@ -313,6 +526,22 @@ public abstract class AbstractServicesManager implements ServicesManager {
     protected void loadInternal() {
     }
 
+    private void rebuildTypeIndex() {
+        this.typeIndex = new RegisteredServiceTypeIndex(getAllServices());
+    }
+
+    private void writeSnapshot() {
+        if (this.snapshot != null) {
+            this.snapshot.write(this.services.values());
+        }
+    }
+
+    private void invalidateResolutionCache() {
+        if (this.resolutionCache != null) {
+            this.resolutionCache.invalidate();
+        }
+    }
+
     private void publishEvent(final ApplicationEvent event) {
         if (this.eventPublisher != null) {
             this.eventPublisher.publishEvent(event);
@@ -93,6 +93,17 @@ public class ChainingServiceRegistry extends AbstractServiceRegistry {
             .sum();
     }
 
+    @Override
+    public String getChangeToken() {
+        final List<String> tokens = serviceRegistries.stream()
+            .map(ServiceRegistry::getChangeToken)
+            .collect(Collectors.toList());
+        if (tokens.contains(null)) {
+            return null;
+        }
+        return String.join(",", tokens);
+    }
+
     @Override
     public String getName() {
         final Predicate filter = Predicates.not(Predicates.instanceOf(ImmutableServiceRegistry.class));
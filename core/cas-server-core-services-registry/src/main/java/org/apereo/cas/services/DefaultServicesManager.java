@@ -3,12 +3,13 @@ package org.apereo.cas.services;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Set;
-import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
  * Default implementation of the {@link ServicesManager} interface.
+ * Candidate services are located via a {@link RegisteredServiceMatchingIndex}
+ * that is rebuilt and swapped whenever the collection of services changes.
  *
  * @author Scott Battaglia
  * @since 3.1
@@ -17,29 +18,39 @@ import java.util.concurrent.ConcurrentSkipListSet;
 public class DefaultServicesManager extends AbstractServicesManager {
     private static final long serialVersionUID = -8581398063126547772L;
 
-    private Set<RegisteredService> orderedServices = new ConcurrentSkipListSet<>();
+    private transient volatile RegisteredServiceMatchingIndex matchingIndex = new RegisteredServiceMatchingIndex(new ArrayList<>(0));
 
     public DefaultServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher) {
         super(serviceRegistry, eventPublisher);
     }
 
+    public DefaultServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher,
+                                  final RegisteredServiceResolutionCache resolutionCache) {
+        super(serviceRegistry, eventPublisher, resolutionCache);
+    }
+
     @Override
     protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
-        return this.orderedServices;
+        return this.matchingIndex.getCandidateServices(serviceId);
     }
 
     @Override
     protected void deleteInternal(final RegisteredService service) {
-        this.orderedServices.remove(service);
+        rebuildMatchingIndex();
     }
 
     @Override
     protected void saveInternal(final RegisteredService service) {
-        this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
+        rebuildMatchingIndex();
     }
 
     @Override
     protected void loadInternal() {
-        this.orderedServices = new ConcurrentSkipListSet<>(getAllServices());
+        rebuildMatchingIndex();
+    }
+
+    private void rebuildMatchingIndex() {
+        this.matchingIndex = new RegisteredServiceMatchingIndex(getAllServices());
+        LOGGER.trace("Rebuilt service matching index with [{}] service(s)", this.matchingIndex.getSize());
     }
 }
@@ -43,6 +43,11 @@ public class DomainServicesManager extends AbstractServicesManager {
         super(serviceRegistry, eventPublisher);
     }
 
+    public DomainServicesManager(final ServiceRegistry serviceRegistry, final ApplicationEventPublisher eventPublisher,
+                                 final RegisteredServiceResolutionCache resolutionCache) {
+        super(serviceRegistry, eventPublisher, resolutionCache);
+    }
+
     @Override
     protected void deleteInternal(final RegisteredService service) {
         final String domain = extractDomain(service.getServiceId());
@@ -0,0 +1,254 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.util.RegexUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndex}, an immutable snapshot of
+ * registered services that is able to narrow down the set of definitions
+ * whose service id pattern could possibly match a given service url.
+ * <p>
+ * Regex-based definitions are indexed in a prefix trie keyed by the literal
+ * (case-insensitive) prefix of their pattern, which typically covers the scheme and host.
+ * Definitions without a usable literal prefix are folded into a single combined
+ * pattern that is used to quickly reject lookups that cannot match any of them.
+ * Anything else is always considered a candidate. Candidates are returned
+ * in the original evaluation order of the services, so the first candidate
+ * that matches is the same service that a linear scan would have found.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class RegisteredServiceMatchingIndex {
+
+    private static final Pattern PATTERN_INLINE_FLAGS = Pattern.compile("\\(\\?[a-zA-Z-]+[:)]");
+
+    private static final Pattern PATTERN_BACK_REFERENCE = Pattern.compile("\\\\([1-9]|k<)");
+
+    private static final String QUANTIFIERS = "*+?{";
+
+    private static final String META_CHARACTERS = "[](){}*+?|^$";
+
+    private final Node root = new Node();
+
+    private final List<IndexedService> fallbackServices = new ArrayList<>();
+
+    private final List<IndexedService> unindexedServices = new ArrayList<>();
+
+    @Getter
+    private final int size;
+
+    private final Pattern fallbackPattern;
+
+    public RegisteredServiceMatchingIndex(final Collection<RegisteredService> orderedServices) {
+        int rank = 0;
+        for (final RegisteredService service : orderedServices) {
+            index(new IndexedService(rank++, service));
+        }
+        this.size = rank;
+        this.fallbackPattern = buildFallbackPattern();
+        LOGGER.debug("Indexed [{}] service(s); [{}] matched via the combined fallback pattern and [{}] always evaluated",
+            this.size, this.fallbackServices.size(), this.unindexedServices.size());
+    }
+
+    /**
+     * Gets the candidate services that may match the given service id,
+     * sorted by their evaluation order.
+     *
+     * @param serviceId the service id
+     * @return the candidate services
+     */
+    public Collection<RegisteredService> getCandidateServices(final String serviceId) {
+        if (StringUtils.isBlank(serviceId)) {
+            return new ArrayList<>(0);
+        }
+        final List<IndexedService> candidates = new ArrayList<>(this.unindexedServices);
+        collectPrefixMatches(this.root, toLowerCase(serviceId), 0, candidates);
+        if (this.fallbackPattern == null || this.fallbackPattern.matcher(serviceId).matches()) {
+            candidates.addAll(this.fallbackServices);
+        }
+        return candidates.stream()
+            .sorted(Comparator.comparingInt(IndexedService::getRank))
+            .map(IndexedService::getService)
+            .collect(Collectors.toList());
+    }
+
+    private void index(final IndexedService indexedService) {
+        final RegisteredService service = indexedService.getService();
+        if (!(service instanceof RegexRegisteredService) || !RegexUtils.isValidRegex(service.getServiceId())) {
+            this.unindexedServices.add(indexedService);
+            return;
+        }
+        final String pattern = service.getServiceId();
+        final List<Character> prefix = extractLiteralPrefix(pattern);
+        if (!prefix.isEmpty()) {
+            Node node = this.root;
+            for (final Character c : prefix) {
+                node = c == null ? node.getOrCreateWildcard() : node.getOrCreateChild(c);
+            }
+            node.services.add(indexedService);
+            return;
+        }
+        if (PATTERN_INLINE_FLAGS.matcher(pattern).find()
+            || PATTERN_BACK_REFERENCE.matcher(pattern).find()
+            || pattern.contains("\\Q")
+            || pattern.contains("(?<")) {
+            this.unindexedServices.add(indexedService);
+            return;
+        }
+        this.fallbackServices.add(indexedService);
+    }
+
+    private Pattern buildFallbackPattern() {
+        if (this.fallbackServices.isEmpty()) {
+            return RegexUtils.MATCH_NOTHING_PATTERN;
+        }
+        final String combined = this.fallbackServices
+            .stream()
+            .map(s -> s.getService().getServiceId())
+            .collect(Collectors.joining(")|(?:", "(?:", ")"));
+        try {
+            return Pattern.compile(combined, Pattern.CASE_INSENSITIVE);
+        } catch (final PatternSyntaxException e) {
+            LOGGER.debug("Unable to combine service patterns into a single expression; all will be individually evaluated", e);
+            return null;
+        }
+    }
+
+    private static void collectPrefixMatches(final Node node, final String serviceId, final int position,
+                                             final List<IndexedService> candidates) {
+        candidates.addAll(node.services);
+        if (position >= serviceId.length()) {
+            return;
+        }
+        final Node child = node.children.get(serviceId.charAt(position));
+        if (child != null) {
+            collectPrefixMatches(child, serviceId, position + 1, candidates);
+        }
+        if (node.wildcard != null) {
+            collectPrefixMatches(node.wildcard, serviceId, position + 1, candidates);
+        }
+    }
+
+    /**
+     * Extract the literal prefix that every input matched by the pattern must begin with.
+     * Characters are lowercased since service patterns are case-insensitive;
+     * a {@code null} element stands for a single-character wildcard.
+     *
+     * @param pattern the pattern
+     * @return the literal prefix, or an empty list if none could be determined
+     */
+    static List<Character> extractLiteralPrefix(final String pattern) {
+        final List<Character> prefix = new ArrayList<>();
+        if (hasTopLevelAlternation(pattern)) {
+            return prefix;
+        }
+        int i = pattern.startsWith("^") ? 1 : 0;
+        while (i < pattern.length()) {
+            final char c = pattern.charAt(i);
+            final Character token;
+            int next = i + 1;
+            if (c == '\\') {
+                if (next >= pattern.length()) {
+                    break;
+                }
+                final char escaped = pattern.charAt(next);
+                if (Character.isLetterOrDigit(escaped)) {
+                    break;
+                }
+                token = toLowerCase(escaped);
+                next++;
+            } else if (c == '.') {
+                token = null;
+            } else if (META_CHARACTERS.indexOf(c) >= 0) {
+                break;
+            } else {
+                token = toLowerCase(c);
+            }
+            if (next < pattern.length() && QUANTIFIERS.indexOf(pattern.charAt(next)) >= 0) {
+                break;
+            }
+            prefix.add(token);
+            i = next;
+        }
+        return prefix;
+    }
+
+    private static boolean hasTopLevelAlternation(final String pattern) {
+        int depth = 0;
+        boolean inCharClass = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inCharClass) {
+                inCharClass = c != ']';
+            } else if (c == '[') {
+                inCharClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static char toLowerCase(final char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static String toLowerCase(final String value) {
+        final char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * A registered service along with its position in the evaluation order.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class IndexedService {
+        private final int rank;
+        private final RegisteredService service;
+    }
+
+    /**
+     * A node in the literal prefix trie.
+     */
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<IndexedService> services = new ArrayList<>();
+        private Node wildcard;
+
+        Node getOrCreateChild(final char c) {
+            return this.children.computeIfAbsent(c, k -> new Node());
+        }
+
+        Node getOrCreateWildcard() {
+            if (this.wildcard == null) {
+                this.wildcard = new Node();
+            }
+            return this.wildcard;
+        }
+    }
+}
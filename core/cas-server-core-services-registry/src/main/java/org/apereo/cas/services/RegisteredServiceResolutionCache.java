@@ -0,0 +1,143 @@
+package org.apereo.cas.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.util.DateTimeUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * This is {@link RegisteredServiceResolutionCache} that remembers the outcome of
+ * matching a service id against the registered services, including
+ * the cases where no service could be found. Entries are kept no longer than the
+ * configured duration, or the expiration date of the resolved service, whichever comes first.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class RegisteredServiceResolutionCache {
+
+    private final Cache<String, Resolution> cache;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final long maximumSize;
+
+    public RegisteredServiceResolutionCache(final long maximumSize, final Duration duration) {
+        this.maximumSize = maximumSize;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new ResolutionExpiry(duration))
+            .build();
+    }
+
+    /**
+     * Gets the registered service resolved for the given service id,
+     * asking the resolver to produce and remember it if there is none.
+     *
+     * @param serviceId the service id
+     * @param resolver  the resolver
+     * @return the registered service, or null if none could be resolved
+     */
+    public RegisteredService get(final String serviceId, final Function<String, RegisteredService> resolver) {
+        final long currentGeneration = this.generation.get();
+        final Resolution cached = this.cache.getIfPresent(serviceId);
+        if (cached != null && cached.getGeneration() == currentGeneration) {
+            this.hits.increment();
+            return cached.getService();
+        }
+        this.misses.increment();
+        final RegisteredService service = resolver.apply(serviceId);
+        if (this.generation.get() == currentGeneration) {
+            this.cache.put(serviceId, new Resolution(currentGeneration, service));
+        }
+        return service;
+    }
+
+    /**
+     * Discard all cached resolutions.
+     */
+    public void invalidate() {
+        this.generation.incrementAndGet();
+        this.cache.invalidateAll();
+        LOGGER.trace("Invalidated registered service resolution cache");
+    }
+
+    /**
+     * Gets statistics for this cache.
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", this.cache.estimatedSize());
+        stats.put("capacity", this.maximumSize);
+        stats.put("hits", this.hits.sum());
+        stats.put("misses", this.misses.sum());
+        return stats;
+    }
+
+    /**
+     * The outcome of a resolution attempt, tagged with the cache generation it belongs to.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class Resolution {
+        private final long generation;
+        private final RegisteredService service;
+    }
+
+    /**
+     * Expires resolutions after the configured duration or when the service expires.
+     */
+    @RequiredArgsConstructor
+    private static class ResolutionExpiry implements Expiry<String, Resolution> {
+        private final Duration duration;
+
+        @Override
+        public long expireAfterCreate(final String key, final Resolution value, final long currentTime) {
+            final RegisteredService service = value.getService();
+            if (service == null || service.getExpirationPolicy() == null
+                || StringUtils.isBlank(service.getExpirationPolicy().getExpirationDate())) {
+                return this.duration.toNanos();
+            }
+            try {
+                final LocalDateTime expirationDate = DateTimeUtils.localDateTimeOf(service.getExpirationPolicy().getExpirationDate());
+                final Duration remaining = Duration.between(LocalDateTime.now(), expirationDate);
+                if (remaining.isNegative()) {
+                    return 0;
+                }
+                return Math.min(this.duration.toNanos(), remaining.toNanos());
+            } catch (final Exception e) {
+                LOGGER.debug(e.getMessage(), e);
+                return 0;
+            }
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final Resolution value, final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final Resolution value, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
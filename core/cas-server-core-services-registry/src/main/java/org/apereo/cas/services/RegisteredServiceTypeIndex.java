@@ -0,0 +1,84 @@
+package org.apereo.cas.services;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link RegisteredServiceTypeIndex}, an immutable snapshot of registered services
+ * that groups services by type and lazily indexes the services of each type, both by the keys
+ * of {@link RegisteredServiceIndex}es and by service id pattern using a {@link RegisteredServiceMatchingIndex}.
+ * Services are always returned in their original evaluation order, so the first one
+ * is the same service that a linear scan would have found.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class RegisteredServiceTypeIndex {
+
+    private final Collection<RegisteredService> orderedServices;
+
+    private final Map<Class<?>, List<RegisteredService>> servicesByType = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, RegisteredServiceMatchingIndex> matchingIndexesByType = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, List<RegisteredService>>> servicesByKey = new ConcurrentHashMap<>();
+
+    public RegisteredServiceTypeIndex(final Collection<RegisteredService> orderedServices) {
+        this.orderedServices = new ArrayList<>(orderedServices);
+    }
+
+    /**
+     * Gets the services that are indexed by the given key, sorted by their evaluation order.
+     *
+     * @param index the index
+     * @param key   the key
+     * @return the services
+     */
+    public Collection<RegisteredService> getServicesByKey(final RegisteredServiceIndex<?> index, final String key) {
+        if (key == null) {
+            return new ArrayList<>(0);
+        }
+        final Map<String, List<RegisteredService>> services = this.servicesByKey.computeIfAbsent(index.getName(), name -> buildKeyIndex(index));
+        return services.getOrDefault(key, new ArrayList<>(0));
+    }
+
+    /**
+     * Gets the services of the given type that may match the given service id, sorted by their evaluation order.
+     *
+     * @param serviceId the service id
+     * @param clazz     the clazz
+     * @return the candidate services
+     */
+    public Collection<RegisteredService> getCandidateServices(final String serviceId, final Class<?> clazz) {
+        return this.matchingIndexesByType
+            .computeIfAbsent(clazz, type -> new RegisteredServiceMatchingIndex(getServicesOfType(type)))
+            .getCandidateServices(serviceId);
+    }
+
+    private List<RegisteredService> getServicesOfType(final Class<?> clazz) {
+        return this.servicesByType.computeIfAbsent(clazz, type -> this.orderedServices
+            .stream()
+            .filter(type::isInstance)
+            .collect(Collectors.toList()));
+    }
+
+    private Map<String, List<RegisteredService>> buildKeyIndex(final RegisteredServiceIndex<?> index) {
+        final Map<String, List<RegisteredService>> services = new LinkedHashMap<>();
+        getServicesOfType(index.getType()).forEach(service -> {
+            final String key = index.getKey(service);
+            if (key != null) {
+                services.computeIfAbsent(key, k -> new ArrayList<>()).add(service);
+            }
+        });
+        LOGGER.debug("Indexed services by [{}] distinct key(s) of [{}]", services.size(), index);
+        return services;
+    }
+}
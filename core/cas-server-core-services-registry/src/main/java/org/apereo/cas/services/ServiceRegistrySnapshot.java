@@ -0,0 +1,147 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.services.util.RegisteredServiceSmileSerializer;
+import org.apereo.cas.util.CasVersion;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * This is {@link ServiceRegistrySnapshot}, a local copy of the services
+ * last loaded from the service registry that allows a node to start serving requests
+ * before the service registry is able to respond.
+ * <p>
+ * The snapshot starts with a header that carries a format marker and version,
+ * the CAS version that produced it, the number of services and a checksum of the payload,
+ * followed by the services encoded in the binary Smile format by {@link RegisteredServiceSmileSerializer}.
+ * Smile carries the same mapping as the JSON representation of services, but is read without parsing text
+ * and repeated property names are written once, so the snapshot is smaller and quicker to read than JSON service definitions.
+ * Snapshots that fail any of these checks are ignored. The snapshot is never subject to Java deserialization.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Getter
+public class ServiceRegistrySnapshot {
+
+    private static final int MAGIC = 0x43415353;
+
+    private static final int FORMAT_VERSION = 3;
+
+    private final RegisteredServiceSmileSerializer serializer = new RegisteredServiceSmileSerializer();
+
+    private final Path location;
+
+    /**
+     * Write the snapshot, replacing any previous one.
+     *
+     * @param services the services
+     */
+    public void write(final Collection<RegisteredService> services) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                for (final RegisteredService service : services) {
+                    final byte[] encoded = this.serializer.toBytes(service);
+                    out.writeInt(encoded.length);
+                    out.write(encoded);
+                }
+            }
+            final byte[] payload = bytes.toByteArray();
+
+            final Path directory = this.location.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            final Path temp = Files.createTempFile(directory, this.location.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(getCasVersion());
+                out.writeInt(services.size());
+                out.writeLong(checksum(payload));
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+            Files.move(temp, this.location, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug("Wrote snapshot of [{}] service(s) to [{}]", services.size(), this.location);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to write service registry snapshot to [{}]: [{}]", this.location, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Read the services from the snapshot.
+     *
+     * @return the services, or an empty list if there is no usable snapshot
+     */
+    public List<RegisteredService> read() {
+        if (!Files.isReadable(this.location)) {
+            LOGGER.debug("No service registry snapshot is found at [{}]", this.location);
+            return new ArrayList<>(0);
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.location)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                LOGGER.warn("[{}] is not a service registry snapshot of a supported format", this.location);
+                return new ArrayList<>(0);
+            }
+            final String version = in.readUTF();
+            if (!version.equals(getCasVersion())) {
+                LOGGER.info("Ignoring service registry snapshot [{}] produced by CAS version [{}]", this.location, version);
+                return new ArrayList<>(0);
+            }
+            final int count = in.readInt();
+            final long checksum = in.readLong();
+            final byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            if (checksum(payload) != checksum) {
+                LOGGER.warn("Service registry snapshot [{}] is corrupted and will be ignored", this.location);
+                return new ArrayList<>(0);
+            }
+            try (DataInputStream encoded = new DataInputStream(new ByteArrayInputStream(payload))) {
+                final List<RegisteredService> services = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    final byte[] service = new byte[encoded.readInt()];
+                    encoded.readFully(service);
+                    services.add(this.serializer.fromBytes(service));
+                }
+                if (encoded.read() != -1) {
+                    LOGGER.warn("Service registry snapshot [{}] does not match its header and will be ignored", this.location);
+                    return new ArrayList<>(0);
+                }
+                LOGGER.debug("Read snapshot of [{}] service(s) from [{}]", count, this.location);
+                return services;
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to read service registry snapshot from [{}]: [{}]", this.location, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return new ArrayList<>(0);
+    }
+
+    private static long checksum(final byte[] payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    private static String getCasVersion() {
+        return StringUtils.defaultString(CasVersion.getVersion());
+    }
+}
@@ -1,5 +1,8 @@
 package org.apereo.cas.services.resource;
 
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +18,7 @@ import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicePreDeleteEvent;
 import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.RegexUtils;
 import org.apereo.cas.util.ResourceUtils;
 import org.apereo.cas.util.io.PathWatcherService;
@@ -24,20 +28,27 @@ import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
 
 import javax.annotation.PreDestroy;
-import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -57,6 +68,10 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
     private static final String PATTERN_REGISTERED_SERVICE_FILE_NAME = "(\\w+)-(\\d+)\\.";
 
+    private static final int MAX_LOADER_PARALLELISM = 8;
+
+    private static final long MEMORY_MAPPED_RESOURCE_SIZE_THRESHOLD = 64 * 1024;
+
     private static final BinaryOperator<RegisteredService> LOG_DUPLICATE_AND_RETURN_FIRST_ONE = (s1, s2) -> {
         BaseResourceBasedRegisteredServiceWatcher.LOG_SERVICE_DUPLICATE.accept(s2);
         return s1;
@@ -72,6 +87,11 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
      */
     private Map<Long, RegisteredService> serviceMap = new ConcurrentHashMap<>();
 
+    /**
+     * Services parsed from each resource, along with the resource state at the time.
+     */
+    private final Map<Path, LoadedResource> loadedResources = new ConcurrentHashMap<>();
+
     /**
      * The Registered service json serializers.
      */
@@ -236,12 +256,15 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
      */
     protected void removeRegisteredService(final RegisteredService service) {
         this.serviceMap.remove(service.getId());
+        this.loadedResources.remove(getRegisteredServiceFileName(service).toPath());
     }
 
     @Override
     public synchronized List<RegisteredService> load() {
         final Collection<File> files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), new String[]{getExtension()}, true);
-        this.serviceMap = files.stream().map(this::load).filter(Objects::nonNull).flatMap(Collection::stream)
+        final Set<Path> paths = files.stream().map(File::toPath).collect(Collectors.toSet());
+        this.loadedResources.keySet().retainAll(paths);
+        this.serviceMap = loadInParallel(files).stream()
             .sorted().collect(Collectors.toMap(RegisteredService::getId, Function.identity(),
                 LOG_DUPLICATE_AND_RETURN_FIRST_ONE, LinkedHashMap::new));
         final List<RegisteredService> services = new ArrayList<>(this.serviceMap.values());
@@ -251,6 +274,42 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
         return results;
     }
 
+    /**
+     * Load services from the given files using a bounded pool of workers.
+     *
+     * @param files the files
+     * @return the registered services
+     */
+    @SneakyThrows
+    private List<RegisteredService> loadInParallel(final Collection<File> files) {
+        final int parallelism = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), MAX_LOADER_PARALLELISM));
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> files.parallelStream()
+                .map(this::load)
+                .filter(Objects::nonNull)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList()))
+                .get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * The token is a digest of the path, modification time and size of every service definition file.
+     */
+    @Override
+    public String getChangeToken() {
+        final Collection<File> files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), new String[]{getExtension()}, true);
+        final String state = files.stream()
+            .sorted()
+            .map(file -> file.getPath() + ':' + file.lastModified() + ':' + file.length())
+            .collect(Collectors.joining(","));
+        return DigestUtils.sha256(state);
+    }
+
     /**
      * Load registered service from file.
      *
@@ -279,15 +338,44 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
                     + "Future CAS versions may try to strictly force the naming syntax, refusing to load the file.",
                 fileName, this.serviceFileNamePattern.pattern());
         }
-        try (BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
-            return this.registeredServiceSerializers.stream().filter(s -> s.supports(file)).map(s -> s.load(in))
-                .filter(Objects::nonNull).flatMap(Collection::stream).collect(Collectors.toList());
+        try {
+            final Path path = file.toPath();
+            final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            final LoadedResource loaded = this.loadedResources.get(path);
+            if (loaded != null && loaded.isUnchanged(attributes)) {
+                LOGGER.trace("[{}] is unchanged since it was last loaded", fileName);
+                return new ArrayList<>(loaded.getServices());
+            }
+            try (InputStream in = openResource(path, attributes.size())) {
+                final List<RegisteredService> services = this.registeredServiceSerializers.stream().filter(s -> s.supports(file)).map(s -> s.load(in))
+                    .filter(Objects::nonNull).flatMap(Collection::stream).collect(Collectors.toList());
+                this.loadedResources.put(path, new LoadedResource(attributes.lastModifiedTime(), attributes.size(), services));
+                return new ArrayList<>(services);
+            }
         } catch (final Exception e) {
             LOGGER.error("Error reading configuration file [{}]", fileName, e);
         }
         return new ArrayList<>(0);
     }
 
+    /**
+     * Open the resource for reading. Large resources are memory-mapped to avoid copying
+     * their contents through intermediate buffers; smaller ones are read in a single pass.
+     *
+     * @param path the path
+     * @param size the size of the resource
+     * @return the input stream
+     * @throws IOException the exception
+     */
+    private static InputStream openResource(final Path path, final long size) throws IOException {
+        if (size < MEMORY_MAPPED_RESOURCE_SIZE_THRESHOLD) {
+            return new ByteArrayInputStream(Files.readAllBytes(path));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new ByteBufferBackedInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
     @Override
     public RegisteredService save(final RegisteredService service) {
         if (service.getId() == RegisteredService.INITIAL_IDENTIFIER_VALUE) {
@@ -371,4 +459,19 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
      * @return the extension
      */
     protected abstract String getExtension();
+
+    /**
+     * Services parsed from a resource, keyed by the resource's modification time and size.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class LoadedResource {
+        private final FileTime lastModifiedTime;
+        private final long size;
+        private final List<RegisteredService> services;
+
+        boolean isUnchanged(final BasicFileAttributes attributes) {
+            return this.size == attributes.size() && this.lastModifiedTime.equals(attributes.lastModifiedTime());
+        }
+    }
 }
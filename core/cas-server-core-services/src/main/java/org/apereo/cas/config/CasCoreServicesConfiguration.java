@@ -16,6 +16,9 @@ import org.apereo.cas.authentication.principal.ShibbolethCompatiblePersistentIdG
 import org.apereo.cas.authentication.principal.WebApplicationService;
 import org.apereo.cas.authentication.principal.WebApplicationServiceResponseBuilder;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.services.ServiceRegistryCacheProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.services.AbstractServicesManager;
 import org.apereo.cas.services.ChainingServiceRegistry;
 import org.apereo.cas.services.DefaultServiceRegistryExecutionPlan;
 import org.apereo.cas.services.DefaultServicesManager;
@@ -25,9 +28,11 @@ import org.apereo.cas.services.InMemoryServiceRegistry;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.RegisteredServiceAccessStrategyAuditableEnforcer;
 import org.apereo.cas.services.RegisteredServiceCipherExecutor;
+import org.apereo.cas.services.RegisteredServiceResolutionCache;
 import org.apereo.cas.services.RegisteredServicesEventListener;
 import org.apereo.cas.services.ServiceRegistry;
 import org.apereo.cas.services.ServiceRegistryExecutionPlanConfigurer;
+import org.apereo.cas.services.ServiceRegistrySnapshot;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
@@ -47,6 +52,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -123,15 +129,33 @@ public class CasCoreServicesConfiguration {
     @Bean
     @RefreshScope
     public ServicesManager servicesManager() {
+        final RegisteredServiceResolutionCache resolutionCache = registeredServiceResolutionCache();
+        final AbstractServicesManager servicesManager;
         switch (casProperties.getServiceRegistry().getManagementType()) {
             case DOMAIN:
                 LOGGER.debug("Managing CAS service definitions via domains");
-                return new DomainServicesManager(serviceRegistry(), eventPublisher);
+                servicesManager = new DomainServicesManager(serviceRegistry(), eventPublisher, resolutionCache);
+                break;
             case DEFAULT:
             default:
+                servicesManager = new DefaultServicesManager(serviceRegistry(), eventPublisher, resolutionCache);
                 break;
         }
-        return new DefaultServicesManager(serviceRegistry(), eventPublisher);
+        servicesManager.setIncrementalReload(casProperties.getServiceRegistry().isIncrementalReload());
+        final String snapshotLocation = casProperties.getServiceRegistry().getSnapshotLocation();
+        if (StringUtils.isNotBlank(snapshotLocation)) {
+            servicesManager.setSnapshot(new ServiceRegistrySnapshot(Paths.get(snapshotLocation)));
+        }
+        return servicesManager;
+    }
+
+    private RegisteredServiceResolutionCache registeredServiceResolutionCache() {
+        final ServiceRegistryCacheProperties cache = casProperties.getServiceRegistry().getCache();
+        if (!cache.isEnabled()) {
+            return null;
+        }
+        LOGGER.debug("Caching service resolutions for up to [{}] service identifiers", cache.getCacheSize());
+        return new RegisteredServiceResolutionCache(cache.getCacheSize(), Beans.newDuration(cache.getDuration()));
     }
 
     @Bean
@@ -517,4 +517,25 @@ public abstract class AbstractResourceBasedServiceRegistryTests {
         final RegisteredServiceProperty prop = r.getProperties().get("field1");
         assertEquals(2, prop.getValues().size());
     }
+
+    @Test
+    public void verifyUnchangedResourcesAreNotReparsed() {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setServiceId(HTTPS_SERVICE_ID);
+        r.setName("verifyUnchangedResourcesAreNotReparsed");
+        r.setId(5123);
+        r.setDescription(DESCRIPTION);
+        this.dao.save(r);
+
+        final RegisteredService first = this.dao.load().stream().filter(s -> s.getId() == r.getId()).findFirst().orElse(null);
+        final RegisteredService second = this.dao.load().stream().filter(s -> s.getId() == r.getId()).findFirst().orElse(null);
+        assertNotNull(first);
+        assertSame(first, second);
+
+        r.setDescription("A description that changes the size of the definition");
+        this.dao.save(r);
+        final RegisteredService third = this.dao.load().stream().filter(s -> s.getId() == r.getId()).findFirst().orElse(null);
+        assertNotSame(first, third);
+        assertEquals(r.getDescription(), third.getDescription());
+    }
 }
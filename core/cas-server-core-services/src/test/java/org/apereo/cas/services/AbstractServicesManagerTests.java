@@ -60,4 +60,24 @@ public abstract class AbstractServicesManagerTests {
         this.servicesManager.save(r);
         assertNotNull(this.servicesManager.findServiceBy(1000));
     }
+
+    @Test
+    public void verifyFindByIndexAndType() {
+        final RegisteredServiceIndex<RegexRegisteredService> index =
+            new RegisteredServiceIndex<>("name", RegexRegisteredService.class, RegexRegisteredService::getName);
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(3000);
+        r.setName("indexed");
+        r.setServiceId("https://app.example.org/.+");
+        this.servicesManager.save(r);
+
+        assertEquals(3000, this.servicesManager.findServiceByIndex(index, "indexed").getId());
+        assertNull(this.servicesManager.findServiceByIndex(index, "unknown"));
+        assertEquals(3000, this.servicesManager.findServiceOfType("https://app.example.org/callback", RegexRegisteredService.class).getId());
+        assertNull(this.servicesManager.findServiceOfType("https://other.example.org/callback", RegexRegisteredService.class));
+
+        this.servicesManager.delete(3000);
+        assertNull(this.servicesManager.findServiceByIndex(index, "indexed"));
+        assertNull(this.servicesManager.findServiceOfType("https://app.example.org/callback", RegexRegisteredService.class));
+    }
 }
@@ -1,6 +1,14 @@
 package org.apereo.cas.services;
 
 import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * @author battags
@@ -8,4 +16,43 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public class DefaultServicesManagerTests extends AbstractServicesManagerTests {
+
+    @Test
+    public void verifyIncrementalReloadAppliesChanges() {
+        final InMemoryServiceRegistry registry = new InMemoryServiceRegistry(new ArrayList<>(listOfDefaultServices));
+        final DefaultServicesManager manager = new DefaultServicesManager(registry, mock(ApplicationEventPublisher.class));
+        manager.setIncrementalReload(true);
+        manager.load();
+        assertEquals(1, manager.count());
+
+        final RegexRegisteredService added = new RegexRegisteredService();
+        added.setId(3000);
+        added.setName("added");
+        added.setServiceId("^https://added.example.org");
+        registry.save(added);
+        manager.load();
+        assertEquals(2, manager.count());
+        assertNotNull(manager.findServiceBy("https://added.example.org"));
+
+        registry.delete(added);
+        manager.load();
+        assertEquals(1, manager.count());
+        assertNull(manager.findServiceBy("https://added.example.org"));
+    }
+
+    @Test
+    public void verifyIncrementalReloadSkipsUnchangedRegistry() {
+        final ServiceRegistry registry = mock(ServiceRegistry.class);
+        final List<RegisteredService> services = new ArrayList<>(listOfDefaultServices);
+        when(registry.load()).thenReturn(services);
+        when(registry.getChangeToken()).thenReturn("token");
+
+        final DefaultServicesManager manager = new DefaultServicesManager(registry, mock(ApplicationEventPublisher.class));
+        manager.setIncrementalReload(true);
+        manager.load();
+        manager.load();
+        manager.load();
+        verify(registry, times(1)).load();
+        assertEquals(1, manager.count());
+    }
 }
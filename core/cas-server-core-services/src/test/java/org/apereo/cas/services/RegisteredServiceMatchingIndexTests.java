@@ -0,0 +1,69 @@
+package org.apereo.cas.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link RegisteredServiceMatchingIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class RegisteredServiceMatchingIndexTests {
+
+    @Test
+    public void verifyLiteralPrefix() {
+        assertEquals(4, RegisteredServiceMatchingIndex.extractLiteralPrefix("^https?://.*").size());
+        assertEquals(19, RegisteredServiceMatchingIndex.extractLiteralPrefix("^http://www\\.test\\.com(/.*)?").size());
+        assertTrue(RegisteredServiceMatchingIndex.extractLiteralPrefix("^https://a.com|http://b.com").isEmpty());
+        assertTrue(RegisteredServiceMatchingIndex.extractLiteralPrefix("(?i)^https://.*").isEmpty());
+    }
+
+    @Test
+    public void verifyCandidatesPreserveEvaluationOrder() {
+        final List<RegisteredService> services = new ArrayList<>();
+        services.add(newService("^https://app.example.org/.*"));
+        services.add(newService("^(https|imaps)://.*"));
+        services.add(newService("^https://login\\.example\\.org/cas.*"));
+        for (int i = 0; i < 100; i++) {
+            services.add(newService("^https://host" + i + "\\.example\\.org/.*"));
+        }
+        services.add(newService("[abc]+"));
+
+        final RegisteredServiceMatchingIndex index = new RegisteredServiceMatchingIndex(services);
+        assertEquals(services.size(), index.getSize());
+
+        final String[] serviceIds = {"https://APP.example.org/x", "https://appXexample.org/", "imaps://mail",
+            "https://login.example.org/cas/login", "https://host42.example.org/app", "abcab", "ftp://nothing"};
+        for (final String serviceId : serviceIds) {
+            final Collection<RegisteredService> candidates = index.getCandidateServices(serviceId);
+            assertTrue(candidates.size() < 5);
+            assertSame(findFirstMatch(services, serviceId), findFirstMatch(candidates, serviceId));
+        }
+    }
+
+    @Test
+    public void verifyBlankServiceId() {
+        final List<RegisteredService> services = new ArrayList<>();
+        services.add(newService("^https://.*"));
+        assertTrue(new RegisteredServiceMatchingIndex(services).getCandidateServices(" ").isEmpty());
+    }
+
+    private static RegisteredService findFirstMatch(final Collection<RegisteredService> services, final String serviceId) {
+        return services.stream().filter(r -> r.matches(serviceId)).findFirst().orElse(null);
+    }
+
+    private static RegisteredService newService(final String serviceId) {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setServiceId(serviceId);
+        r.setName(serviceId);
+        return r;
+    }
+}
@@ -0,0 +1,85 @@
+package org.apereo.cas.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link RegisteredServiceResolutionCacheTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class RegisteredServiceResolutionCacheTests {
+
+    @Test
+    public void verifyHitsAndNegativeEntries() {
+        final ServicesManager servicesManager = newServicesManager(newService(100, "^https://app.example.org/.*"));
+
+        assertNotNull(servicesManager.findServiceBy("https://app.example.org/login"));
+        assertNotNull(servicesManager.findServiceBy("https://app.example.org/login"));
+        assertNull(servicesManager.findServiceBy("https://unknown.example.org"));
+        assertNull(servicesManager.findServiceBy("https://unknown.example.org"));
+
+        final Map<String, Object> stats = servicesManager.getResolutionCacheStatistics();
+        assertEquals(2L, stats.get("hits"));
+        assertEquals(2L, stats.get("misses"));
+    }
+
+    @Test
+    public void verifySaveInvalidatesNegativeEntries() {
+        final ServicesManager servicesManager = newServicesManager(newService(100, "^https://app.example.org/.*"));
+        assertNull(servicesManager.findServiceBy("https://other.example.org"));
+        servicesManager.save(newService(200, "^https://other.example.org"));
+        assertNotNull(servicesManager.findServiceBy("https://other.example.org"));
+    }
+
+    @Test
+    public void verifyDeleteInvalidatesEntries() {
+        final RegexRegisteredService service = newService(100, "^https://app.example.org/.*");
+        final ServicesManager servicesManager = newServicesManager(service);
+        assertNotNull(servicesManager.findServiceBy("https://app.example.org/login"));
+        servicesManager.delete(service.getId());
+        assertNull(servicesManager.findServiceBy("https://app.example.org/login"));
+    }
+
+    @Test
+    public void verifyExpiredServicesAreNotServedFromCache() throws Exception {
+        final RegexRegisteredService service = newService(100, "^https://app.example.org/.*");
+        service.setExpirationPolicy(new DefaultRegisteredServiceExpirationPolicy(false, LocalDateTime.now().plusSeconds(1)));
+        final ServicesManager servicesManager = newServicesManager(service);
+        final RegisteredService resolved = servicesManager.findServiceBy("https://app.example.org/login");
+        assertTrue(resolved.getAccessStrategy().isServiceAccessAllowed());
+        Thread.sleep(1500);
+        assertFalse(servicesManager.findServiceBy("https://app.example.org/login").getAccessStrategy().isServiceAccessAllowed());
+    }
+
+    private static ServicesManager newServicesManager(final RegisteredService... services) {
+        final List<RegisteredService> list = new ArrayList<>();
+        for (final RegisteredService service : services) {
+            list.add(service);
+        }
+        final ServicesManager servicesManager = new DefaultServicesManager(new InMemoryServiceRegistry(list),
+            mock(ApplicationEventPublisher.class), new RegisteredServiceResolutionCache(100, Duration.ofMinutes(5)));
+        servicesManager.load();
+        return servicesManager;
+    }
+
+    private static RegexRegisteredService newService(final long id, final String serviceId) {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(id);
+        r.setServiceId(serviceId);
+        r.setName(serviceId);
+        return r;
+    }
+}
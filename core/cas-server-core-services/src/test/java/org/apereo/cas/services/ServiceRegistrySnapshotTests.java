@@ -0,0 +1,150 @@
+package org.apereo.cas.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.services.util.DefaultRegisteredServiceJsonSerializer;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ServiceRegistrySnapshotTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class ServiceRegistrySnapshotTests {
+
+    private static final int SERVICE_COUNT = 500;
+
+    private static final int ROUNDS = 5;
+
+    private Path location;
+
+    @Before
+    public void setUp() throws Exception {
+        this.location = Files.createTempDirectory("snapshot").resolve("services.bin");
+    }
+
+    @Test
+    public void verifyRoundTrip() {
+        final ServiceRegistrySnapshot snapshot = new ServiceRegistrySnapshot(this.location);
+        snapshot.write(Arrays.asList(newService(100, "^https://app.example.org/.*"), newService(200, "^https://other.example.org")));
+        final List<RegisteredService> services = snapshot.read();
+        assertEquals(2, services.size());
+        assertEquals("^https://app.example.org/.*", services.get(0).getServiceId());
+        assertEquals(200, services.get(1).getId());
+    }
+
+    @Test
+    public void verifyMissingSnapshot() {
+        assertTrue(new ServiceRegistrySnapshot(this.location).read().isEmpty());
+    }
+
+    @Test
+    public void verifyCorruptedSnapshotIsIgnored() throws Exception {
+        final ServiceRegistrySnapshot snapshot = new ServiceRegistrySnapshot(this.location);
+        snapshot.write(Arrays.asList(newService(100, "^https://app.example.org/.*")));
+        try (RandomAccessFile file = new RandomAccessFile(this.location.toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            final int last = file.read();
+            file.seek(file.length() - 1);
+            file.write(last ^ 0xFF);
+        }
+        assertTrue(snapshot.read().isEmpty());
+    }
+
+    @Test
+    public void verifyUnknownFormatIsIgnored() throws Exception {
+        Files.write(this.location, "{\"services\":[]}".getBytes());
+        assertTrue(new ServiceRegistrySnapshot(this.location).read().isEmpty());
+    }
+
+    @Test
+    public void verifyServicesManagerServesSnapshotBeforeRegistryLoads() throws Exception {
+        final ServiceRegistrySnapshot snapshot = new ServiceRegistrySnapshot(this.location);
+        snapshot.write(Arrays.asList(newService(100, "^https://app.example.org/.*")));
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<RegisteredService> registered = new ArrayList<>();
+        registered.add(newService(200, "^https://other.example.org"));
+        final ServiceRegistry registry = new InMemoryServiceRegistry(registered) {
+            @Override
+            public List<RegisteredService> load() {
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.load();
+            }
+        };
+        final DefaultServicesManager servicesManager = new DefaultServicesManager(registry, mock(ApplicationEventPublisher.class));
+        servicesManager.setSnapshot(snapshot);
+        servicesManager.load();
+        assertNotNull(servicesManager.findServiceBy("https://app.example.org/login"));
+        assertNull(servicesManager.findServiceBy("https://other.example.org"));
+
+        latch.countDown();
+        for (int i = 0; i < 50 && snapshot.read().get(0).getId() != 200; i++) {
+            Thread.sleep(100);
+        }
+        assertNotNull(servicesManager.findServiceBy("https://other.example.org"));
+        assertNull(servicesManager.findServiceBy("https://app.example.org/login"));
+        assertEquals(200, snapshot.read().get(0).getId());
+    }
+
+    @Test
+    public void verifySnapshotIsReadFasterThanJsonDefinitions() throws Exception {
+        final List<RegisteredService> services = IntStream.range(0, SERVICE_COUNT)
+            .mapToObj(i -> (RegisteredService) newService(i, "^https://app" + i + ".example.org/.*"))
+            .collect(Collectors.toList());
+        final ServiceRegistrySnapshot snapshot = new ServiceRegistrySnapshot(this.location);
+        snapshot.write(services);
+        final DefaultRegisteredServiceJsonSerializer serializer = new DefaultRegisteredServiceJsonSerializer();
+        final Path directory = Files.createTempDirectory("services");
+        for (final RegisteredService service : services) {
+            serializer.to(directory.resolve("Service-" + service.getId() + ".json").toFile(), service);
+        }
+
+        long jsonTime = Long.MAX_VALUE;
+        long snapshotTime = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            final long jsonStart = System.nanoTime();
+            try (Stream<Path> files = Files.list(directory)) {
+                assertEquals(SERVICE_COUNT, files.map(file -> serializer.from(file.toFile())).collect(Collectors.toList()).size());
+            }
+            jsonTime = Math.min(jsonTime, System.nanoTime() - jsonStart);
+
+            final long snapshotStart = System.nanoTime();
+            assertEquals(SERVICE_COUNT, snapshot.read().size());
+            snapshotTime = Math.min(snapshotTime, System.nanoTime() - snapshotStart);
+        }
+        LOGGER.info("Read [{}] services from JSON definitions in [{}] ms and from the snapshot in [{}] ms", SERVICE_COUNT,
+            TimeUnit.NANOSECONDS.toMillis(jsonTime), TimeUnit.NANOSECONDS.toMillis(snapshotTime));
+        assertTrue(snapshotTime < jsonTime);
+    }
+
+    private static RegexRegisteredService newService(final long id, final String serviceId) {
+        final RegexRegisteredService r = new RegexRegisteredService();
+        r.setId(id);
+        r.setServiceId(serviceId);
+        r.setName(serviceId);
+        return r;
+    }
+}
@@ -16,6 +16,8 @@ import javax.persistence.Column;
 import javax.persistence.Id;
 import javax.persistence.Lob;
 import javax.persistence.MappedSuperclass;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
@@ -96,6 +98,15 @@ public abstract class AbstractTicket implements Ticket, TicketState {
     @Column(name = "EXPIRED", nullable = false)
     private Boolean expired = Boolean.FALSE;
 
+    /**
+     * The time at which the ticket is expected to expire, as calculated by
+     * the expiration policy whenever the ticket is stored.
+     */
+    @Column(name = "EXPIRATION_TIME")
+    @JsonIgnore
+    @Getter
+    private ZonedDateTime expirationTime;
+
 
     public AbstractTicket(@NonNull final String id, @NonNull final ExpirationPolicy expirationPolicy) {
         this.id = id;
@@ -120,6 +131,15 @@ public abstract class AbstractTicket implements Ticket, TicketState {
         return this.expirationPolicy.isExpired(this) || isExpiredInternal();
     }
 
+    /**
+     * Calculate the expiration time of the ticket before it is stored.
+     */
+    @PrePersist
+    @PreUpdate
+    protected void updateExpirationTime() {
+        this.expirationTime = this.expirationPolicy != null ? this.expirationPolicy.getExpirationTime(this) : null;
+    }
+
     @JsonIgnore
     protected boolean isExpiredInternal() {
         return this.expired;
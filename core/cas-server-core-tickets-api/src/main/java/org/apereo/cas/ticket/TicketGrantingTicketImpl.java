@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
@@ -20,11 +21,12 @@ import javax.persistence.Entity;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Transient;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Concrete implementation of a TicketGrantingTicket. A TicketGrantingTicket is
@@ -93,6 +95,14 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
     @Column(name = "DESCENDANT_TICKETS", nullable = false, length = Integer.MAX_VALUE)
     private HashSet<String> descendantTickets = new HashSet<>();
 
+    /**
+     * The changes made to this ticket since they were last taken.
+     */
+    @Transient
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private transient TicketGrantingTicketDelta delta;
+
     /**
      * Constructs a new TicketGrantingTicket.
      * May throw an {@link IllegalArgumentException} if the Authentication object is null.
@@ -155,11 +165,57 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
         service.setPrincipal(getRoot().getAuthentication().getPrincipal().getId());
         if (onlyTrackMostRecentSession) {
             final String path = normalizePath(service);
-            final Collection<Service> existingServices = this.services.values();
             // loop on existing services
-            existingServices.stream().filter(existingService -> path.equals(normalizePath(existingService))).findFirst().ifPresent(existingServices::remove);
+            this.services.entrySet()
+                .stream()
+                .filter(existingService -> path.equals(normalizePath(existingService.getValue())))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .ifPresent(existingId -> {
+                    this.services.remove(existingId);
+                    getDelta().serviceRemoved(existingId);
+                });
         }
         this.services.put(id, service);
+        getDelta().serviceAdded(id, service);
+    }
+
+    @Override
+    public synchronized void update() {
+        super.update();
+        getDelta().used(getPreviousTimeUsed(), getLastTimeUsed());
+    }
+
+    @Override
+    public synchronized TicketGrantingTicketDelta takeDelta() {
+        final TicketGrantingTicketDelta changes = getDelta();
+        this.delta = null;
+        return changes;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>Usage is only moved forward, so that changes recorded by an older copy
+     * of this ticket do not undo more recent usage.
+     */
+    @Override
+    public synchronized void applyDelta(final TicketGrantingTicketDelta changes) {
+        changes.getRemovedServices().forEach(this.services::remove);
+        this.services.putAll(changes.getAddedServices());
+        if (changes.getCountOfUses() > 0) {
+            setCountOfUses(getCountOfUses() + changes.getCountOfUses());
+            if (getLastTimeUsed() == null || changes.getLastTimeUsed().isAfter(getLastTimeUsed())) {
+                setPreviousTimeUsed(changes.getPreviousTimeUsed());
+                setLastTimeUsed(changes.getLastTimeUsed());
+            }
+        }
+    }
+
+    private TicketGrantingTicketDelta getDelta() {
+        if (this.delta == null) {
+            this.delta = new TicketGrantingTicketDelta(getId());
+        }
+        return this.delta;
     }
 
     /**
@@ -181,6 +237,7 @@ public class TicketGrantingTicketImpl extends AbstractTicket implements TicketGr
      */
     @Override
     public void removeAllServices() {
+        this.services.keySet().forEach(getDelta()::serviceRemoved);
         this.services.clear();
     }
 
@@ -1,31 +1,46 @@
 package org.apereo.cas.ticket.registry;
 
-import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketDelta;
+import org.apereo.cas.ticket.TicketState;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
+ * Tickets are indexed by their expiration time as they are added,
+ * so that expired tickets can be located without examining every ticket.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
 @Slf4j
-@NoArgsConstructor
 public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegistry {
 
+    private final TicketExpirationIndex expirationIndex = new TicketExpirationIndex();
+
+    public AbstractMapBasedTicketRegistry() {
+        setTicketCountTracker(new DefaultTicketCountTracker());
+    }
+
     /**
      * Creates a new, empty registry with the cipher.
      *
      * @param cipherExecutor the cipher executor
      */
     public AbstractMapBasedTicketRegistry(final CipherExecutor cipherExecutor) {
+        this();
         setCipherExecutor(cipherExecutor);
     }
 
@@ -33,7 +48,10 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     public void addTicket(@NonNull final Ticket ticket) {
         final Ticket encTicket = encodeTicket(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket.getId());
-        getMapInstance().put(encTicket.getId(), encTicket);
+        if (getMapInstance().put(encTicket.getId(), encTicket) == null && this.ticketCountTracker != null) {
+            this.ticketCountTracker.ticketAdded(ticket);
+        }
+        this.expirationIndex.add(encTicket.getId(), getExpirationTime(ticket));
     }
 
     @Override
@@ -51,25 +69,91 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         final Ticket result = decodeTicket(found);
         if (result != null && result.isExpired()) {
             LOGGER.debug("Ticket [{}] has expired and is now removed from the cache", result.getId());
-            getMapInstance().remove(encTicketId);
+            deleteSingleTicket(ticketId);
             return null;
         }
         return result;
     }
 
+    /**
+     * Consume the ticket within a single atomic update of its map entry, so that
+     * the ticket remains in place while it is marked as used.
+     *
+     * @param <T>      the generic ticket type to return that extends {@link Ticket}
+     * @param ticketId the id of the ticket to consume
+     * @param clazz    the expected class of the ticket
+     * @return the ticket as it was once marked as used, or null if it does not exist or has expired.
+     */
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, @NonNull final Class<T> clazz) {
+        final String encTicketId = encodeTicketId(ticketId);
+        if (StringUtils.isBlank(encTicketId)) {
+            return null;
+        }
+        final Ticket[] consumed = new Ticket[1];
+        final boolean[] expired = new boolean[1];
+        getMapInstance().compute(encTicketId, (key, found) -> {
+            final Ticket ticket = found != null ? decodeTicket(found) : null;
+            consumed[0] = ticket;
+            if (ticket == null || !clazz.isAssignableFrom(ticket.getClass())) {
+                return found;
+            }
+            if (ticket.isExpired()) {
+                expired[0] = true;
+                return null;
+            }
+            if (ticket instanceof TicketState) {
+                TicketState.class.cast(ticket).update();
+            }
+            return ticket.isExpired() ? null : encodeTicket(ticket);
+        });
+        final Ticket ticket = consumed[0];
+        if (ticket == null) {
+            LOGGER.debug("Ticket [{}] could not be found", encTicketId);
+            return null;
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId() + " is of type " + ticket.getClass() + " when we were expecting " + clazz);
+        }
+        if (!expired[0] && !ticket.isExpired()) {
+            this.expirationIndex.add(encTicketId, getExpirationTime(ticket));
+            return (T) ticket;
+        }
+        this.expirationIndex.remove(encTicketId);
+        if (this.ticketCountTracker != null) {
+            this.ticketCountTracker.ticketRemoved(ticketId);
+        }
+        if (expired[0]) {
+            LOGGER.debug("Ticket [{}] has expired and is now removed from the cache", ticket.getId());
+            return null;
+        }
+        return (T) ticket;
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         final String encTicketId = encodeTicketId(ticketId);
         if (encTicketId == null) {
             return false;
         }
-        return getMapInstance().remove(encTicketId) != null;
+        this.expirationIndex.remove(encTicketId);
+        if (getMapInstance().remove(encTicketId) == null) {
+            return false;
+        }
+        if (this.ticketCountTracker != null) {
+            this.ticketCountTracker.ticketRemoved(ticketId);
+        }
+        return true;
     }
 
     @Override
     public long deleteAll() {
         final int size = getMapInstance().size();
         getMapInstance().clear();
+        this.expirationIndex.clear();
+        if (this.ticketCountTracker != null) {
+            this.ticketCountTracker.reset();
+        }
         return size;
     }
 
@@ -78,8 +162,76 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
         return decodeTickets(getMapInstance().values());
     }
 
+    /**
+     * Gets expired tickets by going through the tickets that are indexed to expire by the given time.
+     * Tickets that are no longer in the registry are dropped from the index, and those that
+     * turn out not to have expired yet are indexed again by their current expiration time.
+     *
+     * @param expirationTime the time by which tickets must have expired
+     * @param limit          the maximum number of tickets to return
+     * @return the expired tickets
+     */
+    @Override
+    public Stream<Ticket> getExpiredTickets(final Instant expirationTime, final int limit) {
+        final List<Ticket> expired = new ArrayList<>();
+        final Iterator<String> candidates = this.expirationIndex.getTicketIds(expirationTime).iterator();
+        while (candidates.hasNext() && expired.size() < limit) {
+            final String encTicketId = candidates.next();
+            final Ticket found = getMapInstance().get(encTicketId);
+            if (found == null) {
+                this.expirationIndex.remove(encTicketId);
+            } else {
+                final Ticket ticket = decodeTicket(found);
+                if (ticket != null && ticket.isExpired()) {
+                    expired.add(ticket);
+                } else if (ticket != null) {
+                    this.expirationIndex.add(encTicketId, getExpirationTime(ticket));
+                }
+            }
+        }
+        LOGGER.debug("Found [{}] expired ticket(s) among [{}] indexed ticket(s)", expired.size(), this.expirationIndex.size());
+        return expired.stream();
+    }
+
+    /**
+     * Apply the changes to the stored ticket within a single atomic update of its map entry,
+     * so that changes made concurrently through other copies of the ticket are preserved.
+     * Tickets that are stored as the very same instance already carry the changes.
+     *
+     * @param ticket the ticket-granting ticket
+     * @param delta  the changes
+     * @return true if the changes were applied, false if the ticket could not be found
+     */
+    @Override
+    protected boolean applyTicketGrantingTicketDelta(final TicketGrantingTicket ticket, final TicketGrantingTicketDelta delta) {
+        final String encTicketId = encodeTicketId(ticket.getId());
+        final Ticket updated = getMapInstance().computeIfPresent(encTicketId, (key, found) -> {
+            final Ticket stored = decodeTicket(found);
+            if (stored == ticket || !(stored instanceof TicketGrantingTicket)) {
+                return found;
+            }
+            TicketGrantingTicket.class.cast(stored).applyDelta(delta);
+            return encodeTicket(stored);
+        });
+        if (updated == null) {
+            return false;
+        }
+        this.expirationIndex.add(encTicketId, getExpirationTime(ticket));
+        return true;
+    }
+
+    /**
+     * Update the ticket by storing it as a whole. Ticket-granting tickets are written as a whole,
+     * so the changes they recorded are discarded rather than applied again later.
+     *
+     * @param ticket the ticket
+     * @return the ticket
+     */
     @Override
     public Ticket updateTicket(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            TicketGrantingTicket.class.cast(ticket).takeDelta();
+        }
         addTicket(ticket);
         return ticket;
     }
@@ -10,17 +10,22 @@ import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketDelta;
+import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
+import org.apereo.cas.ticket.serialization.JavaTicketSerializer;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
+import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.DigestUtils;
-import org.apereo.cas.util.serialization.SerializationUtils;
 
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import lombok.Setter;
 import lombok.NoArgsConstructor;
@@ -44,6 +49,17 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     protected CipherExecutor cipherExecutor;
 
+    /**
+     * The tracker that counts tickets in this registry, if any.
+     * Without one, tickets are counted by loading them all.
+     */
+    protected TicketCountTracker ticketCountTracker;
+
+    /**
+     * The serializer for tickets that are encoded.
+     */
+    protected TicketSerializer ticketSerializer = new JavaTicketSerializer();
+
     /**
      * @return specified ticket from the registry
      * @throws IllegalArgumentException if class is null.
@@ -62,8 +78,62 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return (T) ticket;
     }
 
+    /**
+     * Consume the ticket by taking it out of the registry, marking it as used and putting it back
+     * only if it may still be used. Registries that are able to take tickets out atomically
+     * ensure that a ticket cannot be consumed twice concurrently, but multi-use tickets
+     * are briefly absent from the registry while they are being consumed.
+     *
+     * @param <T>      the generic ticket type to return that extends {@link Ticket}
+     * @param ticketId the id of the ticket to consume
+     * @param clazz    the expected class of the ticket
+     * @return the ticket as it was once marked as used, or null if it does not exist or has expired.
+     */
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, @NonNull final Class<T> clazz) {
+        final Ticket ticket = takeTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            addTicket(ticket);
+            throw new ClassCastException("Ticket [" + ticket.getId() + " is of type " + ticket.getClass() + " when we were expecting " + clazz);
+        }
+        if (ticket.isExpired()) {
+            LOGGER.debug("Ticket [{}] has expired and is now removed from the registry", ticketId);
+            return null;
+        }
+        if (ticket instanceof TicketState) {
+            TicketState.class.cast(ticket).update();
+        }
+        if (!ticket.isExpired()) {
+            addTicket(ticket);
+        }
+        return (T) ticket;
+    }
+
+    /**
+     * Store the changes recorded by the ticket-granting ticket via {@link #applyTicketGrantingTicketDelta(TicketGrantingTicket, TicketGrantingTicketDelta)},
+     * and fall back to updating the whole ticket if the ticket does not record its changes, or the registry cannot apply them.
+     *
+     * @param ticket the ticket-granting ticket
+     * @return the updated ticket
+     */
+    @Override
+    public Ticket updateTicketGrantingTicket(final TicketGrantingTicket ticket) {
+        final TicketGrantingTicketDelta delta = ticket.takeDelta();
+        if (delta == null || !applyTicketGrantingTicketDelta(ticket, delta)) {
+            return updateTicket(ticket);
+        }
+        LOGGER.debug("Applied changes [{}] to ticket-granting ticket [{}]", delta, ticket.getId());
+        return ticket;
+    }
+
     @Override
     public long sessionCount() {
+        if (this.ticketCountTracker != null) {
+            return this.ticketCountTracker.count(TicketGrantingTicket.class);
+        }
         try {
             return getTickets().stream().filter(TicketGrantingTicket.class::isInstance).count();
         } catch (final Exception t) {
@@ -75,6 +145,9 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     @Override
     public long serviceTicketCount() {
+        if (this.ticketCountTracker != null) {
+            return this.ticketCountTracker.count(ServiceTicket.class);
+        }
         try {
             return getTickets().stream().filter(ServiceTicket.class::isInstance).count();
         } catch (final Exception t) {
@@ -86,88 +159,91 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     @Override
     public int deleteTicket(final String ticketId) {
-        final AtomicInteger count = new AtomicInteger(0);
         if (StringUtils.isBlank(ticketId)) {
-            return count.intValue();
-        }
-        final Ticket ticket = getTicket(ticketId);
-        if (ticket == null) {
-            return count.intValue();
-        }
-        if (ticket instanceof TicketGrantingTicket) {
-            LOGGER.debug("Removing children of ticket [{}] from the registry.", ticket.getId());
-            final TicketGrantingTicket tgt = (TicketGrantingTicket) ticket;
-            count.addAndGet(deleteChildren(tgt));
-            if (ticket instanceof ProxyGrantingTicket) {
-                deleteProxyGrantingTicketFromParent((ProxyGrantingTicket) ticket);
-            } else {
-                deleteLinkedProxyGrantingTickets(count, tgt);
-            }
-        }
-        LOGGER.debug("Removing ticket [{}] from the registry.", ticket);
-        if (deleteSingleTicket(ticketId)) {
-            count.incrementAndGet();
+            return 0;
         }
-        return count.intValue();
+        return deleteTickets(CollectionUtils.wrap(ticketId));
     }
 
     /**
-     * Delete tickets.
+     * Delete tickets. Service tickets of ticket-granting tickets and linked proxy-granting
+     * tickets are collected first, and then removed together with the tickets themselves
+     * via {@link #deleteSingleTickets(Collection)}.
      *
-     * @param tickets the tickets
+     * @param ticketIds the ticket ids
      * @return the total number of deleted tickets
      */
-    protected int deleteTickets(final Set<String> tickets) {
-        return deleteTickets(tickets.stream());
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        final Set<String> requested = ticketIds.stream()
+            .filter(StringUtils::isNotBlank)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+        final Set<String> ticketsToDelete = new LinkedHashSet<>();
+        requested.stream()
+            .map(this::getTicket)
+            .filter(Objects::nonNull)
+            .forEach(ticket -> collectTicketsToDelete(ticket, requested, ticketsToDelete));
+        if (ticketsToDelete.isEmpty()) {
+            return 0;
+        }
+        LOGGER.debug("Removing tickets [{}] from the registry.", ticketsToDelete);
+        return deleteSingleTickets(ticketsToDelete);
     }
 
-    /**
-     * Delete tickets.
-     *
-     * @param tickets the tickets
-     * @return the total number of deleted tickets
-     */
-    protected int deleteTickets(final Stream<String> tickets) {
-        return tickets.mapToInt(this::deleteTicket).sum();
+    private void collectTicketsToDelete(final Ticket ticket, final Set<String> requested, final Set<String> ticketsToDelete) {
+        if (ticket instanceof TicketGrantingTicket) {
+            final TicketGrantingTicket tgt = (TicketGrantingTicket) ticket;
+            collectServiceTickets(tgt, ticketsToDelete);
+            if (ticket instanceof ProxyGrantingTicket) {
+                deleteProxyGrantingTicketFromParent((ProxyGrantingTicket) ticket, requested);
+            } else {
+                tgt.getProxyGrantingTickets().keySet()
+                    .stream()
+                    .map(this::getTicket)
+                    .filter(TicketGrantingTicket.class::isInstance)
+                    .map(TicketGrantingTicket.class::cast)
+                    .forEach(pgt -> {
+                        collectServiceTickets(pgt, ticketsToDelete);
+                        ticketsToDelete.add(pgt.getId());
+                    });
+            }
+        }
+        ticketsToDelete.add(ticket.getId());
     }
 
-    private void deleteLinkedProxyGrantingTickets(final AtomicInteger count, final TicketGrantingTicket tgt) {
-        final Set<String> pgts = new LinkedHashSet<>(tgt.getProxyGrantingTickets().keySet());
-        final boolean hasPgts = !pgts.isEmpty();
-        count.getAndAdd(deleteTickets(pgts));
-        if (hasPgts) {
-            LOGGER.debug("Removing proxy-granting tickets from parent ticket-granting ticket");
-            tgt.getProxyGrantingTickets().clear();
-            updateTicket(tgt);
+    private static void collectServiceTickets(final TicketGrantingTicket ticket, final Set<String> ticketsToDelete) {
+        final Map<String, Service> services = ticket.getServices();
+        if (services != null) {
+            ticketsToDelete.addAll(services.keySet());
         }
     }
 
-    private void deleteProxyGrantingTicketFromParent(final ProxyGrantingTicket ticket) {
-        final ProxyGrantingTicket thePgt = ticket;
-        thePgt.getTicketGrantingTicket().getProxyGrantingTickets().remove(thePgt.getId());
-        updateTicket(thePgt.getTicketGrantingTicket());
+    private void deleteProxyGrantingTicketFromParent(final ProxyGrantingTicket ticket, final Set<String> requested) {
+        final TicketGrantingTicket parent = ticket.getTicketGrantingTicket();
+        if (parent != null && !requested.contains(parent.getId())) {
+            parent.getProxyGrantingTickets().remove(ticket.getId());
+            updateTicket(parent);
+        }
     }
 
     /**
-     * Delete TGT's service tickets.
+     * Delete the given ticket instances from the store, without looking for related tickets.
+     * Tickets are removed one at a time by default; registries that are able to remove many
+     * tickets in a single operation should override this method.
      *
-     * @param ticket the ticket
-     * @return the count of tickets that were removed including child tickets and zero if the ticket was not deleted
+     * @param ticketIds the ticket ids, with related tickets listed before the tickets they belong to
+     * @return the number of tickets that were removed
      */
-    protected int deleteChildren(final TicketGrantingTicket ticket) {
-        final AtomicInteger count = new AtomicInteger(0);
-        final Map<String, Service> services = ticket.getServices();
-        if (services != null && !services.isEmpty()) {
-            services.keySet().forEach(ticketId -> {
-                if (deleteSingleTicket(ticketId)) {
-                    LOGGER.debug("Removed ticket [{}]", ticketId);
-                    count.incrementAndGet();
-                } else {
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        return (int) ticketIds.stream()
+            .filter(ticketId -> {
+                final boolean deleted = deleteSingleTicket(ticketId);
+                if (!deleted) {
                     LOGGER.debug("Unable to remove ticket [{}]", ticketId);
                 }
-            });
-        }
-        return count.intValue();
+                return deleted;
+            })
+            .count();
     }
 
     /**
@@ -178,6 +254,34 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
      */
     public abstract boolean deleteSingleTicket(String ticketId);
 
+    /**
+     * Fetch the ticket and remove it from the registry. Registries should override this operation
+     * when they are able to carry it out atomically; by default, the ticket is fetched and then removed.
+     *
+     * @param ticketId the ticket id
+     * @return the ticket, or null if it does not exist
+     */
+    protected Ticket takeTicket(final String ticketId) {
+        final Ticket ticket = getTicket(ticketId);
+        if (ticket != null) {
+            deleteSingleTicket(ticketId);
+        }
+        return ticket;
+    }
+
+    /**
+     * Apply the changes recorded by a ticket-granting ticket to the stored ticket. Changes cannot
+     * be applied by default; registries that are able to modify stored tickets in place should
+     * override this method.
+     *
+     * @param ticket the ticket-granting ticket
+     * @param delta  the changes
+     * @return true if the changes were applied, false if the whole ticket must be updated instead
+     */
+    protected boolean applyTicketGrantingTicketDelta(final TicketGrantingTicket ticket, final TicketGrantingTicketDelta delta) {
+        return false;
+    }
+
     /**
      * Encode ticket id into a SHA-512.
      *
@@ -214,7 +318,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
             return null;
         }
         LOGGER.debug("Encoding ticket [{}]", ticket);
-        final byte[] encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
+        final byte[] encodedTicketObject = (byte[]) this.cipherExecutor.encode(this.ticketSerializer.serialize(ticket));
         final String encodedTicketId = encodeTicketId(ticket.getId());
         final Ticket encodedTicket = new EncodedTicket(encodedTicketId, ByteSource.wrap(encodedTicketObject).read());
         LOGGER.debug("Created encoded ticket [{}]", encodedTicket);
@@ -243,7 +347,7 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
         LOGGER.debug("Attempting to decode [{}]", result);
         final EncodedTicket encodedTicket = (EncodedTicket) result;
-        final Ticket ticket = SerializationUtils.decodeAndDeserializeObject(encodedTicket.getEncodedTicket(), this.cipherExecutor, Ticket.class);
+        final Ticket ticket = this.ticketSerializer.deserialize((byte[]) this.cipherExecutor.decode(encodedTicket.getEncodedTicket()));
         LOGGER.debug("Decoded ticket to [{}]", ticket);
         return ticket;
     }
@@ -265,4 +369,22 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
     protected boolean isCipherExecutorEnabled() {
         return this.cipherExecutor != null && this.cipherExecutor.isEnabled();
     }
+
+    /**
+     * Calculate the time at which the ticket is expected to expire, as reported by its expiration policy.
+     * Tickets that have already expired, such as those marked expired explicitly, expire right away.
+     * The ticket must not be encoded.
+     *
+     * @param ticket the ticket
+     * @return the expiration time, or null if it cannot be determined
+     */
+    protected static ZonedDateTime getExpirationTime(final Ticket ticket) {
+        if (ticket.isExpired()) {
+            return ZonedDateTime.now(ZoneOffset.UTC);
+        }
+        if (ticket instanceof TicketState && ticket.getExpirationPolicy() != null) {
+            return ticket.getExpirationPolicy().getExpirationTime((TicketState) ticket);
+        }
+        return null;
+    }
 }
@@ -59,6 +59,9 @@ public class CachingTicketRegistry extends AbstractMapBasedTicketRegistry {
 
         @Override
         public void onRemoval(final String key, final Ticket value, final RemovalCause cause) {
+            if (cause.wasEvicted() && value != null && ticketCountTracker != null) {
+                ticketCountTracker.ticketRemoved(decodeTicket(value).getId());
+            }
             if (cause == RemovalCause.EXPIRED) {
                 LOGGER.warn("Received removal notification for ticket [{}] with cause [{}]. Cleaning...", key, cause);
                 if (value instanceof TicketGrantingTicket) {
@@ -0,0 +1,61 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.ticket.Ticket;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is {@link DefaultTicketCountTracker} that keeps counters in memory, per ticket prefix.
+ * The type of tickets issued under each prefix is remembered as tickets are added,
+ * which allows removals to be tracked by ticket id alone.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class DefaultTicketCountTracker implements TicketCountTracker {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    private final Map<String, Class<? extends Ticket>> types = new ConcurrentHashMap<>();
+
+    @Override
+    public void ticketAdded(final Ticket ticket) {
+        final String prefix = getPrefix(ticket.getId());
+        this.types.putIfAbsent(prefix, ticket.getClass());
+        this.counters.computeIfAbsent(prefix, k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void ticketRemoved(final String ticketId) {
+        final LongAdder counter = this.counters.get(getPrefix(ticketId));
+        if (counter != null) {
+            counter.decrement();
+        } else {
+            LOGGER.debug("No tickets are tracked for the prefix of [{}]", ticketId);
+        }
+    }
+
+    @Override
+    public void reset() {
+        this.counters.values().forEach(LongAdder::reset);
+    }
+
+    @Override
+    public long count(final Class<? extends Ticket> ticketType) {
+        return this.types.entrySet()
+            .stream()
+            .filter(entry -> ticketType.isAssignableFrom(entry.getValue()))
+            .map(entry -> this.counters.get(entry.getKey()))
+            .mapToLong(counter -> counter != null ? counter.sum() : 0)
+            .sum();
+    }
+
+    private static String getPrefix(final String ticketId) {
+        return StringUtils.substringBefore(ticketId, "-");
+    }
+}
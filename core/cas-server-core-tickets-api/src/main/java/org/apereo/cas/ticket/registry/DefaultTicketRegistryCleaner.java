@@ -1,17 +1,34 @@
 package org.apereo.cas.ticket.registry;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
+ * Expired tickets are collected in batches and removed from the registry in bulk.
+ * Logout notifications may be handed off to a bounded executor, and each run may be
+ * given a time budget after which no further expired tickets are collected, leaving them for the next run.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -22,10 +39,33 @@ import java.io.Serializable;
 public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Serializable {
     private static final long serialVersionUID = -8581398063126547772L;
 
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
     private final transient LockingStrategy lockingStrategy;
     private final transient LogoutManager logoutManager;
     private final transient TicketRegistry ticketRegistry;
 
+    /**
+     * Number of expired tickets to clean up and remove at once.
+     */
+    @Setter
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Maximum duration of a single run. Runs are not bounded if undefined.
+     */
+    @Setter
+    private transient Duration timeBudget;
+
+    /**
+     * Executor that sends logout notifications. Notifications are sent
+     * in the cleaner thread if undefined.
+     */
+    @Setter
+    private transient AsyncTaskExecutor logoutExecutor;
+
+    private transient volatile Map<String, Object> statistics = new LinkedHashMap<>(0);
+
     @Override
     public void clean() {
         try {
@@ -51,14 +91,70 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
     }
 
     /**
-     * Clean tickets.
+     * Clean tickets. Expired tickets are requested from the registry in batches of at most {@link #batchSize},
+     * which the registry may locate by their expiration time without going through every ticket. Each batch is removed
+     * once logout has been performed for its ticket-granting tickets, and the next batch is requested until the registry
+     * returns a short batch, or no ticket of a batch could be removed.
+     * Once the time budget of the run is exhausted, no further batches are collected; the batch at hand
+     * is left in the registry for the next run, and its size is reported as the minimum backlog.
      */
     protected void cleanInternal() {
-        final int ticketsDeleted = ticketRegistry.getTicketsStream()
-            .filter(Ticket::isExpired)
-            .mapToInt(this::cleanTicket)
-            .sum();
-        LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
+        final long start = System.currentTimeMillis();
+        final long deadline = this.timeBudget != null ? start + this.timeBudget.toMillis() : Long.MAX_VALUE;
+        long scanned = 0;
+        long expired = 0;
+        long deleted = 0;
+        long backlog = 0;
+        boolean moreTickets = true;
+        while (moreTickets) {
+            final List<Ticket> candidates;
+            try (Stream<Ticket> tickets = ticketRegistry.getExpiredTickets(Instant.ofEpochMilli(start), this.batchSize)) {
+                candidates = tickets.collect(Collectors.toList());
+            }
+            scanned += candidates.size();
+            final List<Ticket> batch = candidates.stream().filter(Ticket::isExpired).collect(Collectors.toList());
+            expired += batch.size();
+            if (!batch.isEmpty() && System.currentTimeMillis() >= deadline) {
+                backlog = batch.size();
+                break;
+            }
+            final int removed = batch.isEmpty() ? 0 : cleanTickets(batch, deadline);
+            deleted += removed;
+            moreTickets = candidates.size() >= this.batchSize && removed > 0;
+        }
+        final long duration = System.currentTimeMillis() - start;
+        if (backlog > 0) {
+            LOGGER.info("[{}] expired tickets removed in [{}] ms. The time budget is exhausted; at least [{}] expired tickets are left for the next run.",
+                deleted, duration, backlog);
+        } else {
+            LOGGER.info("[{}] expired tickets removed in [{}] ms.", deleted, duration);
+        }
+
+        final Map<String, Object> runStatistics = new LinkedHashMap<>();
+        runStatistics.put("lastRun", Instant.ofEpochMilli(start).toString());
+        runStatistics.put("scanned", scanned);
+        runStatistics.put("expired", expired);
+        runStatistics.put("deleted", deleted);
+        runStatistics.put("backlog", backlog);
+        runStatistics.put("duration", duration);
+        this.statistics = runStatistics;
+    }
+
+    /**
+     * Clean up after a batch of already-expired tickets, and remove them from the registry at once.
+     *
+     * @param tickets  the tickets
+     * @param deadline the time, in milliseconds since the epoch, by which the run should be complete
+     * @return the number of tickets that were cleaned up
+     */
+    protected int cleanTickets(final List<Ticket> tickets, final long deadline) {
+        final List<TicketGrantingTicket> ticketGrantingTickets = tickets.stream()
+            .filter(TicketGrantingTicket.class::isInstance)
+            .map(TicketGrantingTicket.class::cast)
+            .collect(Collectors.toList());
+        performLogout(ticketGrantingTickets, deadline);
+        LOGGER.debug("Removing [{}] expired tickets", tickets.size());
+        return ticketRegistry.deleteTickets(tickets.stream().map(Ticket::getId).collect(Collectors.toList()));
     }
 
     @Override
@@ -81,4 +177,44 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, Seri
     protected boolean isCleanerSupported() {
         return true;
     }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        return new LinkedHashMap<>(this.statistics);
+    }
+
+    /**
+     * Perform logout for the given tickets. If an executor is defined, notifications are submitted to it
+     * and awaited until the deadline; those still pending by then continue in the background.
+     *
+     * @param tickets  the tickets
+     * @param deadline the deadline
+     */
+    private void performLogout(final List<TicketGrantingTicket> tickets, final long deadline) {
+        if (this.logoutExecutor == null) {
+            tickets.forEach(ticket -> {
+                LOGGER.debug("Cleaning up expired ticket-granting ticket [{}]", ticket.getId());
+                logoutManager.performLogout(ticket);
+            });
+            return;
+        }
+        final List<Future<?>> results = new ArrayList<>(tickets.size());
+        tickets.forEach(ticket -> {
+            LOGGER.debug("Submitting logout notifications for expired ticket-granting ticket [{}]", ticket.getId());
+            results.add(this.logoutExecutor.submit(() -> logoutManager.performLogout(ticket)));
+        });
+        for (final Future<?> result : results) {
+            try {
+                result.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException e) {
+                LOGGER.warn("Time budget of the cleaner is exhausted. Pending logout notifications will complete in the background.");
+                return;
+            } catch (final ExecutionException e) {
+                LOGGER.error("Unable to perform logout: [{}]", e.getCause().getMessage(), e.getCause());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
 }
@@ -0,0 +1,271 @@
+package org.apereo.cas.ticket.registry;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link NearCachingTicketRegistry} that decorates a distributed ticket registry with a bounded,
+ * short-lived local copy of ticket-granting tickets, which are looked up on every single sign-on attempt.
+ * Tickets changed or removed by this node are dropped from the copies kept by other nodes via the
+ * {@link TicketInvalidationChannel}; registries without such a channel rely on the time-to-live instead.
+ * Tickets are kept in serialized form and every lookup is handed a copy of its own, so that concurrent
+ * requests never share, and change, the same ticket instance.
+ * Other tickets are passed through to the decorated registry as they are.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class NearCachingTicketRegistry implements TicketRegistry {
+
+    @Getter
+    private final TicketRegistry delegate;
+
+    private final Cache<String, CachedTicket> cache;
+
+    private final TicketInvalidationChannel invalidationChannel;
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private final LongAdder totalStaleness = new LongAdder();
+
+    private final AtomicLong maximumStaleness = new AtomicLong();
+
+    public NearCachingTicketRegistry(final TicketRegistry delegate, final long maximumSize, final Duration timeToLive) {
+        this(delegate, maximumSize, timeToLive, TicketInvalidationChannel.noOp());
+    }
+
+    public NearCachingTicketRegistry(final TicketRegistry delegate, final long maximumSize, final Duration timeToLive,
+                                     final TicketInvalidationChannel invalidationChannel) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .recordStats()
+            .build();
+        this.invalidationChannel = invalidationChannel;
+        this.invalidationChannel.subscribe(this::invalidate);
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        final Ticket cached = getCachedTicket(ticketId);
+        if (cached != null) {
+            return cached;
+        }
+        final Ticket ticket = this.delegate.getTicket(ticketId);
+        cache(ticket);
+        return ticket;
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final Class<T> clazz) {
+        final Ticket cached = getCachedTicket(ticketId);
+        if (cached != null && clazz.isAssignableFrom(cached.getClass())) {
+            return clazz.cast(cached);
+        }
+        final T ticket = this.delegate.getTicket(ticketId, clazz);
+        cache(ticket);
+        return ticket;
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        this.delegate.addTicket(ticket);
+        cache(ticket);
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        final Ticket result = this.delegate.updateTicket(ticket);
+        cache(ticket);
+        publish(CollectionUtils.wrap(ticket.getId()));
+        return result;
+    }
+
+    @Override
+    public Ticket updateTicketGrantingTicket(final TicketGrantingTicket ticket) {
+        final Ticket result = this.delegate.updateTicketGrantingTicket(ticket);
+        cache(ticket);
+        publish(CollectionUtils.wrap(ticket.getId()));
+        return result;
+    }
+
+    @Override
+    public void writeTickets(final Collection<? extends Ticket> addedTickets, final Collection<? extends Ticket> updatedTickets) {
+        this.delegate.writeTickets(addedTickets, updatedTickets);
+        addedTickets.forEach(this::cache);
+        updatedTickets.forEach(this::cache);
+        publish(updatedTickets.stream().map(Ticket::getId).collect(Collectors.toList()));
+    }
+
+    @Override
+    public <T> T combineWrites(final Supplier<T> operation) {
+        return this.delegate.combineWrites(operation);
+    }
+
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz) {
+        final Set<String> ticketIds = invalidate(CollectionUtils.wrap(ticketId));
+        final T ticket = this.delegate.consumeTicket(ticketId, clazz);
+        publish(ticketIds);
+        return ticket;
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        final Set<String> ticketIds = invalidate(CollectionUtils.wrap(ticketId));
+        final int count = this.delegate.deleteTicket(ticketId);
+        publish(ticketIds);
+        return count;
+    }
+
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        final Set<String> invalidated = invalidate(ticketIds);
+        final int count = this.delegate.deleteTickets(ticketIds);
+        publish(invalidated);
+        return count;
+    }
+
+    @Override
+    public long deleteAll() {
+        this.cache.invalidateAll();
+        return this.delegate.deleteAll();
+    }
+
+    @Override
+    public Collection<Ticket> getTickets() {
+        return this.delegate.getTickets();
+    }
+
+    @Override
+    public Stream<Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return this.delegate.getTickets(predicate);
+    }
+
+    @Override
+    public Stream<Ticket> getTicketsStream() {
+        return this.delegate.getTicketsStream();
+    }
+
+    @Override
+    public Stream<Ticket> getExpiredTickets(final Instant expirationTime, final int limit) {
+        return this.delegate.getExpiredTickets(expirationTime, limit);
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.delegate.serviceTicketCount();
+    }
+
+    /**
+     * Drop the local copies of the tickets, along with the proxy-granting tickets they are known to have issued.
+     *
+     * @param ticketIds the ticket ids
+     * @return the ids of the tickets that were dropped or requested
+     */
+    public Set<String> invalidate(final Collection<String> ticketIds) {
+        final Set<String> invalidated = new LinkedHashSet<>();
+        final List<String> pending = new ArrayList<>(ticketIds);
+        while (!pending.isEmpty()) {
+            final String ticketId = pending.remove(pending.size() - 1);
+            if (invalidated.add(ticketId)) {
+                final CachedTicket cached = this.cache.asMap().remove(ticketId);
+                if (cached != null) {
+                    this.invalidations.increment();
+                    pending.addAll(cached.getProxyGrantingTicketIds());
+                }
+            }
+        }
+        return invalidated;
+    }
+
+    /**
+     * Gets statistics of the local copy, such as its hit ratio and how long tickets had been kept
+     * when they were served.
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> getStatistics() {
+        final CacheStats stats = this.cache.stats();
+        final Map<String, Object> results = new LinkedHashMap<>();
+        results.put("size", this.cache.estimatedSize());
+        results.put("hits", stats.hitCount());
+        results.put("misses", stats.missCount());
+        results.put("hitRatio", stats.hitRate());
+        results.put("evictions", stats.evictionCount());
+        results.put("invalidations", this.invalidations.sum());
+        results.put("averageStaleness", stats.hitCount() > 0 ? this.totalStaleness.sum() / stats.hitCount() : 0L);
+        results.put("maximumStaleness", this.maximumStaleness.get());
+        return results;
+    }
+
+    private Ticket getCachedTicket(final String ticketId) {
+        final CachedTicket cached = this.cache.getIfPresent(ticketId);
+        if (cached == null) {
+            return null;
+        }
+        final TicketGrantingTicket ticket = SerializationUtils.deserialize(cached.getTicket(), TicketGrantingTicket.class);
+        if (ticket.isExpired()) {
+            this.cache.invalidate(ticketId);
+            return null;
+        }
+        final long staleness = System.currentTimeMillis() - cached.getCachedTime();
+        this.totalStaleness.add(staleness);
+        this.maximumStaleness.accumulateAndGet(staleness, Math::max);
+        return ticket;
+    }
+
+    private void cache(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            final TicketGrantingTicket tgt = TicketGrantingTicket.class.cast(ticket);
+            this.cache.put(ticket.getId(), new CachedTicket(SerializationUtils.serialize(tgt),
+                new LinkedHashSet<>(tgt.getProxyGrantingTickets().keySet()), System.currentTimeMillis()));
+        }
+    }
+
+    private void publish(final Collection<String> ticketIds) {
+        if (!ticketIds.isEmpty()) {
+            this.invalidationChannel.publish(ticketIds);
+        }
+    }
+
+    /**
+     * A local copy of a serialized ticket and the proxy-granting tickets it issued, along with the time it was read or written.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class CachedTicket {
+        private final byte[] ticket;
+        private final Set<String> proxyGrantingTicketIds;
+        private final long cachedTime;
+    }
+}
@@ -0,0 +1,131 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link TicketExpirationIndex} that groups ticket ids into buckets by the time
+ * at which tickets are expected to expire, so that expired tickets can be located
+ * without going through every ticket in the registry. Tickets whose expiration time
+ * cannot be determined are kept in the earliest bucket, and are always considered candidates.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class TicketExpirationIndex {
+
+    private static final Duration DEFAULT_RESOLUTION = Duration.ofSeconds(10);
+
+    private final Map<Long, Set<String>> buckets = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> ticketBuckets = new ConcurrentHashMap<>();
+
+    private final long resolution;
+
+    public TicketExpirationIndex() {
+        this(DEFAULT_RESOLUTION);
+    }
+
+    public TicketExpirationIndex(final Duration resolution) {
+        this.resolution = resolution.toMillis();
+    }
+
+    /**
+     * Index the ticket by its expiration time, replacing any previous entry for the ticket.
+     *
+     * @param ticketId       the ticket id
+     * @param expirationTime the expiration time, or null if unknown
+     */
+    public void add(final String ticketId, final ZonedDateTime expirationTime) {
+        final long bucket = expirationTime != null ? getBucket(expirationTime.toInstant()) : 0;
+        final Long previous = this.ticketBuckets.put(ticketId, bucket);
+        if (previous != null && previous != bucket) {
+            removeFromBucket(previous, ticketId);
+        }
+        this.buckets.compute(bucket, (key, ids) -> {
+            final Set<String> bucketIds = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            bucketIds.add(ticketId);
+            return bucketIds;
+        });
+    }
+
+    /**
+     * Remove the ticket from the index.
+     *
+     * @param ticketId the ticket id
+     */
+    public void remove(final String ticketId) {
+        final Long bucket = this.ticketBuckets.remove(ticketId);
+        if (bucket != null) {
+            removeFromBucket(bucket, ticketId);
+        }
+    }
+
+    /**
+     * Remove all tickets from the index.
+     */
+    public void clear() {
+        this.ticketBuckets.clear();
+        this.buckets.clear();
+    }
+
+    /**
+     * Gets the ids of tickets that are expected to have expired by the given time,
+     * in the order of their expiration. Since buckets span a short period of time,
+     * tickets that are about to expire may be included as well.
+     *
+     * @param expirationTime the expiration time
+     * @return the ticket ids
+     */
+    public Stream<String> getTicketIds(final Instant expirationTime) {
+        final long current = getBucket(expirationTime);
+        return this.buckets.keySet()
+            .stream()
+            .filter(bucket -> bucket <= current)
+            .sorted()
+            .flatMap(bucket -> this.buckets.getOrDefault(bucket, ConcurrentHashMap.newKeySet())
+                .stream()
+                .filter(ticketId -> isIndexedIn(ticketId, bucket)));
+    }
+
+    /**
+     * Gets the number of indexed tickets.
+     *
+     * @return the size
+     */
+    public int size() {
+        return this.ticketBuckets.size();
+    }
+
+    private long getBucket(final Instant time) {
+        return Math.max(1, time.toEpochMilli() / this.resolution);
+    }
+
+    /**
+     * Ticket ids may be left behind in a bucket when a ticket is removed while it is being added.
+     * Such entries are pruned as buckets are examined.
+     */
+    private boolean isIndexedIn(final String ticketId, final long bucket) {
+        final Long indexed = this.ticketBuckets.get(ticketId);
+        if (indexed == null || indexed != bucket) {
+            removeFromBucket(bucket, ticketId);
+            return false;
+        }
+        return true;
+    }
+
+    private void removeFromBucket(final long bucket, final String ticketId) {
+        this.buckets.computeIfPresent(bucket, (key, ids) -> {
+            ids.remove(ticketId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
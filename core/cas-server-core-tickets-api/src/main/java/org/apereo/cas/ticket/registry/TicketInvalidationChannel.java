@@ -0,0 +1,40 @@
+package org.apereo.cas.ticket.registry;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * This is {@link TicketInvalidationChannel} that tells other nodes
+ * to drop copies of tickets they keep locally, once such tickets change.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@FunctionalInterface
+public interface TicketInvalidationChannel {
+
+    /**
+     * Tell other nodes that the tickets have changed.
+     *
+     * @param ticketIds the ticket ids
+     */
+    void publish(Collection<String> ticketIds);
+
+    /**
+     * Register a listener that is invoked with the ids of tickets changed by other nodes.
+     *
+     * @param listener the listener
+     */
+    default void subscribe(final Consumer<Collection<String>> listener) {
+    }
+
+    /**
+     * A channel that tells no one.
+     *
+     * @return the ticket invalidation channel
+     */
+    static TicketInvalidationChannel noOp() {
+        return ticketIds -> {
+        };
+    }
+}
@@ -0,0 +1,218 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link WriteCombiningTicketRegistry} that decorates a ticket registry so that tickets which are
+ * added and updated while running an operation via {@link #combineWrites(Supplier)} are held back and handed
+ * to the decorated registry together, via {@link TicketRegistry#writeTickets(Collection, Collection)}, once the
+ * operation completes successfully; should the operation fail, they are discarded. Tickets that are held back are visible to lookups made by the same thread; any other
+ * operation first writes the tickets that are held back. Outside of such operations, all calls are passed
+ * through as they are.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class WriteCombiningTicketRegistry implements TicketRegistry {
+
+    @Getter
+    private final TicketRegistry delegate;
+
+    private final ThreadLocal<PendingWrites> pendingWrites = new ThreadLocal<>();
+
+    @Override
+    public <T> T combineWrites(final Supplier<T> operation) {
+        if (this.pendingWrites.get() != null) {
+            return operation.get();
+        }
+        final PendingWrites writes = new PendingWrites();
+        this.pendingWrites.set(writes);
+        final T result;
+        try {
+            result = operation.get();
+        } finally {
+            this.pendingWrites.remove();
+        }
+        writes.writeTo(this.delegate);
+        return result;
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) {
+        final PendingWrites writes = this.pendingWrites.get();
+        if (writes == null) {
+            this.delegate.addTicket(ticket);
+        } else {
+            writes.getAddedTickets().put(ticket.getId(), ticket);
+        }
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        final PendingWrites writes = this.pendingWrites.get();
+        if (writes == null) {
+            return this.delegate.updateTicket(ticket);
+        }
+        writes.update(ticket);
+        return ticket;
+    }
+
+    @Override
+    public Ticket updateTicketGrantingTicket(final TicketGrantingTicket ticket) {
+        final PendingWrites writes = this.pendingWrites.get();
+        if (writes == null) {
+            return this.delegate.updateTicketGrantingTicket(ticket);
+        }
+        writes.update(ticket);
+        return ticket;
+    }
+
+    @Override
+    public void writeTickets(final Collection<? extends Ticket> addedTickets, final Collection<? extends Ticket> updatedTickets) {
+        final PendingWrites writes = this.pendingWrites.get();
+        if (writes == null) {
+            this.delegate.writeTickets(addedTickets, updatedTickets);
+        } else {
+            addedTickets.forEach(this::addTicket);
+            updatedTickets.forEach(writes::update);
+        }
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final Class<T> clazz) {
+        final Ticket pending = getPendingTicket(ticketId);
+        if (pending != null) {
+            if (!clazz.isAssignableFrom(pending.getClass())) {
+                throw new ClassCastException("Ticket [" + pending.getId() + " is of type " + pending.getClass() + " when we were expecting " + clazz);
+            }
+            return clazz.cast(pending);
+        }
+        return this.delegate.getTicket(ticketId, clazz);
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        final Ticket pending = getPendingTicket(ticketId);
+        return pending != null ? pending : this.delegate.getTicket(ticketId);
+    }
+
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz) {
+        writePendingTickets();
+        return this.delegate.consumeTicket(ticketId, clazz);
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) {
+        writePendingTickets();
+        return this.delegate.deleteTicket(ticketId);
+    }
+
+    @Override
+    public int deleteTickets(final Collection<String> ticketIds) {
+        writePendingTickets();
+        return this.delegate.deleteTickets(ticketIds);
+    }
+
+    @Override
+    public long deleteAll() {
+        writePendingTickets();
+        return this.delegate.deleteAll();
+    }
+
+    @Override
+    public Collection<Ticket> getTickets() {
+        writePendingTickets();
+        return this.delegate.getTickets();
+    }
+
+    @Override
+    public Stream<Ticket> getTickets(final Predicate<Ticket> predicate) {
+        writePendingTickets();
+        return this.delegate.getTickets(predicate);
+    }
+
+    @Override
+    public Stream<Ticket> getTicketsStream() {
+        writePendingTickets();
+        return this.delegate.getTicketsStream();
+    }
+
+    @Override
+    public Stream<Ticket> getExpiredTickets(final Instant expirationTime, final int limit) {
+        writePendingTickets();
+        return this.delegate.getExpiredTickets(expirationTime, limit);
+    }
+
+    @Override
+    public long sessionCount() {
+        writePendingTickets();
+        return this.delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        writePendingTickets();
+        return this.delegate.serviceTicketCount();
+    }
+
+    private Ticket getPendingTicket(final String ticketId) {
+        final PendingWrites writes = this.pendingWrites.get();
+        if (writes == null) {
+            return null;
+        }
+        final Ticket added = writes.getAddedTickets().get(ticketId);
+        return added != null ? added : writes.getUpdatedTickets().get(ticketId);
+    }
+
+    private void writePendingTickets() {
+        final PendingWrites writes = this.pendingWrites.get();
+        if (writes != null) {
+            writes.writeTo(this.delegate);
+        }
+    }
+
+    /**
+     * Tickets held back by the current thread, keyed by their ids.
+     */
+    @Getter
+    private static class PendingWrites {
+        private final Map<String, Ticket> addedTickets = new LinkedHashMap<>();
+        private final Map<String, Ticket> updatedTickets = new LinkedHashMap<>();
+
+        void update(final Ticket ticket) {
+            if (this.addedTickets.containsKey(ticket.getId())) {
+                this.addedTickets.put(ticket.getId(), ticket);
+            } else {
+                this.updatedTickets.put(ticket.getId(), ticket);
+            }
+        }
+
+        void writeTo(final TicketRegistry registry) {
+            if (this.addedTickets.isEmpty() && this.updatedTickets.isEmpty()) {
+                return;
+            }
+            final Collection<Ticket> added = new ArrayList<>(this.addedTickets.values());
+            final Collection<Ticket> updated = new ArrayList<>(this.updatedTickets.values());
+            this.addedTickets.clear();
+            this.updatedTickets.clear();
+            LOGGER.trace("Writing [{}] added and [{}] updated tickets together", added.size(), updated.size());
+            registry.writeTickets(added, updated);
+        }
+    }
+}
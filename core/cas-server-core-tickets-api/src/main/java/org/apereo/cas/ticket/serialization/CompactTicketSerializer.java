@@ -0,0 +1,212 @@
+package org.apereo.cas.ticket.serialization;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * This is {@link CompactTicketSerializer} that serializes tickets into a compact binary form,
+ * building on java serialization. Class descriptors of the core ticket, authentication and expiration policy
+ * types, which make up much of a serialized ticket, are replaced by a single byte that refers to
+ * a table of known types; other classes are described by their name alone. Strings that are equal,
+ * such as repeated attribute names, are written once and referred to afterwards.
+ * The output may optionally be compressed.
+ * <p>
+ * Class descriptors are not written out, so all nodes that share tickets must run with the same
+ * versions of ticket classes. Tickets serialized with java serialization are still read.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public class CompactTicketSerializer implements TicketSerializer {
+
+    private static final byte FORMAT = 'C';
+
+    private static final byte FLAG_COMPRESSED = 1;
+
+    private static final int UNKNOWN_TYPE = 0;
+
+    private static final int MAX_KNOWN_TYPES = 255;
+
+    private static final List<String> KNOWN_TYPES = Arrays.asList(
+        "org.apereo.cas.ticket.TicketGrantingTicketImpl",
+        "org.apereo.cas.ticket.ServiceTicketImpl",
+        "org.apereo.cas.ticket.ProxyGrantingTicketImpl",
+        "org.apereo.cas.ticket.ProxyTicketImpl",
+        "org.apereo.cas.ticket.TransientSessionTicketImpl",
+        "org.apereo.cas.ticket.AbstractTicket",
+        "org.apereo.cas.ticket.registry.EncodedTicket",
+        "org.apereo.cas.ticket.support.AbstractCasExpirationPolicy",
+        "org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy",
+        "org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy",
+        "org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy$ServiceTicketExpirationPolicy",
+        "org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy$ProxyTicketExpirationPolicy",
+        "org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy",
+        "org.apereo.cas.ticket.support.TimeoutExpirationPolicy",
+        "org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy",
+        "org.apereo.cas.ticket.support.ThrottledUseAndTimeoutExpirationPolicy",
+        "org.apereo.cas.ticket.support.BaseDelegatingExpirationPolicy",
+        "org.apereo.cas.ticket.support.RememberMeDelegatingExpirationPolicy",
+        "org.apereo.cas.authentication.DefaultAuthentication",
+        "org.apereo.cas.authentication.BasicCredentialMetaData",
+        "org.apereo.cas.authentication.DefaultAuthenticationHandlerExecutionResult",
+        "org.apereo.cas.authentication.principal.SimplePrincipal",
+        "org.apereo.cas.authentication.principal.AbstractWebApplicationService",
+        "org.apereo.cas.authentication.principal.SimpleWebApplicationServiceImpl",
+        "org.apereo.cas.authentication.UsernamePasswordCredential",
+        "org.apereo.cas.authentication.RememberMeUsernamePasswordCredential",
+        "java.util.ArrayList",
+        "java.util.HashMap",
+        "java.util.LinkedHashMap",
+        "java.util.HashSet",
+        "java.util.LinkedHashSet",
+        "java.util.TreeMap",
+        "java.time.Ser",
+        "java.lang.Number",
+        "java.lang.Boolean",
+        "java.lang.Integer",
+        "java.lang.Long",
+        "java.lang.Double",
+        "java.lang.Enum",
+        "[B",
+        "[Ljava.lang.Object;",
+        "[Ljava.lang.String;");
+
+    private static final Map<String, Integer> KNOWN_TYPE_INDEXES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < KNOWN_TYPES.size() && i < MAX_KNOWN_TYPES; i++) {
+            KNOWN_TYPE_INDEXES.put(KNOWN_TYPES.get(i), i + 1);
+        }
+    }
+
+    /**
+     * Whether the output is compressed.
+     */
+    private final boolean compress;
+
+    public CompactTicketSerializer() {
+        this(false);
+    }
+
+    @Override
+    @SneakyThrows
+    public byte[] serialize(final Ticket ticket) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        bytes.write(FORMAT);
+        bytes.write(this.compress ? FLAG_COMPRESSED : 0);
+        final Deflater deflater = this.compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        try (ObjectOutputStream out = new CompactObjectOutputStream(deflater != null ? new DeflaterOutputStream(bytes, deflater) : bytes)) {
+            out.writeObject(ticket);
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    @SneakyThrows
+    public Ticket deserialize(final byte[] bytes) {
+        if (bytes.length < 2 || bytes[0] != FORMAT) {
+            LOGGER.trace("Ticket is not serialized in the compact form and is read using java serialization");
+            return SerializationUtils.deserialize(bytes, Ticket.class);
+        }
+        final InputStream body = new ByteArrayInputStream(bytes, 2, bytes.length - 2);
+        final InputStream stream = (bytes[1] & FLAG_COMPRESSED) != 0 ? new InflaterInputStream(body) : body;
+        try (ObjectInputStream in = new CompactObjectInputStream(stream)) {
+            final Object result = in.readObject();
+            if (!(result instanceof Ticket)) {
+                throw new ClassCastException("Result [" + result + " is of type " + result.getClass() + " when we were expecting " + Ticket.class);
+            }
+            return (Ticket) result;
+        }
+    }
+
+    /**
+     * Writes class descriptors as known type indexes or names, and equal strings only once.
+     */
+    private static class CompactObjectOutputStream extends ObjectOutputStream {
+        private final Map<String, String> strings = new HashMap<>();
+
+        CompactObjectOutputStream(final OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected void writeStreamHeader() {
+        }
+
+        @Override
+        protected void writeClassDescriptor(final ObjectStreamClass desc) throws IOException {
+            final Integer index = KNOWN_TYPE_INDEXES.get(desc.getName());
+            if (index != null) {
+                writeByte(index);
+            } else {
+                writeByte(UNKNOWN_TYPE);
+                writeUTF(desc.getName());
+            }
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj) {
+            if (obj instanceof String) {
+                return this.strings.computeIfAbsent((String) obj, value -> value);
+            }
+            return obj;
+        }
+    }
+
+    /**
+     * Reads class descriptors written by {@link CompactObjectOutputStream}, using the local classes.
+     */
+    private static class CompactObjectInputStream extends ObjectInputStream {
+        CompactObjectInputStream(final InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected void readStreamHeader() {
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            final int index = readUnsignedByte();
+            final String name = index == UNKNOWN_TYPE ? readUTF() : KNOWN_TYPES.get(index - 1);
+            final ObjectStreamClass desc = ObjectStreamClass.lookupAny(loadClass(name));
+            if (desc == null) {
+                throw new ClassNotFoundException("Unable to locate a serializable class for " + name);
+            }
+            return desc;
+        }
+
+        private static Class<?> loadClass(final String name) throws ClassNotFoundException {
+            final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            return Class.forName(name, false, loader != null ? loader : CompactTicketSerializer.class.getClassLoader());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+/**
+ * This is {@link JavaTicketSerializer} that serializes tickets using java serialization.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class JavaTicketSerializer implements TicketSerializer {
+
+    @Override
+    public byte[] serialize(final Ticket ticket) {
+        return SerializationUtils.serialize(ticket);
+    }
+
+    @Override
+    public Ticket deserialize(final byte[] bytes) {
+        return SerializationUtils.deserialize(bytes, Ticket.class);
+    }
+}
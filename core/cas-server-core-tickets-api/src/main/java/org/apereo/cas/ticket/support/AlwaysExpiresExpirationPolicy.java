@@ -7,6 +7,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.ticket.TicketState;
 import lombok.NoArgsConstructor;
 
+import java.time.ZonedDateTime;
+
 /**
  * AlwaysExpiresExpirationPolicy always answers true when asked if a Ticket is
  * expired.
@@ -30,6 +32,11 @@ public class AlwaysExpiresExpirationPolicy extends AbstractCasExpirationPolicy {
         return true;
     }
 
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        return ticketState.getCreationTime();
+    }
+
     @JsonIgnore
     @Override
     public Long getTimeToLive() {
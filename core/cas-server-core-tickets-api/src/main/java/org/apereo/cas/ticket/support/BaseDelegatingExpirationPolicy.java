@@ -11,6 +11,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.TicketState;
 
+import java.time.ZonedDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -88,6 +89,18 @@ public abstract class BaseDelegatingExpirationPolicy extends AbstractCasExpirati
         return policy.isExpired(ticketState);
     }
 
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        final Optional<ExpirationPolicy> match = getExpirationPolicyFor(ticketState);
+        if (match.isPresent()) {
+            return match.get().getExpirationTime(ticketState);
+        }
+        if (this.defaultExpirationPolicy == null) {
+            return null;
+        }
+        return this.defaultExpirationPolicy.getExpirationTime(ticketState);
+    }
+
     @JsonIgnore
     @Override
     public Long getTimeToLive() {
@@ -79,6 +79,12 @@ public class MultiTimeUseOrTimeoutExpirationPolicy extends AbstractCasExpiration
         return ZonedDateTime.now(ZoneOffset.UTC);
     }
 
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        final ZonedDateTime lastTimeUsed = ticketState.getLastTimeUsed() != null ? ticketState.getLastTimeUsed() : ticketState.getCreationTime();
+        return lastTimeUsed.plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+    }
+
     @Override
     public Long getTimeToLive() {
         return this.timeToKillInSeconds;
@@ -62,6 +62,12 @@ public class ThrottledUseAndTimeoutExpirationPolicy extends AbstractCasExpiratio
         return super.isExpired(ticketState);
     }
 
+    @Override
+    public ZonedDateTime getExpirationTime(final TicketState ticketState) {
+        final ZonedDateTime lastTimeUsed = ticketState.getLastTimeUsed() != null ? ticketState.getLastTimeUsed() : ticketState.getCreationTime();
+        return lastTimeUsed.plus(this.timeToKillInSeconds, ChronoUnit.SECONDS);
+    }
+
     @Override
     public Long getTimeToLive() {
         return this.timeToKillInSeconds;
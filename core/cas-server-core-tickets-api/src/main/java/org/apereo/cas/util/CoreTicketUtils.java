@@ -4,8 +4,23 @@ import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.configuration.model.core.ticket.registry.NearCacheTicketRegistryProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCleanerProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketSerializationProperties;
 import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.logout.LogoutManager;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.NearCachingTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketInvalidationChannel;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.support.LockingStrategy;
+import org.apereo.cas.ticket.serialization.CompactTicketSerializer;
+import org.apereo.cas.ticket.serialization.JavaTicketSerializer;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
+import org.apereo.cas.util.cipher.AesGcmCipherExecutor;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
+import org.springframework.core.task.AsyncTaskExecutor;
 
 /**
  * This is {@link CoreTicketUtils}.
@@ -48,6 +63,11 @@ public class CoreTicketUtils {
             enabled = true;
         }
 
+        if ((enabled || forceIfBlankKeys) && registry.isAuthenticatedEncryption()) {
+            LOGGER.debug("Ticket registry authenticated encryption is enabled for [{}]", registryName);
+            return new AesGcmCipherExecutor(registry.getEncryption().getKey(), registry.getPreviousEncryptionKeys(),
+                "cas.ticket.registry." + registryName + ".crypto.encryption.key", "Ticketing");
+        }
         if (enabled || forceIfBlankKeys) {
             LOGGER.debug("Ticket registry encryption/signing is enabled for [{}]", registryName);
             return new DefaultTicketCipherExecutor(
@@ -63,4 +83,64 @@ public class CoreTicketUtils {
                 + "ticket registry tickets, and verify the chosen ticket registry does support this behavior.");
         return CipherExecutor.noOp();
     }
+
+    /**
+     * New ticket registry cleaner, configured to remove expired tickets in batches
+     * within the time budget of each run.
+     *
+     * @param cleaner         the cleaner settings
+     * @param lockingStrategy the locking strategy
+     * @param logoutManager   the logout manager
+     * @param ticketRegistry  the ticket registry
+     * @param logoutExecutor  the executor for logout notifications, or null to send them in the cleaner thread
+     * @return the ticket registry cleaner
+     */
+    public static DefaultTicketRegistryCleaner newTicketRegistryCleaner(final TicketRegistryCleanerProperties cleaner,
+                                                                        final LockingStrategy lockingStrategy,
+                                                                        final LogoutManager logoutManager,
+                                                                        final TicketRegistry ticketRegistry,
+                                                                        final AsyncTaskExecutor logoutExecutor) {
+        final DefaultTicketRegistryCleaner registryCleaner = new DefaultTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry);
+        registryCleaner.setBatchSize(cleaner.getBatchSize());
+        if (StringUtils.isNotBlank(cleaner.getTimeBudget())) {
+            registryCleaner.setTimeBudget(Beans.newDuration(cleaner.getTimeBudget()));
+        }
+        if (cleaner.getLogoutPoolSize() > 0) {
+            registryCleaner.setLogoutExecutor(logoutExecutor);
+        }
+        return registryCleaner;
+    }
+
+    /**
+     * Decorate the ticket registry with a near cache, if one is enabled in the settings.
+     *
+     * @param nearCache           the near cache settings
+     * @param ticketRegistry      the ticket registry
+     * @param invalidationChannel the invalidation channel, or null if the registry does not support one
+     * @return the ticket registry, decorated with a near cache if enabled
+     */
+    public static TicketRegistry newNearCachingTicketRegistry(final NearCacheTicketRegistryProperties nearCache,
+                                                              final TicketRegistry ticketRegistry,
+                                                              final TicketInvalidationChannel invalidationChannel) {
+        if (!nearCache.isEnabled()) {
+            return ticketRegistry;
+        }
+        LOGGER.debug("Keeping a near cache of up to [{}] ticket-granting tickets for [{}]", nearCache.getMaximumSize(), nearCache.getTimeToLive());
+        return new NearCachingTicketRegistry(ticketRegistry, nearCache.getMaximumSize(), Beans.newDuration(nearCache.getTimeToLive()),
+            invalidationChannel != null ? invalidationChannel : TicketInvalidationChannel.noOp());
+    }
+
+    /**
+     * New ticket serializer.
+     *
+     * @param serialization the serialization settings
+     * @return the ticket serializer
+     */
+    public static TicketSerializer newTicketSerializer(final TicketSerializationProperties serialization) {
+        if ("COMPACT".equalsIgnoreCase(serialization.getType())) {
+            LOGGER.debug("Tickets are serialized in the compact form, with compression [{}]", serialization.isCompress());
+            return new CompactTicketSerializer(serialization.isCompress());
+        }
+        return new JavaTicketSerializer();
+    }
 }
@@ -34,6 +34,7 @@ import org.apereo.cas.ticket.proxy.ProxyTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
 import org.apereo.cas.ticket.proxy.support.Cas10ProxyHandler;
 import org.apereo.cas.ticket.proxy.support.Cas20ProxyHandler;
+import org.apereo.cas.ticket.registry.AbstractTicketRegistry;
 import org.apereo.cas.ticket.registry.CachingTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
@@ -51,6 +52,7 @@ import org.apereo.cas.ticket.support.TicketGrantingTicketExpirationPolicy;
 import org.apereo.cas.ticket.support.TimeoutExpirationPolicy;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.HostNameBasedUniqueTicketIdGenerator;
+import org.apereo.cas.util.cipher.AesGcmStringCipherExecutor;
 import org.apereo.cas.util.cipher.ProtocolTicketCipherExecutor;
 import org.apereo.cas.util.http.HttpClient;
 import org.jasig.cas.client.ssl.HttpURLConnectionFactory;
@@ -266,11 +268,15 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
         final TicketRegistryProperties.InMemory mem = casProperties.getTicket().getRegistry().getInMemory();
         final CipherExecutor cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(mem.getCrypto(), "inMemory");
 
+        final AbstractTicketRegistry registry;
         if (mem.isCache()) {
             final LogoutManager logoutManager = applicationContext.getBean("logoutManager", LogoutManager.class);
-            return new CachingTicketRegistry(cipher, logoutManager);
+            registry = new CachingTicketRegistry(cipher, logoutManager);
+        } else {
+            registry = new DefaultTicketRegistry(mem.getInitialCapacity(), mem.getLoadFactor(), mem.getConcurrency(), cipher);
         }
-        return new DefaultTicketRegistry(mem.getInitialCapacity(), mem.getLoadFactor(), mem.getConcurrency(), cipher);
+        registry.setTicketSerializer(CoreTicketUtils.newTicketSerializer(casProperties.getTicket().getRegistry().getSerialization()));
+        return registry;
     }
 
     @ConditionalOnMissingBean(name = "defaultTicketRegistrySupport")
@@ -333,6 +339,10 @@ public class CasCoreTicketsConfiguration implements TransactionManagementConfigu
     @ConditionalOnMissingBean(name = "protocolTicketCipherExecutor")
     public CipherExecutor protocolTicketCipherExecutor() {
         final EncryptionJwtSigningJwtCryptographyProperties crypto = casProperties.getTicket().getCrypto();
+        if (crypto.isEnabled() && crypto.isAuthenticatedEncryption()) {
+            return new AesGcmStringCipherExecutor(crypto.getEncryption().getKey(), crypto.getPreviousEncryptionKeys(),
+                "cas.ticket.crypto.encryption.key", "CAS Protocol Tickets");
+        }
         if (crypto.isEnabled()) {
             return new ProtocolTicketCipherExecutor(
                 crypto.getEncryption().getKey(),
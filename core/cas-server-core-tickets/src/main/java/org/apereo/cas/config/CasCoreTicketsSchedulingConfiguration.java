@@ -2,12 +2,13 @@ package org.apereo.cas.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCleanerProperties;
 import org.apereo.cas.logout.LogoutManager;
-import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
+import org.apereo.cas.util.CoreTicketUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
@@ -17,11 +18,15 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 /**
  * This is {@link CasCoreTicketsSchedulingConfiguration}.
  *
@@ -48,10 +53,11 @@ public class CasCoreTicketsSchedulingConfiguration {
     public TicketRegistryCleaner ticketRegistryCleaner(@Qualifier("lockingStrategy") final LockingStrategy lockingStrategy,
                                                        @Qualifier("logoutManager") final LogoutManager logoutManager,
                                                        @Qualifier("ticketRegistry") final TicketRegistry ticketRegistry) {
-        final boolean isCleanerEnabled = casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled();
-        if (isCleanerEnabled) {
+        final TicketRegistryCleanerProperties cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        if (cleaner.getSchedule().isEnabled()) {
             LOGGER.debug("Ticket registry cleaner is enabled.");
-            return new DefaultTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry);
+            return CoreTicketUtils.newTicketRegistryCleaner(cleaner, lockingStrategy, logoutManager, ticketRegistry,
+                ticketRegistryCleanerLogoutExecutor());
         }
         LOGGER.debug("Ticket registry cleaner is not enabled. "
                 + "Expired tickets are not forcefully collected and cleaned by CAS. It is up to the ticket registry itself to "
@@ -59,6 +65,19 @@ public class CasCoreTicketsSchedulingConfiguration {
         return NoOpTicketRegistryCleaner.getInstance();
     }
 
+    @ConditionalOnMissingBean(name = "ticketRegistryCleanerLogoutExecutor")
+    @Bean
+    public AsyncTaskExecutor ticketRegistryCleanerLogoutExecutor() {
+        final TicketRegistryCleanerProperties cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(Math.max(1, cleaner.getLogoutPoolSize()));
+        executor.setMaxPoolSize(Math.max(1, cleaner.getLogoutPoolSize()));
+        executor.setQueueCapacity(cleaner.getLogoutQueueCapacity());
+        executor.setThreadNamePrefix("ticketRegistryCleanerLogout-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
     @ConditionalOnMissingBean(name = "ticketRegistryCleanerScheduler")
     @ConditionalOnProperty(prefix = "cas.ticket.registry.cleaner", name = "enabled", havingValue = "true", matchIfMissing = true)
     @Bean
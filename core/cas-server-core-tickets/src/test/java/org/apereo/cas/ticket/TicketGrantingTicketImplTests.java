@@ -355,4 +355,29 @@ public class TicketGrantingTicketImplTests {
 
         assertEquals(2, t.getServices().size());
     }
+
+    @Test
+    public void verifyChangesAreRecordedAndAppliedToAnotherCopy() {
+        final Authentication authentication = CoreAuthenticationTestUtils.getAuthentication();
+        final TicketGrantingTicket t = new TicketGrantingTicketImpl(TGT_ID, null, null,
+            authentication, new NeverExpiresExpirationPolicy());
+        final TicketGrantingTicketImpl copy = new TicketGrantingTicketImpl(TGT_ID, null, null,
+            authentication, new NeverExpiresExpirationPolicy());
+        final ServiceTicket s1 = t.grantServiceTicket(ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX),
+            RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        copy.applyDelta(t.takeDelta());
+        assertTrue(copy.getServices().containsKey(s1.getId()));
+        assertEquals(1, copy.getCountOfUses());
+
+        final ServiceTicket s2 = t.grantServiceTicket(ID_GENERATOR.getNewTicketId(ServiceTicket.PREFIX),
+            RegisteredServiceTestUtils.getService(), new NeverExpiresExpirationPolicy(), false, true);
+        final TicketGrantingTicketDelta delta = t.takeDelta();
+        assertEquals(1, delta.getAddedServices().size());
+        assertTrue(delta.getRemovedServices().contains(s1.getId()));
+        copy.applyDelta(delta);
+        assertEquals(t.getServices(), copy.getServices());
+        assertTrue(copy.getServices().containsKey(s2.getId()));
+        assertEquals(2, copy.getCountOfUses());
+        assertTrue(t.takeDelta().isEmpty());
+    }
 }
@@ -318,6 +318,28 @@ public abstract class BaseTicketRegistryTests {
         }
     }
 
+    @Test
+    public void verifyDeleteTicketsWithChildren() {
+        final Service service = RegisteredServiceTestUtils.getService("TGT_BULK_DELETE_TEST");
+        final Collection<String> ticketIds = new ArrayList<>();
+        IntStream.range(1, 4).forEach(i -> {
+            final TicketGrantingTicket tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "BULK" + i,
+                CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+            this.ticketRegistry.addTicket(tgt);
+            final ServiceTicket st = tgt.grantServiceTicket("STBULK" + i, service, new NeverExpiresExpirationPolicy(), false, false);
+            this.ticketRegistry.addTicket(st);
+            this.ticketRegistry.updateTicket(tgt);
+            ticketIds.add(tgt.getId());
+        });
+        ticketIds.add(TicketGrantingTicket.PREFIX + "NON-EXISTING");
+
+        assertEquals(6, this.ticketRegistry.deleteTickets(ticketIds));
+        IntStream.range(1, 4).forEach(i -> {
+            assertNull(this.ticketRegistry.getTicket(TicketGrantingTicket.PREFIX + "BULK" + i));
+            assertNull(this.ticketRegistry.getTicket("STBULK" + i));
+        });
+    }
+
     @Test
     public void verifyWriteGetDelete() {
         final Ticket ticket = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX,
@@ -3,6 +3,11 @@ package org.apereo.cas.ticket.registry;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
 import org.junit.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -27,4 +32,110 @@ public class DefaultTicketRegistryCleanerTests {
         c.clean();
         assertTrue(ticketRegistry.sessionCount() == 0);
     }
+
+    @Test
+    public void verifyExpiredTicketsAreRemovedInBatches() {
+        final LogoutManager logoutManager = mock(LogoutManager.class);
+        final TicketRegistry ticketRegistry = new DefaultTicketRegistry();
+        IntStream.range(0, 1200).forEach(i -> {
+            final MockTicketGrantingTicket tgt = new MockTicketGrantingTicket("casuser" + i);
+            if (i % 2 == 0) {
+                tgt.markTicketExpired();
+            }
+            ticketRegistry.addTicket(tgt);
+        });
+        final DefaultTicketRegistryCleaner c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
+        c.clean();
+        assertEquals(600, ticketRegistry.sessionCount());
+        verify(logoutManager, times(600)).performLogout(any());
+    }
+
+    @Test
+    public void verifyLogoutIsPerformedByExecutor() {
+        final LogoutManager logoutManager = mock(LogoutManager.class);
+        final TicketRegistry ticketRegistry = new DefaultTicketRegistry();
+        IntStream.range(0, 100).forEach(i -> {
+            final MockTicketGrantingTicket tgt = new MockTicketGrantingTicket("casuser" + i);
+            tgt.markTicketExpired();
+            ticketRegistry.addTicket(tgt);
+        });
+        final DefaultTicketRegistryCleaner c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
+        c.setBatchSize(30);
+        c.setLogoutExecutor(new SimpleAsyncTaskExecutor());
+        c.clean();
+        assertEquals(0, ticketRegistry.sessionCount());
+        verify(logoutManager, times(100)).performLogout(any());
+
+        final Map<String, Object> stats = c.getStatistics();
+        assertEquals(100L, stats.get("scanned"));
+        assertEquals(100L, stats.get("expired"));
+        assertEquals(100L, stats.get("deleted"));
+        assertEquals(0L, stats.get("backlog"));
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreLeftOnceTimeBudgetIsExhausted() {
+        final LogoutManager logoutManager = mock(LogoutManager.class);
+        final TicketRegistry ticketRegistry = new DefaultTicketRegistry();
+        IntStream.range(0, 10).forEach(i -> {
+            final MockTicketGrantingTicket tgt = new MockTicketGrantingTicket("casuser" + i);
+            if (i % 2 == 0) {
+                tgt.markTicketExpired();
+            }
+            ticketRegistry.addTicket(tgt);
+        });
+        final DefaultTicketRegistryCleaner c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
+        c.setTimeBudget(Duration.ZERO);
+        c.clean();
+        assertEquals(10, ticketRegistry.sessionCount());
+        verify(logoutManager, never()).performLogout(any());
+
+        final Map<String, Object> stats = c.getStatistics();
+        assertEquals(5L, stats.get("scanned"));
+        assertEquals(5L, stats.get("expired"));
+        assertEquals(0L, stats.get("deleted"));
+        assertEquals(5L, stats.get("backlog"));
+    }
+
+    @Test
+    public void verifyNoFurtherBatchesAreCollectedOnceTimeBudgetIsExhausted() {
+        final LogoutManager logoutManager = mock(LogoutManager.class);
+        final TicketRegistry ticketRegistry = new DefaultTicketRegistry();
+        IntStream.range(0, 10).forEach(i -> {
+            final MockTicketGrantingTicket tgt = new MockTicketGrantingTicket("casuser" + i);
+            tgt.markTicketExpired();
+            ticketRegistry.addTicket(tgt);
+        });
+        final DefaultTicketRegistryCleaner c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
+        c.setBatchSize(2);
+        c.setTimeBudget(Duration.ZERO);
+        c.clean();
+        assertEquals(10, ticketRegistry.sessionCount());
+
+        final Map<String, Object> stats = c.getStatistics();
+        assertEquals(2L, stats.get("scanned"));
+        assertEquals(0L, stats.get("deleted"));
+        assertEquals(2L, stats.get("backlog"));
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreRequestedInBoundedBatches() {
+        final LogoutManager logoutManager = mock(LogoutManager.class);
+        final TicketRegistry ticketRegistry = spy(new DefaultTicketRegistry());
+        IntStream.range(0, 10).forEach(i -> {
+            final MockTicketGrantingTicket tgt = new MockTicketGrantingTicket("casuser" + i);
+            tgt.markTicketExpired();
+            ticketRegistry.addTicket(tgt);
+        });
+        final DefaultTicketRegistryCleaner c = new DefaultTicketRegistryCleaner(new NoOpLockingStrategy(), logoutManager, ticketRegistry);
+        c.setBatchSize(4);
+        c.clean();
+        assertEquals(0, ticketRegistry.sessionCount());
+        verify(ticketRegistry, times(3)).getExpiredTickets(any(), eq(4));
+        verify(ticketRegistry, never()).getExpiredTickets(any(), eq(Integer.MAX_VALUE));
+
+        final Map<String, Object> stats = c.getStatistics();
+        assertEquals(10L, stats.get("scanned"));
+        assertEquals(10L, stats.get("deleted"));
+    }
 }
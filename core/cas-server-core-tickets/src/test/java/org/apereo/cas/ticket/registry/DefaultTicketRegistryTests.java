@@ -2,12 +2,22 @@ package org.apereo.cas.ticket.registry;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
 
@@ -40,4 +50,90 @@ public class DefaultTicketRegistryTests extends BaseSpringRunnableTicketRegistry
     public void verifyOtherConstructor() {
         assertNotNull(new DefaultTicketRegistry(10, 10, 5, CipherExecutor.noOp()));
     }
+
+    @Test
+    public void verifyTicketCountsAreTracked() {
+        final TicketRegistry registry = new DefaultTicketRegistry();
+        final TicketGrantingTicket tgt1 = new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final TicketGrantingTicket tgt2 = new TicketGrantingTicketImpl("TGT-2",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final ServiceTicket st = tgt1.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        registry.addTicket(tgt1);
+        registry.addTicket(tgt2);
+        registry.addTicket(st);
+        registry.updateTicket(tgt1);
+        assertEquals(2, registry.sessionCount());
+        assertEquals(1, registry.serviceTicketCount());
+
+        registry.deleteTicket(tgt1.getId());
+        assertEquals(1, registry.sessionCount());
+        assertEquals(0, registry.serviceTicketCount());
+
+        registry.deleteAll();
+        assertEquals(0, registry.sessionCount());
+    }
+
+    @Test
+    public void verifyExpiredTicketsAreLocatedByExpirationTime() {
+        final TicketRegistry registry = new DefaultTicketRegistry();
+        IntStream.range(0, 10).forEach(i -> registry.addTicket(new TicketGrantingTicketImpl("TGT-" + i,
+            CoreAuthenticationTestUtils.getAuthentication(),
+            i % 2 == 0 ? new AlwaysExpiresExpirationPolicy() : new NeverExpiresExpirationPolicy())));
+        assertEquals(5, registry.getExpiredTickets(Instant.now(), Integer.MAX_VALUE).count());
+        assertEquals(3, registry.getExpiredTickets(Instant.now(), 3).count());
+
+        registry.deleteTicket("TGT-0");
+        assertEquals(4, registry.getExpiredTickets(Instant.now(), Integer.MAX_VALUE).count());
+        assertEquals(0, registry.getExpiredTickets(Instant.EPOCH, Integer.MAX_VALUE).count());
+    }
+
+    @Test
+    public void verifyServiceTicketIsConsumedOnce() {
+        final TicketRegistry registry = new DefaultTicketRegistry();
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final ServiceTicket st1 = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+            new MultiTimeUseOrTimeoutExpirationPolicy(1, 100), false, true);
+        final ServiceTicket st2 = tgt.grantServiceTicket("ST-2", RegisteredServiceTestUtils.getService(),
+            new MultiTimeUseOrTimeoutExpirationPolicy(2, 100), false, true);
+        registry.addTicket(tgt);
+        registry.addTicket(st1);
+        registry.addTicket(st2);
+
+        assertNotNull(registry.consumeTicket(st1.getId(), ServiceTicket.class));
+        assertNull(registry.consumeTicket(st1.getId(), ServiceTicket.class));
+        assertNull(registry.getTicket(st1.getId()));
+
+        assertNotNull(registry.consumeTicket(st2.getId(), ServiceTicket.class));
+        assertNotNull(registry.getTicket(st2.getId()));
+        assertNotNull(registry.consumeTicket(st2.getId(), ServiceTicket.class));
+        assertNull(registry.consumeTicket(st2.getId(), ServiceTicket.class));
+        assertEquals(0, registry.serviceTicketCount());
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void verifyTicketOfOtherTypeIsNotConsumed() {
+        final TicketRegistry registry = new DefaultTicketRegistry();
+        registry.addTicket(new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+        try {
+            registry.consumeTicket("TGT-1", ServiceTicket.class);
+        } finally {
+            assertNotNull(registry.getTicket("TGT-1"));
+        }
+    }
+
+    @Test
+    public void verifyChangesAreDiscardedWhenTicketGrantingTicketIsUpdated() {
+        final TicketRegistry registry = new DefaultTicketRegistry();
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        registry.updateTicket(tgt);
+        assertTrue(tgt.takeDelta().isEmpty());
+    }
 }
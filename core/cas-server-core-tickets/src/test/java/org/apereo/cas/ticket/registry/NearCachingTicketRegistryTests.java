@@ -0,0 +1,73 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link NearCachingTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class NearCachingTicketRegistryTests {
+
+    @Test
+    public void verifyTicketGrantingTicketsAreReadOnce() {
+        final TicketRegistry delegate = spy(new DefaultTicketRegistry());
+        final MockTicketGrantingTicket tgt = new MockTicketGrantingTicket("casuser");
+        delegate.addTicket(tgt);
+
+        final NearCachingTicketRegistry registry = new NearCachingTicketRegistry(delegate, 100, Duration.ofMinutes(1));
+        final TicketGrantingTicket first = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        final TicketGrantingTicket second = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertNotSame(first, second);
+        assertEquals(first.getId(), second.getId());
+        verify(delegate, times(1)).getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertEquals(1L, registry.getStatistics().get("hits"));
+
+        registry.deleteTicket(tgt.getId());
+        assertNull(registry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+    }
+
+    @Test
+    public void verifyChangedTicketsAreInvalidatedAcrossNodes() {
+        final List<Consumer<Collection<String>>> listeners = new ArrayList<>();
+        final List<String> published = new ArrayList<>();
+        final TicketInvalidationChannel channel = new TicketInvalidationChannel() {
+            @Override
+            public void publish(final Collection<String> ticketIds) {
+                published.addAll(ticketIds);
+                listeners.forEach(listener -> listener.accept(ticketIds));
+            }
+
+            @Override
+            public void subscribe(final Consumer<Collection<String>> listener) {
+                listeners.add(listener);
+            }
+        };
+        final TicketRegistry delegate = spy(new DefaultTicketRegistry());
+        final MockTicketGrantingTicket tgt = new MockTicketGrantingTicket("casuser");
+        delegate.addTicket(tgt);
+
+        final NearCachingTicketRegistry first = new NearCachingTicketRegistry(delegate, 100, Duration.ofMinutes(1), channel);
+        final NearCachingTicketRegistry second = new NearCachingTicketRegistry(delegate, 100, Duration.ofMinutes(1), channel);
+        second.getTicket(tgt.getId());
+        first.updateTicket(tgt);
+        assertTrue(published.contains(tgt.getId()));
+
+        second.getTicket(tgt.getId());
+        verify(delegate, times(2)).getTicket(tgt.getId());
+    }
+}
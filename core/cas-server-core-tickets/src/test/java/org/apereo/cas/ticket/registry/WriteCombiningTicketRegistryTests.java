@@ -0,0 +1,74 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.mock.MockServiceTicket;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link WriteCombiningTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class WriteCombiningTicketRegistryTests {
+
+    @Test
+    public void verifyWritesAreCombined() {
+        final TicketRegistry delegate = spy(new DefaultTicketRegistry());
+        final WriteCombiningTicketRegistry registry = new WriteCombiningTicketRegistry(delegate);
+        final MockTicketGrantingTicket tgt = new MockTicketGrantingTicket("casuser");
+        registry.addTicket(tgt);
+
+        final ServiceTicket st = registry.combineWrites(() -> {
+            final ServiceTicket ticket = new MockServiceTicket("ST-1", RegisteredServiceTestUtils.getService(), tgt);
+            registry.updateTicketGrantingTicket(tgt);
+            registry.addTicket(ticket);
+            assertSame(ticket, registry.getTicket(ticket.getId(), ServiceTicket.class));
+            assertNull(delegate.getTicket(ticket.getId()));
+            return ticket;
+        });
+
+        verify(delegate).writeTickets(Collections.singletonList(st), Collections.singletonList(tgt));
+        assertNotNull(delegate.getTicket(st.getId()));
+    }
+
+    @Test
+    public void verifyPendingWritesAreWrittenBeforeOtherOperations() {
+        final TicketRegistry delegate = spy(new DefaultTicketRegistry());
+        final WriteCombiningTicketRegistry registry = new WriteCombiningTicketRegistry(delegate);
+        final MockTicketGrantingTicket tgt = new MockTicketGrantingTicket("casuser");
+
+        registry.combineWrites(() -> {
+            registry.addTicket(tgt);
+            assertEquals(1, registry.deleteTickets(Arrays.asList(tgt.getId())));
+            return null;
+        });
+        assertNull(delegate.getTicket(tgt.getId()));
+    }
+
+    @Test
+    public void verifyPendingWritesAreDiscardedWhenOperationFails() {
+        final TicketRegistry delegate = spy(new DefaultTicketRegistry());
+        final WriteCombiningTicketRegistry registry = new WriteCombiningTicketRegistry(delegate);
+        final MockTicketGrantingTicket tgt = new MockTicketGrantingTicket("casuser");
+
+        try {
+            registry.combineWrites(() -> {
+                registry.addTicket(tgt);
+                throw new IllegalStateException("Operation failed");
+            });
+            fail("Operation failure is expected");
+        } catch (final IllegalStateException e) {
+            assertNull(delegate.getTicket(tgt.getId()));
+        }
+        verify(delegate, never()).writeTickets(anyCollection(), anyCollection());
+    }
+}
@@ -0,0 +1,67 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link CompactTicketSerializerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class CompactTicketSerializerTests {
+
+    private static TicketGrantingTicket newTicketGrantingTicket() {
+        final TicketGrantingTicketImpl tgt = new TicketGrantingTicketImpl("TGT-1-casuser",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        tgt.grantServiceTicket("ST-1-casuser", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        return tgt;
+    }
+
+    @Test
+    public void verifyTicketsAreSerializedAndDeserialized() {
+        final TicketGrantingTicket tgt = newTicketGrantingTicket();
+        final CompactTicketSerializer serializer = new CompactTicketSerializer();
+        final Ticket result = serializer.deserialize(serializer.serialize(tgt));
+        assertEquals(tgt, result);
+        assertEquals(tgt.getAuthentication(), ((TicketGrantingTicket) result).getAuthentication());
+        assertEquals(tgt.getServices().keySet(), ((TicketGrantingTicket) result).getServices().keySet());
+    }
+
+    @Test
+    public void verifyCompressedTicketsAreSerializedAndDeserialized() {
+        final TicketGrantingTicket tgt = newTicketGrantingTicket();
+        final ServiceTicket st = tgt.grantServiceTicket("ST-2-casuser", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+        final CompactTicketSerializer serializer = new CompactTicketSerializer(true);
+        final ServiceTicket result = (ServiceTicket) serializer.deserialize(serializer.serialize(st));
+        assertEquals(st, result);
+        assertEquals(tgt, result.getTicketGrantingTicket());
+    }
+
+    @Test
+    public void verifyTicketsAreSmallerThanWithJavaSerialization() {
+        final TicketGrantingTicket tgt = newTicketGrantingTicket();
+        final int javaSize = new JavaTicketSerializer().serialize(tgt).length;
+        final int compactSize = new CompactTicketSerializer().serialize(tgt).length;
+        final int compressedSize = new CompactTicketSerializer(true).serialize(tgt).length;
+        assertTrue(compactSize < javaSize);
+        assertTrue(compressedSize < javaSize);
+    }
+
+    @Test
+    public void verifyTicketsSerializedWithJavaSerializationAreRead() {
+        final TicketGrantingTicket tgt = newTicketGrantingTicket();
+        final byte[] bytes = new JavaTicketSerializer().serialize(tgt);
+        assertEquals(tgt, new CompactTicketSerializer(true).deserialize(bytes));
+    }
+}
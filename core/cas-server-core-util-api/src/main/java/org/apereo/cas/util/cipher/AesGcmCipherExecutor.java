@@ -0,0 +1,160 @@
+package org.apereo.cas.util.cipher;
+
+import lombok.Getter;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.RandomUtils;
+import org.apereo.cas.util.gen.Base64RandomStringGenerator;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link AesGcmCipherExecutor} that encrypts and authenticates values with AES-GCM,
+ * rather than encrypting them with AES and signing the result separately as a JWS.
+ * Values are encoded as a compact binary envelope, made up of a version byte, the id of the key,
+ * the initialization vector and the cipher text along with its authentication tag.
+ * Keys previously used for encryption may be kept around for decryption only, so that keys can be rotated.
+ * {@link Cipher} instances are not thread-safe and are kept per thread.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class AesGcmCipherExecutor extends AbstractCipherExecutor<byte[], byte[]> {
+
+    private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+    private static final String SECRET_KEY_ALGORITHM = "AES";
+
+    private static final byte VERSION = 1;
+
+    private static final int KEY_ID_LENGTH = 4;
+
+    private static final int IV_LENGTH = 12;
+
+    private static final int TAG_LENGTH = 128;
+
+    private static final int HEADER_LENGTH = 1 + KEY_ID_LENGTH + IV_LENGTH;
+
+    private static final int DEFAULT_KEY_SIZE = 32;
+
+    private static final int[] KEY_SIZES = {16, 24, 32};
+
+    private static final SecureRandom RANDOM = RandomUtils.getNativeInstance();
+
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(AesGcmCipherExecutor::newCipher);
+
+    private final Map<ByteBuffer, SecretKeySpec> keys = new LinkedHashMap<>();
+
+    private final byte[] encryptionKeyId;
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final String encryptionKeySetting;
+
+    /**
+     * Instantiates a new cipher executor.
+     *
+     * @param encryptionSecretKey  the encryption secret key, base64 encoded; generated if blank
+     * @param previousSecretKeys   keys previously used for encryption, used to decrypt values only
+     * @param encryptionKeySetting the name of the setting that holds the encryption key
+     * @param name                 the name of the cipher
+     */
+    public AesGcmCipherExecutor(final String encryptionSecretKey, final Collection<String> previousSecretKeys,
+                                final String encryptionKeySetting, final String name) {
+        this.name = name;
+        this.encryptionKeySetting = encryptionKeySetting;
+        final SecretKeySpec encryptionKey = newSecretKey(encryptionSecretKey);
+        this.encryptionKeyId = getKeyId(encryptionKey);
+        this.keys.put(ByteBuffer.wrap(this.encryptionKeyId), encryptionKey);
+        previousSecretKeys.stream()
+            .filter(StringUtils::isNotBlank)
+            .map(this::newSecretKey)
+            .forEach(key -> this.keys.putIfAbsent(ByteBuffer.wrap(getKeyId(key)), key));
+    }
+
+    @Override
+    @SneakyThrows
+    public byte[] encode(final byte[] value, final Object[] parameters) {
+        final byte[] iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        final Cipher cipher = this.ciphers.get();
+        cipher.init(Cipher.ENCRYPT_MODE, this.keys.get(ByteBuffer.wrap(this.encryptionKeyId)), new GCMParameterSpec(TAG_LENGTH, iv));
+        final ByteBuffer envelope = ByteBuffer.allocate(HEADER_LENGTH + cipher.getOutputSize(value.length));
+        envelope.put(VERSION).put(this.encryptionKeyId).put(iv);
+        cipher.updateAAD(envelope.array(), 0, HEADER_LENGTH);
+        cipher.doFinal(ByteBuffer.wrap(value), envelope);
+        return envelope.array();
+    }
+
+    @Override
+    @SneakyThrows
+    public byte[] decode(final byte[] value, final Object[] parameters) {
+        if (value.length <= HEADER_LENGTH || value[0] != VERSION) {
+            throw new GeneralSecurityException("Value is not encoded as expected by " + this.name);
+        }
+        final byte[] keyId = Arrays.copyOfRange(value, 1, 1 + KEY_ID_LENGTH);
+        final SecretKeySpec key = this.keys.get(ByteBuffer.wrap(keyId));
+        if (key == null) {
+            throw new GeneralSecurityException("Value is encrypted with a key that is not known to " + this.name);
+        }
+        final Cipher cipher = this.ciphers.get();
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH, value, 1 + KEY_ID_LENGTH, IV_LENGTH));
+        cipher.updateAAD(value, 0, HEADER_LENGTH);
+        return cipher.doFinal(value, HEADER_LENGTH, value.length - HEADER_LENGTH);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Keys that are not of a size supported by AES, such as octet JSON web keys generated
+     * for other ciphers, are reduced to 256 bits using SHA-256.
+     */
+    private SecretKeySpec newSecretKey(final String secretKey) {
+        final byte[] key;
+        if (StringUtils.isBlank(secretKey)) {
+            final String generated = new Base64RandomStringGenerator(DEFAULT_KEY_SIZE).getNewString();
+            LOGGER.warn("Secret key for encryption is not defined under [{}]. Generated encryption key [{}] of size [{}]. "
+                + "The generated key MUST be added to CAS settings under setting [{}].", this.encryptionKeySetting, generated, DEFAULT_KEY_SIZE,
+                this.encryptionKeySetting);
+            key = EncodingUtils.decodeBase64(generated);
+        } else if (EncodingUtils.isBase64(secretKey)) {
+            key = EncodingUtils.decodeBase64(secretKey);
+        } else {
+            key = secretKey.getBytes(StandardCharsets.UTF_8);
+        }
+        if (ArrayUtils.contains(KEY_SIZES, key.length)) {
+            return new SecretKeySpec(key, SECRET_KEY_ALGORITHM);
+        }
+        LOGGER.debug("Secret key for encryption defined under [{}] is of size [{}] and is reduced to 256 bits", this.encryptionKeySetting, key.length);
+        return new SecretKeySpec(DigestUtils.sha256(key), SECRET_KEY_ALGORITHM);
+    }
+
+    private static byte[] getKeyId(final SecretKeySpec key) {
+        return Arrays.copyOf(DigestUtils.sha256(key.getEncoded()), KEY_ID_LENGTH);
+    }
+
+    @SneakyThrows
+    private static Cipher newCipher() {
+        return Cipher.getInstance(CIPHER_ALGORITHM);
+    }
+}
@@ -0,0 +1,52 @@
+package org.apereo.cas.util.cipher;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.util.EncodingUtils;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * This is {@link AesGcmStringCipherExecutor} that encodes values with a {@link AesGcmCipherExecutor}
+ * and represents the resulting envelope as a URL-safe base64 string, for values such as
+ * protocol tickets and cookies that are handed out as text.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class AesGcmStringCipherExecutor implements CipherExecutor<Serializable, String> {
+
+    private final AesGcmCipherExecutor cipherExecutor;
+
+    public AesGcmStringCipherExecutor(final String encryptionSecretKey, final Collection<String> previousSecretKeys,
+                                      final String encryptionKeySetting, final String name) {
+        this(new AesGcmCipherExecutor(encryptionSecretKey, previousSecretKeys, encryptionKeySetting, name));
+    }
+
+    @Override
+    public String encode(final Serializable value, final Object[] parameters) {
+        final byte[] encoded = this.cipherExecutor.encode(value.toString().getBytes(StandardCharsets.UTF_8), parameters);
+        return EncodingUtils.encodeUrlSafeBase64(encoded);
+    }
+
+    @Override
+    public String decode(final Serializable value, final Object[] parameters) {
+        final byte[] decoded = this.cipherExecutor.decode(EncodingUtils.decodeUrlSafeBase64(value.toString()), parameters);
+        return new String(decoded, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return this.cipherExecutor.isEnabled();
+    }
+
+    @Override
+    public String getName() {
+        return this.cipherExecutor.getName();
+    }
+}
@@ -46,7 +46,10 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
 
     private final SecretKeySpec encryptionKey;
 
-    private final Cipher aesCipher;
+    /**
+     * Cipher instances are not thread-safe and are kept per thread.
+     */
+    private final ThreadLocal<Cipher> aesCipher = ThreadLocal.withInitial(BaseBinaryCipherExecutor::newCipher);
 
     /**
      * Instantiates a new cryptic ticket cipher executor.
@@ -64,14 +67,14 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
         ensureSigningKeyExists(signingSecretKey, signingKeySize);
         ensureEncryptionKeyExists(encryptionSecretKey, encryptionKeySize);
         this.encryptionKey = new SecretKeySpec(this.encryptionSecretKey, this.secretKeyAlgorithm);
-        this.aesCipher = Cipher.getInstance("AES");
     }
 
     @Override
     @SneakyThrows
     public byte[] encode(final byte[] value, final Object[] parameters) {
-        this.aesCipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey);
-        final byte[] result = this.aesCipher.doFinal(value);
+        final Cipher cipher = this.aesCipher.get();
+        cipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey);
+        final byte[] result = cipher.doFinal(value);
         return sign(result);
     }
 
@@ -79,11 +82,17 @@ public abstract class BaseBinaryCipherExecutor extends AbstractCipherExecutor<by
     @SneakyThrows
     public byte[] decode(final byte[] value, final Object[] parameters) {
         final byte[] verifiedValue = verifySignature(value);
-        this.aesCipher.init(Cipher.DECRYPT_MODE, this.encryptionKey);
-        final byte[] bytePlainText = aesCipher.doFinal(verifiedValue);
+        final Cipher cipher = this.aesCipher.get();
+        cipher.init(Cipher.DECRYPT_MODE, this.encryptionKey);
+        final byte[] bytePlainText = cipher.doFinal(verifiedValue);
         return bytePlainText;
     }
 
+    @SneakyThrows
+    private static Cipher newCipher() {
+        return Cipher.getInstance("AES");
+    }
+
     @SneakyThrows
     private static String generateOctetJsonWebKeyOfSize(final int size) {
         final OctetSequenceJsonWebKey octetKey = OctJwkGenerator.generateJwk(size);
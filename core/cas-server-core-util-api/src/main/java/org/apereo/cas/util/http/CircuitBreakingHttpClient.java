@@ -0,0 +1,108 @@
+package org.apereo.cas.util.http;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This is {@link CircuitBreakingHttpClient} that keeps track of consecutive failures to send messages
+ * to each host, and stops sending messages to a host for a while once too many have failed in a row,
+ * so that an unresponsive host does not hold up every message meant for it.
+ * Once the while has passed, the next message is sent again; if that fails too, the host is skipped for another while.
+ * Messages sent asynchronously are reported as successful once queued, so their outcome is not known; they are
+ * passed through to the wrapped client and neither open nor close the circuit.
+ * All other operations are handed to the wrapped client as they are.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class CircuitBreakingHttpClient implements HttpClient {
+
+    @Getter
+    private final HttpClient httpClient;
+
+    private final int failureThreshold;
+
+    private final long resetTimeoutInMillis;
+
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean sendMessageToEndPoint(final HttpMessage message) {
+        if (message.isAsynchronous()) {
+            return this.httpClient.sendMessageToEndPoint(message);
+        }
+        final String host = message.getUrl().getAuthority();
+        final Circuit circuit = this.circuits.computeIfAbsent(host, key -> new Circuit());
+        if (circuit.isOpen()) {
+            LOGGER.debug("Message is not sent to [{}] since the last [{}] messages sent to [{}] have failed", message.getUrl(), circuit.getFailures(), host);
+            return false;
+        }
+        final boolean result = this.httpClient.sendMessageToEndPoint(message);
+        if (result) {
+            circuit.reset();
+        } else if (circuit.recordFailure() >= this.failureThreshold) {
+            LOGGER.warn("[{}] consecutive messages sent to [{}] have failed. Messages to [{}] are skipped for the next [{}] ms",
+                circuit.getFailures(), host, host, this.resetTimeoutInMillis);
+            circuit.open(System.currentTimeMillis() + this.resetTimeoutInMillis);
+        }
+        return result;
+    }
+
+    @Override
+    public HttpMessage sendMessageToEndPoint(final URL url) {
+        return this.httpClient.sendMessageToEndPoint(url);
+    }
+
+    @Override
+    public boolean isValidEndPoint(final String url) {
+        return this.httpClient.isValidEndPoint(url);
+    }
+
+    @Override
+    public boolean isValidEndPoint(final URL url) {
+        return this.httpClient.isValidEndPoint(url);
+    }
+
+    @Override
+    public org.apache.http.client.HttpClient getWrappedHttpClient() {
+        return this.httpClient.getWrappedHttpClient();
+    }
+
+    /**
+     * Consecutive failures of a single host and the time until which messages to it are skipped.
+     */
+    private static class Circuit {
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private volatile long openUntil;
+
+        boolean isOpen() {
+            return this.openUntil > System.currentTimeMillis();
+        }
+
+        int getFailures() {
+            return this.failures.get();
+        }
+
+        int recordFailure() {
+            return this.failures.incrementAndGet();
+        }
+
+        void open(final long until) {
+            this.openUntil = until;
+        }
+
+        void reset() {
+            this.failures.set(0);
+            this.openUntil = 0;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.apereo.cas.util.cipher;
+
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.gen.Base64RandomStringGenerator;
+import org.junit.Test;
+
+import javax.crypto.AEADBadTagException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link AesGcmCipherExecutorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class AesGcmCipherExecutorTests {
+
+    private static final String VALUE = "TGT-1-abcdefghijklmnopqrstuvwxyz-cas";
+
+    @Test
+    public void verifyValuesAreEncodedAndDecoded() {
+        final AesGcmCipherExecutor cipher = new AesGcmCipherExecutor(null, new ArrayList<>(0), "cas.key", "Test");
+        final byte[] encoded = cipher.encode(VALUE.getBytes(StandardCharsets.UTF_8));
+        assertFalse(new String(encoded, StandardCharsets.ISO_8859_1).contains(VALUE));
+        assertEquals(VALUE, new String(cipher.decode(encoded), StandardCharsets.UTF_8));
+        assertTrue(cipher.isEnabled());
+    }
+
+    @Test(expected = AEADBadTagException.class)
+    public void verifyTamperedValuesAreRejected() {
+        final AesGcmCipherExecutor cipher = new AesGcmCipherExecutor(null, new ArrayList<>(0), "cas.key", "Test");
+        final byte[] encoded = cipher.encode(VALUE.getBytes(StandardCharsets.UTF_8));
+        encoded[encoded.length - 1] ^= 1;
+        cipher.decode(encoded);
+    }
+
+    @Test
+    public void verifyKeysCanBeRotated() {
+        final String oldKey = new Base64RandomStringGenerator(32).getNewString();
+        final String newKey = new Base64RandomStringGenerator(32).getNewString();
+        final AesGcmCipherExecutor oldCipher = new AesGcmCipherExecutor(oldKey, new ArrayList<>(0), "cas.key", "Test");
+        final AesGcmCipherExecutor newCipher = new AesGcmCipherExecutor(newKey, Collections.singletonList(oldKey), "cas.key", "Test");
+        final byte[] encoded = oldCipher.encode(VALUE.getBytes(StandardCharsets.UTF_8));
+        assertEquals(VALUE, new String(newCipher.decode(encoded), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void verifyStringValuesAreEncodedAndDecoded() {
+        final String key = EncodingUtils.encodeBase64(new byte[64]);
+        final AesGcmStringCipherExecutor cipher = new AesGcmStringCipherExecutor(key, new ArrayList<>(0), "cas.key", "Test");
+        final String encoded = cipher.encode(VALUE);
+        assertEquals(VALUE, cipher.decode(encoded));
+    }
+
+    @Test
+    public void verifyConcurrentUse() throws Exception {
+        final AesGcmCipherExecutor cipher = new AesGcmCipherExecutor(null, new ArrayList<>(0), "cas.key", "Test");
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            IntStream.range(0, 200).forEach(i -> results.add(executor.submit(() -> {
+                final byte[] encoded = cipher.encode((VALUE + i).getBytes(StandardCharsets.UTF_8));
+                return new String(cipher.decode(encoded), StandardCharsets.UTF_8);
+            })));
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(VALUE + i, results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
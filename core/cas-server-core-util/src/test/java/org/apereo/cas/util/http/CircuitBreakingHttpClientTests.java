@@ -0,0 +1,74 @@
+package org.apereo.cas.util.http;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.net.URL;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CircuitBreakingHttpClientTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class CircuitBreakingHttpClientTests {
+
+    @Test
+    public void verifyHostIsSkippedAfterConsecutiveFailures() throws Exception {
+        final HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false);
+        final CircuitBreakingHttpClient client = new CircuitBreakingHttpClient(httpClient, 2, 60_000);
+
+        final HttpMessage failing = new HttpMessage(new URL("https://failing.example.org/logout"), "message", false);
+        assertFalse(client.sendMessageToEndPoint(failing));
+        assertFalse(client.sendMessageToEndPoint(failing));
+        assertFalse(client.sendMessageToEndPoint(failing));
+        verify(httpClient, times(2)).sendMessageToEndPoint(any(HttpMessage.class));
+
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(true);
+        assertTrue(client.sendMessageToEndPoint(new HttpMessage(new URL("https://other.example.org/logout"), "message", false)));
+    }
+
+    @Test
+    public void verifyHostIsRetriedAfterResetTimeout() throws Exception {
+        final HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(false);
+        final CircuitBreakingHttpClient client = new CircuitBreakingHttpClient(httpClient, 1, 100);
+
+        final HttpMessage message = new HttpMessage(new URL("https://failing.example.org/logout"), "message", false);
+        assertFalse(client.sendMessageToEndPoint(message));
+        assertFalse(client.sendMessageToEndPoint(message));
+        verify(httpClient, times(1)).sendMessageToEndPoint(any(HttpMessage.class));
+
+        Thread.sleep(200);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class))).thenReturn(true);
+        assertTrue(client.sendMessageToEndPoint(message));
+        assertTrue(client.sendMessageToEndPoint(message));
+        verify(httpClient, times(3)).sendMessageToEndPoint(any(HttpMessage.class));
+    }
+
+    @Test
+    public void verifyAsynchronousMessagesDoNotAffectCircuit() throws Exception {
+        final HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.sendMessageToEndPoint(any(HttpMessage.class)))
+            .thenAnswer(invocation -> ((HttpMessage) invocation.getArgument(0)).isAsynchronous());
+        final CircuitBreakingHttpClient client = new CircuitBreakingHttpClient(httpClient, 2, 60_000);
+
+        final URL url = new URL("https://failing.example.org/logout");
+        final HttpMessage asynchronous = new HttpMessage(url, "message", true);
+        final HttpMessage synchronous = new HttpMessage(url, "message", false);
+        assertFalse(client.sendMessageToEndPoint(synchronous));
+        assertTrue(client.sendMessageToEndPoint(asynchronous));
+        assertFalse(client.sendMessageToEndPoint(synchronous));
+        verify(httpClient, times(3)).sendMessageToEndPoint(any(HttpMessage.class));
+
+        assertFalse(client.sendMessageToEndPoint(synchronous));
+        verify(httpClient, times(3)).sendMessageToEndPoint(any(HttpMessage.class));
+        assertTrue(client.sendMessageToEndPoint(asynchronous));
+        verify(httpClient, times(4)).sendMessageToEndPoint(any(HttpMessage.class));
+    }
+}
@@ -154,9 +154,12 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
         AuthenticationCredentialsThreadLocalBinder.bindCurrent(latestAuthentication);
         final Principal principal = latestAuthentication.getPrincipal();
         final ServiceTicketFactory factory = (ServiceTicketFactory) this.ticketFactory.get(ServiceTicket.class);
-        final ServiceTicket serviceTicket = factory.create(ticketGrantingTicket, service, credentialProvided, ServiceTicket.class);
-        this.ticketRegistry.updateTicket(ticketGrantingTicket);
-        this.ticketRegistry.addTicket(serviceTicket);
+        final ServiceTicket serviceTicket = this.ticketRegistry.combineWrites(() -> {
+            final ServiceTicket ticket = factory.create(ticketGrantingTicket, service, credentialProvided, ServiceTicket.class);
+            this.ticketRegistry.updateTicketGrantingTicket(ticketGrantingTicket);
+            this.ticketRegistry.addTicket(ticket);
+            return ticket;
+        });
 
         LOGGER.info("Granted ticket [{}] for service [{}] and principal [{}]", serviceTicket.getId(), DigestUtils.abbreviate(service.getId()), principal.getId());
         doPublishEvent(new CasServiceTicketGrantedEvent(this, ticketGrantingTicket, serviceTicket));
@@ -202,10 +205,12 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
 
         final Principal principal = authentication.getPrincipal();
         final ProxyTicketFactory factory = (ProxyTicketFactory) this.ticketFactory.get(ProxyTicket.class);
-        final ProxyTicket proxyTicket = factory.create(proxyGrantingTicketObject, service, ProxyTicket.class);
-
-        this.ticketRegistry.updateTicket(proxyGrantingTicketObject);
-        this.ticketRegistry.addTicket(proxyTicket);
+        final ProxyTicket proxyTicket = this.ticketRegistry.combineWrites(() -> {
+            final ProxyTicket ticket = factory.create(proxyGrantingTicketObject, service, ProxyTicket.class);
+            this.ticketRegistry.updateTicketGrantingTicket(proxyGrantingTicketObject);
+            this.ticketRegistry.addTicket(ticket);
+            return ticket;
+        });
 
         LOGGER.info("Granted ticket [{}] for service [{}] for user [{}]",
             proxyTicket.getId(), service.getId(), principal.getId());
@@ -276,85 +281,69 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
             throw new InvalidTicketException(serviceTicketId);
         }
 
-        final ServiceTicket serviceTicket = this.ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class);
+        /*
+         * The ticket is marked as used, and removed once exhausted, in a single registry operation
+         * so that concurrent validation requests cannot both make use of a single-use ticket.
+         */
+        final ServiceTicket serviceTicket = this.ticketRegistry.consumeTicket(serviceTicketId, ServiceTicket.class);
 
         if (serviceTicket == null) {
-            LOGGER.warn("Service ticket [{}] does not exist.", serviceTicketId);
+            LOGGER.warn("Service ticket [{}] does not exist or has expired.", serviceTicketId);
             throw new InvalidTicketException(serviceTicketId);
         }
 
-        try {
-            /*
-             * Synchronization on ticket object in case of cache based registry doesn't serialize
-             * access to critical section. The reason is that cache pulls serialized data and
-             * builds new object, most likely for each pull. Is this synchronization needed here?
-             */
-            synchronized (serviceTicket) {
-                if (serviceTicket.isExpired()) {
-                    LOGGER.info("ServiceTicket [{}] has expired.", serviceTicketId);
-                    throw new InvalidTicketException(serviceTicketId);
-                }
+        if (!service.matches(serviceTicket.getService())) {
+            LOGGER.error("Service ticket [{}] with service [{}] does not match supplied service [{}]",
+                serviceTicketId, serviceTicket.getService().getId(), service);
+            throw new UnrecognizableServiceForServiceTicketValidationException(serviceTicket.getService());
+        }
 
-                if (!serviceTicket.isValidFor(service)) {
-                    LOGGER.error("Service ticket [{}] with service [{}] does not match supplied service [{}]",
-                        serviceTicketId, serviceTicket.getService().getId(), service);
-                    throw new UnrecognizableServiceForServiceTicketValidationException(serviceTicket.getService());
-                }
-            }
+        final Service selectedService = resolveServiceFromAuthenticationRequest(serviceTicket.getService());
+        LOGGER.debug("Resolved service [{}] from the authentication request", selectedService);
 
-            final Service selectedService = resolveServiceFromAuthenticationRequest(serviceTicket.getService());
-            LOGGER.debug("Resolved service [{}] from the authentication request", selectedService);
+        final RegisteredService registeredService = this.servicesManager.findServiceBy(selectedService);
+        LOGGER.debug("Located registered service definition [{}] from [{}] to handle validation request", registeredService, selectedService);
+        RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(selectedService, registeredService);
 
-            final RegisteredService registeredService = this.servicesManager.findServiceBy(selectedService);
-            LOGGER.debug("Located registered service definition [{}] from [{}] to handle validation request", registeredService, selectedService);
-            RegisteredServiceAccessStrategyUtils.ensureServiceAccessIsAllowed(selectedService, registeredService);
+        final TicketGrantingTicket root = serviceTicket.getTicketGrantingTicket().getRoot();
+        final Authentication authentication = getAuthenticationSatisfiedByPolicy(root.getAuthentication(),
+            new ServiceContext(selectedService, registeredService));
+        final Principal principal = authentication.getPrincipal();
 
-            final TicketGrantingTicket root = serviceTicket.getTicketGrantingTicket().getRoot();
-            final Authentication authentication = getAuthenticationSatisfiedByPolicy(root.getAuthentication(),
-                new ServiceContext(selectedService, registeredService));
-            final Principal principal = authentication.getPrincipal();
+        final RegisteredServiceAttributeReleasePolicy attributePolicy = registeredService.getAttributeReleasePolicy();
+        LOGGER.debug("Attribute policy [{}] is associated with service [{}]", attributePolicy, registeredService);
 
-            final RegisteredServiceAttributeReleasePolicy attributePolicy = registeredService.getAttributeReleasePolicy();
-            LOGGER.debug("Attribute policy [{}] is associated with service [{}]", attributePolicy, registeredService);
+        final Map<String, Object> attributesToRelease = attributePolicy != null
+            ? attributePolicy.getAttributes(principal, selectedService, registeredService) : new HashMap<>();
 
-            final Map<String, Object> attributesToRelease = attributePolicy != null
-                ? attributePolicy.getAttributes(principal, selectedService, registeredService) : new HashMap<>();
+        LOGGER.debug("Calculated attributes for release per the release policy are [{}]", attributesToRelease.keySet());
 
-            LOGGER.debug("Calculated attributes for release per the release policy are [{}]", attributesToRelease.keySet());
+        final String principalId = registeredService.getUsernameAttributeProvider().resolveUsername(principal, selectedService, registeredService);
+        final Principal modifiedPrincipal = this.principalFactory.createPrincipal(principalId, attributesToRelease);
+        final AuthenticationBuilder builder = DefaultAuthenticationBuilder.newInstance(authentication);
+        builder.setPrincipal(modifiedPrincipal);
+        LOGGER.debug("Principal determined for release to [{}] is [{}]", registeredService.getServiceId(), principalId);
 
-            final String principalId = registeredService.getUsernameAttributeProvider().resolveUsername(principal, selectedService, registeredService);
-            final Principal modifiedPrincipal = this.principalFactory.createPrincipal(principalId, attributesToRelease);
-            final AuthenticationBuilder builder = DefaultAuthenticationBuilder.newInstance(authentication);
-            builder.setPrincipal(modifiedPrincipal);
-            LOGGER.debug("Principal determined for release to [{}] is [{}]", registeredService.getServiceId(), principalId);
+        final Authentication finalAuthentication = builder.build();
 
-            final Authentication finalAuthentication = builder.build();
+        final AuditableContext audit = AuditableContext.builder().service(selectedService)
+            .authentication(finalAuthentication)
+            .registeredService(registeredService)
+            .retrievePrincipalAttributesFromReleasePolicy(Boolean.FALSE)
+            .build();
+        final AuditableExecutionResult accessResult = this.registeredServiceAccessStrategyEnforcer.execute(audit);
+        accessResult.throwExceptionIfNeeded();
 
-            final AuditableContext audit = AuditableContext.builder().service(selectedService)
-                .authentication(finalAuthentication)
-                .registeredService(registeredService)
-                .retrievePrincipalAttributesFromReleasePolicy(Boolean.FALSE)
-                .build();
-            final AuditableExecutionResult accessResult = this.registeredServiceAccessStrategyEnforcer.execute(audit);
-            accessResult.throwExceptionIfNeeded();
+        AuthenticationCredentialsThreadLocalBinder.bindCurrent(finalAuthentication);
 
-            AuthenticationCredentialsThreadLocalBinder.bindCurrent(finalAuthentication);
+        final Assertion assertion = new DefaultAssertionBuilder(finalAuthentication)
+            .with(selectedService)
+            .with(serviceTicket.getTicketGrantingTicket().getChainedAuthentications())
+            .with(serviceTicket.isFromNewLogin())
+            .build();
+        doPublishEvent(new CasServiceTicketValidatedEvent(this, serviceTicket, assertion));
 
-            final Assertion assertion = new DefaultAssertionBuilder(finalAuthentication)
-                .with(selectedService)
-                .with(serviceTicket.getTicketGrantingTicket().getChainedAuthentications())
-                .with(serviceTicket.isFromNewLogin())
-                .build();
-            doPublishEvent(new CasServiceTicketValidatedEvent(this, serviceTicket, assertion));
-
-            return assertion;
-        } finally {
-            if (serviceTicket.isExpired()) {
-                deleteTicket(serviceTicketId);
-            } else {
-                this.ticketRegistry.updateTicket(serviceTicket);
-            }
-        }
+        return assertion;
     }
 
     @Audit(
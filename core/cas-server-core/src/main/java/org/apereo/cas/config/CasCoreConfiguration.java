@@ -19,6 +19,7 @@ import org.apereo.cas.services.ServiceContext;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.ticket.TicketFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.WriteCombiningTicketRegistry;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -104,8 +105,11 @@ public class CasCoreConfiguration {
     @ConditionalOnMissingBean(name = "centralAuthenticationService")
     public CentralAuthenticationService centralAuthenticationService(
         @Qualifier("authenticationServiceSelectionPlan") final AuthenticationServiceSelectionPlan authenticationServiceSelectionPlan) {
+        final TicketRegistry registry = casProperties.getTicket().getRegistry().isCombineWrites()
+            ? new WriteCombiningTicketRegistry(ticketRegistry.getIfAvailable())
+            : ticketRegistry.getIfAvailable();
         return new DefaultCentralAuthenticationService(applicationEventPublisher,
-            ticketRegistry.getIfAvailable(),
+            registry,
             servicesManager.getIfAvailable(),
             logoutManager.getIfAvailable(),
             ticketFactory.getIfAvailable(),
@@ -83,6 +83,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.IntStream;
 
 import static org.junit.Assert.*;
@@ -235,10 +236,13 @@ public class DefaultCentralAuthenticationServiceMockitoTests {
     private void mockTicketRegistry(final ServiceTicket stMock, final TicketGrantingTicket tgtMock,
                                     final ServiceTicket stMock2, final TicketGrantingTicket tgtMock2) {
         this.ticketRegMock = mock(TicketRegistry.class);
+        when(ticketRegMock.combineWrites(any())).thenAnswer(invocation -> ((Supplier) invocation.getArgument(0)).get());
         when(ticketRegMock.getTicket(eq(tgtMock.getId()), eq(TicketGrantingTicket.class))).thenReturn(tgtMock);
         when(ticketRegMock.getTicket(eq(tgtMock2.getId()), eq(TicketGrantingTicket.class))).thenReturn(tgtMock2);
         when(ticketRegMock.getTicket(eq(stMock.getId()), eq(ServiceTicket.class))).thenReturn(stMock);
         when(ticketRegMock.getTicket(eq(stMock2.getId()), eq(ServiceTicket.class))).thenReturn(stMock2);
+        when(ticketRegMock.consumeTicket(eq(stMock.getId()), eq(ServiceTicket.class))).thenReturn(stMock);
+        when(ticketRegMock.consumeTicket(eq(stMock2.getId()), eq(ServiceTicket.class))).thenReturn(stMock2);
         when(ticketRegMock.getTickets()).thenReturn(Arrays.asList(tgtMock, tgtMock2, stMock, stMock2));
     }
 
@@ -0,0 +1,75 @@
+package org.apereo.cas.audit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.AuditTrailManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link BatchingJdbcAuditTrailManager} that records audit records one at a time
+ * via the jdbc audit trail manager it wraps, and inserts a number of audit records
+ * into the same table using a single jdbc batch when asked to record them at once.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BatchingJdbcAuditTrailManager implements BatchingAuditTrailManager {
+
+    private static final String INSERT_SQL_TEMPLATE = "INSERT INTO %s "
+        + "(AUD_USER, AUD_CLIENT_IP, AUD_SERVER_IP, AUD_RESOURCE, AUD_ACTION, APPLIC_CD, AUD_DATE) "
+        + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final AuditTrailManager auditTrailManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final String tableName;
+
+    private final int columnLength;
+
+    @Override
+    public void record(final AuditActionContext audit) {
+        this.auditTrailManager.record(audit);
+    }
+
+    /**
+     * Insert all audit records at once using a jdbc batch.
+     *
+     * @param audits the audit records
+     */
+    @Override
+    public void recordAll(final Collection<AuditActionContext> audits) {
+        final List<Object[]> rows = audits
+            .stream()
+            .map(audit -> new Object[]{
+                StringUtils.left(audit.getPrincipal(), this.columnLength),
+                audit.getClientIpAddress(),
+                audit.getServerIpAddress(),
+                StringUtils.left(audit.getResourceOperatedUpon(), this.columnLength),
+                StringUtils.left(audit.getActionPerformed(), this.columnLength),
+                audit.getApplicationCode(),
+                new Timestamp(audit.getWhenActionWasPerformed().getTime())})
+            .collect(Collectors.toList());
+        LOGGER.debug("Inserting [{}] audit records into [{}]", rows.size(), this.tableName);
+        this.transactionTemplate.execute(status -> this.jdbcTemplate.batchUpdate(String.format(INSERT_SQL_TEMPLATE, this.tableName), rows));
+    }
+
+    @Override
+    public Set<AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+        return this.auditTrailManager.getAuditRecordsSince(localDate);
+    }
+}
@@ -3,6 +3,7 @@ package org.apereo.cas.audit.config;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.audit.AuditTrailExecutionPlanConfigurer;
+import org.apereo.cas.audit.BatchingJdbcAuditTrailManager;
 import org.apereo.cas.audit.entity.AuditTrailEntity;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditJdbcProperties;
@@ -20,6 +21,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -52,20 +54,15 @@ public class CasSupportJdbcAuditConfiguration {
         t.setDataSource(inspektrAuditTrailDataSource());
         t.setAsynchronous(jdbc.isAsynchronous());
         t.setColumnLength(jdbc.getColumnLength());
-        String tableName = AuditTrailEntity.AUDIT_TRAIL_TABLE_NAME;
-        if (StringUtils.isNotBlank(jdbc.getDefaultSchema())) {
-            tableName = jdbc.getDefaultSchema().concat(".").concat(tableName);
-        }
-        if (StringUtils.isNotBlank(jdbc.getDefaultCatalog())) {
-            tableName = jdbc.getDefaultCatalog().concat(".").concat(tableName);
-        }
-        t.setTableName(tableName);
+        t.setTableName(getAuditTableName());
         return t;
     }
 
     @Bean
     public AuditTrailExecutionPlanConfigurer jdbcAuditTrailExecutionPlanConfigurer() {
-        return plan -> plan.registerAuditTrailManager(jdbcAuditTrailManager());
+        return plan -> plan.registerAuditTrailManager(new BatchingJdbcAuditTrailManager(jdbcAuditTrailManager(),
+            new JdbcTemplate(inspektrAuditTrailDataSource()), inspektrAuditTransactionTemplate(),
+            getAuditTableName(), casProperties.getAudit().getJdbc().getColumnLength()));
     }
 
     @Lazy
@@ -103,4 +100,16 @@ public class CasSupportJdbcAuditConfiguration {
         t.setPropagationBehaviorName(casProperties.getAudit().getJdbc().getPropagationBehaviorName());
         return t;
     }
+
+    private String getAuditTableName() {
+        final AuditJdbcProperties jdbc = casProperties.getAudit().getJdbc();
+        String tableName = AuditTrailEntity.AUDIT_TRAIL_TABLE_NAME;
+        if (StringUtils.isNotBlank(jdbc.getDefaultSchema())) {
+            tableName = jdbc.getDefaultSchema().concat(".").concat(tableName);
+        }
+        if (StringUtils.isNotBlank(jdbc.getDefaultCatalog())) {
+            tableName = jdbc.getDefaultCatalog().concat(".").concat(tableName);
+        }
+        return tableName;
+    }
 }
@@ -3,11 +3,12 @@ package org.apereo.cas.audit;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.inspektr.audit.AuditActionContext;
-import org.apereo.inspektr.audit.AuditTrailManager;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Date;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -23,7 +24,7 @@ import lombok.Setter;
  */
 @Slf4j
 @Setter
-public class MongoDbAuditTrailManager implements AuditTrailManager {
+public class MongoDbAuditTrailManager implements BatchingAuditTrailManager {
 
     private final ExecutorService executorService = Executors.newSingleThreadExecutor();
 
@@ -47,6 +48,16 @@ public class MongoDbAuditTrailManager implements AuditTrailManager {
         }
     }
 
+    /**
+     * Insert all audit records into the collection at once.
+     *
+     * @param audits the audit records
+     */
+    @Override
+    public void recordAll(final Collection<AuditActionContext> audits) {
+        this.mongoTemplate.insert(audits, this.collectionName);
+    }
+
     private void saveAuditRecord(final AuditActionContext audit) {
         this.mongoTemplate.save(audit, this.collectionName);
     }
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
@@ -15,10 +16,10 @@ import org.apereo.cas.configuration.model.core.audit.AuditRestProperties;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.HttpUtils;
 import org.apereo.inspektr.audit.AuditActionContext;
-import org.apereo.inspektr.audit.AuditTrailManager;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
@@ -33,7 +34,7 @@ import java.util.concurrent.Executors;
  */
 @Slf4j
 @RequiredArgsConstructor
-public class RestAuditTrailManager implements AuditTrailManager {
+public class RestAuditTrailManager implements BatchingAuditTrailManager {
     private static final ObjectMapper MAPPER = new ObjectMapper()
         .findAndRegisterModules()
         .registerModule(new SimpleModule().setMixInAnnotation(AuditActionContext.class, AbstractAuditActionContextMixin.class));
@@ -61,6 +62,19 @@ public class RestAuditTrailManager implements AuditTrailManager {
         }
     }
 
+    /**
+     * Send all audit records to the REST endpoint at once, as a JSON array.
+     *
+     * @param audits the audit records
+     */
+    @Override
+    @SneakyThrows
+    public void recordAll(final Collection<AuditActionContext> audits) {
+        final String auditJson = MAPPER.writeValueAsString(audits);
+        LOGGER.debug("Sending [{}] audit action contexts to REST endpoint [{}]", audits.size(), properties.getUrl());
+        HttpUtils.executePost(properties.getUrl(), properties.getBasicAuthUsername(), properties.getBasicAuthPassword(), auditJson);
+    }
+
     @Override
     public Set<AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
         try {
@@ -17,6 +17,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.util.StringUtils;
 
 import java.util.Set;
@@ -50,13 +51,22 @@ public class CouchbaseTicketRegistryConfiguration {
     @Autowired
     @RefreshScope
     @Bean
-    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
+    public TicketRegistry couchbaseTicketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         final CouchbaseTicketRegistryProperties couchbase = casProperties.getTicket().getRegistry().getCouchbase();
         final CouchbaseTicketRegistry c = new CouchbaseTicketRegistry(ticketCatalog, ticketRegistryCouchbaseClientFactory());
         c.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(couchbase.getCrypto(), "couchbase"));
+        c.setTicketSerializer(CoreTicketUtils.newTicketSerializer(casProperties.getTicket().getRegistry().getSerialization()));
         return c;
     }
 
+    @Autowired
+    @RefreshScope
+    @Bean
+    @Primary
+    public TicketRegistry ticketRegistry(@Qualifier("couchbaseTicketRegistry") final TicketRegistry couchbaseTicketRegistry) {
+        return CoreTicketUtils.newNearCachingTicketRegistry(casProperties.getTicket().getRegistry().getNearCache(), couchbaseTicketRegistry, null);
+    }
+
     @Bean
     public TicketRegistryCleaner ticketRegistryCleaner() {
         return NoOpTicketRegistryCleaner.getInstance();
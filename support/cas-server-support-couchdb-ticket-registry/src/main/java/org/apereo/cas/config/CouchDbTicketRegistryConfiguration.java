@@ -16,6 +16,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -51,13 +52,22 @@ public class CouchDbTicketRegistryConfiguration {
     @RefreshScope
     @Bean
     @Autowired
-    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
+    public TicketRegistry couchDbTicketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         final CouchDbTicketRegistryProperties couchDb = casProperties.getTicket().getRegistry().getCouchDb();
         final CouchDbTicketRegistry c = new CouchDbTicketRegistry(ticketCatalog, ticketRegistryCouchDbRepository(), couchDb.getRetries());
         c.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(couchDb.getCrypto(), "couchdb"));
+        c.setTicketSerializer(CoreTicketUtils.newTicketSerializer(casProperties.getTicket().getRegistry().getSerialization()));
         return c;
     }
 
+    @RefreshScope
+    @Bean
+    @Primary
+    @Autowired
+    public TicketRegistry ticketRegistry(@Qualifier("couchDbTicketRegistry") final TicketRegistry couchDbTicketRegistry) {
+        return CoreTicketUtils.newNearCachingTicketRegistry(casProperties.getTicket().getRegistry().getNearCache(), couchDbTicketRegistry, null);
+    }
+
     @Bean
     public TicketRegistryCleaner ticketRegistryCleaner() {
         return NoOpTicketRegistryCleaner.getInstance();
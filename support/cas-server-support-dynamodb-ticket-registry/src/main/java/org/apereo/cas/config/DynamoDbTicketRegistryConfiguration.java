@@ -38,8 +38,10 @@ public class DynamoDbTicketRegistryConfiguration {
     public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         final DynamoDbTicketRegistryProperties db = casProperties.getTicket().getRegistry().getDynamoDb();
         final EncryptionRandomizedSigningJwtCryptographyProperties crypto = db.getCrypto();
-        return new DynamoDbTicketRegistry(CoreTicketUtils.newTicketRegistryCipherExecutor(crypto, "dynamoDb"),
+        final DynamoDbTicketRegistry registry = new DynamoDbTicketRegistry(CoreTicketUtils.newTicketRegistryCipherExecutor(crypto, "dynamoDb"),
             dynamoDbTicketRegistryFacilitator(ticketCatalog));
+        registry.setTicketSerializer(CoreTicketUtils.newTicketSerializer(casProperties.getTicket().getRegistry().getSerialization()));
+        return registry;
     }
 
     @Autowired
@@ -167,6 +167,8 @@ public class EhcacheTicketRegistryConfiguration {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("The following caches are available: [{}]", (Object[]) manager.getCacheNames());
         }
-        return new EhCacheTicketRegistry(ticketCatalog, manager, CoreTicketUtils.newTicketRegistryCipherExecutor(crypto, "ehcache"));
+        final EhCacheTicketRegistry registry = new EhCacheTicketRegistry(ticketCatalog, manager, CoreTicketUtils.newTicketRegistryCipherExecutor(crypto, "ehcache"));
+        registry.setTicketSerializer(CoreTicketUtils.newTicketSerializer(casProperties.getTicket().getRegistry().getSerialization()));
+        return registry;
     }
 }
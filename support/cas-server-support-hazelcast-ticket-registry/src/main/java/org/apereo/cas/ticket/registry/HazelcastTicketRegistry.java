@@ -3,16 +3,22 @@ package org.apereo.cas.ticket.registry;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.IMap;
 import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketDelta;
 
 import javax.annotation.PreDestroy;
 import java.io.Closeable;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -42,21 +48,100 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
 
     @Override
     public void addTicket(final Ticket ticket) {
-        final long ttl = ticket.getExpirationPolicy().getTimeToLive();
-        if (ttl < 0) {
-            throw new IllegalArgumentException("The expiration policy of ticket " + ticket.getId() + "is set to use a negative ttl");
-        }
-
+        final long ttl = getTimeToLive(ticket);
         LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(), ttl);
         final Ticket encTicket = encodeTicket(ticket);
 
         final TicketDefinition metadata = this.ticketCatalog.find(ticket);
+        if (metadata == null) {
+            LOGGER.warn("Ticket [{}] is not registered in the ticket catalog and cannot be added", ticket.getId());
+            return;
+        }
         final IMap<String, Ticket> ticketMap = getTicketMapInstanceByMetadata(metadata);
 
         ticketMap.set(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS);
         LOGGER.debug("Added ticket [{}] with ttl [{}s]", encTicket.getId(), ttl);
     }
 
+    /**
+     * Write the tickets with asynchronous operations that are sent out together, and wait for all of them
+     * to complete. Changes recorded by ticket-granting tickets are applied with entry processors.
+     *
+     * @param addedTickets   the tickets to add
+     * @param updatedTickets the tickets to update
+     */
+    @Override
+    @SneakyThrows
+    public void writeTickets(final Collection<? extends Ticket> addedTickets, final Collection<? extends Ticket> updatedTickets) {
+        final Map<Ticket, Future<?>> writes = new LinkedHashMap<>();
+        addedTickets.forEach(ticket -> {
+            final TicketDefinition metadata = this.ticketCatalog.find(ticket);
+            if (metadata == null) {
+                LOGGER.warn("Ticket [{}] is not registered in the ticket catalog and cannot be written", ticket.getId());
+            } else {
+                writes.put(ticket, setTicketAsync(ticket, metadata));
+            }
+        });
+        updatedTickets.forEach(ticket -> {
+            final TicketDefinition metadata = this.ticketCatalog.find(ticket);
+            if (metadata == null) {
+                LOGGER.warn("Ticket [{}] is not registered in the ticket catalog and cannot be written", ticket.getId());
+                return;
+            }
+            final TicketGrantingTicketDelta delta = ticket instanceof TicketGrantingTicket
+                ? TicketGrantingTicket.class.cast(ticket).takeDelta()
+                : null;
+            if (delta != null && !isCipherExecutorEnabled()) {
+                final IMap<String, Ticket> map = getTicketMapInstanceByMetadata(metadata);
+                writes.put(ticket, map.submitToKey(ticket.getId(), new TicketGrantingTicketDeltaEntryProcessor(delta)));
+            } else {
+                writes.put(ticket, setTicketAsync(ticket, metadata));
+            }
+        });
+        for (final Map.Entry<Ticket, Future<?>> write : writes.entrySet()) {
+            if (Boolean.FALSE.equals(write.getValue().get())) {
+                LOGGER.debug("Ticket [{}] could not be changed in place and is written as a whole", write.getKey().getId());
+                addTicket(write.getKey());
+            }
+        }
+    }
+
+    private Future<Void> setTicketAsync(final Ticket ticket, final TicketDefinition metadata) {
+        final long ttl = getTimeToLive(ticket);
+        final Ticket encTicket = encodeTicket(ticket);
+        final IMap<String, Ticket> ticketMap = getTicketMapInstanceByMetadata(metadata);
+        return ticketMap.setAsync(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS);
+    }
+
+    private static long getTimeToLive(final Ticket ticket) {
+        final long ttl = ticket.getExpirationPolicy().getTimeToLive();
+        if (ttl < 0) {
+            throw new IllegalArgumentException("The expiration policy of ticket " + ticket.getId() + "is set to use a negative ttl");
+        }
+        return ttl;
+    }
+
+    /**
+     * Apply the changes with an entry processor that runs where the ticket is stored.
+     * Encoded tickets cannot be changed in place, and are updated as a whole instead.
+     *
+     * @param ticket the ticket-granting ticket
+     * @param delta  the changes
+     * @return true if the changes were applied
+     */
+    @Override
+    protected boolean applyTicketGrantingTicketDelta(final TicketGrantingTicket ticket, final TicketGrantingTicketDelta delta) {
+        if (isCipherExecutorEnabled()) {
+            return false;
+        }
+        final TicketDefinition metadata = this.ticketCatalog.find(ticket);
+        if (metadata == null) {
+            return false;
+        }
+        final IMap<String, Ticket> map = getTicketMapInstanceByMetadata(metadata);
+        return Boolean.TRUE.equals(map.executeOnKey(ticket.getId(), new TicketGrantingTicketDeltaEntryProcessor(delta)));
+    }
+
     private IMap<String, Ticket> getTicketMapInstanceByMetadata(final TicketDefinition metadata) {
         final String mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating map name [{}] for ticket definition [{}]", mapName, metadata);
@@ -93,6 +178,27 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements C
         return map.remove(encTicketId) != null;
     }
 
+    /**
+     * Remove the ticket from its map and hand back the entry that was removed,
+     * so that only one of several concurrent attempts may take the ticket.
+     *
+     * @param ticketId the ticket id
+     * @return the ticket, or null if it does not exist
+     */
+    @Override
+    protected Ticket takeTicket(final String ticketId) {
+        final String encTicketId = encodeTicketId(ticketId);
+        if (StringUtils.isBlank(encTicketId)) {
+            return null;
+        }
+        final TicketDefinition metadata = this.ticketCatalog.find(ticketId);
+        if (metadata == null) {
+            LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticketId);
+            return null;
+        }
+        return decodeTicket(getTicketMapInstanceByMetadata(metadata).remove(encTicketId));
+    }
+
     @Override
     public long deleteAll() {
         return this.ticketCatalog.findAll().stream()
@@ -0,0 +1,42 @@
+package org.apereo.cas.ticket.registry;
+
+import com.hazelcast.map.AbstractEntryProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketDelta;
+
+import java.util.Map;
+
+/**
+ * This is {@link TicketGrantingTicketDeltaEntryProcessor} that applies the changes recorded
+ * by a ticket-granting ticket to the ticket stored in a Hazelcast map, on the member that owns the entry.
+ * Only the changes travel across the cluster, rather than the whole ticket.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class TicketGrantingTicketDeltaEntryProcessor extends AbstractEntryProcessor<String, Ticket> {
+
+    private static final long serialVersionUID = 6170345129848712741L;
+
+    private final TicketGrantingTicketDelta delta;
+
+    public TicketGrantingTicketDeltaEntryProcessor(final TicketGrantingTicketDelta delta) {
+        super(true);
+        this.delta = delta;
+    }
+
+    @Override
+    public Object process(final Map.Entry<String, Ticket> entry) {
+        final Ticket ticket = entry.getValue();
+        if (!(ticket instanceof TicketGrantingTicket)) {
+            LOGGER.debug("Ticket [{}] is not a ticket-granting ticket that can be changed in place", entry.getKey());
+            return Boolean.FALSE;
+        }
+        TicketGrantingTicket.class.cast(ticket).applyDelta(this.delta);
+        entry.setValue(ticket);
+        return Boolean.TRUE;
+    }
+}
@@ -115,6 +115,7 @@ public class IgniteTicketRegistryConfiguration {
         final IgniteConfiguration igniteConfiguration = igniteConfiguration(ticketCatalog);
         final IgniteTicketRegistry r = new IgniteTicketRegistry(ticketCatalog, igniteConfiguration, igniteProperties);
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(igniteProperties.getCrypto(), "ignite"));
+        r.setTicketSerializer(CoreTicketUtils.newTicketSerializer(casProperties.getTicket().getRegistry().getSerialization()));
         r.initialize();
         return r;
     }
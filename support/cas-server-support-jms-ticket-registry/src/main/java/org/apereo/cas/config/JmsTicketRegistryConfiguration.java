@@ -57,7 +57,9 @@ public class JmsTicketRegistryConfiguration {
     public TicketRegistry ticketRegistry() {
         final JmsTicketRegistryProperties jms = casProperties.getTicket().getRegistry().getJms();
         final CipherExecutor cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(jms.getCrypto(), "jms");
-        return new JmsTicketRegistry(this.jmsTemplate, messageQueueTicketRegistryIdentifier(), cipher);
+        final JmsTicketRegistry registry = new JmsTicketRegistry(this.jmsTemplate, messageQueueTicketRegistryIdentifier(), cipher);
+        registry.setTicketSerializer(CoreTicketUtils.newTicketSerializer(casProperties.getTicket().getRegistry().getSerialization()));
+        return registry;
     }
 
     @Autowired
@@ -4,6 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.StringBean;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketDelta;
 import org.apereo.cas.ticket.registry.queue.AddTicketMessageQueueCommand;
 import org.apereo.cas.ticket.registry.queue.BaseMessageQueueCommand;
 import org.apereo.cas.ticket.registry.queue.DeleteTicketMessageQueueCommand;
@@ -66,6 +68,39 @@ public class JmsTicketRegistry extends DefaultTicketRegistry {
         return result;
     }
 
+    /**
+     * Changes are never applied in place, so that ticket-granting tickets are updated as a whole
+     * and the update is published to other nodes.
+     *
+     * @param ticket the ticket-granting ticket
+     * @param delta  the changes
+     * @return false
+     */
+    @Override
+    protected boolean applyTicketGrantingTicketDelta(final TicketGrantingTicket ticket, final TicketGrantingTicketDelta delta) {
+        return false;
+    }
+
+    /**
+     * Consume the ticket and let other nodes know of the outcome, so that a ticket
+     * that is consumed here can no longer be used on another node.
+     *
+     * @param <T>      the generic ticket type to return that extends {@link Ticket}
+     * @param ticketId the id of the ticket to consume
+     * @param clazz    the expected class of the ticket
+     * @return the ticket as it was once marked as used, or null if it does not exist or has expired.
+     */
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, final Class<T> clazz) {
+        final T ticket = super.consumeTicket(ticketId, clazz);
+        if (ticket != null && getMapInstance().containsKey(encodeTicketId(ticketId))) {
+            publishMessageToQueue(new UpdateTicketMessageQueueCommand(id, ticket));
+        } else {
+            publishMessageToQueue(new DeleteTicketMessageQueueCommand(id, ticketId));
+        }
+        return ticket;
+    }
+
     private void publishMessageToQueue(final BaseMessageQueueCommand cmd) {
         jmsTemplate.convertAndSend(QUEUE_DESTINATION, cmd,
             message -> {
@@ -2,14 +2,28 @@ package org.apereo.cas.ticket.registry;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.StringBean;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.registry.queue.DeleteTicketMessageQueueCommand;
+import org.apereo.cas.ticket.registry.queue.UpdateTicketMessageQueueCommand;
+import org.apereo.cas.ticket.support.MultiTimeUseOrTimeoutExpirationPolicy;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.mockito.Mockito;
 import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.core.MessagePostProcessor;
 
 import java.util.Arrays;
 import java.util.Collection;
 
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
 /**
  * This is {@link JmsTicketRegistryTests}.
  *
@@ -34,4 +48,48 @@ public class JmsTicketRegistryTests extends BaseSpringRunnableTicketRegistryTest
         final JmsTemplate jms = Mockito.mock(JmsTemplate.class);
         return new JmsTicketRegistry(jms, new StringBean());
     }
+
+    @Test
+    public void verifyConsumedServiceTicketIsPublished() {
+        final JmsTemplate jms = Mockito.mock(JmsTemplate.class);
+        final JmsTicketRegistry registry = new JmsTicketRegistry(jms, new StringBean());
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final ServiceTicket st1 = tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+            new MultiTimeUseOrTimeoutExpirationPolicy(1, 100), false, true);
+        final ServiceTicket st2 = tgt.grantServiceTicket("ST-2", RegisteredServiceTestUtils.getService(),
+            new MultiTimeUseOrTimeoutExpirationPolicy(2, 100), false, true);
+        registry.addTicket(tgt);
+        registry.addTicket(st1);
+        registry.addTicket(st2);
+
+        assertNotNull(registry.consumeTicket(st1.getId(), ServiceTicket.class));
+        verify(jms).convertAndSend(eq(JmsTicketRegistry.QUEUE_DESTINATION),
+            argThat(cmd -> cmd instanceof DeleteTicketMessageQueueCommand
+                && st1.getId().equals(DeleteTicketMessageQueueCommand.class.cast(cmd).getTicketId())),
+            any(MessagePostProcessor.class));
+
+        assertNotNull(registry.consumeTicket(st2.getId(), ServiceTicket.class));
+        verify(jms).convertAndSend(eq(JmsTicketRegistry.QUEUE_DESTINATION),
+            argThat(cmd -> cmd instanceof UpdateTicketMessageQueueCommand
+                && st2.getId().equals(UpdateTicketMessageQueueCommand.class.cast(cmd).getTicket().getId())),
+            any(MessagePostProcessor.class));
+    }
+
+    @Test
+    public void verifyUpdatedTicketGrantingTicketIsPublished() {
+        final JmsTemplate jms = Mockito.mock(JmsTemplate.class);
+        final JmsTicketRegistry registry = new JmsTicketRegistry(jms, new StringBean());
+        final TicketGrantingTicket tgt = new TicketGrantingTicketImpl("TGT-1",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        registry.addTicket(tgt);
+        tgt.grantServiceTicket("ST-1", RegisteredServiceTestUtils.getService(),
+            new NeverExpiresExpirationPolicy(), false, true);
+
+        registry.updateTicketGrantingTicket(tgt);
+        verify(jms).convertAndSend(eq(JmsTicketRegistry.QUEUE_DESTINATION),
+            argThat(cmd -> cmd instanceof UpdateTicketMessageQueueCommand
+                && tgt.getId().equals(UpdateTicketMessageQueueCommand.class.cast(cmd).getTicket().getId())),
+            any(MessagePostProcessor.class));
+    }
 }
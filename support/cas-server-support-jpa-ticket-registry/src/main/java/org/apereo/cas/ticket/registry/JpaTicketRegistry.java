@@ -1,11 +1,14 @@
 package org.apereo.cas.ticket.registry;
 
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketDelta;
+import org.apereo.cas.ticket.TicketState;
 import org.hibernate.LockOptions;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,8 +19,13 @@ import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -50,17 +58,68 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Ticket updateTicket(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            TicketGrantingTicket.class.cast(ticket).takeDelta();
+        }
         this.entityManager.merge(ticket);
         LOGGER.debug("Updated ticket [{}].", ticket);
         return ticket;
     }
 
+    /**
+     * Apply the changes recorded by the ticket-granting ticket to its row, which is locked for update
+     * so that changes made concurrently through other copies of the ticket are preserved rather than overwritten.
+     * The operation is declared here so that the ticket is locked and changed within a single transaction.
+     *
+     * @param ticket the ticket-granting ticket
+     * @return the updated ticket
+     */
+    @Override
+    public Ticket updateTicketGrantingTicket(final TicketGrantingTicket ticket) {
+        return super.updateTicketGrantingTicket(ticket);
+    }
+
+    @Override
+    protected boolean applyTicketGrantingTicketDelta(final TicketGrantingTicket ticket, final TicketGrantingTicketDelta delta) {
+        final TicketDefinition md = this.ticketCatalog.find(ticket);
+        if (md == null) {
+            return false;
+        }
+        final Ticket stored = this.entityManager.find(md.getImplementationClass(), ticket.getId(), LockModeType.PESSIMISTIC_WRITE);
+        if (!(stored instanceof TicketGrantingTicket)) {
+            return false;
+        }
+        if (stored != ticket) {
+            TicketGrantingTicket.class.cast(stored).applyDelta(delta);
+        }
+        LOGGER.debug("Updated ticket [{}].", ticket);
+        return true;
+    }
+
     @Override
     public void addTicket(final Ticket ticket) {
         this.entityManager.persist(ticket);
         LOGGER.debug("Added ticket [{}] to registry.", ticket);
     }
 
+    /**
+     * Write the tickets within a single transaction, so that they are flushed to the database together.
+     *
+     * @param addedTickets   the tickets to add
+     * @param updatedTickets the tickets to update
+     */
+    @Override
+    public void writeTickets(final Collection<? extends Ticket> addedTickets, final Collection<? extends Ticket> updatedTickets) {
+        addedTickets.forEach(this::addTicket);
+        updatedTickets.forEach(ticket -> {
+            if (ticket instanceof TicketGrantingTicket) {
+                updateTicketGrantingTicket((TicketGrantingTicket) ticket);
+            } else {
+                updateTicket(ticket);
+            }
+        });
+    }
+
     @Override
     public long deleteAll() {
         return this.ticketCatalog.findAll().stream()
@@ -92,6 +151,46 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * Consume the ticket while its row is locked for update, regardless of the configured lock type,
+     * so that concurrent transactions attempting to consume the same ticket wait for one another
+     * and find it either used or removed.
+     *
+     * @param <T>      the generic ticket type to return that extends {@link Ticket}
+     * @param ticketId the id of the ticket to consume
+     * @param clazz    the expected class of the ticket
+     * @return the ticket as it was once marked as used, or null if it does not exist or has expired.
+     */
+    @Override
+    public <T extends Ticket> T consumeTicket(final String ticketId, @NonNull final Class<T> clazz) {
+        final TicketDefinition tkt = this.ticketCatalog.find(ticketId);
+        if (tkt == null) {
+            LOGGER.debug("Ticket definition [{}] could not be found in the ticket catalog", ticketId);
+            return null;
+        }
+        final Ticket ticket = this.entityManager.find(tkt.getImplementationClass(), ticketId, LockModeType.PESSIMISTIC_WRITE);
+        if (ticket == null) {
+            return null;
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId() + " is of type " + ticket.getClass() + " when we were expecting " + clazz);
+        }
+        if (ticket.isExpired()) {
+            LOGGER.debug("Ticket [{}] has expired and is now removed from the registry", ticketId);
+            deleteSingleTicket(ticketId);
+            return null;
+        }
+        if (ticket instanceof TicketState) {
+            TicketState.class.cast(ticket).update();
+        }
+        if (ticket.isExpired()) {
+            deleteSingleTicket(ticketId);
+        } else {
+            this.entityManager.merge(ticket);
+        }
+        return (T) ticket;
+    }
+
     @Override
     public Collection<Ticket> getTickets() {
         return this.ticketCatalog.findAll().stream()
@@ -124,6 +223,34 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             .flatMap(org.hibernate.query.Query::stream);
     }
 
+    /**
+     * Gets expired tickets by querying the expiration time that is calculated as tickets are stored,
+     * rather than loading every ticket. Tickets that are marked as expired, or whose expiration time
+     * is unknown, are included as well, and are checked once loaded.
+     *
+     * @param expirationTime the time by which tickets must have expired
+     * @param limit          the maximum number of tickets to return
+     * @return the expired tickets
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<Ticket> getExpiredTickets(final Instant expirationTime, final int limit) {
+        return this.ticketCatalog.findAll().stream()
+            .map(t -> this.entityManager.createQuery("select t from " + getTicketEntityName(t) + " t "
+                + "where t.expirationTime is null or t.expirationTime <= :expirationTime or t.expired = true", t.getImplementationClass()))
+            .map(q -> {
+                final org.hibernate.query.Query<Ticket> hq = (org.hibernate.query.Query<Ticket>) q.unwrap(org.hibernate.query.Query.class);
+                hq.setParameter("expirationTime", expirationTime.atZone(ZoneOffset.UTC));
+                hq.setMaxResults(limit);
+                hq.setFetchSize(STREAM_BATCH_SIZE);
+                hq.setLockOptions(LockOptions.NONE);
+                return hq;
+            })
+            .flatMap(org.hibernate.query.Query::stream)
+            .filter(Ticket::isExpired)
+            .limit(limit);
+    }
+
     @Override
     public long sessionCount() {
         final TicketDefinition md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
@@ -158,6 +285,40 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return totalCount != 0;
     }
 
+    /**
+     * Delete the tickets with one statement per ticket entity. Tickets whose definitions
+     * cascade are removed afterwards along with the tickets that refer to them.
+     *
+     * @param ticketIds the ticket ids
+     * @return the number of tickets that were removed
+     */
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        final Map<TicketDefinition, List<String>> ticketsByDefinition = new LinkedHashMap<>();
+        ticketIds.forEach(ticketId -> {
+            final TicketDefinition md = this.ticketCatalog.find(ticketId);
+            if (md != null) {
+                ticketsByDefinition.computeIfAbsent(md, k -> new ArrayList<>()).add(ticketId);
+            }
+        });
+        final int deleted = ticketsByDefinition.entrySet()
+            .stream()
+            .filter(entry -> !entry.getKey().getProperties().isCascade())
+            .mapToInt(entry -> {
+                final Query query = entityManager.createQuery("delete from " + getTicketEntityName(entry.getKey()) + " o where o.id in :ids");
+                query.setParameter("ids", entry.getValue());
+                return query.executeUpdate();
+            })
+            .sum();
+        final long cascaded = ticketsByDefinition.entrySet()
+            .stream()
+            .filter(entry -> entry.getKey().getProperties().isCascade())
+            .flatMap(entry -> entry.getValue().stream())
+            .filter(ticketId -> deleteTicketGrantingTickets(ticketId) != 0)
+            .count();
+        return deleted + (int) cascaded;
+    }
+
     private static String getTicketEntityName(final TicketDefinition tk) {
         return tk.getImplementationClass().getSimpleName();
     }
@@ -62,6 +62,7 @@ public class MemcachedTicketRegistryConfiguration {
         final MemcachedTicketRegistry registry = new MemcachedTicketRegistry(factory.getObjectPool());
         final CipherExecutor cipherExecutor = CoreTicketUtils.newTicketRegistryCipherExecutor(memcached.getCrypto(), "memcached");
         registry.setCipherExecutor(cipherExecutor);
+        registry.setTicketSerializer(CoreTicketUtils.newTicketSerializer(casProperties.getTicket().getRegistry().getSerialization()));
         return registry;
     }
 
@@ -2,17 +2,18 @@ package org.apereo.cas.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCleanerProperties;
 import org.apereo.cas.configuration.model.support.mongo.ticketregistry.MongoTicketRegistryProperties;
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
 import org.apereo.cas.ticket.TicketCatalog;
-import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.MongoDbTicketRegistry;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.support.LockingStrategy;
 import org.apereo.cas.util.CoreTicketUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -20,6 +21,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
 /**
@@ -35,25 +38,39 @@ public class MongoDbTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ticketRegistryCleanerLogoutExecutor")
+    private ObjectProvider<AsyncTaskExecutor> ticketRegistryCleanerLogoutExecutor;
+
     @RefreshScope
     @Bean
     @Autowired
-    public TicketRegistry ticketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
+    public TicketRegistry mongoDbTicketRegistry(@Qualifier("ticketCatalog") final TicketCatalog ticketCatalog) {
         final MongoTicketRegistryProperties mongo = casProperties.getTicket().getRegistry().getMongo();
         final MongoDbTicketRegistry registry = new MongoDbTicketRegistry(ticketCatalog, mongoDbTicketRegistryTemplate(), mongo.isDropCollection());
         registry.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(mongo.getCrypto(), "mongo"));
+        registry.setTicketSerializer(CoreTicketUtils.newTicketSerializer(casProperties.getTicket().getRegistry().getSerialization()));
         return registry;
     }
 
+    @RefreshScope
+    @Bean
+    @Primary
+    @Autowired
+    public TicketRegistry ticketRegistry(@Qualifier("mongoDbTicketRegistry") final TicketRegistry mongoDbTicketRegistry) {
+        return CoreTicketUtils.newNearCachingTicketRegistry(casProperties.getTicket().getRegistry().getNearCache(), mongoDbTicketRegistry, null);
+    }
+
     @Autowired
     @Bean
     public TicketRegistryCleaner ticketRegistryCleaner(@Qualifier("lockingStrategy") final LockingStrategy lockingStrategy,
                                                        @Qualifier("logoutManager") final LogoutManager logoutManager,
                                                        @Qualifier("ticketRegistry") final TicketRegistry ticketRegistry) {
-        final boolean isCleanerEnabled = casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled();
-        if (isCleanerEnabled) {
+        final TicketRegistryCleanerProperties cleaner = casProperties.getTicket().getRegistry().getCleaner();
+        if (cleaner.getSchedule().isEnabled()) {
             LOGGER.debug("Ticket registry cleaner is enabled.");
-            return new DefaultTicketRegistryCleaner(lockingStrategy, logoutManager, ticketRegistry);
+            return CoreTicketUtils.newTicketRegistryCleaner(cleaner, lockingStrategy, logoutManager, ticketRegistry,
+                ticketRegistryCleanerLogoutExecutor.getIfAvailable());
         }
         LOGGER.debug("Ticket registry cleaner is not enabled. "
                 + "Expired tickets are not forcefully collected and cleaned by CAS. It is up to the ticket registry itself to "
@@ -10,17 +10,26 @@ import org.apereo.cas.ticket.BaseTicketSerializers;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.hjson.JsonValue;
 import org.hjson.Stringify;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A Ticket Registry storage backend based on MongoDB.
@@ -47,6 +56,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         this.dropCollection = dropCollection;
 
         createTicketCollections();
+        setTicketCountTracker(this::countTickets);
         LOGGER.info("Configured MongoDb Ticket Registry instance with available collections: [{}]", mongoTemplate.getCollectionNames());
     }
 
@@ -59,6 +69,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         final DBCollection collection = mongoTemplate.getCollection(collectionName);
         collection.createIndex(new BasicDBObject(TicketHolder.FIELD_NAME_EXPIRE_AT, 1),
                 new BasicDBObject(FIELD_NAME_EXPIRE_AFTER_SECONDS, ticket.getProperties().getStorageTimeout()));
+        collection.createIndex(new BasicDBObject(TicketHolder.FIELD_NAME_EXPIRATION_TIME, 1));
         return collection;
     }
 
@@ -88,7 +99,8 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 return null;
             }
             final Query query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
-            final Update update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
+            final Update update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+                    .set(TicketHolder.FIELD_NAME_EXPIRATION_TIME, holder.getExpirationTime());
             this.mongoTemplate.upsert(query, update, collectionName);
             LOGGER.debug("Updated ticket [{}]", ticket);
         } catch (final Exception e) {
@@ -121,6 +133,64 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    /**
+     * Write the tickets with a single bulk operation per ticket collection. Ticket-granting tickets
+     * are written as a whole, so the changes they recorded are discarded.
+     *
+     * @param addedTickets   the tickets to add
+     * @param updatedTickets the tickets to update
+     */
+    @Override
+    public void writeTickets(final Collection<? extends Ticket> addedTickets, final Collection<? extends Ticket> updatedTickets) {
+        final Map<String, BulkOperations> operations = new LinkedHashMap<>();
+        try {
+            addedTickets.forEach(ticket -> {
+                final BulkOperations bulk = getBulkOperations(ticket, operations);
+                if (bulk != null) {
+                    bulk.insert(buildTicketAsDocument(ticket));
+                }
+            });
+            updatedTickets.forEach(ticket -> {
+                if (ticket instanceof TicketGrantingTicket) {
+                    TicketGrantingTicket.class.cast(ticket).takeDelta();
+                }
+                final BulkOperations bulk = getBulkOperations(ticket, operations);
+                if (bulk != null) {
+                    final TicketHolder holder = buildTicketAsDocument(ticket);
+                    final Query query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
+                    bulk.upsert(query, Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson())
+                        .set(TicketHolder.FIELD_NAME_EXPIRATION_TIME, holder.getExpirationTime()));
+                }
+            });
+        } catch (final Exception e) {
+            LOGGER.error("Failed preparing tickets [{}] and [{}] to be written: [{}]", addedTickets, updatedTickets, e);
+            return;
+        }
+        operations.forEach((collectionName, bulk) -> {
+            try {
+                bulk.execute();
+                LOGGER.debug("Wrote tickets to collection [{}] in a single bulk operation", collectionName);
+            } catch (final Exception e) {
+                LOGGER.error("Failed writing tickets to collection [{}]: [{}]", collectionName, e);
+            }
+        });
+    }
+
+    private BulkOperations getBulkOperations(final Ticket ticket, final Map<String, BulkOperations> operations) {
+        final TicketDefinition metadata = this.ticketCatalog.find(ticket);
+        if (metadata == null) {
+            LOGGER.error("Could not locate ticket definition in the catalog for ticket [{}]", ticket.getId());
+            return null;
+        }
+        final String collectionName = getTicketCollectionInstanceByMetadata(metadata);
+        if (StringUtils.isBlank(collectionName)) {
+            LOGGER.error("Could not locate collection linked to ticket definition for ticket [{}]", ticket.getId());
+            return null;
+        }
+        return operations.computeIfAbsent(collectionName,
+            name -> this.mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, name));
+    }
+
     @Override
     public Ticket getTicket(final String ticketId) {
         try {
@@ -155,6 +225,34 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * Fetch and remove the ticket document with a single {@code findAndModify} command,
+     * so that only one of several concurrent attempts may take the ticket.
+     *
+     * @param ticketId the ticket id
+     * @return the ticket, or null if it does not exist
+     */
+    @Override
+    protected Ticket takeTicket(final String ticketId) {
+        try {
+            final String encTicketId = encodeTicketId(ticketId);
+            final TicketDefinition metadata = this.ticketCatalog.find(ticketId);
+            if (encTicketId == null || metadata == null) {
+                LOGGER.debug("Ticket ticketId [{}] could not be found", ticketId);
+                return null;
+            }
+            final String collectionName = getTicketCollectionInstanceByMetadata(metadata);
+            final Query query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(encTicketId));
+            final TicketHolder d = this.mongoTemplate.findAndRemove(query, TicketHolder.class, collectionName);
+            if (d != null) {
+                return decodeTicket(deserializeTicketFromMongoDocument(d));
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Failed taking [{}]: [{}]", ticketId, e);
+        }
+        return null;
+    }
+
     @Override
     public Collection<Ticket> getTickets() {
         return this.ticketCatalog.findAll().stream()
@@ -165,6 +263,32 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * Gets expired tickets by querying the expiration time that is recorded as tickets are stored,
+     * rather than fetching every document. Documents whose expiration time is unknown are included
+     * as well, and are checked once decoded.
+     *
+     * @param expirationTime the time by which tickets must have expired
+     * @param limit          the maximum number of tickets to return
+     * @return the expired tickets
+     */
+    @Override
+    public Stream<Ticket> getExpiredTickets(final Instant expirationTime, final int limit) {
+        final Query query = new Query(new Criteria().orOperator(
+                Criteria.where(TicketHolder.FIELD_NAME_EXPIRATION_TIME).lte(Date.from(expirationTime)),
+                Criteria.where(TicketHolder.FIELD_NAME_EXPIRATION_TIME).is(null)))
+                .limit(limit);
+        return this.ticketCatalog.findAll().stream()
+                .map(this::getTicketCollectionInstanceByMetadata)
+                .filter(StringUtils::isNotBlank)
+                .distinct()
+                .flatMap(collectionName -> this.mongoTemplate.find(query, TicketHolder.class, collectionName).stream())
+                .map(holder -> decodeTicket(deserializeTicketFromMongoDocument(holder)))
+                .filter(Objects::nonNull)
+                .filter(Ticket::isExpired)
+                .limit(limit);
+    }
+
     @Override
     public boolean deleteSingleTicket(final String ticketIdToDelete) {
         final String ticketId = encodeTicketId(ticketIdToDelete);
@@ -182,6 +306,39 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return false;
     }
 
+    /**
+     * Delete the tickets with one operation per ticket collection.
+     *
+     * @param ticketIds the ticket ids
+     * @return the number of tickets that were removed
+     */
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        final Map<String, List<String>> ticketsByCollection = new LinkedHashMap<>();
+        ticketIds.forEach(ticketId -> {
+            final TicketDefinition metadata = this.ticketCatalog.find(ticketId);
+            if (metadata == null) {
+                LOGGER.debug("Ticket definition [{}] could not be found in the ticket catalog", ticketId);
+                return;
+            }
+            ticketsByCollection.computeIfAbsent(getTicketCollectionInstanceByMetadata(metadata), k -> new ArrayList<>())
+                    .add(encodeTicketId(ticketId));
+        });
+        return ticketsByCollection.entrySet().stream()
+                .mapToInt(entry -> {
+                    try {
+                        final Query query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).in(entry.getValue()));
+                        final WriteResult res = this.mongoTemplate.remove(query, entry.getKey());
+                        LOGGER.debug("Deleted [{}] ticket(s) from [{}]", res.getN(), entry.getKey());
+                        return res.getN();
+                    } catch (final Exception e) {
+                        LOGGER.error("Failed deleting [{}]: [{}]", entry.getValue(), e);
+                    }
+                    return 0;
+                })
+                .sum();
+    }
+
     @Override
     public long deleteAll() {
         return this.ticketCatalog.findAll().stream()
@@ -195,6 +352,20 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
                 .sum();
     }
 
+    /**
+     * Count the documents in the collections of all ticket definitions of the given type,
+     * without fetching and decoding the tickets themselves.
+     */
+    private long countTickets(final Class<? extends Ticket> ticketType) {
+        return this.ticketCatalog.findAll().stream()
+                .filter(definition -> ticketType.isAssignableFrom(definition.getImplementationClass()))
+                .map(this::getTicketCollectionInstanceByMetadata)
+                .filter(StringUtils::isNotBlank)
+                .distinct()
+                .mapToLong(collectionName -> this.mongoTemplate.count(new Query(), collectionName))
+                .sum();
+    }
+
     /**
      * Calculate the time at which the ticket is eligible for automated deletion by MongoDb.
      * Makes the assumption that the CAS server date and the Mongo server date are in sync.
@@ -229,7 +400,9 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         if (StringUtils.isNotBlank(json)) {
             LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
             final Date expireAt = getExpireAt(ticket);
-            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt);
+            final ZonedDateTime expirationTime = getExpirationTime(ticket);
+            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt,
+                    expirationTime != null ? Date.from(expirationTime.toInstant()) : null);
         }
         throw new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON");
     }
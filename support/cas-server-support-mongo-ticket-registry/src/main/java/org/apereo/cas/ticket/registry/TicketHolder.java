@@ -31,6 +31,11 @@ public class TicketHolder implements Serializable {
      */
     public static final String FIELD_NAME_EXPIRE_AT = "expireAt";
 
+    /**
+     * Field name to hold the time at which the ticket is expected to expire, per its expiration policy.
+     */
+    public static final String FIELD_NAME_EXPIRATION_TIME = "expirationTime";
+
     /**
      * Field name to hold ticket id.
      */
@@ -46,4 +51,7 @@ public class TicketHolder implements Serializable {
 
     @Indexed
     private final Date expireAt;
+
+    @Indexed
+    private final Date expirationTime;
 }
@@ -50,6 +50,9 @@ public class OAuthRegisteredService extends RegexRegisteredService {
     @Column
     private boolean jsonFormat;
 
+    @Column
+    private boolean jwtAccessToken;
+
     @Lob
     @Column(name = "supported_grants", length = Integer.MAX_VALUE)
     private HashSet<String> supportedGrantTypes = new HashSet<>();
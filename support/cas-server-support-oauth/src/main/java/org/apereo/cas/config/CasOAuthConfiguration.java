@@ -2,6 +2,7 @@ package org.apereo.cas.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.CipherExecutor;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlan;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
 import org.apereo.cas.audit.AuditableExecution;
@@ -11,6 +12,7 @@ import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.authentication.principal.ServiceFactory;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.util.EncryptionOptionalSigningOptionalJwtCryptographyProperties;
 import org.apereo.cas.configuration.model.support.oauth.OAuthAccessTokenProperties;
 import org.apereo.cas.configuration.model.support.oauth.OAuthProperties;
 import org.apereo.cas.configuration.model.support.oauth.OAuthRefreshTokenProperties;
@@ -75,12 +77,16 @@ import org.apereo.cas.ticket.UniqueTicketIdGenerator;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicy;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenCipherExecutor;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenEncoder;
 import org.apereo.cas.ticket.code.DefaultOAuthCodeFactory;
 import org.apereo.cas.ticket.code.OAuthCodeExpirationPolicy;
 import org.apereo.cas.ticket.code.OAuthCodeFactory;
 import org.apereo.cas.ticket.refreshtoken.DefaultRefreshTokenFactory;
 import org.apereo.cas.ticket.refreshtoken.OAuthRefreshTokenExpirationPolicy;
 import org.apereo.cas.ticket.refreshtoken.RefreshTokenFactory;
+import org.apereo.cas.ticket.registry.CachingTicketRegistry;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
@@ -96,6 +102,7 @@ import org.pac4j.core.credentials.authenticator.Authenticator;
 import org.pac4j.core.http.url.UrlResolver;
 import org.pac4j.http.client.direct.DirectBasicAuthClient;
 import org.pac4j.http.client.direct.DirectFormClient;
+import org.springframework.aop.support.AopUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -106,6 +113,7 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -321,7 +329,29 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
     @Bean
     @RefreshScope
     public OAuth20TokenGenerator oauthTokenGenerator() {
-        return new OAuth20DefaultTokenGenerator(defaultAccessTokenFactory(), defaultRefreshTokenFactory(), ticketRegistry);
+        return new OAuth20DefaultTokenGenerator(defaultAccessTokenFactory(), defaultRefreshTokenFactory(), ticketRegistry, oauthJwtAccessTokenEncoder());
+    }
+
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenCipherExecutor")
+    @Bean
+    @RefreshScope
+    public CipherExecutor<Serializable, String> oauthJwtAccessTokenCipherExecutor() {
+        final EncryptionOptionalSigningOptionalJwtCryptographyProperties crypto = casProperties.getAuthn().getOauth().getAccessToken().getCrypto();
+        return new OAuthJwtAccessTokenCipherExecutor(crypto.getEncryption().getKey(), crypto.getSigning().getKey(),
+            crypto.getAlg(), crypto.isEncryptionEnabled());
+    }
+
+    @ConditionalOnMissingBean(name = "oauthJwtAccessTokenEncoder")
+    @Bean
+    public OAuthJwtAccessTokenEncoder oauthJwtAccessTokenEncoder() {
+        final Class<?> registryClass = AopUtils.getTargetClass(ticketRegistry);
+        if (registryClass != DefaultTicketRegistry.class && registryClass != CachingTicketRegistry.class) {
+            LOGGER.warn("Ticket registry [{}] may be shared by multiple CAS nodes, yet revoked JWT access tokens are only remembered "
+                + "by the node that received the revocation request. JWT access tokens issued to services with [jwtAccessToken] enabled "
+                + "remain valid on other nodes until they expire; keep their lifetime short.", registryClass.getSimpleName());
+        }
+        return new OAuthJwtAccessTokenEncoder(oauthJwtAccessTokenCipherExecutor(), accessTokenIdGenerator(),
+            accessTokenExpirationPolicy(), oauthPrincipalFactory(), webApplicationServiceFactory);
     }
 
     @Bean
@@ -395,7 +425,8 @@ public class CasOAuthConfiguration implements AuditTrailRecordResolutionPlanConf
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             oauthUserProfileViewRenderer(),
-            oAuth2UserProfileDataCreator());
+            oAuth2UserProfileDataCreator(),
+            oauthJwtAccessTokenEncoder());
     }
 
     @ConditionalOnMissingBean(name = "oauthAuthorizationResponseBuilders")
@@ -16,6 +16,7 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenEncoder;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.Pac4jUtils;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
@@ -34,6 +35,8 @@ import java.util.Map;
 /**
  * This controller returns a profile for the authenticated user
  * (identifier + attributes), found with the access token.
+ * Access tokens that are issued as JWTs are validated by their signature
+ * and are never looked up from the ticket registry.
  *
  * @author Jerome Leleu
  * @since 3.5.0
@@ -50,6 +53,11 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
      * User profile data creator.
      */
     private final OAuth20UserProfileDataCreator userProfileDataCreator;
+
+    /**
+     * JWT access token encoder.
+     */
+    private final OAuthJwtAccessTokenEncoder jwtAccessTokenEncoder;
     private final ResponseEntity expiredAccessTokenResponseEntity;
 
     public OAuth20UserProfileEndpointController(final ServicesManager servicesManager,
@@ -61,11 +69,13 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
                                                 final CasConfigurationProperties casProperties,
                                                 final CookieRetrievingCookieGenerator cookieGenerator,
                                                 final OAuth20UserProfileViewRenderer userProfileViewRenderer,
-                                                final OAuth20UserProfileDataCreator userProfileDataCreator) {
+                                                final OAuth20UserProfileDataCreator userProfileDataCreator,
+                                                final OAuthJwtAccessTokenEncoder jwtAccessTokenEncoder) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
             webApplicationServiceServiceFactory, scopeToAttributesFilter, casProperties, cookieGenerator);
         this.userProfileViewRenderer = userProfileViewRenderer;
         this.userProfileDataCreator = userProfileDataCreator;
+        this.jwtAccessTokenEncoder = jwtAccessTokenEncoder;
         this.expiredAccessTokenResponseEntity = buildUnauthorizedResponseEntity(OAuth20Constants.EXPIRED_ACCESS_TOKEN);
     }
 
@@ -89,6 +99,15 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
             return buildUnauthorizedResponseEntity(OAuth20Constants.MISSING_ACCESS_TOKEN);
         }
 
+        if (OAuthJwtAccessTokenEncoder.isJwtAccessToken(accessToken)) {
+            final AccessToken jwtAccessToken = this.jwtAccessTokenEncoder.decode(accessToken);
+            if (jwtAccessToken == null) {
+                LOGGER.error("JWT access token is invalid, has expired or has been revoked");
+                return expiredAccessTokenResponseEntity;
+            }
+            return buildUserProfileResponseEntity(jwtAccessToken, context);
+        }
+
         final AccessToken accessTokenTicket = this.ticketRegistry.getTicket(accessToken, AccessToken.class);
 
         if (accessTokenTicket == null) {
@@ -110,7 +129,10 @@ public class OAuth20UserProfileEndpointController extends BaseOAuth20Controller
             }
         }
         updateAccessTokenUsage(accessTokenTicket);
+        return buildUserProfileResponseEntity(accessTokenTicket, context);
+    }
 
+    private ResponseEntity<String> buildUserProfileResponseEntity(final AccessToken accessTokenTicket, final J2EContext context) {
         final Map<String, Object> map = this.userProfileDataCreator.createFrom(accessTokenTicket, context);
         final String value = this.userProfileViewRenderer.render(map, accessTokenTicket);
         return new ResponseEntity<>(value, HttpStatus.OK);
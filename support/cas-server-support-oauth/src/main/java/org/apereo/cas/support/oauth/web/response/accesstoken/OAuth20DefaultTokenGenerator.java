@@ -12,6 +12,7 @@ import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketState;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenEncoder;
 import org.apereo.cas.ticket.code.OAuthCode;
 import org.apereo.cas.ticket.refreshtoken.RefreshToken;
 import org.apereo.cas.ticket.refreshtoken.RefreshTokenFactory;
@@ -19,6 +20,9 @@ import org.apereo.cas.ticket.registry.TicketRegistry;
 
 /**
  * This is {@link OAuth20DefaultTokenGenerator}.
+ * <p>
+ * Services that ask for JWT access tokens receive self-contained access tokens that are
+ * neither added to the ticket registry nor tracked by the ticket-granting ticket.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -43,6 +47,11 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
      */
     protected final TicketRegistry ticketRegistry;
 
+    /**
+     * The JWT access token encoder.
+     */
+    protected final OAuthJwtAccessTokenEncoder jwtAccessTokenEncoder;
+
     @Override
     public Pair<AccessToken, RefreshToken> generate(final AccessTokenRequestDataHolder holder) {
         LOGGER.debug("Creating refresh token for [{}]", holder.getService());
@@ -52,12 +61,18 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
             .build();
 
         LOGGER.debug("Creating access token for [{}]", holder);
-        final AccessToken accessToken = this.accessTokenFactory.create(holder.getService(),
-            authn, holder.getTicketGrantingTicket(), holder.getScopes());
-
-        LOGGER.debug("Created access token [{}]", accessToken);
-        addTicketToRegistry(accessToken, holder.getTicketGrantingTicket());
-        LOGGER.debug("Added access token [{}] to registry", accessToken);
+        final boolean jwtAccessToken = holder.getRegisteredService() != null && holder.getRegisteredService().isJwtAccessToken();
+        final AccessToken accessToken;
+        if (jwtAccessToken) {
+            accessToken = this.jwtAccessTokenEncoder.create(holder.getService(), authn, holder.getTicketGrantingTicket(), holder.getScopes());
+            LOGGER.debug("Created JWT access token for [{}], which is not added to the registry", holder.getService());
+        } else {
+            accessToken = this.accessTokenFactory.create(holder.getService(),
+                authn, holder.getTicketGrantingTicket(), holder.getScopes());
+            LOGGER.debug("Created access token [{}]", accessToken);
+            addTicketToRegistry(accessToken, holder.getTicketGrantingTicket());
+            LOGGER.debug("Added access token [{}] to registry", accessToken);
+        }
 
         if (holder.getToken() instanceof OAuthCode) {
             final TicketState codeState = TicketState.class.cast(holder.getToken());
@@ -68,7 +83,9 @@ public class OAuth20DefaultTokenGenerator implements OAuth20TokenGenerator {
             } else {
                 this.ticketRegistry.updateTicket(holder.getToken());
             }
-            this.ticketRegistry.updateTicket(holder.getTicketGrantingTicket());
+            if (!jwtAccessToken) {
+                this.ticketRegistry.updateTicket(holder.getTicketGrantingTicket());
+            }
         }
 
         RefreshToken refreshToken = null;
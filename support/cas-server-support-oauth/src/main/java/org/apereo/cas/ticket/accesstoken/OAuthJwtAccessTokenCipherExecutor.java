@@ -0,0 +1,37 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.util.cipher.BaseStringCipherExecutor;
+
+/**
+ * This is {@link OAuthJwtAccessTokenCipherExecutor} that signs and optionally encrypts
+ * access tokens that are issued as JWTs.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class OAuthJwtAccessTokenCipherExecutor extends BaseStringCipherExecutor {
+
+    public OAuthJwtAccessTokenCipherExecutor(final String secretKeyEncryption,
+                                             final String secretKeySigning,
+                                             final String alg,
+                                             final boolean encryptionEnabled) {
+        super(secretKeyEncryption, secretKeySigning, alg, encryptionEnabled, true);
+    }
+
+    @Override
+    protected String getEncryptionKeySetting() {
+        return "cas.authn.oauth.accessToken.crypto.encryption.key";
+    }
+
+    @Override
+    protected String getSigningKeySetting() {
+        return "cas.authn.oauth.accessToken.crypto.signing.key";
+    }
+
+    @Override
+    public String getName() {
+        return "OAuth JWT Access Tokens";
+    }
+}
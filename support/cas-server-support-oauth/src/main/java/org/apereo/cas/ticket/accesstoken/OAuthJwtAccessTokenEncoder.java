@@ -0,0 +1,221 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.ticket.support.HardTimeoutExpirationPolicy;
+import org.apereo.cas.util.CollectionUtils;
+import org.jose4j.jwt.JwtClaims;
+import org.jose4j.jwt.NumericDate;
+import org.jose4j.jwt.ReservedClaimNames;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link OAuthJwtAccessTokenEncoder} that issues self-contained access tokens as signed,
+ * and optionally encrypted, JWTs and validates them by their signature and expiration date,
+ * without storing them in or looking them up from the ticket registry.
+ * <p>
+ * Revoked tokens are remembered by their JWT id until they expire, so the list of revoked tokens
+ * only ever holds tokens that would otherwise still be valid. The list is kept in memory by each node.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OAuthJwtAccessTokenEncoder {
+
+    private static final String CLAIM_SCOPE = "scope";
+
+    private static final String CLAIM_ATTRIBUTES = "attributes";
+
+    private static final String CLAIM_AUTHENTICATION_ATTRIBUTES = "authnAttributes";
+
+    private static final String CLAIM_AUTHENTICATION_DATE = "auth_time";
+
+    private static final int MINIMUM_JWT_SEPARATORS = 2;
+
+    private final CipherExecutor<Serializable, String> cipherExecutor;
+
+    private final UniqueTicketIdGenerator accessTokenIdGenerator;
+
+    private final ExpirationPolicy expirationPolicy;
+
+    private final PrincipalFactory principalFactory;
+
+    private final ServiceFactory<WebApplicationService> webApplicationServiceFactory;
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * Create an access token whose id is a JWT that carries the authentication and scopes.
+     * The ticket-granting ticket is only linked to the access token that is returned, so that
+     * the current request can make use of it; it does not track the access token as a descendant.
+     *
+     * @param service              the service
+     * @param authentication       the authentication
+     * @param ticketGrantingTicket the ticket granting ticket
+     * @param scopes               the scopes
+     * @return the access token
+     */
+    public AccessToken create(final Service service, final Authentication authentication,
+                              final TicketGrantingTicket ticketGrantingTicket, final Collection<String> scopes) {
+        final long timeToLive = this.expirationPolicy.getTimeToLive();
+        final NumericDate issuedAt = NumericDate.now();
+        final NumericDate expiresAt = NumericDate.fromSeconds(issuedAt.getValue() + timeToLive);
+
+        final String jwtId = this.accessTokenIdGenerator.getNewTicketId(AccessToken.PREFIX);
+        final JwtClaims claims = new JwtClaims();
+        claims.setJwtId(jwtId);
+        claims.setSubject(authentication.getPrincipal().getId());
+        claims.setAudience(service.getId());
+        claims.setIssuedAt(issuedAt);
+        claims.setExpirationTime(expiresAt);
+        claims.setStringListClaim(CLAIM_SCOPE, new ArrayList<>(scopes));
+        claims.setClaim(CLAIM_AUTHENTICATION_DATE, authentication.getAuthenticationDate().toEpochSecond());
+        claims.setClaim(CLAIM_ATTRIBUTES, flattenAttributes(authentication.getPrincipal().getAttributes()));
+        claims.setClaim(CLAIM_AUTHENTICATION_ATTRIBUTES, flattenAttributes(authentication.getAttributes()));
+
+        final String token = this.cipherExecutor.encode(claims.toJson());
+        LOGGER.debug("Created JWT access token [{}] for [{}] that expires at [{}]", jwtId, service, expiresAt);
+        return new AccessTokenImpl(token, service, authentication, new HardTimeoutExpirationPolicy(timeToLive),
+            ticketGrantingTicket, scopes);
+    }
+
+    /**
+     * Decode the access token, if it carries a valid signature, has not expired and is not revoked.
+     *
+     * @param token the token
+     * @return the access token, or null if the token is not valid
+     */
+    public AccessToken decode(final String token) {
+        final JwtClaims claims = verify(token);
+        if (claims == null) {
+            return null;
+        }
+        try {
+            final String jwtId = claims.getJwtId();
+            if (this.revokedTokens.containsKey(jwtId)) {
+                LOGGER.warn("Access token [{}] has been revoked", jwtId);
+                return null;
+            }
+            final Principal principal = this.principalFactory.createPrincipal(claims.getSubject(),
+                claims.getClaimValue(CLAIM_ATTRIBUTES, Map.class));
+            final Authentication authentication = DefaultAuthenticationBuilder.newInstance()
+                .setPrincipal(principal)
+                .setAuthenticationDate(toDateTime(claims.getClaimValue(CLAIM_AUTHENTICATION_DATE, Long.class)))
+                .setAttributes(claims.getClaimValue(CLAIM_AUTHENTICATION_ATTRIBUTES, Map.class))
+                .build();
+            final Service service = this.webApplicationServiceFactory.createService(claims.getAudience().get(0));
+
+            final long issuedAt = claims.getIssuedAt().getValue();
+            final long timeToLive = claims.getExpirationTime().getValue() - issuedAt;
+            final AccessTokenImpl accessToken = new AccessTokenImpl(token, service, authentication,
+                new HardTimeoutExpirationPolicy(timeToLive), null, claims.getStringListClaimValue(CLAIM_SCOPE));
+            accessToken.setCreationTime(toDateTime(issuedAt));
+            return accessToken;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to decode access token [{}]: [{}]", claims.getClaimValue(ReservedClaimNames.JWT_ID), e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    /**
+     * Revoke the access token until it expires.
+     *
+     * @param token the token
+     * @return true if the token was valid and is now revoked
+     */
+    public boolean revoke(final String token) {
+        final long now = NumericDate.now().getValue();
+        this.revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+
+        final JwtClaims claims = verify(token);
+        if (claims == null) {
+            return false;
+        }
+        try {
+            this.revokedTokens.put(claims.getJwtId(), claims.getExpirationTime().getValue());
+            LOGGER.debug("Revoked access token [{}]; [{}] revoked token(s) are yet to expire", claims.getJwtId(), this.revokedTokens.size());
+            return true;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to revoke access token: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return false;
+    }
+
+    /**
+     * Whether the token is a JWT rather than an access token ticket id.
+     *
+     * @param token the token
+     * @return true if the token is shaped as a JWT
+     */
+    public static boolean isJwtAccessToken(final String token) {
+        return StringUtils.isNotBlank(token)
+            && !token.startsWith(AccessToken.PREFIX + '-')
+            && StringUtils.countMatches(token, '.') >= MINIMUM_JWT_SEPARATORS;
+    }
+
+    private JwtClaims verify(final String token) {
+        if (!isJwtAccessToken(token)) {
+            return null;
+        }
+        try {
+            final String json = this.cipherExecutor.decode(token);
+            if (StringUtils.isBlank(json)) {
+                LOGGER.warn("Access token could not be verified by [{}]", this.cipherExecutor.getName());
+                return null;
+            }
+            final JwtClaims claims = JwtClaims.parse(json);
+            final NumericDate expiresAt = claims.getExpirationTime();
+            if (expiresAt == null || !expiresAt.isAfter(NumericDate.now())) {
+                LOGGER.debug("Access token [{}] has expired", claims.getJwtId());
+                return null;
+            }
+            return claims;
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to verify access token: [{}]", e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private static Map<String, Object> flattenAttributes(final Map<String, Object> attributes) {
+        final Map<String, Object> values = new LinkedHashMap<>();
+        attributes.forEach((name, value) -> {
+            final Set<Object> collection = CollectionUtils.toCollection(value);
+            final List<String> strings = collection.stream().map(Object::toString).collect(Collectors.toList());
+            values.put(name, strings.size() == 1 ? strings.get(0) : strings);
+        });
+        return values;
+    }
+
+    private static ZonedDateTime toDateTime(final Long epochSeconds) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds), ZoneOffset.UTC);
+    }
+}
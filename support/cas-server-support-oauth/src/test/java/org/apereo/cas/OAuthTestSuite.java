@@ -6,8 +6,10 @@ import org.apereo.cas.support.oauth.web.OAuth20AccessTokenControllerMemcachedTes
 import org.apereo.cas.support.oauth.web.OAuth20AccessTokenControllerTests;
 import org.apereo.cas.support.oauth.web.OAuth20AuthorizeControllerTests;
 import org.apereo.cas.support.oauth.web.OAuth20ProfileControllerTests;
+import org.apereo.cas.support.oauth.web.response.accesstoken.OAuth20DefaultTokenGeneratorTests;
 import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicyTests;
 import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenSovereignExpirationPolicyTests;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenEncoderTests;
 import org.apereo.cas.ticket.refreshtoken.OAuthRefreshTokenExpirationPolicyTests;
 import org.apereo.cas.ticket.refreshtoken.OAuthRefreshTokenSovereignExpirationPolicyTests;
 import org.junit.runner.RunWith;
@@ -25,11 +27,13 @@ import org.junit.runners.Suite;
     OAuth20AuthorizeControllerTests.class,
     OAuthAccessTokenExpirationPolicyTests.class,
     OAuthAccessTokenSovereignExpirationPolicyTests.class,
+    OAuthJwtAccessTokenEncoderTests.class,
     OAuthRefreshTokenExpirationPolicyTests.class,
     OAuthRefreshTokenSovereignExpirationPolicyTests.class,
     OAuth20AccessTokenControllerMemcachedTests.class,
     OAuth20ProfileControllerTests.class,
-    OAuthWebApplicationServiceTests.class
+    OAuthWebApplicationServiceTests.class,
+    OAuth20DefaultTokenGeneratorTests.class
 })
 @Slf4j
 public class OAuthTestSuite {
@@ -27,7 +27,7 @@ import static org.mockito.Mockito.*;
 public class OAuth20AuthorizationCodeResponseTypeAuthorizationRequestValidatorTests {
     @Test
     public void verifyValidator() {
-        final ServicesManager serviceManager = mock(ServicesManager.class);
+        final ServicesManager serviceManager = mock(ServicesManager.class, CALLS_REAL_METHODS);
         final OAuthRegisteredService service = new OAuthRegisteredService();
         service.setName("OAuth");
         service.setClientId("client");
@@ -26,7 +26,7 @@ import static org.mockito.Mockito.*;
 public class OAuth20ClientCredentialsGrantTypeAuthorizationRequestValidatorTests {
     @Test
     public void verifyValidator() {
-        final ServicesManager serviceManager = mock(ServicesManager.class);
+        final ServicesManager serviceManager = mock(ServicesManager.class, CALLS_REAL_METHODS);
         final OAuthRegisteredService service = new OAuthRegisteredService();
         service.setName("OAuth");
         service.setClientId("client");
@@ -14,13 +14,21 @@ import org.apereo.cas.authentication.CredentialMetaData;
 import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
 import org.apereo.cas.authentication.DefaultAuthenticationHandlerExecutionResult;
 import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
 import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.support.oauth.OAuth20Constants;
+import org.apereo.cas.support.oauth.profile.OAuth20ProfileScopeToAttributesFilter;
+import org.apereo.cas.support.oauth.profile.OAuth20UserProfileDataCreator;
 import org.apereo.cas.support.oauth.web.endpoints.OAuth20UserProfileEndpointController;
+import org.apereo.cas.support.oauth.web.views.OAuth20UserProfileViewRenderer;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
 import org.apereo.cas.ticket.accesstoken.DefaultAccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenEncoder;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.support.AlwaysExpiresExpirationPolicy;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
 
 /**
  * This class tests the {@link OAuth20UserProfileEndpointController} class.
@@ -63,6 +72,10 @@ public class OAuth20ProfileControllerTests extends AbstractOAuth20Tests {
     @Qualifier("defaultAccessTokenFactory")
     private AccessTokenFactory accessTokenFactory;
 
+    @Autowired
+    @Qualifier("oauthJwtAccessTokenEncoder")
+    private OAuthJwtAccessTokenEncoder jwtAccessTokenEncoder;
+
     @Autowired
     @Qualifier("profileController")
     private OAuth20UserProfileEndpointController oAuth20ProfileController;
@@ -220,6 +233,34 @@ public class OAuth20ProfileControllerTests extends AbstractOAuth20Tests {
         assertEquals(expectedAttributes.findValues(NAME2), receivedAttributes.findValues(NAME2));
     }
 
+    @Test
+    public void verifyJwtAccessTokenIsAnsweredWithoutRegistry() throws Exception {
+        final Map<String, Object> map = new HashMap<>();
+        map.put(NAME, VALUE);
+        final Principal principal = CoreAuthenticationTestUtils.getPrincipal(ID, map);
+        final AccessToken accessToken = jwtAccessTokenEncoder.create(RegisteredServiceTestUtils.getService(), getAuthentication(principal),
+            null, new ArrayList<>());
+
+        final TicketRegistry registry = mock(TicketRegistry.class);
+        final OAuth20UserProfileEndpointController controller = new OAuth20UserProfileEndpointController(servicesManager, registry,
+            accessTokenFactory,
+            applicationContext.getBean("oauthPrincipalFactory", PrincipalFactory.class),
+            applicationContext.getBean("webApplicationServiceFactory", ServiceFactory.class),
+            applicationContext.getBean("profileScopeToAttributesFilter", OAuth20ProfileScopeToAttributesFilter.class),
+            applicationContext.getBean(CasConfigurationProperties.class),
+            null,
+            applicationContext.getBean("oauthUserProfileViewRenderer", OAuth20UserProfileViewRenderer.class),
+            applicationContext.getBean("oAuth2UserProfileDataCreator", OAuth20UserProfileDataCreator.class),
+            jwtAccessTokenEncoder);
+
+        final MockHttpServletRequest mockRequest = new MockHttpServletRequest(GET, CONTEXT + OAuth20Constants.PROFILE_URL);
+        mockRequest.setParameter(OAuth20Constants.ACCESS_TOKEN, accessToken.getId());
+        final ResponseEntity<String> entity = controller.handleRequest(mockRequest, new MockHttpServletResponse());
+        assertEquals(HttpStatus.OK, entity.getStatusCode());
+        assertEquals(ID, MAPPER.readTree(entity.getBody()).get("id").asText());
+        verifyZeroInteractions(registry);
+    }
+
     protected static Authentication getAuthentication(final Principal principal) {
         final CredentialMetaData metadata = new BasicCredentialMetaData(new BasicIdentifiableCredential(principal.getId()));
         final AuthenticationHandlerExecutionResult handlerResult = new DefaultAuthenticationHandlerExecutionResult(principal.getClass().getCanonicalName(),
@@ -0,0 +1,104 @@
+package org.apereo.cas.support.oauth.web.response.accesstoken;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.support.oauth.OAuth20GrantTypes;
+import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
+import org.apereo.cas.support.oauth.web.response.accesstoken.ext.AccessTokenRequestDataHolder;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketState;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthAccessTokenExpirationPolicy;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenCipherExecutor;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenEncoder;
+import org.apereo.cas.ticket.code.OAuthCode;
+import org.apereo.cas.ticket.refreshtoken.RefreshToken;
+import org.apereo.cas.ticket.refreshtoken.RefreshTokenFactory;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link OAuth20DefaultTokenGeneratorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class OAuth20DefaultTokenGeneratorTests {
+
+    private static final long TIME_TO_LIVE = 60;
+
+    @Test
+    public void verifyJwtAccessTokenIsNotAddedToRegistry() {
+        final TicketRegistry ticketRegistry = mock(TicketRegistry.class);
+        final AccessTokenFactory accessTokenFactory = mock(AccessTokenFactory.class);
+        final OAuthJwtAccessTokenEncoder encoder = newEncoder();
+        final OAuth20DefaultTokenGenerator generator = new OAuth20DefaultTokenGenerator(accessTokenFactory,
+            mock(RefreshTokenFactory.class), ticketRegistry, encoder);
+
+        final TicketGrantingTicket ticketGrantingTicket = mock(TicketGrantingTicket.class);
+        final OAuthCode code = newCode(ticketGrantingTicket);
+        final OAuthRegisteredService registeredService = new OAuthRegisteredService();
+        registeredService.setJwtAccessToken(true);
+
+        final Pair<AccessToken, RefreshToken> result = generator.generate(new AccessTokenRequestDataHolder(code, registeredService,
+            OAuth20GrantTypes.AUTHORIZATION_CODE, false, CollectionUtils.wrapSet("profile")));
+
+        assertTrue(OAuthJwtAccessTokenEncoder.isJwtAccessToken(result.getKey().getId()));
+        assertNotNull(encoder.decode(result.getKey().getId()));
+        verifyZeroInteractions(accessTokenFactory);
+        verify(ticketRegistry, never()).addTicket(any(Ticket.class));
+        verify(ticketRegistry, never()).updateTicket(ticketGrantingTicket);
+        verify(ticketRegistry).updateTicket(code);
+    }
+
+    @Test
+    public void verifyAccessTokenIsAddedToRegistry() {
+        final TicketRegistry ticketRegistry = mock(TicketRegistry.class);
+        final AccessTokenFactory accessTokenFactory = mock(AccessTokenFactory.class);
+        final AccessToken accessToken = mock(AccessToken.class);
+        when(accessTokenFactory.create(any(), any(), any(), any())).thenReturn(accessToken);
+        final OAuth20DefaultTokenGenerator generator = new OAuth20DefaultTokenGenerator(accessTokenFactory,
+            mock(RefreshTokenFactory.class), ticketRegistry, newEncoder());
+
+        final TicketGrantingTicket ticketGrantingTicket = mock(TicketGrantingTicket.class);
+        final OAuthCode code = newCode(ticketGrantingTicket);
+
+        final Pair<AccessToken, RefreshToken> result = generator.generate(new AccessTokenRequestDataHolder(code, new OAuthRegisteredService(),
+            OAuth20GrantTypes.AUTHORIZATION_CODE, false, CollectionUtils.wrapSet("profile")));
+
+        assertSame(accessToken, result.getKey());
+        verify(ticketRegistry).addTicket(accessToken);
+        verify(ticketRegistry, atLeastOnce()).updateTicket(ticketGrantingTicket);
+    }
+
+    private static OAuthCode newCode(final TicketGrantingTicket ticketGrantingTicket) {
+        final Service service = CoreAuthenticationTestUtils.getService("https://oauth.example.org");
+        final OAuthCode code = mock(OAuthCode.class, withSettings().extraInterfaces(TicketState.class));
+        when(code.getService()).thenReturn(service);
+        when(code.getAuthentication()).thenReturn(CoreAuthenticationTestUtils.getAuthentication("casuser"));
+        when(code.getTicketGrantingTicket()).thenReturn(ticketGrantingTicket);
+        return code;
+    }
+
+    private static OAuthJwtAccessTokenEncoder newEncoder() {
+        return new OAuthJwtAccessTokenEncoder(
+            new OAuthJwtAccessTokenCipherExecutor(null, null, CipherExecutor.DEFAULT_CONTENT_ENCRYPTION_ALGORITHM, true),
+            new DefaultUniqueTicketIdGenerator(),
+            new OAuthAccessTokenExpirationPolicy(TIME_TO_LIVE, TIME_TO_LIVE),
+            PrincipalFactoryUtils.newPrincipalFactory(),
+            new WebApplicationServiceFactory());
+    }
+}
@@ -0,0 +1,71 @@
+package org.apereo.cas.ticket.accesstoken;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.CipherExecutor;
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link OAuthJwtAccessTokenEncoderTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class OAuthJwtAccessTokenEncoderTests {
+
+    private static final long TIME_TO_LIVE = 60;
+
+    @Test
+    public void verifyAccessTokenIsDecodedWithoutRegistry() {
+        final OAuthJwtAccessTokenEncoder encoder = newEncoder(true);
+        final Service service = CoreAuthenticationTestUtils.getService("https://oauth.example.org");
+        final Authentication authentication = CoreAuthenticationTestUtils.getAuthentication("casuser");
+
+        final AccessToken accessToken = encoder.create(service, authentication, null, CollectionUtils.wrapList("profile"));
+        assertTrue(OAuthJwtAccessTokenEncoder.isJwtAccessToken(accessToken.getId()));
+
+        final AccessToken decoded = encoder.decode(accessToken.getId());
+        assertNotNull(decoded);
+        assertFalse(decoded.isExpired());
+        assertEquals(accessToken.getId(), decoded.getId());
+        assertEquals("casuser", decoded.getAuthentication().getPrincipal().getId());
+        assertEquals(authentication.getPrincipal().getAttributes().keySet(), decoded.getAuthentication().getPrincipal().getAttributes().keySet());
+        assertEquals(service.getId(), decoded.getService().getId());
+        assertTrue(decoded.getScopes().contains("profile"));
+        assertEquals(TIME_TO_LIVE, decoded.getExpirationPolicy().getTimeToLive().longValue());
+    }
+
+    @Test
+    public void verifyRevokedOrTamperedAccessTokenIsRejected() {
+        final OAuthJwtAccessTokenEncoder encoder = newEncoder(false);
+        final AccessToken accessToken = encoder.create(CoreAuthenticationTestUtils.getService("https://oauth.example.org"),
+            CoreAuthenticationTestUtils.getAuthentication(), null, CollectionUtils.wrapList("profile"));
+        final String token = accessToken.getId();
+
+        assertNull(encoder.decode(token.substring(0, token.length() - 2) + "xx"));
+        assertNull(newEncoder(false).decode(token));
+        assertNull(encoder.decode("AT-1-abcdefghijklmnopqrstuvwxyz"));
+
+        assertTrue(encoder.revoke(token));
+        assertNull(encoder.decode(token));
+        assertFalse(encoder.revoke("AT-1-abcdefghijklmnopqrstuvwxyz"));
+    }
+
+    private static OAuthJwtAccessTokenEncoder newEncoder(final boolean encryptionEnabled) {
+        return new OAuthJwtAccessTokenEncoder(
+            new OAuthJwtAccessTokenCipherExecutor(null, null, CipherExecutor.DEFAULT_CONTENT_ENCRYPTION_ALGORITHM, encryptionEnabled),
+            new DefaultUniqueTicketIdGenerator(),
+            new OAuthAccessTokenExpirationPolicy(TIME_TO_LIVE, TIME_TO_LIVE),
+            PrincipalFactoryUtils.newPrincipalFactory(),
+            new WebApplicationServiceFactory());
+    }
+}
@@ -1,8 +1,10 @@
 package org.apereo.cas.oidc.config;
 
-import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.codahale.metrics.MetricRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apereo.cas.CentralAuthenticationService;
@@ -26,7 +28,10 @@ import org.apereo.cas.oidc.discovery.OidcServerDiscoverySettingsFactory;
 import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequest;
 import org.apereo.cas.oidc.dynareg.OidcClientRegistrationRequestSerializer;
 import org.apereo.cas.oidc.jwks.OidcDefaultJsonWebKeystoreCacheLoader;
+import org.apereo.cas.oidc.jwks.OidcJsonWebKeystoreCacheMetricSet;
 import org.apereo.cas.oidc.jwks.OidcJsonWebKeystoreGeneratorService;
+import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheExpirationPolicy;
+import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheKey;
 import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheLoader;
 import org.apereo.cas.oidc.profile.OidcProfileScopeToAttributesFilter;
 import org.apereo.cas.oidc.profile.OidcRegisteredServicePreProcessorEventListener;
@@ -71,6 +76,7 @@ import org.apereo.cas.support.oauth.web.views.OAuth20CallbackAuthorizeViewResolv
 import org.apereo.cas.support.oauth.web.views.OAuth20UserProfileViewRenderer;
 import org.apereo.cas.ticket.ExpirationPolicy;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenEncoder;
 import org.apereo.cas.ticket.code.OAuthCodeFactory;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
@@ -108,6 +114,7 @@ import org.springframework.webflow.definition.registry.FlowDefinitionRegistry;
 import org.springframework.webflow.engine.builder.support.FlowBuilderServices;
 import org.springframework.webflow.execution.Action;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
@@ -131,6 +138,10 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
     @Qualifier("defaultAuthenticationSystemSupport")
     private ObjectProvider<AuthenticationSystemSupport> authenticationSystemSupport;
 
+    @Autowired
+    @Qualifier("metrics")
+    private ObjectProvider<MetricRegistry> metricRegistry;
+
     @Autowired
     @Qualifier("registeredServiceAccessStrategyEnforcer")
     private AuditableExecution registeredServiceAccessStrategyEnforcer;
@@ -147,6 +158,10 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
     @Qualifier("oauthTokenGenerator")
     private OAuth20TokenGenerator oauthTokenGenerator;
 
+    @Autowired
+    @Qualifier("oauthJwtAccessTokenEncoder")
+    private OAuthJwtAccessTokenEncoder oauthJwtAccessTokenEncoder;
+
     @Autowired
     @Qualifier("oauthAuthorizationResponseBuilders")
     private Set<OAuth20AuthorizationResponseBuilder> oauthAuthorizationResponseBuilders;
@@ -339,7 +354,8 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
             profileScopeToAttributesFilter(), casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
             centralAuthenticationService,
-            registeredServiceAccessStrategyEnforcer);
+            registeredServiceAccessStrategyEnforcer,
+            oauthJwtAccessTokenEncoder);
     }
 
     @RefreshScope
@@ -350,7 +366,8 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
             oidcPrincipalFactory(), webApplicationServiceFactory,
             profileScopeToAttributesFilter(), casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
-            registeredServiceAccessStrategyEnforcer);
+            registeredServiceAccessStrategyEnforcer,
+            oauthJwtAccessTokenEncoder);
     }
 
     @RefreshScope
@@ -413,7 +430,7 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
             profileScopeToAttributesFilter(),
             casProperties,
             ticketGrantingTicketCookieGenerator.getIfAvailable(),
-            oauthUserProfileViewRenderer, oidcUserProfileDataCreator());
+            oauthUserProfileViewRenderer, oidcUserProfileDataCreator(), oauthJwtAccessTokenEncoder);
     }
 
     @Bean
@@ -481,12 +498,21 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
     }
 
     @Bean
-    public LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> oidcServiceJsonWebKeystoreCache() {
+    public LoadingCache<OidcServiceJsonWebKeystoreCacheKey, Optional<RsaJsonWebKey>> oidcServiceJsonWebKeystoreCache() {
         final OidcProperties oidc = casProperties.getAuthn().getOidc();
-        final LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> cache =
-            Caffeine.newBuilder().maximumSize(1)
-                .expireAfterWrite(oidc.getJwksCacheInMinutes(), TimeUnit.MINUTES)
-                .build(oidcServiceJsonWebKeystoreCacheLoader());
+        final OidcServiceJsonWebKeystoreCacheLoader loader = oidcServiceJsonWebKeystoreCacheLoader();
+        final LoadingCache<OidcServiceJsonWebKeystoreCacheKey, Optional<RsaJsonWebKey>> cache =
+            Caffeine.newBuilder().maximumSize(oidc.getJwksCacheMaximumSize())
+                .expireAfter(new OidcServiceJsonWebKeystoreCacheExpirationPolicy(loader, Duration.ofMinutes(oidc.getJwksCacheInMinutes())))
+                .refreshAfterWrite(oidc.getJwksCacheRefreshInMinutes(), TimeUnit.MINUTES)
+                .removalListener((OidcServiceJsonWebKeystoreCacheKey key, Optional<RsaJsonWebKey> value, RemovalCause cause) -> {
+                    if (key != null && cause.wasEvicted()) {
+                        loader.forget(key);
+                    }
+                })
+                .recordStats()
+                .build(loader);
+        registerJsonWebKeystoreCacheMetrics("oidc.jwks.service", cache);
         return cache;
     }
 
@@ -496,7 +522,10 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
         final LoadingCache<String, Optional<RsaJsonWebKey>> cache =
             Caffeine.newBuilder().maximumSize(1)
                 .expireAfterWrite(oidc.getJwksCacheInMinutes(), TimeUnit.MINUTES)
+                .refreshAfterWrite(oidc.getJwksCacheRefreshInMinutes(), TimeUnit.MINUTES)
+                .recordStats()
                 .build(oidcDefaultJsonWebKeystoreCacheLoader());
+        registerJsonWebKeystoreCacheMetrics("oidc.jwks.default", cache);
         return cache;
     }
 
@@ -506,10 +535,17 @@ public class OidcConfiguration extends WebMvcConfigurerAdapter implements CasWeb
     }
 
     @Bean
-    public CacheLoader<OidcRegisteredService, Optional<RsaJsonWebKey>> oidcServiceJsonWebKeystoreCacheLoader() {
+    public OidcServiceJsonWebKeystoreCacheLoader oidcServiceJsonWebKeystoreCacheLoader() {
         return new OidcServiceJsonWebKeystoreCacheLoader(resourceLoader);
     }
 
+    private void registerJsonWebKeystoreCacheMetrics(final String name, final Cache<?, ?> cache) {
+        final MetricRegistry registry = this.metricRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.registerAll(new OidcJsonWebKeystoreCacheMetricSet(name, cache));
+        }
+    }
+
     @Bean
     @ConditionalOnMissingBean(name = "oidcServerDiscoverySettingsFactory")
     public FactoryBean<OidcServerDiscoverySettings> oidcServerDiscoverySettingsFactory() {
@@ -0,0 +1,38 @@
+package org.apereo.cas.oidc.jwks;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.RequiredArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This is {@link OidcJsonWebKeystoreCacheMetricSet} that reports the size of a cache of JSON web keystores
+ * along with the number of hits, misses, loads, load failures and evictions it has recorded.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@RequiredArgsConstructor
+public class OidcJsonWebKeystoreCacheMetricSet implements MetricSet {
+
+    private final String name;
+
+    private final Cache<?, ?> cache;
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> metrics = new LinkedHashMap<>();
+        metrics.put(MetricRegistry.name(this.name, "size"), (Gauge<Long>) this.cache::estimatedSize);
+        metrics.put(MetricRegistry.name(this.name, "hits"), (Gauge<Long>) () -> this.cache.stats().hitCount());
+        metrics.put(MetricRegistry.name(this.name, "misses"), (Gauge<Long>) () -> this.cache.stats().missCount());
+        metrics.put(MetricRegistry.name(this.name, "loads"), (Gauge<Long>) () -> this.cache.stats().loadSuccessCount());
+        metrics.put(MetricRegistry.name(this.name, "loadFailures"), (Gauge<Long>) () -> this.cache.stats().loadFailureCount());
+        metrics.put(MetricRegistry.name(this.name, "evictions"), (Gauge<Long>) () -> this.cache.stats().evictionCount());
+        return metrics;
+    }
+}
@@ -0,0 +1,44 @@
+package org.apereo.cas.oidc.jwks;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jose4j.jwk.RsaJsonWebKey;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * This is {@link OidcServiceJsonWebKeystoreCacheExpirationPolicy} that keeps the JWKS of a relying party
+ * in cache for as long as the HTTP cache headers of its {@code jwks_uri} allow, if any, or for the default duration otherwise.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class OidcServiceJsonWebKeystoreCacheExpirationPolicy implements Expiry<OidcServiceJsonWebKeystoreCacheKey, Optional<RsaJsonWebKey>> {
+
+    private final OidcServiceJsonWebKeystoreCacheLoader loader;
+
+    private final Duration defaultExpiration;
+
+    @Override
+    public long expireAfterCreate(final OidcServiceJsonWebKeystoreCacheKey key, final Optional<RsaJsonWebKey> value, final long currentTime) {
+        final Duration expiration = this.loader.getCacheLifetime(key).orElse(this.defaultExpiration);
+        LOGGER.debug("JSON web keystore for [{}] is cached for [{}]", key, expiration);
+        return expiration.toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(final OidcServiceJsonWebKeystoreCacheKey key, final Optional<RsaJsonWebKey> value,
+                                  final long currentTime, final long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(final OidcServiceJsonWebKeystoreCacheKey key, final Optional<RsaJsonWebKey> value,
+                                final long currentTime, final long currentDuration) {
+        return currentDuration;
+    }
+}
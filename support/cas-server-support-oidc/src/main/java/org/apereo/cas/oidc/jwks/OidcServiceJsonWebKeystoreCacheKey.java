@@ -0,0 +1,35 @@
+package org.apereo.cas.oidc.jwks;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.apereo.cas.services.OidcRegisteredService;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link OidcServiceJsonWebKeystoreCacheKey} by which the JWKS of a relying party is cached,
+ * made up of the client id of the relying party and the location of its JWKS.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Getter
+@ToString(of = {"clientId", "jwks"})
+@EqualsAndHashCode(of = {"clientId", "jwks"})
+public class OidcServiceJsonWebKeystoreCacheKey implements Serializable {
+
+    private static final long serialVersionUID = -1238573226470492601L;
+
+    private final String clientId;
+
+    private final String jwks;
+
+    private final OidcRegisteredService registeredService;
+
+    public OidcServiceJsonWebKeystoreCacheKey(final OidcRegisteredService registeredService) {
+        this.clientId = registeredService.getClientId();
+        this.jwks = registeredService.getJwks();
+        this.registeredService = registeredService;
+    }
+}
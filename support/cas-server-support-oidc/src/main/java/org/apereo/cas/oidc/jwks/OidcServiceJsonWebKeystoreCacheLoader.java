@@ -5,30 +5,53 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.utils.DateUtils;
 import org.apereo.cas.services.OidcRegisteredService;
+import org.apereo.cas.util.HttpUtils;
 import org.jose4j.jwk.JsonWebKeySet;
 import org.jose4j.jwk.RsaJsonWebKey;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpStatus;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link OidcServiceJsonWebKeystoreCacheLoader}.
+ * JWKS found at a URL is fetched along with its HTTP cache headers, and the lifetime
+ * they allow is remembered so the cache may expire it accordingly. A refresh that fails to produce
+ * a key keeps the key that is already cached, rather than replacing it with nothing.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
  */
 @Slf4j
 @RequiredArgsConstructor
-public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcRegisteredService, Optional<RsaJsonWebKey>> {
+public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcServiceJsonWebKeystoreCacheKey, Optional<RsaJsonWebKey>> {
+
+    private static final String CACHE_CONTROL_MAX_AGE = "max-age";
+
+    private static final String CACHE_CONTROL_NO_CACHE = "no-cache";
+
+    private static final String CACHE_CONTROL_NO_STORE = "no-store";
 
     private final ResourceLoader resourceLoader;
 
+    private final Map<OidcServiceJsonWebKeystoreCacheKey, Duration> cacheLifetimes = new ConcurrentHashMap<>();
+
     @Override
-    public Optional<RsaJsonWebKey> load(final OidcRegisteredService svc) {
-        final Optional<JsonWebKeySet> jwks = buildJsonWebKeySet(svc);
+    public Optional<RsaJsonWebKey> load(final OidcServiceJsonWebKeystoreCacheKey cacheKey) {
+        final Optional<JsonWebKeySet> jwks = buildJsonWebKeySet(cacheKey);
         if (!jwks.isPresent() || jwks.get().getJsonWebKeys().isEmpty()) {
             return Optional.empty();
         }
@@ -39,6 +62,15 @@ public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcRe
         return Optional.of(key);
     }
 
+    @Override
+    public Optional<RsaJsonWebKey> reload(final OidcServiceJsonWebKeystoreCacheKey cacheKey, final Optional<RsaJsonWebKey> oldValue) {
+        final Optional<RsaJsonWebKey> key = load(cacheKey);
+        if (!key.isPresent() && oldValue.isPresent()) {
+            throw new IllegalStateException("Unable to refresh JSON web key from " + cacheKey.getJwks() + "; the cached key is kept");
+        }
+        return key;
+    }
+
     private static RsaJsonWebKey getJsonWebKeyFromJwks(final JsonWebKeySet jwks) {
         if (jwks.getJsonWebKeys().isEmpty()) {
             LOGGER.warn("No JSON web keys are available in the keystore");
@@ -60,11 +92,32 @@ public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcRe
         return key;
     }
 
-    private Optional<JsonWebKeySet> buildJsonWebKeySet(final OidcRegisteredService service) {
+    /**
+     * Gets the lifetime that the HTTP cache headers of the JWKS last fetched allow, if any.
+     *
+     * @param cacheKey the cache key
+     * @return the cache lifetime
+     */
+    public Optional<Duration> getCacheLifetime(final OidcServiceJsonWebKeystoreCacheKey cacheKey) {
+        return Optional.ofNullable(this.cacheLifetimes.get(cacheKey));
+    }
+
+    /**
+     * Forget the lifetime of the JWKS last fetched, once it is no longer cached.
+     *
+     * @param cacheKey the cache key
+     */
+    public void forget(final OidcServiceJsonWebKeystoreCacheKey cacheKey) {
+        this.cacheLifetimes.remove(cacheKey);
+    }
+
+    private Optional<JsonWebKeySet> buildJsonWebKeySet(final OidcServiceJsonWebKeystoreCacheKey cacheKey) {
+        final OidcRegisteredService service = cacheKey.getRegisteredService();
         try {
-            LOGGER.debug("Loading JSON web key from [{}]", service.getJwks());
-            final Resource resource = this.resourceLoader.getResource(service.getJwks());
-            final JsonWebKeySet jsonWebKeySet = buildJsonWebKeySet(resource);
+            LOGGER.debug("Loading JSON web key from [{}]", cacheKey.getJwks());
+            final JsonWebKeySet jsonWebKeySet = StringUtils.startsWithIgnoreCase(cacheKey.getJwks(), "http")
+                ? fetchJsonWebKeySet(cacheKey)
+                : buildJsonWebKeySet(this.resourceLoader.getResource(cacheKey.getJwks()));
 
             if (jsonWebKeySet == null || jsonWebKeySet.getJsonWebKeys().isEmpty()) {
                 LOGGER.warn("No JSON web keys could be found for [{}]", service);
@@ -95,6 +148,54 @@ public class OidcServiceJsonWebKeystoreCacheLoader implements CacheLoader<OidcRe
         return Optional.empty();
     }
 
+    private JsonWebKeySet fetchJsonWebKeySet(final OidcServiceJsonWebKeystoreCacheKey cacheKey) throws Exception {
+        final HttpResponse response = HttpUtils.executeGet(cacheKey.getJwks(), new LinkedHashMap<>());
+        if (response == null || !HttpStatus.valueOf(response.getStatusLine().getStatusCode()).is2xxSuccessful()) {
+            LOGGER.warn("Unable to fetch JSON web keys from [{}]", cacheKey.getJwks());
+            return null;
+        }
+        final Optional<Duration> lifetime = getCacheLifetime(response);
+        if (lifetime.isPresent()) {
+            this.cacheLifetimes.put(cacheKey, lifetime.get());
+        } else {
+            this.cacheLifetimes.remove(cacheKey);
+        }
+        final String json = IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8);
+        LOGGER.debug("Retrieved JSON web key from [{}] as [{}]", cacheKey.getJwks(), json);
+        return buildJsonWebKeySet(json);
+    }
+
+    /**
+     * Gets the lifetime allowed by the {@code Cache-Control} header of the response,
+     * less the {@code Age} header, or by its {@code Expires} header otherwise.
+     *
+     * @param response the response
+     * @return the cache lifetime, if any
+     */
+    static Optional<Duration> getCacheLifetime(final HttpResponse response) {
+        final Header cacheControl = response.getFirstHeader(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl != null) {
+            for (final HeaderElement element : cacheControl.getElements()) {
+                if (CACHE_CONTROL_NO_STORE.equalsIgnoreCase(element.getName()) || CACHE_CONTROL_NO_CACHE.equalsIgnoreCase(element.getName())) {
+                    return Optional.of(Duration.ZERO);
+                }
+                if (CACHE_CONTROL_MAX_AGE.equalsIgnoreCase(element.getName()) && StringUtils.isNumeric(element.getValue())) {
+                    final Header age = response.getFirstHeader(HttpHeaders.AGE);
+                    final long ageInSeconds = age != null && StringUtils.isNumeric(age.getValue()) ? Long.parseLong(age.getValue()) : 0;
+                    return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(element.getValue()) - ageInSeconds)));
+                }
+            }
+        }
+        final Header expires = response.getFirstHeader(HttpHeaders.EXPIRES);
+        if (expires != null) {
+            final Date expiration = DateUtils.parseDate(expires.getValue());
+            if (expiration != null) {
+                return Optional.of(Duration.ofMillis(Math.max(0, expiration.getTime() - System.currentTimeMillis())));
+            }
+        }
+        return Optional.empty();
+    }
+
     private static JsonWebKeySet buildJsonWebKeySet(final Resource resource) throws Exception {
         LOGGER.debug("Loading JSON web key from [{}]", resource);
         final String json = IOUtils.toString(resource.getInputStream(), StandardCharsets.UTF_8);
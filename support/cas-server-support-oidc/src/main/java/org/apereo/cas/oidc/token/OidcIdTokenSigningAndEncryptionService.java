@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheKey;
 import org.apereo.cas.services.OidcRegisteredService;
 import org.jose4j.jwa.AlgorithmConstraints;
 import org.jose4j.jwe.JsonWebEncryption;
@@ -25,7 +26,7 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class OidcIdTokenSigningAndEncryptionService {
     private final LoadingCache<String, Optional<RsaJsonWebKey>> defaultJsonWebKeystoreCache;
-    private final LoadingCache<OidcRegisteredService, Optional<RsaJsonWebKey>> serviceJsonWebKeystoreCache;
+    private final LoadingCache<OidcServiceJsonWebKeystoreCacheKey, Optional<RsaJsonWebKey>> serviceJsonWebKeystoreCache;
     private final String issuer;
 
     /**
@@ -60,7 +61,7 @@ public class OidcIdTokenSigningAndEncryptionService {
         jwe.setAlgorithmHeaderValue(svc.getIdTokenEncryptionAlg());
         jwe.setEncryptionMethodHeaderParameter(svc.getIdTokenEncryptionEncoding());
 
-        final Optional<RsaJsonWebKey> jwks = this.serviceJsonWebKeystoreCache.get(svc);
+        final Optional<RsaJsonWebKey> jwks = this.serviceJsonWebKeystoreCache.get(new OidcServiceJsonWebKeystoreCacheKey(svc));
         if (!jwks.isPresent()) {
             throw new IllegalArgumentException("Service " + svc.getServiceId()
                 + " with client id " + svc.getClientId()
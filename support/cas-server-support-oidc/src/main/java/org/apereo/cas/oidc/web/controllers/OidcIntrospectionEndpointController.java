@@ -22,6 +22,7 @@ import org.apereo.cas.support.oauth.util.OAuth20Utils;
 import org.apereo.cas.support.oauth.web.endpoints.BaseOAuth20Controller;
 import org.apereo.cas.ticket.accesstoken.AccessToken;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenEncoder;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.HttpRequestUtils;
@@ -51,6 +52,7 @@ public class OidcIntrospectionEndpointController extends BaseOAuth20Controller {
 
     private final CentralAuthenticationService centralAuthenticationService;
     private final AuditableExecution registeredServiceAccessStrategyEnforcer;
+    private final OAuthJwtAccessTokenEncoder jwtAccessTokenEncoder;
 
     public OidcIntrospectionEndpointController(final ServicesManager servicesManager,
                                                final TicketRegistry ticketRegistry,
@@ -61,11 +63,13 @@ public class OidcIntrospectionEndpointController extends BaseOAuth20Controller {
                                                final CasConfigurationProperties casProperties,
                                                final CookieRetrievingCookieGenerator cookieGenerator,
                                                final CentralAuthenticationService centralAuthenticationService,
-                                               final AuditableExecution registeredServiceAccessStrategyEnforcer) {
+                                               final AuditableExecution registeredServiceAccessStrategyEnforcer,
+                                               final OAuthJwtAccessTokenEncoder jwtAccessTokenEncoder) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
             webApplicationServiceServiceFactory, scopeToAttributesFilter, casProperties, cookieGenerator);
         this.centralAuthenticationService = centralAuthenticationService;
         this.registeredServiceAccessStrategyEnforcer = registeredServiceAccessStrategyEnforcer;
+        this.jwtAccessTokenEncoder = jwtAccessTokenEncoder;
     }
 
     /**
@@ -108,7 +112,9 @@ public class OidcIntrospectionEndpointController extends BaseOAuth20Controller {
                     request.getParameter(OAuth20Constants.TOKEN));
 
                 LOGGER.debug("Located access token [{}] in the request", accessToken);
-                final AccessToken ticket = this.centralAuthenticationService.getTicket(accessToken, AccessToken.class);
+                final AccessToken ticket = OAuthJwtAccessTokenEncoder.isJwtAccessToken(accessToken)
+                    ? this.jwtAccessTokenEncoder.decode(accessToken)
+                    : this.centralAuthenticationService.getTicket(accessToken, AccessToken.class);
                 if (ticket != null) {
                     return createIntrospectionResponse(service, ticket);
                 }
@@ -15,6 +15,7 @@ import org.apereo.cas.support.oauth.services.OAuthRegisteredService;
 import org.apereo.cas.support.oauth.util.OAuth20Utils;
 import org.apereo.cas.support.oauth.web.endpoints.BaseOAuth20Controller;
 import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenEncoder;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.HttpRequestUtils;
 import org.apereo.cas.util.Pac4jUtils;
@@ -38,6 +39,7 @@ import javax.servlet.http.HttpServletResponse;
 @Slf4j
 public class OidcRevocationEndpointController extends BaseOAuth20Controller {
     private final AuditableExecution registeredServiceAccessStrategyEnforcer;
+    private final OAuthJwtAccessTokenEncoder jwtAccessTokenEncoder;
 
     public OidcRevocationEndpointController(final ServicesManager servicesManager,
                                             final TicketRegistry ticketRegistry,
@@ -47,11 +49,13 @@ public class OidcRevocationEndpointController extends BaseOAuth20Controller {
                                             final OAuth20ProfileScopeToAttributesFilter scopeToAttributesFilter,
                                             final CasConfigurationProperties casProperties,
                                             final CookieRetrievingCookieGenerator ticketGrantingTicketCookieGenerator,
-                                            final AuditableExecution registeredServiceAccessStrategyEnforcer) {
+                                            final AuditableExecution registeredServiceAccessStrategyEnforcer,
+                                            final OAuthJwtAccessTokenEncoder jwtAccessTokenEncoder) {
         super(servicesManager, ticketRegistry, accessTokenFactory, principalFactory,
             webApplicationServiceServiceFactory, scopeToAttributesFilter,
             casProperties, ticketGrantingTicketCookieGenerator);
         this.registeredServiceAccessStrategyEnforcer = registeredServiceAccessStrategyEnforcer;
+        this.jwtAccessTokenEncoder = jwtAccessTokenEncoder;
     }
 
     /**
@@ -85,7 +89,11 @@ public class OidcRevocationEndpointController extends BaseOAuth20Controller {
                 && OAuth20Utils.checkClientSecret(registeredService, credentials.getPassword())) {
                 final String token = request.getParameter(OidcConstants.TOKEN);
                 LOGGER.debug("Located token [{}] in the revocation request", token);
-                this.ticketRegistry.deleteTicket(token);
+                if (OAuthJwtAccessTokenEncoder.isJwtAccessToken(token)) {
+                    this.jwtAccessTokenEncoder.revoke(token);
+                } else {
+                    this.ticketRegistry.deleteTicket(token);
+                }
             }
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
@@ -8,6 +8,8 @@ import org.apereo.cas.oidc.jwks.OidcServiceJsonWebKeystoreCacheLoaderTests;
 import org.apereo.cas.oidc.profile.OidcProfileScopeToAttributesFilterTests;
 import org.apereo.cas.oidc.token.OidcIdTokenGeneratorServiceTests;
 import org.apereo.cas.oidc.token.OidcIdTokenSigningAndEncryptionServiceTests;
+import org.apereo.cas.oidc.web.controllers.OidcIntrospectionEndpointControllerTests;
+import org.apereo.cas.oidc.web.controllers.OidcRevocationEndpointControllerTests;
 import org.apereo.cas.oidc.web.controllers.OidcWellKnownEndpointControllerTests;
 import org.apereo.cas.oidc.web.flow.OidcAuthenticationContextWebflowEventResolverTests;
 import org.apereo.cas.oidc.web.flow.OidcRegisteredServiceUIActionTests;
@@ -33,7 +35,9 @@ import org.junit.runners.Suite;
     OidcServerDiscoverySettingsFactoryTests.class,
     OidcRegisteredServiceUIActionTests.class,
     OidcServiceJsonWebKeystoreCacheLoaderTests.class,
-    OidcAuthorizationRequestSupportTests.class
+    OidcAuthorizationRequestSupportTests.class,
+    OidcIntrospectionEndpointControllerTests.class,
+    OidcRevocationEndpointControllerTests.class
 })
 @Slf4j
 public class OidcTestSuite {
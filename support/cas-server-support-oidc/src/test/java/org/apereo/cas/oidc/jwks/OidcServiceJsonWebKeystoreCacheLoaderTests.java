@@ -1,8 +1,20 @@
 package org.apereo.cas.oidc.jwks;
 
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.utils.DateUtils;
+import org.apache.http.message.BasicHttpResponse;
 import org.apereo.cas.oidc.AbstractOidcTests;
 import org.apereo.cas.services.OidcRegisteredService;
+import org.jose4j.jwk.RsaJsonWebKey;
 import org.junit.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
 
 import static org.junit.Assert.*;
 
@@ -16,7 +28,73 @@ public class OidcServiceJsonWebKeystoreCacheLoaderTests extends AbstractOidcTest
     @Test
     public void verifyOperation() {
         final OidcRegisteredService service = getOidcRegisteredService();
-        assertTrue(oidcServiceJsonWebKeystoreCache.get(service).isPresent());
-        assertTrue(oidcServiceJsonWebKeystoreCache.get(service).isPresent());
+        assertTrue(oidcServiceJsonWebKeystoreCache.get(new OidcServiceJsonWebKeystoreCacheKey(service)).isPresent());
+        assertTrue(oidcServiceJsonWebKeystoreCache.get(new OidcServiceJsonWebKeystoreCacheKey(service)).isPresent());
+    }
+
+    @Test
+    public void verifyKeystoreIsCachedByClientAndLocation() {
+        final OidcRegisteredService service = getOidcRegisteredService();
+        final OidcServiceJsonWebKeystoreCacheKey key = new OidcServiceJsonWebKeystoreCacheKey(service);
+        final long hits = oidcServiceJsonWebKeystoreCache.stats().hitCount();
+        oidcServiceJsonWebKeystoreCache.get(key);
+
+        final OidcRegisteredService other = getOidcRegisteredService();
+        other.setName("Another name");
+        oidcServiceJsonWebKeystoreCache.get(new OidcServiceJsonWebKeystoreCacheKey(other));
+        assertTrue(oidcServiceJsonWebKeystoreCache.stats().hitCount() > hits);
+
+        other.setJwks("classpath:another-keystore.jwks");
+        assertNotEquals(key, new OidcServiceJsonWebKeystoreCacheKey(other));
+    }
+
+    @Test
+    public void verifyCacheLifetimeIsMaxAgeLessAge() {
+        final HttpResponse response = newResponse();
+        response.addHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=300");
+        response.addHeader(HttpHeaders.AGE, "100");
+        assertEquals(Optional.of(Duration.ofSeconds(200)), OidcServiceJsonWebKeystoreCacheLoader.getCacheLifetime(response));
+    }
+
+    @Test
+    public void verifyCacheLifetimeIsZeroWhenNotStored() {
+        final HttpResponse response = newResponse();
+        response.addHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+        response.addHeader(HttpHeaders.EXPIRES, DateUtils.formatDate(new Date(System.currentTimeMillis() + Duration.ofHours(1).toMillis())));
+        assertEquals(Optional.of(Duration.ZERO), OidcServiceJsonWebKeystoreCacheLoader.getCacheLifetime(response));
+    }
+
+    @Test
+    public void verifyCacheLifetimeFollowsExpires() {
+        final HttpResponse response = newResponse();
+        response.addHeader(HttpHeaders.EXPIRES, DateUtils.formatDate(new Date(System.currentTimeMillis() + Duration.ofMinutes(10).toMillis())));
+        final Duration lifetime = OidcServiceJsonWebKeystoreCacheLoader.getCacheLifetime(response).get();
+        assertTrue(lifetime.compareTo(Duration.ofMinutes(9)) > 0);
+        assertTrue(lifetime.compareTo(Duration.ofMinutes(10)) <= 0);
+    }
+
+    @Test
+    public void verifyDefaultCacheLifetimeIsUsedWithoutCacheHeaders() {
+        assertFalse(OidcServiceJsonWebKeystoreCacheLoader.getCacheLifetime(newResponse()).isPresent());
+
+        final OidcServiceJsonWebKeystoreCacheLoader loader = new OidcServiceJsonWebKeystoreCacheLoader(new DefaultResourceLoader());
+        final OidcServiceJsonWebKeystoreCacheKey key = new OidcServiceJsonWebKeystoreCacheKey(getOidcRegisteredService());
+        final OidcServiceJsonWebKeystoreCacheExpirationPolicy policy = new OidcServiceJsonWebKeystoreCacheExpirationPolicy(loader, Duration.ofMinutes(5));
+        assertEquals(Duration.ofMinutes(5).toNanos(), policy.expireAfterCreate(key, loader.load(key), 0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void verifyFailedReloadKeepsCachedKey() {
+        final OidcServiceJsonWebKeystoreCacheLoader loader = new OidcServiceJsonWebKeystoreCacheLoader(new DefaultResourceLoader());
+        final Optional<RsaJsonWebKey> cachedKey = loader.load(new OidcServiceJsonWebKeystoreCacheKey(getOidcRegisteredService()));
+        assertTrue(cachedKey.isPresent());
+
+        final OidcRegisteredService service = getOidcRegisteredService();
+        service.setJwks("classpath:missing-keystore.jwks");
+        loader.reload(new OidcServiceJsonWebKeystoreCacheKey(service), cachedKey);
+    }
+
+    private static HttpResponse newResponse() {
+        return new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
     }
 }
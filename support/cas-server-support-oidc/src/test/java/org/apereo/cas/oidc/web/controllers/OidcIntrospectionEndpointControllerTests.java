@@ -0,0 +1,83 @@
+package org.apereo.cas.oidc.web.controllers;
+
+import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.audit.AuditableExecution;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.authentication.principal.PrincipalFactory;
+import org.apereo.cas.authentication.principal.ServiceFactory;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.oidc.AbstractOidcTests;
+import org.apereo.cas.oidc.introspection.OidcIntrospectionAccessTokenResponse;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.support.oauth.OAuth20Constants;
+import org.apereo.cas.ticket.accesstoken.AccessToken;
+import org.apereo.cas.ticket.accesstoken.AccessTokenFactory;
+import org.apereo.cas.ticket.accesstoken.OAuthJwtAccessTokenEncoder;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.util.CollectionUtils;
+import org.apereo.cas.util.EncodingUtils;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link OidcIntrospectionEndpointControllerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class OidcIntrospectionEndpointControllerTests extends AbstractOidcTests {
+
+    @Autowired
+    @Qualifier("oauthJwtAccessTokenEncoder")
+    private OAuthJwtAccessTokenEncoder jwtAccessTokenEncoder;
+
+    @Autowired
+    @Qualifier("defaultAccessTokenFactory")
+    private AccessTokenFactory accessTokenFactory;
+
+    @Autowired
+    @Qualifier("oidcPrincipalFactory")
+    private PrincipalFactory principalFactory;
+
+    @Autowired
+    @Qualifier("webApplicationServiceFactory")
+    private ServiceFactory<WebApplicationService> webApplicationServiceFactory;
+
+    @Autowired
+    @Qualifier("registeredServiceAccessStrategyEnforcer")
+    private AuditableExecution registeredServiceAccessStrategyEnforcer;
+
+    @Autowired
+    private CasConfigurationProperties casProperties;
+
+    @Test
+    public void verifyJwtAccessTokenIsIntrospectedWithoutRegistry() {
+        final TicketRegistry ticketRegistry = mock(TicketRegistry.class);
+        final CentralAuthenticationService centralAuthenticationService = mock(CentralAuthenticationService.class);
+        final OidcIntrospectionEndpointController controller = new OidcIntrospectionEndpointController(servicesManager,
+            ticketRegistry, accessTokenFactory, principalFactory, webApplicationServiceFactory, profileScopeToAttributesFilter,
+            casProperties, null, centralAuthenticationService, registeredServiceAccessStrategyEnforcer, jwtAccessTokenEncoder);
+
+        final AccessToken accessToken = jwtAccessTokenEncoder.create(RegisteredServiceTestUtils.getService("https://oauth.example.org"),
+            CoreAuthenticationTestUtils.getAuthentication("casuser"), null, CollectionUtils.wrapList("openid"));
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Basic " + EncodingUtils.encodeBase64("clientid:secret"));
+        request.setParameter(OAuth20Constants.TOKEN, accessToken.getId());
+
+        final ResponseEntity<OidcIntrospectionAccessTokenResponse> response = controller.handlePostRequest(request, new MockHttpServletResponse());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().isActive());
+        assertEquals("casuser", response.getBody().getSub());
+        verifyZeroInteractions(ticketRegistry, centralAuthenticationService);
+    }
+}
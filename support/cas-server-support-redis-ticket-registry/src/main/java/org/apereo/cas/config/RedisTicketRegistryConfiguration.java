@@ -2,20 +2,31 @@ package org.apereo.cas.config;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.NearCacheTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.redis.RedisTicketRegistryProperties;
 import org.apereo.cas.redis.core.RedisObjectFactory;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.registry.RedisTicketCountTracker;
+import org.apereo.cas.ticket.registry.RedisTicketInvalidationChannel;
 import org.apereo.cas.ticket.registry.RedisTicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRedisTemplate;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.CoreTicketUtils;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * This is {@link RedisTicketRegistryConfiguration}.
@@ -31,6 +42,10 @@ public class RedisTicketRegistryConfiguration {
     @Autowired
     private CasConfigurationProperties casProperties;
 
+    @Autowired
+    @Qualifier("ticketCatalog")
+    private ObjectProvider<TicketCatalog> ticketCatalog;
+
     @ConditionalOnMissingBean(name = "redisTicketConnectionFactory")
     @Bean
     public RedisConnectionFactory redisTicketConnectionFactory() {
@@ -42,14 +57,46 @@ public class RedisTicketRegistryConfiguration {
     @Bean
     @ConditionalOnMissingBean(name = "ticketRedisTemplate")
     public RedisTemplate<String, Ticket> ticketRedisTemplate() {
-        return new TicketRedisTemplate(redisTicketConnectionFactory());
+        return new TicketRedisTemplate(redisTicketConnectionFactory(),
+            CoreTicketUtils.newTicketSerializer(casProperties.getTicket().getRegistry().getSerialization()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cas.ticket.registry.nearCache.enabled", havingValue = "true")
+    public RedisTicketInvalidationChannel redisTicketInvalidationChannel() {
+        final NearCacheTicketRegistryProperties nearCache = casProperties.getTicket().getRegistry().getNearCache();
+        return new RedisTicketInvalidationChannel(new StringRedisTemplate(redisTicketConnectionFactory()), nearCache.getInvalidationChannel());
     }
 
     @Bean
-    public TicketRegistry ticketRegistry() {
+    @ConditionalOnProperty(name = "cas.ticket.registry.nearCache.enabled", havingValue = "true")
+    public RedisMessageListenerContainer redisTicketInvalidationListenerContainer() {
+        final RedisTicketInvalidationChannel channel = redisTicketInvalidationChannel();
+        final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTicketConnectionFactory());
+        container.addMessageListener(channel, new ChannelTopic(channel.getChannel()));
+        return container;
+    }
+
+    @Bean
+    public TicketRegistry redisTicketRegistry() {
         final RedisTicketRegistryProperties redis = casProperties.getTicket().getRegistry().getRedis();
         final RedisTicketRegistry r = new RedisTicketRegistry(ticketRedisTemplate());
         r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(redis.getCrypto(), "redis"));
+        r.setTicketSerializer(CoreTicketUtils.newTicketSerializer(casProperties.getTicket().getRegistry().getSerialization()));
+        r.setScanBatchSize(redis.getScanBatchSize());
+        final TicketCatalog catalog = ticketCatalog.getIfAvailable();
+        if (catalog != null) {
+            r.setTicketCountTracker(new RedisTicketCountTracker(ticketRedisTemplate(), catalog, redis.getScanBatchSize()));
+        }
         return r;
     }
+
+    @Bean
+    @Primary
+    public TicketRegistry ticketRegistry(@Qualifier("redisTicketInvalidationChannel")
+                                         final ObjectProvider<RedisTicketInvalidationChannel> redisTicketInvalidationChannel) {
+        return CoreTicketUtils.newNearCachingTicketRegistry(casProperties.getTicket().getRegistry().getNearCache(),
+            redisTicketRegistry(), redisTicketInvalidationChannel.getIfAvailable());
+    }
 }
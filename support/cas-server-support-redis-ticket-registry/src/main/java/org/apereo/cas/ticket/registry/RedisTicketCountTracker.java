@@ -0,0 +1,51 @@
+package org.apereo.cas.ticket.registry;
+
+import com.google.common.collect.Iterators;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * This is {@link RedisTicketCountTracker} that counts tickets by matching redis keys
+ * against the prefixes of ticket definitions, without fetching and decoding the tickets themselves.
+ * Since keys expire in redis on their own, counts are always asked of the server
+ * rather than maintained locally.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisTicketCountTracker implements TicketCountTracker {
+
+    private final RedisTemplate<String, Ticket> client;
+
+    private final TicketCatalog ticketCatalog;
+
+    private final int scanBatchSize;
+
+    @Override
+    public long count(final Class<? extends Ticket> ticketType) {
+        return this.ticketCatalog.findAll()
+            .stream()
+            .filter(definition -> ticketType.isAssignableFrom(definition.getImplementationClass()))
+            .map(TicketDefinition::getPrefix)
+            .distinct()
+            .mapToLong(this::countKeys)
+            .sum();
+    }
+
+    @SneakyThrows
+    private long countKeys(final String prefix) {
+        try (Cursor<String> keys = RedisTicketRegistry.scanKeys(this.client, RedisTicketRegistry.CAS_TICKET_PREFIX + prefix + "-*", this.scanBatchSize)) {
+            final int count = Iterators.size(keys);
+            LOGGER.trace("Found [{}] ticket(s) with prefix [{}]", count, prefix);
+            return count;
+        }
+    }
+}
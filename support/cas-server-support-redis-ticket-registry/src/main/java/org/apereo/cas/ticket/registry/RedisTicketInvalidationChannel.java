@@ -0,0 +1,69 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * This is {@link RedisTicketInvalidationChannel} that publishes the ids of changed tickets
+ * to a Redis channel, and hands ids published by other nodes to its listeners.
+ * Messages carry the id of the publishing node so that nodes ignore their own messages.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisTicketInvalidationChannel implements TicketInvalidationChannel, MessageListener {
+
+    private static final String ORIGIN_SEPARATOR = "|";
+
+    private static final String TICKET_ID_SEPARATOR = ",";
+
+    private final StringRedisTemplate client;
+
+    @Getter
+    private final String channel;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    private final List<Consumer<Collection<String>>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(final Collection<String> ticketIds) {
+        try {
+            this.client.convertAndSend(this.channel, this.origin + ORIGIN_SEPARATOR + String.join(TICKET_ID_SEPARATOR, ticketIds));
+        } catch (final Exception e) {
+            LOGGER.error("Failed to publish invalidation of tickets [{}]: [{}]", ticketIds, e.getMessage());
+        }
+    }
+
+    @Override
+    public void subscribe(final Consumer<Collection<String>> listener) {
+        this.listeners.add(listener);
+    }
+
+    @Override
+    public void onMessage(final Message message, final byte[] pattern) {
+        final String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        final String messageOrigin = StringUtils.substringBefore(body, ORIGIN_SEPARATOR);
+        if (this.origin.equals(messageOrigin)) {
+            return;
+        }
+        final List<String> ticketIds = Arrays.asList(StringUtils.split(StringUtils.substringAfter(body, ORIGIN_SEPARATOR), TICKET_ID_SEPARATOR));
+        LOGGER.trace("Received invalidation of tickets [{}] from [{}]", ticketIds, messageOrigin);
+        this.listeners.forEach(listener -> listener.accept(ticketIds));
+    }
+}
@@ -1,39 +1,73 @@
 package org.apereo.cas.ticket.registry;
 
-import lombok.AllArgsConstructor;
+import com.google.common.collect.Iterators;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.springframework.data.redis.core.ConvertingCursor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import javax.validation.constraints.NotNull;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
+ * Tickets are enumerated with cursor-based {@code SCAN} commands rather than {@code KEYS},
+ * and are fetched and removed in batches so that large registries do not block redis.
  *
  * @author serv
  * @since 5.1.0
  */
 @Slf4j
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class RedisTicketRegistry extends AbstractTicketRegistry {
-    private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
+    /**
+     * Prefix of the redis keys under which tickets are stored.
+     */
+    static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
+
+    private static final int DEFAULT_SCAN_BATCH_SIZE = 500;
 
     @NotNull
     private final RedisTemplate<String, Ticket> client;
 
+    /**
+     * Number of keys to request per scan iteration, and tickets to fetch or remove per round trip.
+     */
+    @Setter
+    private int scanBatchSize = DEFAULT_SCAN_BATCH_SIZE;
+
     @Override
+    @SneakyThrows
     public long deleteAll() {
-        final Set<String> redisKeys = this.client.keys(getPatternTicketRedisKey());
-        final int size = redisKeys.size();
-        this.client.delete(redisKeys);
-        return size;
+        long count = 0;
+        try (Cursor<String> cursor = scanKeys(this.client, getPatternTicketRedisKey(), this.scanBatchSize)) {
+            final Iterator<List<String>> batches = Iterators.partition(cursor, this.scanBatchSize);
+            while (batches.hasNext()) {
+                count += deleteKeys(batches.next());
+            }
+        }
+        return count;
     }
-    
+
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         try {
@@ -60,6 +94,50 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         }
     }
 
+    @Override
+    public Ticket updateTicket(final Ticket ticket) {
+        try {
+            LOGGER.debug("Updating ticket [{}]", ticket);
+            final Ticket encodeTicket = this.encodeTicket(ticket);
+            final String redisKey = getTicketRedisKey(ticket.getId());
+            this.client.boundValueOps(redisKey).set(encodeTicket, getTimeout(ticket), TimeUnit.SECONDS);
+            return encodeTicket;
+        } catch (final Exception e) {
+            LOGGER.error("Failed to update [{}]", ticket, e);
+        }
+        return null;
+    }
+
+    /**
+     * Write the tickets with a single pipelined round trip. Ticket-granting tickets are written as a whole,
+     * so the changes they recorded are discarded.
+     *
+     * @param addedTickets   the tickets to add
+     * @param updatedTickets the tickets to update
+     */
+    @Override
+    public void writeTickets(final Collection<? extends Ticket> addedTickets, final Collection<? extends Ticket> updatedTickets) {
+        try {
+            final List<Ticket> tickets = Stream.concat(addedTickets.stream(), updatedTickets.stream()).collect(Collectors.toList());
+            tickets.stream()
+                .filter(TicketGrantingTicket.class::isInstance)
+                .map(TicketGrantingTicket.class::cast)
+                .forEach(TicketGrantingTicket::takeDelta);
+            this.client.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(final RedisOperations<K, V> operations) {
+                    final RedisOperations<String, Ticket> ops = (RedisOperations<String, Ticket>) operations;
+                    tickets.forEach(ticket -> ops.opsForValue()
+                        .set(getTicketRedisKey(ticket.getId()), encodeTicket(ticket), getTimeout(ticket), TimeUnit.SECONDS));
+                    return null;
+                }
+            });
+            LOGGER.debug("Wrote [{}] tickets in a single pipeline", tickets.size());
+        } catch (final Exception e) {
+            LOGGER.error("Failed to write tickets [{}] and [{}]", addedTickets, updatedTickets, e);
+        }
+    }
+
     @Override
     public Ticket getTicket(final String ticketId) {
         try {
@@ -82,30 +160,68 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Collection<Ticket> getTickets() {
-        return this.client.keys(getPatternTicketRedisKey()).stream()
-                .map(redisKey -> {
-                    final Ticket ticket = this.client.boundValueOps(redisKey).get();
-                    if (ticket == null) {
-                        this.client.delete(redisKey);
-                        return null;
-                    }
-                    return ticket;
-                })
-                .filter(Objects::nonNull)
-                .map(this::decodeTicket)
-                .collect(Collectors.toSet());
+        try (Stream<Ticket> tickets = getTicketsStream()) {
+            return tickets.collect(Collectors.toSet());
+        }
     }
 
+    /**
+     * Stream tickets by scanning keys in batches and fetching each batch with a single {@code MGET}.
+     * The scan cursor holds on to a redis connection until the stream is either exhausted or closed.
+     *
+     * @return the tickets
+     */
     @Override
-    public Ticket updateTicket(final Ticket ticket) {
+    public Stream<Ticket> getTicketsStream() {
+        final Cursor<String> cursor = scanKeys(this.client, getPatternTicketRedisKey(), this.scanBatchSize);
+        final Iterator<List<String>> batches = Iterators.partition(new ClosingIterator(cursor), this.scanBatchSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> closeCursor(cursor))
+            .flatMap(keys -> this.client.opsForValue().multiGet(keys).stream())
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket);
+    }
+
+    /**
+     * Delete the tickets with a single command.
+     *
+     * @param ticketIds the ticket ids
+     * @return the number of tickets that were removed
+     */
+    @Override
+    protected int deleteSingleTickets(final Collection<String> ticketIds) {
+        final List<String> keys = ticketIds.stream()
+            .map(RedisTicketRegistry::getTicketRedisKey)
+            .collect(Collectors.toList());
+        return (int) deleteKeys(keys);
+    }
+
+    /**
+     * Fetch and remove the ticket within a single {@code MULTI}/{@code EXEC} transaction,
+     * so that only one of several concurrent attempts may take the ticket.
+     *
+     * @param ticketId the ticket id
+     * @return the ticket, or null if it does not exist
+     */
+    @Override
+    protected Ticket takeTicket(final String ticketId) {
         try {
-            LOGGER.debug("Updating ticket [{}]", ticket);
-            final Ticket encodeTicket = this.encodeTicket(ticket);
-            final String redisKey = getTicketRedisKey(ticket.getId());
-            this.client.boundValueOps(redisKey).set(encodeTicket, getTimeout(ticket), TimeUnit.SECONDS);
-            return encodeTicket;
+            final String redisKey = getTicketRedisKey(ticketId);
+            final List<Object> results = this.client.execute(new SessionCallback<List<Object>>() {
+                @Override
+                public <K, V> List<Object> execute(final RedisOperations<K, V> operations) {
+                    final RedisOperations<String, Ticket> ops = (RedisOperations<String, Ticket>) operations;
+                    ops.multi();
+                    ops.opsForValue().get(redisKey);
+                    ops.delete(redisKey);
+                    return ops.exec();
+                }
+            });
+            if (results != null && !results.isEmpty() && results.get(0) instanceof Ticket) {
+                return decodeTicket((Ticket) results.get(0));
+            }
         } catch (final Exception e) {
-            LOGGER.error("Failed to update [{}]", ticket, e);
+            LOGGER.error("Failed taking [{}] ", ticketId, e);
         }
         return null;
     }
@@ -124,6 +240,42 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return ttl;
     }
 
+    /**
+     * Scan the keys that match the given pattern. The returned cursor must be closed
+     * in order to release the underlying connection.
+     *
+     * @param client  the client
+     * @param pattern the pattern
+     * @param count   the number of keys to request per iteration
+     * @return the cursor
+     */
+    static Cursor<String> scanKeys(final RedisTemplate<String, Ticket> client, final String pattern, final int count) {
+        final ScanOptions options = ScanOptions.scanOptions().match(pattern).count(count).build();
+        final RedisSerializer<String> serializer = (RedisSerializer<String>) client.getKeySerializer();
+        return client.executeWithStickyConnection(
+            (RedisCallback<Cursor<String>>) connection -> new ConvertingCursor<>(connection.scan(options), serializer::deserialize));
+    }
+
+    private long deleteKeys(final Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        final RedisSerializer<String> serializer = (RedisSerializer<String>) this.client.getKeySerializer();
+        final byte[][] rawKeys = keys.stream().map(serializer::serialize).toArray(byte[][]::new);
+        final Long count = this.client.execute((RedisCallback<Long>) connection -> connection.del(rawKeys));
+        return count != null ? count : 0;
+    }
+
+    private static void closeCursor(final Cursor<String> cursor) {
+        try {
+            if (!cursor.isClosed()) {
+                cursor.close();
+            }
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to close scan cursor: [{}]", e.getMessage());
+        }
+    }
+
     // Add a prefix as the key of redis
     private static String getTicketRedisKey(final String ticketId) {
         return CAS_TICKET_PREFIX + ticketId;
@@ -133,4 +285,30 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static String getPatternTicketRedisKey() {
         return CAS_TICKET_PREFIX + "*";
     }
+
+    /**
+     * Closes the scan cursor as soon as it is exhausted, since streams
+     * of tickets are not always closed by their consumers.
+     */
+    @RequiredArgsConstructor
+    private static class ClosingIterator implements Iterator<String> {
+        private final Cursor<String> cursor;
+
+        @Override
+        public boolean hasNext() {
+            if (this.cursor.isClosed()) {
+                return false;
+            }
+            final boolean hasNext = this.cursor.hasNext();
+            if (!hasNext) {
+                closeCursor(this.cursor);
+            }
+            return hasNext;
+        }
+
+        @Override
+        public String next() {
+            return this.cursor.next();
+        }
+    }
 }
@@ -0,0 +1,48 @@
+package org.apereo.cas.ticket.registry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * This is {@link TicketRedisSerializer} that stores tickets in redis using the configured {@link TicketSerializer},
+ * whether or not tickets are encrypted.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class TicketRedisSerializer implements RedisSerializer<Ticket> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final TicketSerializer ticketSerializer;
+
+    @Override
+    public byte[] serialize(final Ticket ticket) throws SerializationException {
+        if (ticket == null) {
+            return EMPTY;
+        }
+        try {
+            return this.ticketSerializer.serialize(ticket);
+        } catch (final Exception e) {
+            throw new SerializationException("Unable to serialize ticket " + ticket.getId(), e);
+        }
+    }
+
+    @Override
+    public Ticket deserialize(final byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return this.ticketSerializer.deserialize(bytes);
+        } catch (final Exception e) {
+            throw new SerializationException("Unable to deserialize ticket", e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.registry;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.serialization.TicketSerializer;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
@@ -31,4 +32,13 @@ public class TicketRedisTemplate extends RedisTemplate<String, Ticket> {
         setConnectionFactory(connectionFactory);
         afterPropertiesSet();
     }
+
+    public TicketRedisTemplate(final RedisConnectionFactory connectionFactory, final TicketSerializer ticketSerializer) {
+        this();
+        final TicketRedisSerializer ticket = new TicketRedisSerializer(ticketSerializer);
+        setValueSerializer(ticket);
+        setHashValueSerializer(ticket);
+        setConnectionFactory(connectionFactory);
+        afterPropertiesSet();
+    }
 }
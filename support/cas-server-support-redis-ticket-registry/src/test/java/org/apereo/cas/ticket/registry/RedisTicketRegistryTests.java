@@ -4,11 +4,15 @@ import java.util.Arrays;
 import java.util.Collection;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.RedisTicketRegistryConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,9 +22,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 import redis.embedded.RedisServer;
 
+import static org.junit.Assert.*;
+
 /**
  * Unit test for {@link RedisTicketRegistry}.
  *
@@ -70,4 +77,23 @@ public class RedisTicketRegistryTests extends BaseSpringRunnableTicketRegistryTe
     public TicketRegistry getNewTicketRegistry() {
         return this.ticketRegistry;
     }
+
+    @Test
+    public void verifyTicketsAreScannedInBatches() {
+        final RedisTicketRegistry registry = AopTestUtils.getTargetObject(this.ticketRegistry);
+        registry.setScanBatchSize(3);
+        try {
+            registry.deleteAll();
+            for (int i = 0; i < 10; i++) {
+                registry.addTicket(new TicketGrantingTicketImpl("TGT-" + i,
+                    CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy()));
+            }
+            assertEquals(10, registry.getTickets().size());
+            assertEquals(10, registry.getTicketsStream().count());
+            assertEquals(10, registry.deleteAll());
+            assertEquals(0, registry.getTickets().size());
+        } finally {
+            registry.setScanBatchSize(500);
+        }
+    }
 }
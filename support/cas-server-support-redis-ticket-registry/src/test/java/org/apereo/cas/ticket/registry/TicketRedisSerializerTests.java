@@ -0,0 +1,34 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.serialization.CompactTicketSerializer;
+import org.apereo.cas.ticket.serialization.JavaTicketSerializer;
+import org.apereo.cas.ticket.support.NeverExpiresExpirationPolicy;
+import org.junit.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link TicketRedisSerializerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class TicketRedisSerializerTests {
+
+    @Test
+    public void verifyTicketsAreStoredInCompactForm() {
+        final Ticket tgt = new TicketGrantingTicketImpl("TGT-1-casuser",
+            CoreAuthenticationTestUtils.getAuthentication(), new NeverExpiresExpirationPolicy());
+        final TicketRedisSerializer serializer = new TicketRedisSerializer(new CompactTicketSerializer(true));
+
+        final byte[] bytes = serializer.serialize(tgt);
+        assertTrue(bytes.length < new JavaTicketSerializer().serialize(tgt).length);
+        assertEquals(tgt, serializer.deserialize(bytes));
+        assertEquals(tgt, serializer.deserialize(new JdkSerializationRedisSerializer().serialize(tgt)));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+}
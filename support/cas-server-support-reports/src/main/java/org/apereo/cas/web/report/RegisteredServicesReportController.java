@@ -58,4 +58,18 @@ public class RegisteredServicesReportController extends BaseCasMvcEndpoint {
         final long timeout = Beans.newDuration(casProperties.getHttpClient().getAsyncTimeout()).toMillis();
         return new WebAsyncTask<>(timeout, asyncTask);
     }
+
+    /**
+     * Produce statistics for the cache of service resolutions kept by the services manager.
+     *
+     * @param request  the request
+     * @param response the response
+     * @return the cache statistics
+     */
+    @GetMapping(value = "/cache")
+    @ResponseBody
+    public Map<String, Object> getResolutionCacheStatistics(final HttpServletRequest request, final HttpServletResponse response) {
+        ensureEndpointAccessIsAuthorized(request, response);
+        return this.servicesManager.getResolutionCacheStatistics();
+    }
 }
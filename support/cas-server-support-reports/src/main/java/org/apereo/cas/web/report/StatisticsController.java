@@ -8,12 +8,17 @@ import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.CentralAuthenticationService;
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
+import org.apereo.cas.audit.spi.DispatchingAuditTrailManager;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.registry.NearCachingTicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.web.BaseCasMvcEndpoint;
+import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -56,17 +61,26 @@ public class StatisticsController extends BaseCasMvcEndpoint implements ServletC
     private final CentralAuthenticationService centralAuthenticationService;
     private final MetricRegistry metricsRegistry;
     private final HealthCheckRegistry healthCheckRegistry;
+    private final TicketRegistryCleaner ticketRegistryCleaner;
+    private final TicketRegistry ticketRegistry;
+    private final ThrottledSubmissionHandlerInterceptor authenticationThrottle;
 
     public StatisticsController(final AuditTrailExecutionPlan auditTrailManager,
                                 final CentralAuthenticationService centralAuthenticationService,
                                 final MetricRegistry metricsRegistry,
                                 final HealthCheckRegistry healthCheckRegistry,
+                                final TicketRegistryCleaner ticketRegistryCleaner,
+                                final TicketRegistry ticketRegistry,
+                                final ThrottledSubmissionHandlerInterceptor authenticationThrottle,
                                 final CasConfigurationProperties casProperties) {
         super("casstats", "/stats", casProperties.getMonitor().getEndpoints().getStatistics(), casProperties);
         this.auditTrailManager = auditTrailManager;
         this.centralAuthenticationService = centralAuthenticationService;
         this.metricsRegistry = metricsRegistry;
         this.healthCheckRegistry = healthCheckRegistry;
+        this.ticketRegistryCleaner = ticketRegistryCleaner;
+        this.ticketRegistry = ticketRegistry;
+        this.authenticationThrottle = authenticationThrottle;
     }
 
     /**
@@ -296,6 +310,77 @@ public class StatisticsController extends BaseCasMvcEndpoint implements ServletC
         return model;
     }
 
+    /**
+     * Gets statistics of the most recent ticket registry cleaner run.
+     *
+     * @param request  the http servlet request
+     * @param response the http servlet response
+     * @return the ticket registry cleaner stats
+     */
+    @GetMapping(value = "/getTicketRegistryCleanerStats")
+    @ResponseBody
+    public Map<String, Object> getTicketRegistryCleanerStats(final HttpServletRequest request, final HttpServletResponse response) {
+        ensureEndpointAccessIsAuthorized(request, response);
+        if (this.ticketRegistryCleaner == null) {
+            return new HashMap<>(0);
+        }
+        return this.ticketRegistryCleaner.getStatistics();
+    }
+
+    /**
+     * Gets statistics of audit records recorded in the background, such as the depth of the queue and the number of dropped records.
+     *
+     * @param request  the http servlet request
+     * @param response the http servlet response
+     * @return the audit dispatch stats
+     */
+    @GetMapping(value = "/getAuditDispatchStats")
+    @ResponseBody
+    public Map<String, Object> getAuditDispatchStats(final HttpServletRequest request, final HttpServletResponse response) {
+        ensureEndpointAccessIsAuthorized(request, response);
+        return this.auditTrailManager.getAuditTrailManagers()
+            .stream()
+            .filter(DispatchingAuditTrailManager.class::isInstance)
+            .map(DispatchingAuditTrailManager.class::cast)
+            .findFirst()
+            .map(DispatchingAuditTrailManager::getStatistics)
+            .orElseGet(() -> new HashMap<>(0));
+    }
+
+    /**
+     * Gets statistics of the near cache kept in front of the ticket registry, such as its hit ratio.
+     *
+     * @param request  the http servlet request
+     * @param response the http servlet response
+     * @return the ticket registry near cache stats
+     */
+    @GetMapping(value = "/getTicketRegistryNearCacheStats")
+    @ResponseBody
+    public Map<String, Object> getTicketRegistryNearCacheStats(final HttpServletRequest request, final HttpServletResponse response) {
+        ensureEndpointAccessIsAuthorized(request, response);
+        if (this.ticketRegistry instanceof NearCachingTicketRegistry) {
+            return NearCachingTicketRegistry.class.cast(this.ticketRegistry).getStatistics();
+        }
+        return new HashMap<>(0);
+    }
+
+    /**
+     * Gets statistics of the authentication throttler, such as the number of tracked keys and throttled requests.
+     *
+     * @param request  the http servlet request
+     * @param response the http servlet response
+     * @return the authentication throttle stats
+     */
+    @GetMapping(value = "/getAuthenticationThrottleStats")
+    @ResponseBody
+    public Map<String, Object> getAuthenticationThrottleStats(final HttpServletRequest request, final HttpServletResponse response) {
+        ensureEndpointAccessIsAuthorized(request, response);
+        if (this.authenticationThrottle != null) {
+            return this.authenticationThrottle.getStatistics();
+        }
+        return new HashMap<>(0);
+    }
+
     /**
      * Handles the request.
      *
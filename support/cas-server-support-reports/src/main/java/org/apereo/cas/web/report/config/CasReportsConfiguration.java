@@ -16,6 +16,8 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.discovery.CasServerProfileRegistrar;
 import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.trusted.authentication.api.MultifactorAuthenticationTrustStorage;
 import org.apereo.cas.web.report.AuthenticationEventsController;
@@ -35,6 +37,7 @@ import org.apereo.cas.web.report.StatisticsController;
 import org.apereo.cas.web.report.StatusController;
 import org.apereo.cas.web.report.TrustedDevicesController;
 import org.apereo.cas.web.support.CookieRetrievingCookieGenerator;
+import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -150,6 +153,18 @@ public class CasReportsConfiguration extends AbstractWebSocketMessageBrokerConfi
     @Qualifier("healthCheckMetrics")
     private HealthCheckRegistry healthCheckRegistry;
 
+    @Autowired
+    @Qualifier("ticketRegistryCleaner")
+    private ObjectProvider<TicketRegistryCleaner> ticketRegistryCleaner;
+
+    @Autowired
+    @Qualifier("ticketRegistry")
+    private ObjectProvider<TicketRegistry> ticketRegistry;
+
+    @Autowired
+    @Qualifier("authenticationThrottle")
+    private ObjectProvider<ThrottledSubmissionHandlerInterceptor> authenticationThrottle;
+
     @Bean
     public MvcEndpoint dashboardController() {
         return new DashboardController(casProperties);
@@ -211,7 +226,8 @@ public class CasReportsConfiguration extends AbstractWebSocketMessageBrokerConfi
     @Bean
     public MvcEndpoint statisticsController(@Qualifier("auditTrailExecutionPlan") final AuditTrailExecutionPlan auditTrailManager) {
         return new StatisticsController(auditTrailManager, centralAuthenticationService,
-            metricsRegistry, healthCheckRegistry, casProperties);
+            metricsRegistry, healthCheckRegistry, ticketRegistryCleaner.getIfAvailable(),
+            ticketRegistry.getIfAvailable(), authenticationThrottle.getIfAvailable(), casProperties);
     }
 
     @Bean
@@ -11,6 +11,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * This is {@link InMemoryResourceMetadataResolver}.
@@ -30,7 +31,14 @@ public class InMemoryResourceMetadataResolver extends DOMMetadataResolver {
     }
 
     public InMemoryResourceMetadataResolver(final File metadataResource, final OpenSamlConfigBean configBean) throws IOException {
-        super(getMetadataRootElement(Files.newInputStream(metadataResource.toPath()), configBean));
+        super(getMetadataRootElement(metadataResource.toPath(), configBean));
+    }
+
+    @SneakyThrows
+    private static Element getMetadataRootElement(final Path metadataResource, final OpenSamlConfigBean configBean) {
+        try (InputStream input = Files.newInputStream(metadataResource)) {
+            return getMetadataRootElement(input, configBean);
+        }
     }
 
     @SneakyThrows
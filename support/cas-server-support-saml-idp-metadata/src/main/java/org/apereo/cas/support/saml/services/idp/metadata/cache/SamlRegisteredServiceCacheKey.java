@@ -0,0 +1,74 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.util.ScriptingUtils;
+
+import java.io.Serializable;
+import java.util.regex.Pattern;
+
+/**
+ * This is {@link SamlRegisteredServiceCacheKey} by which metadata resolvers are cached.
+ * <p>
+ * Services whose metadata is found at the same static location (i.e. a URL, a file or a classpath resource)
+ * and that filter and expire metadata in the same way share a key, so that an aggregate that is shared by a number of
+ * services is fetched and parsed once. Services whose metadata location is resolved per service, such as dynamic
+ * metadata queries, scripts or metadata stored in a database, are keyed by service.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@ToString(of = "id")
+@Getter
+@EqualsAndHashCode(of = "id")
+public class SamlRegisteredServiceCacheKey implements Serializable {
+
+    private static final long serialVersionUID = -7238573226470492601L;
+
+    private static final Pattern SHARED_METADATA_LOCATION = Pattern.compile("^(https?://|file:|classpath:|/).+", Pattern.CASE_INSENSITIVE);
+
+    private static final String SEPARATOR = "|";
+
+    private final String id;
+
+    private final SamlRegisteredService registeredService;
+
+    public SamlRegisteredServiceCacheKey(final SamlRegisteredService registeredService) {
+        this.id = buildRegisteredServiceCacheKey(registeredService);
+        this.registeredService = registeredService;
+    }
+
+    /**
+     * Build the cache key of the service, made up of the metadata location and the settings that
+     * decide how metadata is filtered and expired, and the service itself if metadata may not be shared.
+     *
+     * @param service the service
+     * @return the cache key
+     */
+    public static String buildRegisteredServiceCacheKey(final SamlRegisteredService service) {
+        final String settings = String.join(SEPARATOR,
+            StringUtils.defaultString(service.getMetadataLocation()),
+            StringUtils.defaultString(service.getMetadataSignatureLocation()),
+            String.valueOf(service.getMetadataMaxValidity()),
+            StringUtils.defaultString(service.getMetadataCriteriaRoles()),
+            StringUtils.defaultString(service.getMetadataCriteriaDirection()),
+            StringUtils.defaultString(service.getMetadataCriteriaPattern()),
+            String.valueOf(service.isMetadataCriteriaRemoveEmptyEntitiesDescriptors()),
+            String.valueOf(service.isMetadataCriteriaRemoveRolelessEntityDescriptors()),
+            StringUtils.defaultString(service.getMetadataExpirationDuration()));
+        if (isMetadataShared(service)) {
+            return settings;
+        }
+        return String.join(SEPARATOR, String.valueOf(service.getId()), service.getServiceId(), settings);
+    }
+
+    private static boolean isMetadataShared(final SamlRegisteredService service) {
+        final String location = StringUtils.trimToEmpty(service.getMetadataLocation());
+        return SHARED_METADATA_LOCATION.matcher(location).matches()
+            && !location.contains("{0}")
+            && !ScriptingUtils.isExternalGroovyScript(location);
+    }
+}
@@ -2,14 +2,31 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * <p>
+ * Metadata resolvers are cached by {@link SamlRegisteredServiceCacheKey}, so services that share
+ * a metadata aggregate share its resolver. Once a resolver has reached the last quarter of its lifetime,
+ * it is loaded again in the background while the current resolver continues to be used.
+ * Background loads run on a small, bounded pool owned by this resolver; when that pool is busy,
+ * the refresh is skipped and attempted again on a later resolution.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -19,15 +36,36 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
 
     private static final int MAX_CACHE_SIZE = 10_000;
 
+    private static final int REFRESH_AHEAD_DIVISOR = 4;
+
+    private static final int REFRESH_THREADS = 2;
+
+    private static final int REFRESH_QUEUE_SIZE = 100;
+
     private final SamlRegisteredServiceMetadataResolverCacheLoader chainingMetadataResolverCacheLoader;
-    private final LoadingCache<SamlRegisteredService, MetadataResolver> cache;
+    private final SamlRegisteredServiceMetadataExpirationPolicy expirationPolicy;
+    private final LoadingCache<SamlRegisteredServiceCacheKey, MetadataResolver> cache;
+    private final Map<SamlRegisteredServiceCacheKey, Long> lifetimes = new ConcurrentHashMap<>();
+    private final Set<SamlRegisteredServiceCacheKey> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(REFRESH_QUEUE_SIZE), runnable -> {
+            final Thread thread = new Thread(runnable, "saml-metadata-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
 
     public SamlRegisteredServiceDefaultCachingMetadataResolver(final long metadataCacheExpirationMinutes,
                                                                final SamlRegisteredServiceMetadataResolverCacheLoader loader) {
         this.chainingMetadataResolverCacheLoader = loader;
+        this.expirationPolicy = new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes);
         this.cache = Caffeine.newBuilder()
             .maximumSize(MAX_CACHE_SIZE)
-            .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpirationMinutes))
+            .expireAfter(this.expirationPolicy)
+            .removalListener((SamlRegisteredServiceCacheKey key, MetadataResolver value, RemovalCause cause) -> {
+                if (key != null && cause.wasEvicted()) {
+                    this.lifetimes.remove(key);
+                }
+            })
             .build(this.chainingMetadataResolverCacheLoader);
     }
 
@@ -36,7 +74,9 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         MetadataResolver resolver = null;
         try {
             LOGGER.debug("Resolving metadata for [{}] at [{}].", service.getName(), service.getMetadataLocation());
-            resolver = this.cache.get(service);
+            final SamlRegisteredServiceCacheKey cacheKey = new SamlRegisteredServiceCacheKey(service);
+            resolver = this.cache.get(cacheKey);
+            refreshIfExpiringSoon(cacheKey, resolver);
             return resolver;
         } finally {
             if (resolver != null) {
@@ -46,4 +86,51 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
             }
         }
     }
+
+    private void refreshIfExpiringSoon(final SamlRegisteredServiceCacheKey cacheKey, final MetadataResolver resolver) {
+        if (resolver == null) {
+            return;
+        }
+        this.cache.policy().expireVariably()
+            .flatMap(policy -> policy.getExpiresAfter(cacheKey, TimeUnit.NANOSECONDS))
+            .ifPresent(remaining -> {
+                final long lifetime = this.lifetimes.computeIfAbsent(cacheKey, key -> this.expirationPolicy.expireAfterCreate(key, resolver, 0));
+                if (remaining <= lifetime / REFRESH_AHEAD_DIVISOR && this.refreshing.add(cacheKey)) {
+                    LOGGER.debug("Metadata for [{}] expires in [{}] ms and is refreshed in the background",
+                        cacheKey, TimeUnit.NANOSECONDS.toMillis(remaining));
+                    submitRefresh(cacheKey);
+                }
+            });
+    }
+
+    /**
+     * Stop background refreshes of metadata.
+     */
+    @PreDestroy
+    public void destroy() {
+        this.refreshExecutor.shutdownNow();
+    }
+
+    private void submitRefresh(final SamlRegisteredServiceCacheKey cacheKey) {
+        try {
+            this.refreshExecutor.execute(() -> refresh(cacheKey));
+        } catch (final RejectedExecutionException e) {
+            LOGGER.debug("Background refresh of metadata for [{}] is skipped, since no refresh thread is available", cacheKey);
+            this.refreshing.remove(cacheKey);
+        }
+    }
+
+    private void refresh(final SamlRegisteredServiceCacheKey cacheKey) {
+        try {
+            final MetadataResolver resolver = this.chainingMetadataResolverCacheLoader.load(cacheKey);
+            this.lifetimes.remove(cacheKey);
+            this.cache.put(cacheKey, resolver);
+            LOGGER.debug("Refreshed metadata for [{}]", cacheKey);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to refresh metadata for [{}]; current metadata is used until it expires: [{}]", cacheKey, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        } finally {
+            this.refreshing.remove(cacheKey);
+        }
+    }
 }
@@ -17,12 +17,13 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link SamlRegisteredServiceMetadataExpirationPolicy}.
+ * Metadata that is refreshed is given a new lifetime, as if it were loaded for the first time.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
 @Slf4j
-public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<SamlRegisteredService, MetadataResolver> {
+public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<SamlRegisteredServiceCacheKey, MetadataResolver> {
     private final long defaultExpiration;
     
     public SamlRegisteredServiceMetadataExpirationPolicy(final long metadataCacheExpirationMinutes) {
@@ -30,9 +31,10 @@ public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<Sam
     }
 
     @Override
-    public long expireAfterCreate(@Nonnull final SamlRegisteredService service, 
-                                  @Nonnull final MetadataResolver chainingMetadataResolver, 
+    public long expireAfterCreate(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
+                                  @Nonnull final MetadataResolver chainingMetadataResolver,
                                   final long currentTime) {
+        final SamlRegisteredService service = cacheKey.getRegisteredService();
         final long duration = getCacheDurationForServiceProvider(service, chainingMetadataResolver);
         if (duration >= 0) {
             return duration;
@@ -71,14 +73,14 @@ public class SamlRegisteredServiceMetadataExpirationPolicy implements Expiry<Sam
     }
 
     @Override
-    public long expireAfterUpdate(@Nonnull final SamlRegisteredService service,
+    public long expireAfterUpdate(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
                                   @Nonnull final MetadataResolver chainingMetadataResolver,
                                   final long currentTime, final long currentDuration) {
-        return currentDuration;
+        return expireAfterCreate(cacheKey, chainingMetadataResolver, currentTime);
     }
 
     @Override
-    public long expireAfterRead(@Nonnull final SamlRegisteredService service, 
+    public long expireAfterRead(@Nonnull final SamlRegisteredServiceCacheKey cacheKey,
                                 @Nonnull final MetadataResolver chainingMetadataResolver, 
                                 final long currentTime, final long currentDuration) {
         return currentDuration;
@@ -3,7 +3,6 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
-import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlException;
@@ -24,13 +23,15 @@ import java.util.Objects;
  * to keep track of metadata resources and resolvers. The cache loader here supports loading
  * metadata resources from SAML services, supports dynamic metadata queries and is able
  * to run various validation filters on the metadata before finally caching the resolver.
+ * Metadata is loaded once for all services that share a {@link SamlRegisteredServiceCacheKey};
+ * loads for different keys are free to run at the same time.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
  */
 @Slf4j
 @AllArgsConstructor
-public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLoader<SamlRegisteredService, MetadataResolver> {
+public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> {
 
     /**
      * The Config bean.
@@ -45,9 +46,9 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
     private final SamlRegisteredServiceMetadataResolutionPlan metadataResolutionPlan;
 
     @Override
-    @Synchronized
     @SneakyThrows
-    public ChainingMetadataResolver load(final SamlRegisteredService service) {
+    public ChainingMetadataResolver load(final SamlRegisteredServiceCacheKey cacheKey) {
+        final SamlRegisteredService service = cacheKey.getRegisteredService();
 
         final ChainingMetadataResolver metadataResolver = new ChainingMetadataResolver();
         final List<MetadataResolver> metadataResolvers = new ArrayList<>();
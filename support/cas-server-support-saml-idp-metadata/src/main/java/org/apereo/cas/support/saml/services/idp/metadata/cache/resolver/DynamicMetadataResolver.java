@@ -1,21 +1,15 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
 
-import com.google.common.io.ByteStreams;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpResponse;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
 import org.apereo.cas.configuration.model.support.saml.idp.metadata.SamlIdPMetadataProperties;
-import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.util.EncodingUtils;
 import org.apereo.cas.util.HttpUtils;
-import org.opensaml.saml.metadata.resolver.impl.AbstractMetadataResolver;
 import org.springframework.http.HttpStatus;
 
-import java.io.ByteArrayInputStream;
-import java.io.File;
-import java.io.InputStream;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -40,9 +34,9 @@ public class DynamicMetadataResolver extends UrlResourceMetadataResolver {
     }
 
     @Override
-    protected HttpResponse fetchMetadata(final String metadataLocation) {
+    protected HttpResponse fetchMetadata(final String metadataLocation, final Map<String, Object> conditionalHeaders) {
         final SamlIdPMetadataProperties metadata = samlIdPProperties.getMetadata();
-        final Map headers = new LinkedHashMap();
+        final Map<String, Object> headers = new LinkedHashMap<>(conditionalHeaders);
         headers.put("Content-Type", metadata.getSupportedContentTypes());
         headers.put("Accept", "*/*");
         return HttpUtils.executeGet(metadataLocation, metadata.getBasicAuthnUsername(),
@@ -68,16 +62,4 @@ public class DynamicMetadataResolver extends UrlResourceMetadataResolver {
     protected boolean shouldHttpResponseStatusBeProcessed(final HttpStatus status) {
         return super.shouldHttpResponseStatusBeProcessed(status) || status == HttpStatus.NOT_MODIFIED;
     }
-
-    @Override
-    protected AbstractMetadataResolver getMetadataResolverFromResponse(final HttpResponse response, final File backupFile) throws Exception {
-        if (response.getStatusLine().getStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
-            return new InMemoryResourceMetadataResolver(backupFile, this.configBean);
-        }
-
-        final InputStream ins = response.getEntity().getContent();
-        final byte[] source = ByteStreams.toByteArray(ins);
-        final ByteArrayInputStream bais = new ByteArrayInputStream(source);
-        return new InMemoryResourceMetadataResolver(bais, this.configBean);
-    }
 }
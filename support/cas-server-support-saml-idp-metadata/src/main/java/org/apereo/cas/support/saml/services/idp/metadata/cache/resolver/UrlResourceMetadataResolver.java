@@ -1,5 +1,9 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
@@ -11,7 +15,11 @@ import org.apache.commons.io.filefilter.CanWriteFileFilter;
 import org.apache.commons.io.filefilter.PrefixFileFilter;
 import org.apache.commons.io.filefilter.SuffixFileFilter;
 import org.apache.commons.io.filefilter.TrueFileFilter;
+import org.apache.commons.io.input.TeeInputStream;
+import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
 import org.apereo.cas.configuration.model.support.saml.idp.metadata.SamlIdPMetadataProperties;
@@ -19,6 +27,7 @@ import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.support.saml.InMemoryResourceMetadataResolver;
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.SamlRegisteredServiceCacheKey;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.HttpUtils;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
@@ -29,22 +38,34 @@ import org.springframework.http.HttpStatus;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashMap;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This is {@link UrlResourceMetadataResolver}.
+ * <p>
+ * Metadata is fetched conditionally, using the entity tag and the last modification date
+ * of the metadata last fetched from the same location, so that metadata that has not been
+ * modified is neither downloaded nor parsed again. Each service keeps a single backup of the metadata last fetched.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
  */
 @Slf4j
 public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetadataResolver {
+    private static final int MAX_FETCHED_METADATA_SIZE = 10_000;
+
+    private final Cache<String, FetchedMetadata> fetchedMetadata = Caffeine.newBuilder().maximumSize(MAX_FETCHED_METADATA_SIZE).build();
+
+    private final Set<String> cleanedUpBackupPrefixes = ConcurrentHashMap.newKeySet();
+
     private File metadataBackupDirectory;
 
     @SneakyThrows
@@ -70,23 +91,28 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
             LOGGER.info("Loading SAML metadata from [{}]", metadataLocation);
             final UrlResource metadataResource = new UrlResource(metadataLocation);
 
-            final File backupFile = getMetadataBackupFile(metadataResource, service);
-            final String canonicalPath = backupFile.getCanonicalPath();
-            LOGGER.debug("Metadata backup file will be at [{}]", canonicalPath);
-            FileUtils.forceMkdirParent(backupFile);
-
-            final HttpResponse response = fetchMetadata(metadataLocation);
-            cleanUpExpiredBackupMetadataFilesFor(metadataResource, service);
+            final String cacheKey = SamlRegisteredServiceCacheKey.buildRegisteredServiceCacheKey(service).concat(metadataLocation);
+            final FetchedMetadata fetchedMetadata = this.fetchedMetadata.getIfPresent(cacheKey);
+            final HttpResponse response = fetchMetadata(metadataLocation, getConditionalRequestHeaders(fetchedMetadata));
             if (response != null) {
                 final HttpStatus status = HttpStatus.valueOf(response.getStatusLine().getStatusCode());
+                if (status == HttpStatus.NOT_MODIFIED && fetchedMetadata != null) {
+                    LOGGER.debug("Metadata at [{}] has not been modified since it was last fetched", metadataLocation);
+                    return CollectionUtils.wrap(fetchedMetadata.getMetadataResolver());
+                }
                 if (shouldHttpResponseStatusBeProcessed(status)) {
+                    final File backupFile = getMetadataBackupFile(metadataResource, service);
+                    final String canonicalPath = backupFile.getCanonicalPath();
+                    LOGGER.debug("Metadata backup file will be at [{}]", canonicalPath);
+                    FileUtils.forceMkdirParent(backupFile);
+
                     final AbstractMetadataResolver metadataProvider = getMetadataResolverFromResponse(response, backupFile);
                     configureAndInitializeSingleMetadataResolver(metadataProvider, service);
+                    cleanUpExpiredBackupMetadataFilesFor(metadataResource, service, backupFile);
+                    rememberFetchedMetadata(cacheKey, response, metadataProvider);
                     return CollectionUtils.wrap(metadataProvider);
                 }
             }
-
-
         } catch (final Exception e) {
             LOGGER.error(e.getMessage(), e);
         }
@@ -105,6 +131,10 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
 
     /**
      * Gets metadata resolver from response.
+     * The response body is parsed as it is read and copied to the backup file along the way;
+     * the backup file is only replaced once the body is parsed successfully. Each load writes to its own
+     * temporary file next to the backup file, so concurrent loads of the same metadata do not overwrite one another.
+     * If the response indicates that metadata has not been modified, metadata is parsed from the backup file.
      *
      * @param response   the response
      * @param backupFile the backup file
@@ -112,22 +142,67 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
      * @throws Exception the exception
      */
     protected AbstractMetadataResolver getMetadataResolverFromResponse(final HttpResponse response, final File backupFile) throws Exception {
-        final String result = IOUtils.toString(response.getEntity().getContent(), StandardCharsets.UTF_8);
-        try (Writer output = Files.newBufferedWriter(backupFile.toPath(), StandardCharsets.UTF_8)) {
-            IOUtils.write(result, output);
-            output.flush();
+        if (response.getStatusLine().getStatusCode() == HttpStatus.NOT_MODIFIED.value()) {
+            return new InMemoryResourceMetadataResolver(backupFile, configBean);
+        }
+        final File partialFile = Files.createTempFile(backupFile.getParentFile().toPath(), backupFile.getName(), ".part").toFile();
+        try {
+            final AbstractMetadataResolver metadataResolver;
+            try (InputStream input = new TeeInputStream(response.getEntity().getContent(), Files.newOutputStream(partialFile.toPath()), true)) {
+                metadataResolver = new InMemoryResourceMetadataResolver(input, configBean);
+                IOUtils.copy(input, NullOutputStream.NULL_OUTPUT_STREAM);
+            }
+            Files.move(partialFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return metadataResolver;
+        } finally {
+            FileUtils.deleteQuietly(partialFile);
         }
-        return new InMemoryResourceMetadataResolver(backupFile, configBean);
     }
 
     /**
      * Fetch metadata http response.
      *
      * @param metadataLocation the metadata location
+     * @param headers          the headers
      * @return the http response
      */
-    protected HttpResponse fetchMetadata(final String metadataLocation) {
-        return HttpUtils.executeGet(metadataLocation, new LinkedHashMap<>());
+    protected HttpResponse fetchMetadata(final String metadataLocation, final Map<String, Object> headers) {
+        return HttpUtils.executeGet(metadataLocation, null, null, new LinkedHashMap<>(), headers);
+    }
+
+    /**
+     * Gets the headers that make the request for metadata conditional on metadata
+     * having been modified since it was last fetched.
+     *
+     * @param fetchedMetadata the metadata last fetched, if any
+     * @return the conditional request headers
+     */
+    private static Map<String, Object> getConditionalRequestHeaders(final FetchedMetadata fetchedMetadata) {
+        final Map<String, Object> headers = new LinkedHashMap<>();
+        if (fetchedMetadata != null) {
+            if (StringUtils.isNotBlank(fetchedMetadata.getEntityTag())) {
+                headers.put(HttpHeaders.IF_NONE_MATCH, fetchedMetadata.getEntityTag());
+            }
+            if (StringUtils.isNotBlank(fetchedMetadata.getLastModified())) {
+                headers.put(HttpHeaders.IF_MODIFIED_SINCE, fetchedMetadata.getLastModified());
+            }
+        }
+        return headers;
+    }
+
+    private void rememberFetchedMetadata(final String cacheKey, final HttpResponse response, final AbstractMetadataResolver metadataResolver) {
+        final String entityTag = getHeaderValue(response, HttpHeaders.ETAG);
+        final String lastModified = getHeaderValue(response, HttpHeaders.LAST_MODIFIED);
+        if (StringUtils.isAllBlank(entityTag, lastModified)) {
+            this.fetchedMetadata.invalidate(cacheKey);
+        } else {
+            this.fetchedMetadata.put(cacheKey, new FetchedMetadata(entityTag, lastModified, metadataResolver));
+        }
+    }
+
+    private static String getHeaderValue(final HttpResponse response, final String name) {
+        final Header header = response.getFirstHeader(name);
+        return header != null ? header.getValue() : null;
     }
 
     /**
@@ -140,13 +215,17 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         return service.getMetadataLocation();
     }
 
-    private void cleanUpExpiredBackupMetadataFilesFor(final AbstractResource metadataResource, final SamlRegisteredService service) {
+    private void cleanUpExpiredBackupMetadataFilesFor(final AbstractResource metadataResource, final SamlRegisteredService service,
+                                                      final File currentBackupFile) {
         final String prefix = getBackupMetadataFilenamePrefix(metadataResource, service);
+        if (!this.cleanedUpBackupPrefixes.add(prefix)) {
+            return;
+        }
         final Collection<File> backups = FileUtils.listFiles(this.metadataBackupDirectory,
             new AndFileFilter(CollectionUtils.wrapList(new PrefixFileFilter(prefix, IOCase.INSENSITIVE),
                 new SuffixFileFilter(".xml", IOCase.INSENSITIVE),
                 CanWriteFileFilter.CAN_WRITE, CanReadFileFilter.CAN_READ)), TrueFileFilter.INSTANCE);
-        backups.forEach(file -> {
+        backups.stream().filter(file -> !file.equals(currentBackupFile)).forEach(file -> {
             try {
                 FileUtils.forceDelete(file);
             } catch (final Exception e) {
@@ -173,16 +252,12 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
             .concat(getBackupMetadataFilenameSuffix(metadataResource, service));
 
         final File backupFile = new File(this.metadataBackupDirectory, metadataFileName);
-        if (backupFile.exists()) {
-            LOGGER.warn("Metadata file designated for service [{}] already exists at path [{}].", service.getName(), backupFile.getCanonicalPath());
-        } else {
-            LOGGER.debug("Metadata to fetch for service [{}] will be placed at [{}]", service.getName(), backupFile.getCanonicalPath());
-        }
+        LOGGER.debug("Metadata to fetch for service [{}] will be placed at [{}]", service.getName(), backupFile.getCanonicalPath());
         return backupFile;
     }
 
     private String getBackupMetadataFilenameSuffix(final AbstractResource metadataResource, final RegisteredService service) {
-        return UUID.randomUUID().toString() + ".xml";
+        return "backup.xml";
     }
 
     private String getBackupMetadataFilenamePrefix(final AbstractResource metadataResource, final RegisteredService service) {
@@ -204,4 +279,18 @@ public class UrlResourceMetadataResolver extends BaseSamlRegisteredServiceMetada
         }
         return false;
     }
+
+    /**
+     * Metadata last fetched from a location along with the validators by which
+     * the location is asked whether metadata has been modified since.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class FetchedMetadata {
+        private final String entityTag;
+
+        private final String lastModified;
+
+        private final AbstractMetadataResolver metadataResolver;
+    }
 }
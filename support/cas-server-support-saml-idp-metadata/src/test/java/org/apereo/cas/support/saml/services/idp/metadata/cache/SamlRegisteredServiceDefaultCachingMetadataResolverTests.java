@@ -0,0 +1,81 @@
+package org.apereo.cas.support.saml.services.idp.metadata.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CoreSamlConfiguration;
+import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
+import org.apereo.cas.support.saml.OpenSamlConfigBean;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.ClasspathResourceMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.SamlRegisteredServiceMetadataResolver;
+import org.apereo.cas.support.saml.services.idp.metadata.plan.DefaultSamlRegisteredServiceMetadataResolutionPlan;
+import org.apereo.cas.util.http.HttpClient;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link SamlRegisteredServiceDefaultCachingMetadataResolverTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@RunWith(SpringRunner.class)
+@Slf4j
+@SpringBootTest(classes = {
+    RefreshAutoConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    CoreSamlConfiguration.class
+})
+public class SamlRegisteredServiceDefaultCachingMetadataResolverTests {
+
+    @Autowired
+    @Qualifier("shibboleth.OpenSAMLConfig")
+    private OpenSamlConfigBean openSamlConfigBean;
+
+    @Test
+    public void verifyServicesShareMetadataFromTheSameLocation() {
+        final SamlRegisteredServiceMetadataResolver metadataResolver =
+            spy(new ClasspathResourceMetadataResolver(new SamlIdPProperties(), openSamlConfigBean));
+        final DefaultSamlRegisteredServiceMetadataResolutionPlan plan = new DefaultSamlRegisteredServiceMetadataResolutionPlan();
+        plan.registerMetadataResolver(metadataResolver);
+        final SamlRegisteredServiceDefaultCachingMetadataResolver resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(60,
+            new SamlRegisteredServiceMetadataResolverCacheLoader(openSamlConfigBean, mock(HttpClient.class), plan));
+
+        final SamlRegisteredService first = newService(1000, "https://sp1.example.org");
+        final SamlRegisteredService second = newService(2000, "https://sp2.example.org");
+        assertSame(resolver.resolve(first), resolver.resolve(second));
+        verify(metadataResolver, times(1)).resolve(any(SamlRegisteredService.class));
+
+        second.setMetadataMaxValidity(100);
+        assertNotSame(resolver.resolve(first), resolver.resolve(second));
+        verify(metadataResolver, times(2)).resolve(any(SamlRegisteredService.class));
+    }
+
+    @Test
+    public void verifyCacheKeyIsPerServiceForDynamicLocations() {
+        final SamlRegisteredService first = newService(1000, "https://sp1.example.org");
+        final SamlRegisteredService second = newService(2000, "https://sp2.example.org");
+        assertEquals(new SamlRegisteredServiceCacheKey(first), new SamlRegisteredServiceCacheKey(second));
+
+        first.setMetadataLocation("https://mdq.example.org/entities/{0}");
+        second.setMetadataLocation("https://mdq.example.org/entities/{0}");
+        assertNotEquals(new SamlRegisteredServiceCacheKey(first), new SamlRegisteredServiceCacheKey(second));
+    }
+
+    private static SamlRegisteredService newService(final long id, final String entityId) {
+        final SamlRegisteredService service = new SamlRegisteredService();
+        service.setId(id);
+        service.setName("Sample" + id);
+        service.setServiceId(entityId);
+        service.setMetadataLocation("classpath:sample-sp.xml");
+        return service;
+    }
+}
@@ -1,6 +1,13 @@
 package org.apereo.cas.support.saml.services.idp.metadata.cache.resolver;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.message.BasicHttpResponse;
 import org.apereo.cas.config.CasCoreHttpConfiguration;
 import org.apereo.cas.config.CoreSamlConfiguration;
 import org.apereo.cas.configuration.model.support.saml.idp.SamlIdPProperties;
@@ -9,13 +16,18 @@ import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.util.http.SimpleHttpClient;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 
@@ -64,4 +76,35 @@ public class UrlResourceMetadataResolverTests {
         final Collection results = resolver.resolve(service);
         assertFalse(results.isEmpty());
     }
+
+    @Test
+    public void verifyResolverReusesMetadataThatIsNotModified() throws Exception {
+        final SamlIdPProperties props = new SamlIdPProperties();
+        props.getMetadata().setLocation(new FileSystemResource(FileUtils.getTempDirectory()));
+        final List<Map<String, Object>> requestHeaders = new ArrayList<>();
+        final UrlResourceMetadataResolver resolver = new UrlResourceMetadataResolver(props, openSamlConfigBean) {
+            @Override
+            protected HttpResponse fetchMetadata(final String metadataLocation, final Map<String, Object> headers) {
+                requestHeaders.add(headers);
+                if (headers.containsKey(HttpHeaders.IF_NONE_MATCH)) {
+                    return new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_NOT_MODIFIED, "Not Modified");
+                }
+                final BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, HttpStatus.SC_OK, "OK");
+                response.setHeader(HttpHeaders.ETAG, "\"v1\"");
+                response.setEntity(new InputStreamEntity(getClass().getClassLoader().getResourceAsStream("sample-sp.xml")));
+                return response;
+            }
+        };
+        final SamlRegisteredService service = new SamlRegisteredService();
+        service.setName("Sample");
+        service.setId(2000);
+        service.setMetadataLocation("https://metadata.example.org/sample-sp.xml");
+
+        final Collection<MetadataResolver> first = resolver.resolve(service);
+        assertEquals(1, first.size());
+        final Collection<MetadataResolver> second = resolver.resolve(service);
+        assertSame(first.iterator().next(), second.iterator().next());
+        assertFalse(requestHeaders.get(0).containsKey(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("\"v1\"", requestHeaders.get(1).get(HttpHeaders.IF_NONE_MATCH));
+    }
 }
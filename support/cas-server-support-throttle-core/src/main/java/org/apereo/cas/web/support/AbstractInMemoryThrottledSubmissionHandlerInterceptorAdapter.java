@@ -1,20 +1,28 @@
 package org.apereo.cas.web.support;
 
+import com.codahale.metrics.Meter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 
 import javax.servlet.http.HttpServletRequest;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.util.Iterator;
-import java.util.Map.Entry;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Implementation of a HandlerInterceptorAdapter that keeps track of a mapping
- * of IP Addresses to number of failures to authenticate.
+ * Implementation of a HandlerInterceptorAdapter that keeps track of failures to authenticate
+ * per key, such as the IP address, using the generic cell rate algorithm.
+ * <p>
+ * Each key holds a single theoretical arrival time, and every failure pushes it out by one emission interval,
+ * which is the failure range divided by the failure threshold, from the current time or from where it already lies,
+ * whichever is later. Requests are throttled once the theoretical arrival time lies further ahead than the
+ * burst tolerance, which is the failure range less one emission interval; as many failures as the threshold
+ * are thus permitted in quick succession, and the next one is throttled. Failures decay lazily
+ * as time passes, so there is nothing to sweep. Keys are evicted once idle for a failure range or once
+ * more keys than permitted are tracked, so that a flood of requests from spoofed addresses cannot exhaust memory.
  *
  * @author Scott Battaglia
  * @since 3.0.0
@@ -23,61 +31,73 @@ import java.util.concurrent.ConcurrentMap;
 public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter
     implements InMemoryThrottledSubmissionHandlerInterceptor {
 
-    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
+    private final Cache<String, AtomicLong> theoreticalArrivalTimes;
 
-    private final ConcurrentMap<String, ZonedDateTime> ipMap = new ConcurrentHashMap<>();
+    private final long emissionInterval;
+
+    private final long burstTolerance;
+
+    private final Meter throttled = new Meter();
 
     public AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(final int failureThreshold,
                                                                         final int failureRangeInSeconds,
                                                                         final String usernameParameter,
                                                                         final String authenticationFailureCode,
                                                                         final AuditTrailExecutionPlan auditTrailExecutionPlan,
-                                                                        final String applicationCode) {
+                                                                        final String applicationCode,
+                                                                        final long maximumKeys) {
         super(failureThreshold, failureRangeInSeconds, usernameParameter,
             authenticationFailureCode, auditTrailExecutionPlan, applicationCode);
+        final long failureRange = TimeUnit.SECONDS.toMillis(Math.max(1, failureRangeInSeconds));
+        this.emissionInterval = failureRange / Math.max(1, failureThreshold);
+        this.burstTolerance = failureRange - this.emissionInterval;
+        LOGGER.debug("Calculated emission interval as [{}] ms with a burst tolerance of [{}] ms", this.emissionInterval, this.burstTolerance);
+        this.theoreticalArrivalTimes = Caffeine.newBuilder()
+            .maximumSize(maximumKeys)
+            .expireAfterAccess(failureRange, TimeUnit.MILLISECONDS)
+            .build();
     }
 
     @Override
     public boolean exceedsThreshold(final HttpServletRequest request) {
-        final ZonedDateTime last = this.ipMap.get(constructKey(request));
-        return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > getThresholdRate();
+        final AtomicLong tat = this.theoreticalArrivalTimes.getIfPresent(constructKey(request));
+        return tat != null && tat.get() - System.currentTimeMillis() > this.burstTolerance;
     }
 
     @Override
     public void recordSubmissionFailure(final HttpServletRequest request) {
-        this.ipMap.put(constructKey(request), ZonedDateTime.now(ZoneOffset.UTC));
+        final long now = System.currentTimeMillis();
+        this.theoreticalArrivalTimes.get(constructKey(request), key -> new AtomicLong(now))
+            .accumulateAndGet(now, (tat, time) -> Math.max(tat, time) + this.emissionInterval);
+    }
+
+    @Override
+    protected void recordThrottle(final HttpServletRequest request) {
+        this.throttled.mark();
+        super.recordThrottle(request);
     }
 
     /**
-     * This class relies on an external configuration to clean it up.
-     * It ignores the threshold data in the parent class.
+     * Failures decay lazily and idle keys expire on their own; this only lets the cache
+     * carry out maintenance that is pending.
      */
     @Override
     public void decrement() {
-        LOGGER.info("Beginning audit cleanup...");
-
-        final Set<Entry<String, ZonedDateTime>> keys = this.ipMap.entrySet();
-        LOGGER.debug("Decrementing counts for throttler.  Starting key count: [{}]", keys.size());
-
-        final ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
-        for (final Iterator<Entry<String, ZonedDateTime>> iter = keys.iterator(); iter.hasNext();) {
-            final Entry<String, ZonedDateTime> entry = iter.next();
-            if (submissionRate(now, entry.getValue()) < getThresholdRate()) {
-                LOGGER.trace("Removing entry for key [{}]", entry.getKey());
-                iter.remove();
-            }
-        }
-        LOGGER.debug("Done decrementing count for throttler.");
+        this.theoreticalArrivalTimes.cleanUp();
+        LOGGER.debug("Throttler tracks [{}] key(s) and has throttled [{}] request(s)",
+            this.theoreticalArrivalTimes.estimatedSize(), this.throttled.getCount());
     }
 
-    /**
-     * Computes the instantaneous rate in between two given dates corresponding to two submissions.
-     *
-     * @param a First date.
-     * @param b Second date.
-     * @return Instantaneous submission rate in submissions/sec, e.g. {@code a - b}.
-     */
-    private static double submissionRate(final ZonedDateTime a, final ZonedDateTime b) {
-        return SUBMISSION_RATE_DIVIDEND / (a.toInstant().toEpochMilli() - b.toInstant().toEpochMilli());
+    @Override
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedKeys", this.theoreticalArrivalTimes.estimatedSize());
+        stats.put("emissionInterval", this.emissionInterval);
+        stats.put("burstTolerance", this.burstTolerance);
+        stats.put("throttled", this.throttled.getCount());
+        stats.put("throttledPerSecondOneMinuteRate", this.throttled.getOneMinuteRate());
+        stats.put("throttledPerSecondFiveMinuteRate", this.throttled.getFiveMinuteRate());
+        stats.put("throttledPerSecondMeanRate", this.throttled.getMeanRate());
+        return stats;
     }
 }
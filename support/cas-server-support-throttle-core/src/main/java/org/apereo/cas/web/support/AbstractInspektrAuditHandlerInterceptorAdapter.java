@@ -1,26 +1,101 @@
 package org.apereo.cas.web.support;
 
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This is {@link AbstractInspektrAuditHandlerInterceptorAdapter}.
+ * <p>
+ * Failures are by default looked up in the audit log on every authentication attempt.
+ * When a {@link ThrottledSubmissionFailureStore} is defined, failures are instead kept track of
+ * in the store as they happen, and the audit log is only consulted during the first failure range
+ * after this node starts, to pick up failures recorded before the store was populated.
  *
  * @author Misagh Moayyed
  * @since 5.3.0
  */
+@Slf4j
 public abstract class AbstractInspektrAuditHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter {
+
+    private final long coldStartUntil;
+
+    /**
+     * Store that keeps track of recent failures, if any.
+     */
+    @Getter
+    @Setter
+    private ThrottledSubmissionFailureStore failureStore;
+
     public AbstractInspektrAuditHandlerInterceptorAdapter(final int failureThreshold, final int failureRangeInSeconds,
                                                           final String usernameParameter, final String authenticationFailureCode,
                                                           final AuditTrailExecutionPlan auditTrailManager, final String applicationCode) {
         super(failureThreshold, failureRangeInSeconds, usernameParameter,
             authenticationFailureCode, auditTrailManager, applicationCode);
+        this.coldStartUntil = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(Math.max(0, failureRangeInSeconds));
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        if (this.failureStore == null) {
+            return calculateFailureThresholdRateAndCompare(getFailuresFromAuditLog(request));
+        }
+        final String key = constructKey(request);
+        final Date cutoff = getFailureInRangeCutOffDate();
+        List<Date> failures = this.failureStore.getFailuresSince(key, cutoff);
+        if (failures.isEmpty() && System.currentTimeMillis() < this.coldStartUntil) {
+            LOGGER.debug("No failures are tracked for [{}] since this node started; consulting the audit log", key);
+            getFailuresFromAuditLog(request).forEach(when -> this.failureStore.recordFailure(key, when));
+            failures = this.failureStore.getFailuresSince(key, cutoff);
+        }
+        return calculateFailureThresholdRateAndCompare(failures);
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        if (this.failureStore != null) {
+            this.failureStore.recordFailure(constructKey(request), new Date());
+        }
+    }
+
+    @Override
+    public void decrement() {
+        if (this.failureStore == null) {
+            super.decrement();
+        } else {
+            this.failureStore.removeFailuresBefore(getFailureInRangeCutOffDate());
+        }
     }
-    
+
     @Override
     protected void recordThrottle(final HttpServletRequest request) {
         super.recordThrottle(request);
         recordAuditAction(request, ACTION_THROTTLED_LOGIN_ATTEMPT);
     }
+
+    /**
+     * Construct the key by which failures are tracked in the failure store,
+     * matching the client address and username that audit records are looked up by.
+     *
+     * @param request the request
+     * @return the key
+     */
+    protected String constructKey(final HttpServletRequest request) {
+        return ClientInfoHolder.getClientInfo().getClientIpAddress() + ';' + getUsernameParameterFromRequest(request);
+    }
+
+    /**
+     * Gets the failures recorded in the audit log within the failure range, the most recent failure first.
+     *
+     * @param request the request
+     * @return the failures
+     */
+    protected abstract List<Date> getFailuresFromAuditLog(HttpServletRequest request);
 }
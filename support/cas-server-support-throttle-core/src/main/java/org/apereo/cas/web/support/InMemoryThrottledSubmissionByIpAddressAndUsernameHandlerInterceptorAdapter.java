@@ -23,9 +23,10 @@ public class InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptor
                                                                                       final String usernameParameter,
                                                                                       final String authenticationFailureCode,
                                                                                       final AuditTrailExecutionPlan auditTrailExecutionPlan,
-                                                                                      final String applicationCode) {
+                                                                                      final String applicationCode,
+                                                                                      final long maximumKeys) {
         super(failureThreshold, failureRangeInSeconds, usernameParameter,
-            authenticationFailureCode, auditTrailExecutionPlan, applicationCode);
+            authenticationFailureCode, auditTrailExecutionPlan, applicationCode, maximumKeys);
     }
 
     @Override
@@ -0,0 +1,67 @@
+package org.apereo.cas.web.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link InMemoryThrottledSubmissionFailureStore} that keeps the failures of each throttling key
+ * that fall within the failure range in memory, local to this node. Failures of a key are only ever updated while holding
+ * the lock of the map bin the key belongs to, so that concurrent failures of different keys do not contend.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@Slf4j
+public class InMemoryThrottledSubmissionFailureStore implements ThrottledSubmissionFailureStore {
+
+    private final ConcurrentMap<String, Deque<Long>> failures = new ConcurrentHashMap<>();
+
+    private final long failureRangeInMillis;
+
+    public InMemoryThrottledSubmissionFailureStore(final int failureRangeInSeconds) {
+        this.failureRangeInMillis = TimeUnit.SECONDS.toMillis(Math.max(0, failureRangeInSeconds));
+    }
+
+    @Override
+    public void recordFailure(final String key, final Date when) {
+        final long cutoff = when.getTime() - this.failureRangeInMillis;
+        this.failures.compute(key, (k, window) -> {
+            final Deque<Long> result = window != null ? window : new ArrayDeque<>();
+            result.addFirst(when.getTime());
+            result.removeIf(time -> time < cutoff);
+            return result;
+        });
+    }
+
+    @Override
+    public List<Date> getFailuresSince(final String key, final Date cutoff) {
+        final List<Date> results = new ArrayList<>();
+        this.failures.computeIfPresent(key, (k, window) -> {
+            window.stream()
+                .filter(time -> time >= cutoff.getTime())
+                .sorted((a, b) -> Long.compare(b, a))
+                .map(Date::new)
+                .forEach(results::add);
+            return window;
+        });
+        return results;
+    }
+
+    @Override
+    public void removeFailuresBefore(final Date cutoff) {
+        final int count = this.failures.size();
+        this.failures.keySet().forEach(key -> this.failures.computeIfPresent(key, (k, window) -> {
+            window.removeIf(time -> time < cutoff.getTime());
+            return window.isEmpty() ? null : window;
+        }));
+        LOGGER.debug("Removed failures recorded before [{}]; [{}] of [{}] keys remain", cutoff, this.failures.size(), count);
+    }
+}
@@ -0,0 +1,39 @@
+package org.apereo.cas.web.support;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * This is {@link ThrottledSubmissionFailureStore} that keeps track of recent authentication
+ * failures per throttling key, such as the client address and the username, in a sliding window.
+ * Implementations may keep failures local to this node, or replicate or aggregate them across nodes.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public interface ThrottledSubmissionFailureStore {
+
+    /**
+     * Record an authentication failure for the given key.
+     *
+     * @param key  the throttling key
+     * @param when the date of the failure
+     */
+    void recordFailure(String key, Date when);
+
+    /**
+     * Gets the failures recorded for the given key since the given date, the most recent failure first.
+     *
+     * @param key    the throttling key
+     * @param cutoff the date before which failures are ignored
+     * @return the failures
+     */
+    List<Date> getFailuresSince(String key, Date cutoff);
+
+    /**
+     * Remove failures recorded before the given date, so they no longer take up space.
+     *
+     * @param cutoff the cutoff date
+     */
+    void removeFailuresBefore(Date cutoff);
+}
@@ -46,7 +46,7 @@ public class JdbcThrottledSubmissionHandlerInterceptorAdapter extends AbstractIn
     }
 
     @Override
-    public boolean exceedsThreshold(final HttpServletRequest request) {
+    protected List<Date> getFailuresFromAuditLog(final HttpServletRequest request) {
         final ClientInfo clientInfo = ClientInfoHolder.getClientInfo();
         final String remoteAddress = clientInfo.getClientIpAddress();
 
@@ -61,8 +61,7 @@ public class JdbcThrottledSubmissionHandlerInterceptorAdapter extends AbstractIn
             new int[]{Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP},
             (resultSet, i) -> resultSet.getTimestamp(1));
 
-        final List<Date> failures = failuresInAudits.stream().map(t -> new Date(t.getTime())).collect(Collectors.toList());
-        return calculateFailureThresholdRateAndCompare(failures);
+        return failuresInAudits.stream().map(t -> new Date(t.getTime())).collect(Collectors.toList());
     }
 
     @Override
@@ -5,11 +5,14 @@ import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.support.throttle.ThrottleProperties;
 import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.web.support.InMemoryThrottledSubmissionFailureStore;
 import org.apereo.cas.web.support.JdbcThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureStore;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -46,7 +49,7 @@ public class CasJdbcThrottlingConfiguration {
     public ThrottledSubmissionHandlerInterceptor authenticationThrottle() {
         final ThrottleProperties throttle = casProperties.getAuthn().getThrottle();
         final ThrottleProperties.Failure failure = throttle.getFailure();
-        return new JdbcThrottledSubmissionHandlerInterceptorAdapter(failure.getThreshold(),
+        final JdbcThrottledSubmissionHandlerInterceptorAdapter adapter = new JdbcThrottledSubmissionHandlerInterceptorAdapter(failure.getThreshold(),
             failure.getRangeSeconds(),
             throttle.getUsernameParameter(),
             auditTrailManager.getIfAvailable(),
@@ -54,5 +57,15 @@ public class CasJdbcThrottlingConfiguration {
             throttle.getAppcode(),
             throttle.getJdbc().getAuditQuery(),
             failure.getCode());
+        if (failure.isTrackInMemory()) {
+            adapter.setFailureStore(throttledSubmissionFailureStore());
+        }
+        return adapter;
+    }
+
+    @ConditionalOnMissingBean(name = "throttledSubmissionFailureStore")
+    @Bean
+    public ThrottledSubmissionFailureStore throttledSubmissionFailureStore() {
+        return new InMemoryThrottledSubmissionFailureStore(casProperties.getAuthn().getThrottle().getFailure().getRangeSeconds());
     }
 }
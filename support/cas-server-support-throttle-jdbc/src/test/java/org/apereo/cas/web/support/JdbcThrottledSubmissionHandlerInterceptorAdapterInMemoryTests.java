@@ -0,0 +1,40 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test for {@link JdbcThrottledSubmissionHandlerInterceptorAdapter}
+ * that keeps track of failures in memory.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+@TestPropertySource(properties = "cas.authn.throttle.failure.trackInMemory=true")
+public class JdbcThrottledSubmissionHandlerInterceptorAdapterInMemoryTests extends JdbcThrottledSubmissionHandlerInterceptorAdapterTests {
+
+    @Test
+    public void verifyThrottlingIsDecidedWithoutReadingAuditLog() {
+        final AbstractInspektrAuditHandlerInterceptorAdapter adapter =
+            spy((AbstractInspektrAuditHandlerInterceptorAdapter) AopTestUtils.getTargetObject(throttle));
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setParameter("username", "inmemory");
+        request.setRemoteAddr(IP_ADDRESS);
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+
+        adapter.recordSubmissionFailure(request);
+        assertFalse(adapter.exceedsThreshold(request));
+        adapter.recordSubmissionFailure(request);
+        assertTrue(adapter.exceedsThreshold(request));
+        verify(adapter, never()).getFailuresFromAuditLog(any(HttpServletRequest.class));
+    }
+}
@@ -40,7 +40,7 @@ public class MongoDbThrottledSubmissionHandlerInterceptorAdapter extends Abstrac
     }
 
     @Override
-    public boolean exceedsThreshold(final HttpServletRequest request) {
+    protected List<Date> getFailuresFromAuditLog(final HttpServletRequest request) {
         final ClientInfo clientInfo = ClientInfoHolder.getClientInfo();
         final String remoteAddress = clientInfo.getClientIpAddress();
 
@@ -56,11 +56,10 @@ public class MongoDbThrottledSubmissionHandlerInterceptorAdapter extends Abstrac
         query.fields().include("whenActionWasPerformed");
 
         LOGGER.debug("Executing MongoDb throttling query [{}]", query.toString());
-        final List<Date> failures = this.mongoTemplate.find(query, AuditActionContext.class, this.collectionName)
+        return this.mongoTemplate.find(query, AuditActionContext.class, this.collectionName)
             .stream()
             .map(AuditActionContext::getWhenActionWasPerformed)
             .collect(Collectors.toList());
-        return calculateFailureThresholdRateAndCompare(failures);
     }
 
     @Override
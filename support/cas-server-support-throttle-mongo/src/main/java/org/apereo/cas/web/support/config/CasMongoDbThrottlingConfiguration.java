@@ -6,10 +6,13 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditMongoDbProperties;
 import org.apereo.cas.configuration.model.support.throttle.ThrottleProperties;
 import org.apereo.cas.mongo.MongoDbConnectionFactory;
+import org.apereo.cas.web.support.InMemoryThrottledSubmissionFailureStore;
 import org.apereo.cas.web.support.MongoDbThrottledSubmissionHandlerInterceptorAdapter;
+import org.apereo.cas.web.support.ThrottledSubmissionFailureStore;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.annotation.Bean;
@@ -42,7 +45,7 @@ public class CasMongoDbThrottlingConfiguration {
         final MongoTemplate mongoTemplate = factory.buildMongoTemplate(mongo);
         factory.createCollection(mongoTemplate, mongo.getCollection(), mongo.isDropCollection());
 
-        return new MongoDbThrottledSubmissionHandlerInterceptorAdapter(failure.getThreshold(),
+        final MongoDbThrottledSubmissionHandlerInterceptorAdapter adapter = new MongoDbThrottledSubmissionHandlerInterceptorAdapter(failure.getThreshold(),
             failure.getRangeSeconds(),
             throttle.getUsernameParameter(),
             auditTrailExecutionPlan,
@@ -50,5 +53,15 @@ public class CasMongoDbThrottlingConfiguration {
             failure.getCode(),
             throttle.getAppcode(),
             mongo.getCollection());
+        if (failure.isTrackInMemory()) {
+            adapter.setFailureStore(throttledSubmissionFailureStore());
+        }
+        return adapter;
+    }
+
+    @ConditionalOnMissingBean(name = "throttledSubmissionFailureStore")
+    @Bean
+    public ThrottledSubmissionFailureStore throttledSubmissionFailureStore() {
+        return new InMemoryThrottledSubmissionFailureStore(casProperties.getAuthn().getThrottle().getFailure().getRangeSeconds());
     }
 }
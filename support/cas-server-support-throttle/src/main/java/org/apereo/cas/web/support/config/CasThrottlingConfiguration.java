@@ -66,7 +66,8 @@ public class CasThrottlingConfiguration {
                 throttle.getUsernameParameter(),
                 throttle.getFailure().getCode(),
                 auditTrailExecutionPlan.getIfAvailable(),
-                throttle.getAppcode());
+                throttle.getAppcode(),
+                throttle.getMaximumInMemoryKeys());
         }
         LOGGER.debug("Activating authentication throttling based on IP address...");
         return new InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter(throttle.getFailure().getThreshold(),
@@ -74,7 +75,8 @@ public class CasThrottlingConfiguration {
             throttle.getUsernameParameter(),
             throttle.getFailure().getCode(),
             auditTrailExecutionPlan.getIfAvailable(),
-            throttle.getAppcode());
+            throttle.getAppcode(),
+            throttle.getMaximumInMemoryKeys());
     }
 
     @Autowired
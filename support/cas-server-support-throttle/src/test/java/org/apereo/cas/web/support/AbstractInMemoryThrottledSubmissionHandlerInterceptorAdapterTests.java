@@ -2,12 +2,17 @@ package org.apereo.cas.web.support;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.webflow.execution.Event;
 import org.springframework.webflow.test.MockRequestContext;
 
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
 /**
  * Base class for in-memory throttled submission handlers.
  *
@@ -18,6 +23,25 @@ import org.springframework.webflow.test.MockRequestContext;
 public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapterTests
         extends AbstractThrottledSubmissionHandlerInterceptorAdapterTests {
 
+    @Test
+    public void verifyThresholdFailuresPassBeforeThrottling() throws Exception {
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), loginUnsuccessfully("casuser", "9.8.7.6").getStatus());
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), loginUnsuccessfully("casuser", "9.8.7.6").getStatus());
+        assertEquals(HttpStatus.LOCKED.value(), loginUnsuccessfully("casuser", "9.8.7.6").getStatus());
+    }
+
+    @Test
+    public void verifyStatistics() throws Exception {
+        loginUnsuccessfully("casuser", "5.6.7.8");
+        loginUnsuccessfully("casuser", "5.6.7.8");
+        assertEquals(HttpStatus.LOCKED.value(), loginUnsuccessfully("casuser", "5.6.7.8").getStatus());
+        final Map<String, Object> stats = throttle.getStatistics();
+        assertTrue((Long) stats.get("trackedKeys") >= 1);
+        assertTrue((Long) stats.get("throttled") >= 1);
+        assertEquals(500L, stats.get("emissionInterval"));
+        assertEquals(500L, stats.get("burstTolerance"));
+    }
+
     @Override
     protected MockHttpServletResponse loginUnsuccessfully(final String username, final String fromAddress) throws Exception {
         final MockHttpServletRequest request = new MockHttpServletRequest();
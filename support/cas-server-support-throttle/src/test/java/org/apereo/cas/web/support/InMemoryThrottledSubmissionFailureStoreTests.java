@@ -0,0 +1,46 @@
+package org.apereo.cas.web.support;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This is {@link InMemoryThrottledSubmissionFailureStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 5.3.0
+ */
+public class InMemoryThrottledSubmissionFailureStoreTests {
+
+    @Test
+    public void verifyFailuresWithinRangeAreKept() {
+        final InMemoryThrottledSubmissionFailureStore store = new InMemoryThrottledSubmissionFailureStore(3);
+        final long now = System.currentTimeMillis();
+        for (int i = 5; i >= 0; i--) {
+            store.recordFailure("1.2.3.4;casuser", new Date(now - i * 1000));
+        }
+        for (int i = 0; i < 20; i++) {
+            store.recordFailure("1.2.3.4;casuser", new Date(now));
+        }
+        final List<Date> failures = store.getFailuresSince("1.2.3.4;casuser", new Date(now - 10_000));
+        assertEquals(24, failures.size());
+        assertEquals(now, failures.get(0).getTime());
+        assertEquals(now - 3000, failures.get(failures.size() - 1).getTime());
+        assertTrue(store.getFailuresSince("1.2.3.4;other", new Date(now - 10_000)).isEmpty());
+    }
+
+    @Test
+    public void verifyOldFailuresAreRemoved() {
+        final InMemoryThrottledSubmissionFailureStore store = new InMemoryThrottledSubmissionFailureStore(60);
+        final long now = System.currentTimeMillis();
+        store.recordFailure("1.2.3.4;casuser", new Date(now - 10_000));
+        store.recordFailure("1.2.3.4;casuser", new Date(now));
+        store.recordFailure("1.2.3.4;other", new Date(now - 10_000));
+        store.removeFailuresBefore(new Date(now - 5_000));
+        assertEquals(1, store.getFailuresSince("1.2.3.4;casuser", new Date(0)).size());
+        assertTrue(store.getFailuresSince("1.2.3.4;other", new Date(0)).isEmpty());
+    }
+}